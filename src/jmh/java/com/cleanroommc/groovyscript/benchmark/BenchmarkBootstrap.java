@@ -0,0 +1,158 @@
+package com.cleanroommc.groovyscript.benchmark;
+
+import com.cleanroommc.groovyscript.api.IIngredient;
+import com.cleanroommc.groovyscript.helper.ingredient.ItemsIngredient;
+import com.cleanroommc.groovyscript.helper.ingredient.OreDictIngredient;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.init.Bootstrap;
+import net.minecraft.inventory.Container;
+import net.minecraft.inventory.InventoryCrafting;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraftforge.fml.common.FMLCommonHandler;
+import net.minecraftforge.fml.common.IFMLSidedHandler;
+import net.minecraftforge.fml.common.LoadController;
+import net.minecraftforge.fml.common.Loader;
+import net.minecraftforge.fml.common.LoaderState;
+import net.minecraftforge.fml.relauncher.FMLLaunchHandler;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.oredict.OreDictionary;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sets up a minimal headless game for the benchmarks. Only the vanilla registries are bootstrapped, no mods are loaded. FML
+ * is not started either, so the parts of it the registries and the ore dictionary ask for are set up by hand first, see
+ * {@link #setupFml()}.
+ * Every vanilla item is used with {@link #VARIANTS} metadata values as synthetic items. The variants of each item share a
+ * synthetic ore dictionary entry.
+ * <p>
+ * The benchmarks don't run in the launcher, so none of the mixins are applied. Most importantly {@link ItemStack} does not
+ * implement {@link IIngredient} here, so stacks must always be wrapped in an {@link ItemsIngredient}, and code which casts
+ * stacks to ingredients can't be benchmarked. What the mixins would do on the way is done by hand, see {@link #init()}.
+ */
+public class BenchmarkBootstrap {
+
+    public static final int VARIANTS = 4;
+    // the amount of stacks of a multi item ingredient, only the last one is the matching stack
+    public static final int MULTI_ITEM_SIZE = 8;
+
+    private static final List<ItemStack> stacks = new ArrayList<>();
+
+    public static synchronized void init() {
+        if (!stacks.isEmpty()) return;
+        setupFml();
+        Bootstrap.register();
+        for (Item item : Item.REGISTRY) {
+            for (int meta = 0; meta < VARIANTS; meta++) {
+                stacks.add(new ItemStack(item, 1, meta));
+            }
+        }
+        for (int i = 0; i < stacks.size(); i++) {
+            OreDictionary.registerOre(getOreName(i), stacks.get(i));
+        }
+        // done by the ore dictionary mixin in game
+        OreDictIngredient.onOreDictChanged();
+        if ((Object) stacks.get(0) instanceof IIngredient) {
+            throw new IllegalStateException("The benchmarks expect the mixins to not be applied");
+        }
+    }
+
+    /**
+     * Makes FML look like it is in the pre init phase of a dedicated server in the dev environment. Forge's patches of the
+     * registries ask for the side and the loader state, which are only set when the game is launched.
+     */
+    private static void setupFml() {
+        try {
+            Field deobfuscatedEnvironment = FMLLaunchHandler.class.getDeclaredField("deobfuscatedEnvironment");
+            deobfuscatedEnvironment.setAccessible(true);
+            deobfuscatedEnvironment.setBoolean(null, true);
+
+            // only the side is ever asked for, everything else answers with a default value
+            Object sidedHandler = Proxy.newProxyInstance(IFMLSidedHandler.class.getClassLoader(), new Class<?>[]{IFMLSidedHandler.class}, (proxy, method, args) -> {
+                if (method.getName().equals("getSide")) return Side.SERVER;
+                return getDefaultValue(method.getReturnType());
+            });
+            Method setSidedHandler = FMLCommonHandler.class.getDeclaredMethod("setSidedHandler", IFMLSidedHandler.class);
+            setSidedHandler.setAccessible(true);
+            setSidedHandler.invoke(FMLCommonHandler.instance(), sidedHandler);
+
+            LoadController controller = new LoadController(Loader.instance());
+            Field state = LoadController.class.getDeclaredField("state");
+            state.setAccessible(true);
+            state.set(controller, LoaderState.PREINITIALIZATION);
+            Field modController = Loader.class.getDeclaredField("modController");
+            modController.setAccessible(true);
+            modController.set(Loader.instance(), controller);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Could not set up FML for the benchmarks, the FML version may have changed", e);
+        }
+    }
+
+    private static Object getDefaultValue(Class<?> type) {
+        if (!type.isPrimitive() || type == void.class) return null;
+        if (type == boolean.class) return false;
+        if (type == char.class) return '\0';
+        if (type == long.class) return 0L;
+        if (type == float.class) return 0F;
+        if (type == double.class) return 0D;
+        if (type == byte.class) return (byte) 0;
+        if (type == short.class) return (short) 0;
+        return 0;
+    }
+
+    public static int getStackCount() {
+        return stacks.size();
+    }
+
+    public static ItemStack getStack(int index) {
+        return stacks.get(Math.floorMod(index, stacks.size()));
+    }
+
+    public static String getOreName(int index) {
+        return "benchmark" + Math.floorMod(index, stacks.size()) / VARIANTS;
+    }
+
+    /**
+     * Creates an ingredient of the given kind which matches {@link #getStack(int)} of the same index. Multi item ingredients
+     * also match the {@link #MULTI_ITEM_SIZE} - 1 stacks before it. Single items are wrapped in an {@link ItemsIngredient},
+     * since plain stacks are only ingredients with the mixins.
+     */
+    public static IIngredient createIngredient(IngredientKind kind, int index) {
+        switch (kind) {
+            case ITEM:
+                return new ItemsIngredient(getStack(index));
+            case MULTI_ITEM:
+                ItemStack[] stacks = new ItemStack[MULTI_ITEM_SIZE];
+                for (int i = 0; i < MULTI_ITEM_SIZE; i++) {
+                    stacks[i] = getStack(index - MULTI_ITEM_SIZE + 1 + i);
+                }
+                return new ItemsIngredient(stacks);
+            case ORE_DICT:
+                return new OreDictIngredient(getOreName(index));
+            default:
+                throw new IllegalArgumentException();
+        }
+    }
+
+    public static InventoryCrafting createCraftingGrid(int width, int height) {
+        return new InventoryCrafting(new Container() {
+
+            @Override
+            public boolean canInteractWith(@NotNull EntityPlayer playerIn) {
+                return true;
+            }
+        }, width, height);
+    }
+
+    public enum IngredientKind {
+        ITEM,
+        MULTI_ITEM,
+        ORE_DICT
+    }
+}
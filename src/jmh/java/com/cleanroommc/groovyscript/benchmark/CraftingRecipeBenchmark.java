@@ -0,0 +1,88 @@
+package com.cleanroommc.groovyscript.benchmark;
+
+import com.cleanroommc.groovyscript.api.IIngredient;
+import com.cleanroommc.groovyscript.compat.vanilla.CraftingRecipe;
+import com.cleanroommc.groovyscript.compat.vanilla.ShapedCraftingRecipe;
+import com.cleanroommc.groovyscript.compat.vanilla.ShapelessCraftingRecipe;
+import net.minecraft.init.Items;
+import net.minecraft.inventory.InventoryCrafting;
+import net.minecraft.item.ItemStack;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures looking up the recipe for a crafting grid in a list of recipes, like the crafting manager does. Only the last
+ * recipe matches the grid, so every other recipe has to be rejected first. Shaped recipes are checked with
+ * {@link ShapedCraftingRecipe#getMatchingList}, which tries every offset of the recipe in the grid.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CraftingRecipeBenchmark {
+
+    @Param({"1", "100", "1000"})
+    public int recipeCount;
+
+    @Param({"1", "2", "3"})
+    public int gridSize;
+
+    @Param({"ITEM", "MULTI_ITEM", "ORE_DICT"})
+    public BenchmarkBootstrap.IngredientKind kind;
+
+    private final List<CraftingRecipe> shapedRecipes = new ArrayList<>();
+    private final List<CraftingRecipe> shapelessRecipes = new ArrayList<>();
+    private InventoryCrafting grid;
+
+    @Setup
+    public void setup() {
+        BenchmarkBootstrap.init();
+        int size = gridSize * gridSize;
+        // the other recipes only use the stacks of the first half of the items and the matching recipe only stacks of the
+        // second half, so that no other recipe can match the grid
+        int half = BenchmarkBootstrap.getStackCount() / 2 / BenchmarkBootstrap.VARIANTS * BenchmarkBootstrap.VARIANTS;
+        int offset = BenchmarkBootstrap.MULTI_ITEM_SIZE;
+        for (int i = 0; i < recipeCount; i++) {
+            boolean last = i == recipeCount - 1;
+            List<IIngredient> shapedInput = new ArrayList<>();
+            List<IIngredient> shapelessInput = new ArrayList<>();
+            for (int slot = 0; slot < size; slot++) {
+                // consecutive recipes use different stacks, so that most recipes already fail at the first slot
+                int index = last ? half + offset + slot : offset + (i + slot) % (half - offset);
+                shapedInput.add(BenchmarkBootstrap.createIngredient(kind, index));
+                shapelessInput.add(BenchmarkBootstrap.createIngredient(kind, index));
+            }
+            ItemStack output = new ItemStack(Items.DIAMOND);
+            shapedRecipes.add(new ShapedCraftingRecipe(output, shapedInput, gridSize, gridSize, false, null, null));
+            shapelessRecipes.add(new ShapelessCraftingRecipe(output, shapelessInput, null, null));
+        }
+        grid = BenchmarkBootstrap.createCraftingGrid(3, 3);
+        for (int slot = 0; slot < size; slot++) {
+            grid.setInventorySlotContents(slot % gridSize + slot / gridSize * 3, BenchmarkBootstrap.getStack(half + offset + slot).copy());
+        }
+    }
+
+    @Benchmark
+    public CraftingRecipe findShaped() {
+        return find(shapedRecipes);
+    }
+
+    @Benchmark
+    public CraftingRecipe findShapeless() {
+        return find(shapelessRecipes);
+    }
+
+    private CraftingRecipe find(List<CraftingRecipe> recipes) {
+        for (CraftingRecipe recipe : recipes) {
+            if (!recipe.getMatchingList(grid).isEmpty()) {
+                return recipe;
+            }
+        }
+        throw new IllegalStateException("No recipe matched the crafting grid");
+    }
+}
@@ -0,0 +1,59 @@
+package com.cleanroommc.groovyscript.benchmark;
+
+import com.cleanroommc.groovyscript.api.IIngredient;
+import com.cleanroommc.groovyscript.helper.ingredient.IngredientBase;
+import net.minecraft.item.ItemStack;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link IngredientBase#test(ItemStack)} and the {@code matches} implementations of the ingredient kinds for a stack
+ * which matches and one which doesn't.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IngredientBenchmark {
+
+    @Param({"ITEM", "MULTI_ITEM", "ORE_DICT"})
+    public BenchmarkBootstrap.IngredientKind kind;
+
+    private IngredientBase ingredient;
+    private ItemStack matching;
+    private ItemStack notMatching;
+
+    @Setup
+    public void setup() {
+        BenchmarkBootstrap.init();
+        int index = BenchmarkBootstrap.getStackCount() / 2;
+        IIngredient ingredient = BenchmarkBootstrap.createIngredient(kind, index);
+        this.ingredient = (IngredientBase) ingredient;
+        this.matching = BenchmarkBootstrap.getStack(index);
+        // a stack of a different item, which is not part of the multi item ingredient either
+        this.notMatching = BenchmarkBootstrap.getStack(index + BenchmarkBootstrap.VARIANTS * BenchmarkBootstrap.MULTI_ITEM_SIZE);
+    }
+
+    @Benchmark
+    public boolean testMatching() {
+        return ingredient.test(matching);
+    }
+
+    @Benchmark
+    public boolean testNotMatching() {
+        return ingredient.test(notMatching);
+    }
+
+    @Benchmark
+    public boolean matchesMatching() {
+        return ingredient.matches(matching);
+    }
+
+    @Benchmark
+    public boolean matchesNotMatching() {
+        return ingredient.matches(notMatching);
+    }
+}
@@ -14,9 +14,12 @@ import com.cleanroommc.groovyscript.documentation.linkgenerator.LinkGeneratorHoo
 import com.cleanroommc.groovyscript.event.EventHandler;
 import com.cleanroommc.groovyscript.gameobjects.GameObjectHandlerManager;
 import com.cleanroommc.groovyscript.helper.JsonHelper;
+import com.cleanroommc.groovyscript.helper.recipe.RecipeName;
 import com.cleanroommc.groovyscript.network.CReload;
 import com.cleanroommc.groovyscript.network.NetworkHandler;
 import com.cleanroommc.groovyscript.network.NetworkUtils;
+import com.cleanroommc.groovyscript.network.RecipeDeltaSync;
+import com.cleanroommc.groovyscript.registry.RegistryMetrics;
 import com.cleanroommc.groovyscript.registry.ReloadableRegistryManager;
 import com.cleanroommc.groovyscript.sandbox.*;
 import com.cleanroommc.groovyscript.sandbox.mapper.GroovyDeobfMapper;
@@ -173,9 +176,14 @@ public class GroovyScript {
         ModContainer current = Loader.instance().activeModContainer();
         Loader.instance().setActiveModContainer(scriptMod);
         long time = System.currentTimeMillis();
+        RegistryMetrics.start();
+        RecipeName.reset();
+        if (loadStage == LoadStage.POST_INIT) RecipeDeltaSync.invalidateScriptChecksum();
         getSandbox().run(loadStage);
         time = System.currentTimeMillis() - time;
+        RegistryMetrics.stop(loadStage.getName());
         LOGGER.info("Running Groovy scripts during {} took {} ms", loadStage.getName(), time);
+        LOGGER.info("Script load phases during {}: {}", loadStage.getName(), getSandbox().getTimings());
         Loader.instance().setActiveModContainer(current);
         return time;
     }
@@ -5,6 +5,7 @@ import net.minecraft.item.ItemStack;
 import net.minecraft.item.crafting.Ingredient;
 import net.minecraftforge.common.ForgeHooks;
 import net.minecraftforge.fluids.FluidStack;
+import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.function.Predicate;
@@ -19,10 +20,24 @@ public interface IIngredient extends IResourceStack, Predicate<ItemStack> {
 
     Ingredient toMcIngredient();
 
+    /**
+     * Returns the item stacks this ingredient matches with the amount of this ingredient. The array and its stacks can be
+     * freely modified.
+     */
     ItemStack[] getMatchingStacks();
 
+    /**
+     * Returns the same stacks as {@link #getMatchingStacks()}, but implementations may return the same array on every call
+     * instead of copying it. Neither the array nor its stacks must be modified.
+     */
+    @GroovyBlacklist
+    @ApiStatus.Internal
+    default ItemStack[] getCachedMatchingStacks() {
+        return getMatchingStacks();
+    }
+
     default boolean isEmpty() {
-        return getAmount() <= 0 || getMatchingStacks().length == 0;
+        return getAmount() <= 0 || getCachedMatchingStacks().length == 0;
     }
 
     default ItemStack applyTransform(ItemStack matchedInput) {
@@ -4,6 +4,9 @@ import net.minecraft.util.ResourceLocation;
 import net.minecraftforge.registries.IForgeRegistryEntry;
 import org.jetbrains.annotations.ApiStatus;
 
+import java.util.Collection;
+import java.util.Collections;
+
 /**
  * Access interface for reloadable forge registries
  */
@@ -11,10 +14,26 @@ public interface IReloadableForgeRegistry<V extends IForgeRegistryEntry<V>> {
 
     V groovyScript$registerEntry(V registryEntry);
 
+    /**
+     * Registers an entry with the given id, if it is not taken by another entry. Used to keep the ids of clients in sync
+     * with the server.
+     */
+    V groovyScript$registerEntry(V registryEntry, int id);
+
     void groovyScript$removeEntry(ResourceLocation name);
 
     void groovyScript$onReload();
 
+    /**
+     * @return all entries which were added by scripts since the last reload
+     */
+    Collection<V> groovyScript$getScriptedEntries();
+
+    /**
+     * @return the names of all original entries which were removed by scripts since the last reload
+     */
+    Collection<ResourceLocation> groovyScript$getRemovedEntries();
+
     @ApiStatus.Internal
     void groovyScript$putDummy(V dummy, V realEntry, ResourceLocation name, int id, Object owner);
 
@@ -36,12 +55,27 @@ public interface IReloadableForgeRegistry<V extends IForgeRegistryEntry<V>> {
             return null;
         }
 
+        @Override
+        public V groovyScript$registerEntry(V registryEntry, int id) {
+            return null;
+        }
+
         @Override
         public void groovyScript$removeEntry(ResourceLocation name) {}
 
         @Override
         public void groovyScript$onReload() {}
 
+        @Override
+        public Collection<V> groovyScript$getScriptedEntries() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public Collection<ResourceLocation> groovyScript$getRemovedEntries() {
+            return Collections.emptyList();
+        }
+
         @Override
         public void groovyScript$putDummy(V dummy, V realEntry, ResourceLocation name, int id, Object owner) {}
 
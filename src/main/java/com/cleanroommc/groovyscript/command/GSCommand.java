@@ -7,8 +7,12 @@ import com.cleanroommc.groovyscript.compat.mods.jei.JeiPlugin;
 import com.cleanroommc.groovyscript.documentation.Documentation;
 import com.cleanroommc.groovyscript.event.GsHandEvent;
 import com.cleanroommc.groovyscript.network.NetworkHandler;
+import com.cleanroommc.groovyscript.network.RecipeDeltaSync;
 import com.cleanroommc.groovyscript.network.SReloadScripts;
+import com.cleanroommc.groovyscript.registry.RegistryMetrics;
 import com.cleanroommc.groovyscript.sandbox.LoadStage;
+import com.cleanroommc.groovyscript.sandbox.ScriptLoadBenchmark;
+import com.cleanroommc.groovyscript.sandbox.ScriptProfiler;
 import net.minecraft.block.Block;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.command.ICommandSender;
@@ -41,6 +45,7 @@ import org.jetbrains.annotations.NotNull;
 
 import javax.annotation.Nonnull;
 import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -50,14 +55,19 @@ import java.util.stream.Collectors;
 public class GSCommand extends CommandTreeBase {
 
     public static void runReload(EntityPlayerMP player, MinecraftServer server) {
-        if (server.isDedicatedServer()) {
-            player.sendMessage(new TextComponentString("Reloading in multiplayer is currently not allowed to avoid desync."));
+        boolean syncRecipes = GroovyScript.getRunConfig().isSyncRecipes();
+        if (server.isDedicatedServer() && !syncRecipes) {
+            player.sendMessage(new TextComponentString("Reloading in multiplayer is currently not allowed to avoid desync. Enable 'syncRecipes' in the run config to sync crafting and furnace recipes to players."));
             return;
         }
         GroovyLog.get().info("========== Reloading Groovy scripts ==========");
         long time = GroovyScript.runGroovyScriptsInLoader(LoadStage.POST_INIT);
         GroovyScript.postScriptRunResult(player, false, true, false, time);
-        NetworkHandler.sendToPlayer(new SReloadScripts(null, false, true), player);
+        if (syncRecipes) {
+            // remote clients don't run the scripts again, instead they receive the recipe changes of the server
+            RecipeDeltaSync.sendToAll(server);
+        }
+        NetworkHandler.sendToPlayer(new SReloadScripts(null, false, !syncRecipes || RecipeDeltaSync.isLocal(player)), player);
     }
 
     public GSCommand() {
@@ -80,6 +90,61 @@ public class GSCommand extends CommandTreeBase {
             }
         }));
 
+        addSubcommand(new SimpleCommand("benchmark", "/gs benchmark [files] [recipes per file] [runs] [examples]", (server, sender, args) -> {
+            int files = args.length > 0 ? parseInt(args[0], 1) : 100;
+            int recipes = args.length > 1 ? parseInt(args[1], 0) : 30;
+            int runs = args.length > 2 ? parseInt(args[2], 1) : 3;
+            boolean examples = args.length > 3 && "examples".equals(args[3]);
+            sender.sendMessage(new TextComponentString("Running script load benchmark..."));
+            try {
+                for (String line : ScriptLoadBenchmark.run(files, recipes, runs, examples)) {
+                    sender.sendMessage(new TextComponentString(line));
+                }
+            } catch (IOException | IllegalStateException e) {
+                sender.sendMessage(new TextComponentString(TextFormatting.RED + "Script load benchmark failed: " + e.getMessage()));
+            }
+            // the synthetic scripts changed the game, so the real scripts are loaded again
+            if (sender instanceof EntityPlayerMP) {
+                runReload((EntityPlayerMP) sender, server);
+            } else {
+                GroovyScript.runGroovyScriptsInLoader(LoadStage.POST_INIT);
+            }
+        }));
+
+        addSubcommand(new SimpleCommand("profile", "/gs profile [lines]", (server, sender, args) -> {
+            boolean lines = args.length > 0 && "lines".equals(args[0]);
+            sender.sendMessage(new TextComponentString("Profiling script reload..."));
+            ScriptProfiler.start(lines);
+            try {
+                if (sender instanceof EntityPlayerMP) {
+                    runReload((EntityPlayerMP) sender, server);
+                } else {
+                    GroovyScript.runGroovyScriptsInLoader(LoadStage.POST_INIT);
+                }
+            } finally {
+                try {
+                    for (String line : ScriptProfiler.stop()) {
+                        sender.sendMessage(new TextComponentString(line));
+                    }
+                } catch (IOException e) {
+                    sender.sendMessage(new TextComponentString(TextFormatting.RED + "Failed to write script profile: " + e.getMessage()));
+                }
+            }
+        }));
+
+        addSubcommand(new SimpleCommand("metrics", "/gs metrics [amount]", (server, sender, args) -> {
+            int amount = args.length > 0 ? parseInt(args[0], 1) : 10;
+            List<String> summary = RegistryMetrics.getSummary(amount);
+            if (summary.isEmpty()) {
+                sender.sendMessage(new TextComponentString("No registry calls were measured. Set registryMetrics to true in the runConfig.json and reload to measure them."));
+                return;
+            }
+            sender.sendMessage(new TextComponentString("Most expensive registry calls of the last load stage:"));
+            for (String line : summary) {
+                sender.sendMessage(new TextComponentString(line));
+            }
+        }));
+
         addSubcommand(new PackmodeCommand());
 
         addSubcommand(new SimpleCommand("hand", (server, sender, args) -> {
@@ -31,7 +31,7 @@ public class AtomicReconstructor extends VirtualizedRegistry<LensConversionRecip
     @Override
     @GroovyBlacklist
     public void onReload() {
-        removeScripted().forEach(ActuallyAdditionsAPI.RECONSTRUCTOR_LENS_CONVERSION_RECIPES::remove);
+        removeAllByIdentity(ActuallyAdditionsAPI.RECONSTRUCTOR_LENS_CONVERSION_RECIPES, removeScripted());
         ActuallyAdditionsAPI.RECONSTRUCTOR_LENS_CONVERSION_RECIPES.addAll(restoreFromBackup());
     }
 
@@ -28,7 +28,7 @@ public class Compost extends VirtualizedRegistry<CompostRecipe> {
     @Override
     @GroovyBlacklist
     public void onReload() {
-        removeScripted().forEach(ActuallyAdditionsAPI.COMPOST_RECIPES::remove);
+        removeAllByIdentity(ActuallyAdditionsAPI.COMPOST_RECIPES, removeScripted());
         ActuallyAdditionsAPI.COMPOST_RECIPES.addAll(restoreFromBackup());
     }
 
@@ -29,7 +29,7 @@ public class Crusher extends VirtualizedRegistry<CrusherRecipe> {
     @Override
     @GroovyBlacklist
     public void onReload() {
-        removeScripted().forEach(ActuallyAdditionsAPI.CRUSHER_RECIPES::remove);
+        removeAllByIdentity(ActuallyAdditionsAPI.CRUSHER_RECIPES, removeScripted());
         ActuallyAdditionsAPI.CRUSHER_RECIPES.addAll(restoreFromBackup());
     }
 
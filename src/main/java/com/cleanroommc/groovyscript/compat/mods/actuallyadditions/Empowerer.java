@@ -33,7 +33,7 @@ public class Empowerer extends VirtualizedRegistry<EmpowererRecipe> {
     @Override
     @GroovyBlacklist
     public void onReload() {
-        removeScripted().forEach(ActuallyAdditionsAPI.EMPOWERER_RECIPES::remove);
+        removeAllByIdentity(ActuallyAdditionsAPI.EMPOWERER_RECIPES, removeScripted());
         ActuallyAdditionsAPI.EMPOWERER_RECIPES.addAll(restoreFromBackup());
     }
 
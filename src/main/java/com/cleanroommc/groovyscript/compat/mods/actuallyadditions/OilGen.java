@@ -27,7 +27,7 @@ public class OilGen extends VirtualizedRegistry<OilGenRecipe> {
     @Override
     @GroovyBlacklist
     public void onReload() {
-        removeScripted().forEach(ActuallyAdditionsAPI.OIL_GENERATOR_RECIPES::remove);
+        removeAllByIdentity(ActuallyAdditionsAPI.OIL_GENERATOR_RECIPES, removeScripted());
         ActuallyAdditionsAPI.OIL_GENERATOR_RECIPES.addAll(restoreFromBackup());
     }
 
@@ -327,7 +327,7 @@ public class AltarRecipeBuilder {
         @GroovyBlacklist
         public void validateName() {
             if (name == null) {
-                name = RecipeName.generate(getRecipeNamePrefix());
+                name = RecipeName.generate(getRecipeNamePrefix(), getRecipeNameContent());
             }
         }
 
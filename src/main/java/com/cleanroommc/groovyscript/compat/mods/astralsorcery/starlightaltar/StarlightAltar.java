@@ -3,18 +3,27 @@ package com.cleanroommc.groovyscript.compat.mods.astralsorcery.starlightaltar;
 import com.cleanroommc.groovyscript.api.GroovyBlacklist;
 import com.cleanroommc.groovyscript.api.documentation.annotations.*;
 import com.cleanroommc.groovyscript.helper.SimpleObjectStream;
+import com.cleanroommc.groovyscript.helper.recipe.RecipeIndex;
 import com.cleanroommc.groovyscript.registry.VirtualizedRegistry;
 import hellfirepvp.astralsorcery.common.crafting.altar.AbstractAltarRecipe;
 import hellfirepvp.astralsorcery.common.crafting.altar.AltarRecipeRegistry;
 import hellfirepvp.astralsorcery.common.tile.TileAltar;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
 import net.minecraft.item.ItemStack;
 import org.jetbrains.annotations.ApiStatus;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @RegistryDescription
 public class StarlightAltar extends VirtualizedRegistry<AbstractAltarRecipe> {
 
+    private final Map<TileAltar.AltarLevel, RecipeIndex<AbstractAltarRecipe>> outputIndex = new EnumMap<>(TileAltar.AltarLevel.class);
+
     @RecipeBuilderDescription(priority = 100, requirement = {
             @Property(property = "ingredientMatrix", valid = {@Comp(value = "1", type = Comp.Type.GTE), @Comp(value = "9", type = Comp.Type.LTE)}),
             @Property(property = "starlightRequired", valid = {@Comp(value = "1", type = Comp.Type.GTE), @Comp(value = "1000", type = Comp.Type.LTE)})
@@ -53,8 +62,30 @@ public class StarlightAltar extends VirtualizedRegistry<AbstractAltarRecipe> {
     @GroovyBlacklist
     @ApiStatus.Internal
     public void onReload() {
-        removeScripted().forEach(r -> AltarRecipeRegistry.recipes.get(r.getNeededLevel()).removeIf(rec -> rec.equals(r)));
+        removeFromRegistry(removeScripted());
         restoreFromBackup().forEach(r -> AltarRecipeRegistry.recipes.get(r.getNeededLevel()).add(r));
+        // other registries, like constellations, may replace altar recipes after scripts ran
+        outputIndex.values().forEach(RecipeIndex::invalidate);
+    }
+
+    private RecipeIndex<AbstractAltarRecipe> getOutputIndex(TileAltar.AltarLevel altarLevel) {
+        return outputIndex.computeIfAbsent(altarLevel, level -> new RecipeIndex<>(() -> AltarRecipeRegistry.recipes.get(level), StarlightAltar::getOutputKeys));
+    }
+
+    private static Collection<?> getOutputKeys(AbstractAltarRecipe recipe) {
+        ItemStack output = recipe.getOutputForMatching();
+        return output == null || output.isEmpty() ? Collections.emptySet() : Collections.singleton(output.getItem());
+    }
+
+    /**
+     * Removes the recipes from their altar level with a single pass over each level.
+     */
+    private void removeFromRegistry(Collection<AbstractAltarRecipe> recipes) {
+        Map<TileAltar.AltarLevel, Set<AbstractAltarRecipe>> byLevel = new EnumMap<>(TileAltar.AltarLevel.class);
+        for (AbstractAltarRecipe recipe : recipes) {
+            byLevel.computeIfAbsent(recipe.getNeededLevel(), level -> new ReferenceOpenHashSet<>()).add(recipe);
+        }
+        byLevel.forEach((level, removed) -> RecipeIndex.removeIf(AltarRecipeRegistry.recipes.get(level), removed, recipe -> true, recipe -> {}, getOutputIndex(level)));
     }
 
     @Override
@@ -65,7 +96,7 @@ public class StarlightAltar extends VirtualizedRegistry<AbstractAltarRecipe> {
 
     public AbstractAltarRecipe add(AbstractAltarRecipe recipe) {
         addScripted(recipe);
-        AltarRecipeRegistry.recipes.get(recipe.getNeededLevel()).add(recipe);
+        RecipeIndex.add(AltarRecipeRegistry.recipes.get(recipe.getNeededLevel()), recipe, getOutputIndex(recipe.getNeededLevel()));
         return recipe;
     }
 
@@ -79,17 +110,14 @@ public class StarlightAltar extends VirtualizedRegistry<AbstractAltarRecipe> {
 
     @MethodDescription(description = "groovyscript.wiki.astralsorcery.starlight_altar.removeByOutput1")
     public void removeByOutput(ItemStack output, TileAltar.AltarLevel altarLevel) {
-        AltarRecipeRegistry.recipes.get(altarLevel).removeIf(recipe -> {
-            if (recipe.getOutputForMatching().isItemEqual(output)) {
-                addBackup(recipe);
-                return true;
-            }
-            return false;
-        });
+        RecipeIndex<AbstractAltarRecipe> index = getOutputIndex(altarLevel);
+        RecipeIndex.removeIf(AltarRecipeRegistry.recipes.get(altarLevel), index.getCandidates(Collections.singleton(output.getItem())),
+                             recipe -> recipe.getOutputForMatching().isItemEqual(output), this::addBackup, index);
     }
 
     private boolean remove(AbstractAltarRecipe recipe) {
-        return AltarRecipeRegistry.recipes.get(recipe.getNeededLevel()).removeIf(rec -> rec.equals(recipe));
+        return RecipeIndex.removeIf(AltarRecipeRegistry.recipes.get(recipe.getNeededLevel()), Collections.singleton(recipe), rec -> true, rec -> {},
+                                    getOutputIndex(recipe.getNeededLevel()));
     }
 
     @MethodDescription(type = MethodDescription.Type.QUERY)
@@ -104,5 +132,6 @@ public class StarlightAltar extends VirtualizedRegistry<AbstractAltarRecipe> {
             recipes.forEach(this::addBackup);
             recipes.clear();
         });
+        outputIndex.values().forEach(RecipeIndex::invalidate);
     }
 }
@@ -31,7 +31,7 @@ public class AlchemyArray extends VirtualizedRegistry<RecipeAlchemyArray> {
     @Override
     @GroovyBlacklist
     public void onReload() {
-        removeScripted().forEach(((BloodMagicRecipeRegistrarAccessor) BloodMagicAPI.INSTANCE.getRecipeRegistrar()).getAlchemyArrayRecipes()::remove);
+        removeAllByIdentity(((BloodMagicRecipeRegistrarAccessor) BloodMagicAPI.INSTANCE.getRecipeRegistrar()).getAlchemyArrayRecipes(), removeScripted());
         restoreFromBackup().forEach(((BloodMagicRecipeRegistrarAccessor) BloodMagicAPI.INSTANCE.getRecipeRegistrar()).getAlchemyArrayRecipes()::add);
     }
 
@@ -39,7 +39,7 @@ public class BloodAltar extends VirtualizedRegistry<RecipeBloodAltar> {
     @Override
     @GroovyBlacklist
     public void onReload() {
-        removeScripted().forEach(((BloodMagicRecipeRegistrarAccessor) BloodMagicAPI.INSTANCE.getRecipeRegistrar()).getAltarRecipes()::remove);
+        removeAllByIdentity(((BloodMagicRecipeRegistrarAccessor) BloodMagicAPI.INSTANCE.getRecipeRegistrar()).getAltarRecipes(), removeScripted());
         restoreFromBackup().forEach(((BloodMagicRecipeRegistrarAccessor) BloodMagicAPI.INSTANCE.getRecipeRegistrar()).getAltarRecipes()::add);
     }
 
@@ -33,7 +33,7 @@ public class Apothecary extends VirtualizedRegistry<RecipePetals> {
     @Override
     @GroovyBlacklist
     public void onReload() {
-        removeScripted().forEach(BotaniaAPI.petalRecipes::remove);
+        removeAllByIdentity(BotaniaAPI.petalRecipes, removeScripted());
         BotaniaAPI.petalRecipes.addAll(restoreFromBackup());
     }
 
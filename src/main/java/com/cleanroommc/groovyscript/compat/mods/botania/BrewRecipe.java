@@ -28,7 +28,7 @@ public class BrewRecipe extends VirtualizedRegistry<RecipeBrew> {
     @Override
     @GroovyBlacklist
     public void onReload() {
-        removeScripted().forEach(BotaniaAPI.brewRecipes::remove);
+        removeAllByIdentity(BotaniaAPI.brewRecipes, removeScripted());
         BotaniaAPI.brewRecipes.addAll(restoreFromBackup());
     }
 
@@ -27,7 +27,7 @@ public class ElvenTrade extends VirtualizedRegistry<RecipeElvenTrade> {
     @Override
     @GroovyBlacklist
     public void onReload() {
-        removeScripted().forEach(BotaniaAPI.elvenTradeRecipes::remove);
+        removeAllByIdentity(BotaniaAPI.elvenTradeRecipes, removeScripted());
         BotaniaAPI.elvenTradeRecipes.addAll(restoreFromBackup());
     }
 
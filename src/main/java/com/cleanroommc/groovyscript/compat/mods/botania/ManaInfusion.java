@@ -27,7 +27,7 @@ public class ManaInfusion extends VirtualizedRegistry<RecipeManaInfusion> {
     @Override
     @GroovyBlacklist
     public void onReload() {
-        removeScripted().forEach(BotaniaAPI.manaInfusionRecipes::remove);
+        removeAllByIdentity(BotaniaAPI.manaInfusionRecipes, removeScripted());
         BotaniaAPI.manaInfusionRecipes.addAll(restoreFromBackup());
     }
 
@@ -24,7 +24,7 @@ public class PureDaisy extends VirtualizedRegistry<RecipePureDaisy> {
     @Override
     @GroovyBlacklist
     public void onReload() {
-        removeScripted().forEach(BotaniaAPI.pureDaisyRecipes::remove);
+        removeAllByIdentity(BotaniaAPI.pureDaisyRecipes, removeScripted());
         BotaniaAPI.pureDaisyRecipes.addAll(restoreFromBackup());
     }
 
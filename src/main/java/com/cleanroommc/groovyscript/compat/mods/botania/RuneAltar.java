@@ -30,7 +30,7 @@ public class RuneAltar extends VirtualizedRegistry<RecipeRuneAltar> {
     @Override
     @GroovyBlacklist
     public void onReload() {
-        removeScripted().forEach(BotaniaAPI.runeAltarRecipes::remove);
+        removeAllByIdentity(BotaniaAPI.runeAltarRecipes, removeScripted());
         BotaniaAPI.runeAltarRecipes.addAll(restoreFromBackup());
     }
 
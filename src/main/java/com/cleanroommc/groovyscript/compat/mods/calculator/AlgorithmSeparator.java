@@ -25,7 +25,7 @@ public class AlgorithmSeparator extends VirtualizedRegistry<CalculatorRecipe> {
 
     @Override
     public void onReload() {
-        removeScripted().forEach(AlgorithmSeparatorRecipes.instance().getRecipes()::remove);
+        removeAllByIdentity(AlgorithmSeparatorRecipes.instance().getRecipes(), removeScripted());
         restoreFromBackup().forEach(AlgorithmSeparatorRecipes.instance().getRecipes()::add);
     }
 
@@ -57,7 +57,7 @@ public class AnalysingChamber extends VirtualizedRegistry<CalculatorRecipe> {
 
     @Override
     public void onReload() {
-        removeScripted().forEach(AnalysingChamberRecipes.instance().getRecipes()::remove);
+        removeAllByIdentity(AnalysingChamberRecipes.instance().getRecipes(), removeScripted());
         restoreFromBackup().forEach(AnalysingChamberRecipes.instance().getRecipes()::add);
     }
 
@@ -25,7 +25,7 @@ public class AtomicCalculator extends VirtualizedRegistry<CalculatorRecipe> {
 
     @Override
     public void onReload() {
-        removeScripted().forEach(AtomicCalculatorRecipes.instance().getRecipes()::remove);
+        removeAllByIdentity(AtomicCalculatorRecipes.instance().getRecipes(), removeScripted());
         restoreFromBackup().forEach(AtomicCalculatorRecipes.instance().getRecipes()::add);
     }
 
@@ -30,7 +30,7 @@ public class BasicCalculator extends VirtualizedRegistry<CalculatorRecipe> {
 
     @Override
     public void onReload() {
-        removeScripted().forEach(CalculatorRecipes.instance().getRecipes()::remove);
+        removeAllByIdentity(CalculatorRecipes.instance().getRecipes(), removeScripted());
         restoreFromBackup().forEach(CalculatorRecipes.instance().getRecipes()::add);
     }
 
@@ -25,7 +25,7 @@ public class ConductorMast extends VirtualizedRegistry<DefaultSonarRecipe.Value>
 
     @Override
     public void onReload() {
-        removeScripted().forEach(ConductorMastRecipes.instance().getRecipes()::remove);
+        removeAllByIdentity(ConductorMastRecipes.instance().getRecipes(), removeScripted());
         restoreFromBackup().forEach(ConductorMastRecipes.instance().getRecipes()::add);
     }
 
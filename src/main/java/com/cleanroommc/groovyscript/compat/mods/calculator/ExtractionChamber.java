@@ -29,7 +29,7 @@ public class ExtractionChamber extends VirtualizedRegistry<CalculatorRecipe> {
 
     @Override
     public void onReload() {
-        removeScripted().forEach(ExtractionChamberRecipes.instance().getRecipes()::remove);
+        removeAllByIdentity(ExtractionChamberRecipes.instance().getRecipes(), removeScripted());
         restoreFromBackup().forEach(ExtractionChamberRecipes.instance().getRecipes()::add);
     }
 
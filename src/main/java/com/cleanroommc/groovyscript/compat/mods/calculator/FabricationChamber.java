@@ -34,7 +34,7 @@ public class FabricationChamber extends VirtualizedRegistry<FabricationSonarReci
 
     @Override
     public void onReload() {
-        removeScripted().forEach(FabricationChamberRecipes.instance().getRecipes()::remove);
+        removeAllByIdentity(FabricationChamberRecipes.instance().getRecipes(), removeScripted());
         restoreFromBackup().forEach(FabricationChamberRecipes.instance().getRecipes()::add);
     }
 
@@ -25,7 +25,7 @@ public class FlawlessCalculator extends VirtualizedRegistry<CalculatorRecipe> {
 
     @Override
     public void onReload() {
-        removeScripted().forEach(FlawlessCalculatorRecipes.instance().getRecipes()::remove);
+        removeAllByIdentity(FlawlessCalculatorRecipes.instance().getRecipes(), removeScripted());
         restoreFromBackup().forEach(FlawlessCalculatorRecipes.instance().getRecipes()::add);
     }
 
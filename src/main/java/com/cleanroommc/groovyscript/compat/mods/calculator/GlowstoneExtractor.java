@@ -25,7 +25,7 @@ public class GlowstoneExtractor extends VirtualizedRegistry<DefaultSonarRecipe.V
 
     @Override
     public void onReload() {
-        removeScripted().forEach(GlowstoneExtractorRecipes.instance().getRecipes()::remove);
+        removeAllByIdentity(GlowstoneExtractorRecipes.instance().getRecipes(), removeScripted());
         restoreFromBackup().forEach(GlowstoneExtractorRecipes.instance().getRecipes()::add);
     }
 
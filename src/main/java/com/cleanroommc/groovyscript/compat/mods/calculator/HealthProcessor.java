@@ -25,7 +25,7 @@ public class HealthProcessor extends VirtualizedRegistry<DefaultSonarRecipe.Valu
 
     @Override
     public void onReload() {
-        removeScripted().forEach(HealthProcessorRecipes.instance().getRecipes()::remove);
+        removeAllByIdentity(HealthProcessorRecipes.instance().getRecipes(), removeScripted());
         restoreFromBackup().forEach(HealthProcessorRecipes.instance().getRecipes()::add);
     }
 
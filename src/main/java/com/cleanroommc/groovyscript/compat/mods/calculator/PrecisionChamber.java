@@ -28,7 +28,7 @@ public class PrecisionChamber extends VirtualizedRegistry<CalculatorRecipe> {
 
     @Override
     public void onReload() {
-        removeScripted().forEach(PrecisionChamberRecipes.instance().getRecipes()::remove);
+        removeAllByIdentity(PrecisionChamberRecipes.instance().getRecipes(), removeScripted());
         restoreFromBackup().forEach(PrecisionChamberRecipes.instance().getRecipes()::add);
     }
 
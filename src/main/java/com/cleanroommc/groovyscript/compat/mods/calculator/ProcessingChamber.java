@@ -25,7 +25,7 @@ public class ProcessingChamber extends VirtualizedRegistry<CalculatorRecipe> {
 
     @Override
     public void onReload() {
-        removeScripted().forEach(ProcessingChamberRecipes.instance().getRecipes()::remove);
+        removeAllByIdentity(ProcessingChamberRecipes.instance().getRecipes(), removeScripted());
         restoreFromBackup().forEach(ProcessingChamberRecipes.instance().getRecipes()::add);
     }
 
@@ -25,7 +25,7 @@ public class ReassemblyChamber extends VirtualizedRegistry<CalculatorRecipe> {
 
     @Override
     public void onReload() {
-        removeScripted().forEach(ReassemblyChamberRecipes.instance().getRecipes()::remove);
+        removeAllByIdentity(ReassemblyChamberRecipes.instance().getRecipes(), removeScripted());
         restoreFromBackup().forEach(ReassemblyChamberRecipes.instance().getRecipes()::add);
     }
 
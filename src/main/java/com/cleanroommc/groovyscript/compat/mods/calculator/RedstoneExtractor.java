@@ -25,7 +25,7 @@ public class RedstoneExtractor extends VirtualizedRegistry<DefaultSonarRecipe.Va
 
     @Override
     public void onReload() {
-        removeScripted().forEach(RedstoneExtractorRecipes.instance().getRecipes()::remove);
+        removeAllByIdentity(RedstoneExtractorRecipes.instance().getRecipes(), removeScripted());
         restoreFromBackup().forEach(RedstoneExtractorRecipes.instance().getRecipes()::add);
     }
 
@@ -25,7 +25,7 @@ public class RestorationChamber extends VirtualizedRegistry<CalculatorRecipe> {
 
     @Override
     public void onReload() {
-        removeScripted().forEach(RestorationChamberRecipes.instance().getRecipes()::remove);
+        removeAllByIdentity(RestorationChamberRecipes.instance().getRecipes(), removeScripted());
         restoreFromBackup().forEach(RestorationChamberRecipes.instance().getRecipes()::add);
     }
 
@@ -25,7 +25,7 @@ public class ScientificCalculator extends VirtualizedRegistry<CalculatorRecipe>
 
     @Override
     public void onReload() {
-        removeScripted().forEach(ScientificRecipes.instance().getRecipes()::remove);
+        removeAllByIdentity(ScientificRecipes.instance().getRecipes(), removeScripted());
         restoreFromBackup().forEach(ScientificRecipes.instance().getRecipes()::add);
     }
 
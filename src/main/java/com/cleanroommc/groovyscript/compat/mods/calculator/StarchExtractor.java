@@ -25,7 +25,7 @@ public class StarchExtractor extends VirtualizedRegistry<DefaultSonarRecipe.Valu
 
     @Override
     public void onReload() {
-        removeScripted().forEach(StarchExtractorRecipes.instance().getRecipes()::remove);
+        removeAllByIdentity(StarchExtractorRecipes.instance().getRecipes(), removeScripted());
         restoreFromBackup().forEach(StarchExtractorRecipes.instance().getRecipes()::add);
     }
 
@@ -25,7 +25,7 @@ public class StoneSeparator extends VirtualizedRegistry<CalculatorRecipe> {
 
     @Override
     public void onReload() {
-        removeScripted().forEach(StoneSeparatorRecipes.instance().getRecipes()::remove);
+        removeAllByIdentity(StoneSeparatorRecipes.instance().getRecipes(), removeScripted());
         restoreFromBackup().forEach(StoneSeparatorRecipes.instance().getRecipes()::add);
     }
 
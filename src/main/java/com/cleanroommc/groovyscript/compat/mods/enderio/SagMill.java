@@ -63,7 +63,7 @@ public class SagMill extends VirtualizedRegistry<Recipe> {
 
     @GroovyBlacklist
     public void onReload() {
-        removeScripted().forEach(SagMillRecipeManager.getInstance().getRecipes()::remove);
+        removeAllByIdentity(SagMillRecipeManager.getInstance().getRecipes(), removeScripted());
         restoreFromBackup().forEach(SagMillRecipeManager.getInstance().getRecipes()::add);
     }
 
@@ -51,7 +51,7 @@ public class SagMillGrinding extends VirtualizedRegistry<GrindingBall> {
 
     @GroovyBlacklist
     public void onReload() {
-        removeScripted().forEach(SagMillRecipeManager.getInstance().getBalls()::remove);
+        removeAllByIdentity(SagMillRecipeManager.getInstance().getBalls(), removeScripted());
         restoreFromBackup().forEach(SagMillRecipeManager.getInstance().getBalls()::add);
     }
 
@@ -93,7 +93,7 @@ public class SliceNSplice extends VirtualizedRegistry<IManyToOneRecipe> {
 
     @GroovyBlacklist
     public void onReload() {
-        removeScripted().forEach(SliceAndSpliceRecipeManager.getInstance().getRecipes()::remove);
+        removeAllByIdentity(SliceAndSpliceRecipeManager.getInstance().getRecipes(), removeScripted());
         restoreFromBackup().forEach(SliceAndSpliceRecipeManager.getInstance().getRecipes()::add);
     }
 
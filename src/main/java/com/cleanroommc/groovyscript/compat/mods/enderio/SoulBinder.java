@@ -1,5 +1,6 @@
 package com.cleanroommc.groovyscript.compat.mods.enderio;
 
+import com.cleanroommc.groovyscript.GroovyScript;
 import com.cleanroommc.groovyscript.api.GroovyBlacklist;
 import com.cleanroommc.groovyscript.api.GroovyLog;
 import com.cleanroommc.groovyscript.api.documentation.annotations.*;
@@ -179,7 +180,12 @@ public class SoulBinder extends VirtualizedRegistry<ISoulBinderRecipe> {
             }
             if (energy <= 0) energy = 5000;
             if (xp <= 0) xp = 2;
-            if (name == null || name.isEmpty()) name = RecipeName.generate();
+            if (name == null || name.isEmpty()) name = RecipeName.generate(GroovyScript.getRunConfig().getPackId() + "_", getRecipeNameContent());
+        }
+
+        @Override
+        protected Object[] getRecipeNameContent() {
+            return new Object[]{getClass().getName(), input, output, entities, energy, xp};
         }
 
         @Override
@@ -46,7 +46,7 @@ public class Tank extends VirtualizedRegistry<TankMachineRecipe> {
 
     @MethodDescription(description = "groovyscript.wiki.enderio.tank.addFill0", type = MethodDescription.Type.ADDITION)
     public void addFill(IIngredient input, FluidStack inputFluid, ItemStack output) {
-        addFill(GroovyScript.getRunConfig().getPackId() + ":" + RecipeName.generate("groovyscript_enderio_tank_"), input, inputFluid, output);
+        addFill(GroovyScript.getRunConfig().getPackId() + ":" + RecipeName.generate("groovyscript_enderio_tank_", "fill", input, inputFluid, output), input, inputFluid, output);
     }
 
     @MethodDescription(description = "groovyscript.wiki.enderio.tank.addFill1", type = MethodDescription.Type.ADDITION)
@@ -65,7 +65,7 @@ public class Tank extends VirtualizedRegistry<TankMachineRecipe> {
 
     @MethodDescription(description = "groovyscript.wiki.enderio.tank.addDrain0", type = MethodDescription.Type.ADDITION)
     public void addDrain(IIngredient input, FluidStack outputFluid, ItemStack output) {
-        addDrain(GroovyScript.getRunConfig().getPackId() + ":" + RecipeName.generate("groovyscript_enderio_tank_"), input, outputFluid, output);
+        addDrain(GroovyScript.getRunConfig().getPackId() + ":" + RecipeName.generate("groovyscript_enderio_tank_", "drain", input, outputFluid, output), input, outputFluid, output);
     }
 
     @MethodDescription(description = "groovyscript.wiki.enderio.tank.addDrain1", type = MethodDescription.Type.ADDITION)
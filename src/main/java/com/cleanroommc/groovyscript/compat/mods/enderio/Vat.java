@@ -69,7 +69,7 @@ public class Vat extends VirtualizedRegistry<VatRecipe> {
     @GroovyBlacklist
     public void onReload() {
         NNList<IRecipe> recipes = VatRecipeManager.getInstance().getRecipes();
-        removeScripted().forEach(recipes::remove);
+        removeAllByIdentity(recipes, removeScripted());
         recipes.addAll(restoreFromBackup());
     }
 
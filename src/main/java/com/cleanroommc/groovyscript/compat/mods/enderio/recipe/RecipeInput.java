@@ -21,7 +21,7 @@ public class RecipeInput implements IRecipeInput {
     public RecipeInput(IIngredient ing, int slot) {
         this.ing = IngredientHelper.isEmpty(ing) ? IIngredient.EMPTY : ing.exactCopy();
         this.slot = slot;
-        if (this.ing.getMatchingStacks().length == 0) {
+        if (this.ing.getCachedMatchingStacks().length == 0) {
             GroovyLog.get().warn("EnderTweaker received an empty ingredient. This may cause problems. Ingredient: ", this.ing);
         }
     }
@@ -70,11 +70,7 @@ public class RecipeInput implements IRecipeInput {
 
     @Override
     public ItemStack[] getEquivelentInputs() {
-        ItemStack[] org = ing.getMatchingStacks();
-        ItemStack[] copy = new ItemStack[org.length];
-        for (int i = 0; i < copy.length; i++)
-            copy[i] = org[i].copy();
-        return copy;
+        return ing.getMatchingStacks();
     }
 
     @Override
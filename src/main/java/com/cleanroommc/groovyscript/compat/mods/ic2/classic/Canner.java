@@ -121,7 +121,7 @@ public class Canner extends VirtualizedRegistry<Canner.CanningRecipe> {
                     .post();
             return false;
         }
-        ICannerRegistry.FuelInfo info = ClassicRecipes.canningMachine.getFuelInfo(fuel.getMatchingStacks()[0]);
+        ICannerRegistry.FuelInfo info = ClassicRecipes.canningMachine.getFuelInfo(fuel.getCachedMatchingStacks()[0]);
         if (info == null) {
             GroovyLog.msg("Error removing Industrialcraft 2 Canner recipe")
                     .add("no recipes found for {}", fuel)
@@ -283,7 +283,7 @@ public class Canner extends VirtualizedRegistry<Canner.CanningRecipe> {
                 ClassicRecipes.canningMachine.deleteEffectID(recipe.intValue, true);
                 break;
             case FUEL_VALUE:
-                for (ItemStack stack : recipe.input.getMatchingStacks()) {
+                for (ItemStack stack : recipe.input.getCachedMatchingStacks()) {
                     ClassicRecipes.canningMachine.deleteItemFuel(stack);
                 }
                 break;
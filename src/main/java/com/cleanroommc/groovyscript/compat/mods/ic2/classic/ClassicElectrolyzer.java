@@ -148,19 +148,19 @@ public class ClassicElectrolyzer extends VirtualizedRegistry<ClassicElectrolyzer
     private void remove(ElectrolyzerRecipe recipe) {
         switch (recipe.type) {
             case CHARGE:
-                for (ItemStack stack : recipe.input.getMatchingStacks()) {
+                for (ItemStack stack : recipe.input.getCachedMatchingStacks()) {
                     ClassicRecipes.electrolyzer.removeRecipe(stack, true, false);
                     removeFromMap(stack);
                 }
                 break;
             case DISCHARGE:
-                for (ItemStack stack : recipe.input.getMatchingStacks()) {
+                for (ItemStack stack : recipe.input.getCachedMatchingStacks()) {
                     ClassicRecipes.electrolyzer.removeRecipe(stack, false, false);
                     removeFromMap(stack);
                 }
                 break;
             case BOTH:
-                for (ItemStack stack : recipe.input.getMatchingStacks()) {
+                for (ItemStack stack : recipe.input.getCachedMatchingStacks()) {
                     ClassicRecipes.electrolyzer.removeRecipe(stack, true, true);
                     removeFromMap(stack);
                 }
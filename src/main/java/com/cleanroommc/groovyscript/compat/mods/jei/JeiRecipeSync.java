@@ -0,0 +1,92 @@
+package com.cleanroommc.groovyscript.compat.mods.jei;
+
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import mezz.jei.api.IRecipeRegistry;
+import mezz.jei.api.recipe.IFocus;
+import mezz.jei.api.recipe.IRecipeCategory;
+import mezz.jei.api.recipe.IRecipeWrapper;
+import mezz.jei.api.recipe.VanillaRecipeCategoryUid;
+import mezz.jei.plugins.vanilla.crafting.ShapelessRecipeWrapper;
+import net.minecraft.item.ItemStack;
+import net.minecraft.item.crafting.IRecipe;
+import net.minecraftforge.common.crafting.IShapedRecipe;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+import net.minecraftforge.oredict.OreDictionary;
+import org.jetbrains.annotations.ApiStatus;
+
+import java.util.*;
+
+/**
+ * Shows changes of crafting and smelting recipes in JEI by adding and hiding recipes, instead of restarting JEI.
+ * Recipes which JEI never knew about get new wrappers, which are remembered so that they can be hidden again.
+ */
+@ApiStatus.Internal
+@SideOnly(Side.CLIENT)
+public class JeiRecipeSync {
+
+    private static final Map<IRecipe, IRecipeWrapper> addedCrafting = new Reference2ObjectOpenHashMap<>();
+    private static final Map<ItemStack, IRecipeWrapper> addedSmelting = new Reference2ObjectOpenHashMap<>();
+
+    public static void update(Collection<IRecipe> removedCrafting, Collection<IRecipe> newCrafting, Map<ItemStack, ItemStack> removedSmelting, Map<ItemStack, ItemStack> newSmelting) {
+        IRecipeRegistry registry = JeiPlugin.recipeRegistry;
+        if (registry == null) return;
+        for (IRecipe recipe : removedCrafting) {
+            IRecipeWrapper wrapper = addedCrafting.remove(recipe);
+            if (wrapper == null) wrapper = registry.getRecipeWrapper(recipe, VanillaRecipeCategoryUid.CRAFTING);
+            if (wrapper != null) registry.hideRecipe(wrapper, VanillaRecipeCategoryUid.CRAFTING);
+        }
+        for (IRecipe recipe : newCrafting) {
+            IRecipeWrapper wrapper = registry.getRecipeWrapper(recipe, VanillaRecipeCategoryUid.CRAFTING);
+            if (wrapper != null) {
+                // was hidden before
+                registry.unhideRecipe(wrapper, VanillaRecipeCategoryUid.CRAFTING);
+                continue;
+            }
+            wrapper = recipe instanceof IShapedRecipe ? new ShapedRecipeWrapper(JeiPlugin.jeiHelpers, (IShapedRecipe) recipe)
+                                                      : new ShapelessRecipeWrapper<>(JeiPlugin.jeiHelpers, recipe);
+            registry.addRecipe(wrapper, VanillaRecipeCategoryUid.CRAFTING);
+            addedCrafting.put(recipe, wrapper);
+        }
+
+        IRecipeCategory<IRecipeWrapper> smelting = getCategory(registry, VanillaRecipeCategoryUid.SMELTING);
+        for (Map.Entry<ItemStack, ItemStack> entry : removedSmelting.entrySet()) {
+            IRecipeWrapper wrapper = addedSmelting.remove(entry.getKey());
+            if (wrapper != null) {
+                registry.hideRecipe(wrapper, VanillaRecipeCategoryUid.SMELTING);
+            } else if (smelting != null) {
+                // smelting recipes are created by jei, so they have to be found by their ingredients
+                for (IRecipeWrapper found : findRecipes(registry, smelting, entry.getKey(), entry.getValue())) {
+                    registry.hideRecipe(found, VanillaRecipeCategoryUid.SMELTING);
+                }
+            }
+        }
+        for (Map.Entry<ItemStack, ItemStack> entry : newSmelting.entrySet()) {
+            IRecipeWrapper wrapper = JeiPlugin.jeiHelpers.getVanillaRecipeFactory().createSmeltingRecipe(Collections.singletonList(entry.getKey()), entry.getValue());
+            registry.addRecipe(wrapper, VanillaRecipeCategoryUid.SMELTING);
+            addedSmelting.put(entry.getKey(), wrapper);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static IRecipeCategory<IRecipeWrapper> getCategory(IRecipeRegistry registry, String uid) {
+        return (IRecipeCategory<IRecipeWrapper>) registry.getRecipeCategory(uid);
+    }
+
+    /**
+     * Looks up the recipes with the input and output in the ingredient index of jei.
+     */
+    private static List<IRecipeWrapper> findRecipes(IRecipeRegistry registry, IRecipeCategory<IRecipeWrapper> category, ItemStack input, ItemStack output) {
+        List<IRecipeWrapper> byOutput = registry.getRecipeWrappers(category, registry.createFocus(IFocus.Mode.OUTPUT, output));
+        if (byOutput.isEmpty()) return byOutput;
+        // jei lists wildcard inputs by their subtypes
+        ItemStack focus = input.getMetadata() == OreDictionary.WILDCARD_VALUE ? new ItemStack(input.getItem(), 1, 0) : input;
+        Set<IRecipeWrapper> byInput = new ReferenceOpenHashSet<>(registry.getRecipeWrappers(category, registry.createFocus(IFocus.Mode.INPUT, focus)));
+        List<IRecipeWrapper> found = new ArrayList<>();
+        for (IRecipeWrapper wrapper : byOutput) {
+            if (byInput.contains(wrapper)) found.add(wrapper);
+        }
+        return found;
+    }
+}
@@ -36,7 +36,7 @@ public class ChemicalOxidizer extends VirtualizedMekanismRegistry<OxidationRecip
 
         output = output.copy();
         OxidationRecipe recipe1 = null;
-        for (ItemStack itemStack : ingredient.getMatchingStacks()) {
+        for (ItemStack itemStack : ingredient.getCachedMatchingStacks()) {
             OxidationRecipe recipe = new OxidationRecipe(itemStack.copy(), output);
             if (recipe1 == null) recipe1 = recipe;
             recipeRegistry.put(recipe);
@@ -52,7 +52,7 @@ public class ChemicalOxidizer extends VirtualizedMekanismRegistry<OxidationRecip
             return false;
         }
         boolean found = false;
-        for (ItemStack itemStack : ingredient.getMatchingStacks()) {
+        for (ItemStack itemStack : ingredient.getCachedMatchingStacks()) {
             OxidationRecipe recipe = recipeRegistry.get().remove(new ItemStackInput(itemStack));
             if (recipe != null) {
                 addBackup(recipe);
@@ -86,7 +86,7 @@ public class ChemicalOxidizer extends VirtualizedMekanismRegistry<OxidationRecip
         public @Nullable OxidationRecipe register() {
             if (!validate()) return null;
             OxidationRecipe recipe = null;
-            for (ItemStack itemStack : input.get(0).getMatchingStacks()) {
+            for (ItemStack itemStack : input.get(0).getCachedMatchingStacks()) {
                 OxidationRecipe r = new OxidationRecipe(itemStack.copy(), gasOutput.get(0));
                 if (recipe == null) recipe = r;
                 ModSupport.MEKANISM.get().chemicalOxidizer.add(r);
@@ -36,7 +36,7 @@ public class Combiner extends VirtualizedMekanismRegistry<CombinerRecipe> {
         extra = extra.copy();
         output = output.copy();
         CombinerRecipe recipe1 = null;
-        for (ItemStack itemStack : ingredient.getMatchingStacks()) {
+        for (ItemStack itemStack : ingredient.getCachedMatchingStacks()) {
             CombinerRecipe recipe = new CombinerRecipe(itemStack.copy(), extra, output);
             if (recipe1 == null) recipe1 = recipe;
             recipeRegistry.put(recipe);
@@ -53,7 +53,7 @@ public class Combiner extends VirtualizedMekanismRegistry<CombinerRecipe> {
         if (msg.postIfNotEmpty()) return false;
 
         boolean found = false;
-        for (ItemStack itemStack : ingredient.getMatchingStacks()) {
+        for (ItemStack itemStack : ingredient.getCachedMatchingStacks()) {
             CombinerRecipe recipe = recipeRegistry.get().remove(new DoubleMachineInput(itemStack, extra));
             if (recipe != null) {
                 addBackup(recipe);
@@ -94,7 +94,7 @@ public class Combiner extends VirtualizedMekanismRegistry<CombinerRecipe> {
         public @Nullable CombinerRecipe register() {
             if (!validate()) return null;
             CombinerRecipe recipe = null;
-            for (ItemStack itemStack : input.get(0).getMatchingStacks()) {
+            for (ItemStack itemStack : input.get(0).getCachedMatchingStacks()) {
                 CombinerRecipe r = new CombinerRecipe(itemStack.copy(), extra, output.get(0));
                 if (recipe == null) recipe = r;
                 ModSupport.MEKANISM.get().combiner.add(r);
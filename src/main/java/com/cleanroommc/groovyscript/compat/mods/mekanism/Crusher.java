@@ -34,7 +34,7 @@ public class Crusher extends VirtualizedMekanismRegistry<CrusherRecipe> {
 
         output = output.copy();
         CrusherRecipe recipe1 = null;
-        for (ItemStack itemStack : ingredient.getMatchingStacks()) {
+        for (ItemStack itemStack : ingredient.getCachedMatchingStacks()) {
             CrusherRecipe recipe = new CrusherRecipe(itemStack.copy(), output);
             if (recipe1 == null) recipe1 = recipe;
             recipeRegistry.put(recipe);
@@ -50,7 +50,7 @@ public class Crusher extends VirtualizedMekanismRegistry<CrusherRecipe> {
             return false;
         }
         boolean found = false;
-        for (ItemStack itemStack : ingredient.getMatchingStacks()) {
+        for (ItemStack itemStack : ingredient.getCachedMatchingStacks()) {
             CrusherRecipe recipe = recipeRegistry.get().remove(new ItemStackInput(itemStack));
             if (recipe != null) {
                 addBackup(recipe);
@@ -83,7 +83,7 @@ public class Crusher extends VirtualizedMekanismRegistry<CrusherRecipe> {
         public @Nullable CrusherRecipe register() {
             if (!validate()) return null;
             CrusherRecipe recipe = null;
-            for (ItemStack itemStack : input.get(0).getMatchingStacks()) {
+            for (ItemStack itemStack : input.get(0).getCachedMatchingStacks()) {
                 CrusherRecipe r = new CrusherRecipe(itemStack.copy(), output.get(0));
                 if (recipe == null) recipe = r;
                 ModSupport.MEKANISM.get().crusher.add(r);
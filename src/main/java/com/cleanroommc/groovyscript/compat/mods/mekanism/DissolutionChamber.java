@@ -36,7 +36,7 @@ public class DissolutionChamber extends VirtualizedMekanismRegistry<DissolutionR
 
         output = output.copy();
         DissolutionRecipe recipe1 = null;
-        for (ItemStack itemStack : ingredient.getMatchingStacks()) {
+        for (ItemStack itemStack : ingredient.getCachedMatchingStacks()) {
             DissolutionRecipe recipe = new DissolutionRecipe(itemStack.copy(), output);
             if (recipe1 == null) recipe1 = recipe;
             recipeRegistry.put(recipe);
@@ -52,7 +52,7 @@ public class DissolutionChamber extends VirtualizedMekanismRegistry<DissolutionR
             return false;
         }
         boolean found = false;
-        for (ItemStack itemStack : ingredient.getMatchingStacks()) {
+        for (ItemStack itemStack : ingredient.getCachedMatchingStacks()) {
             DissolutionRecipe recipe = recipeRegistry.get().remove(new ItemStackInput(itemStack));
             if (recipe != null) {
                 addBackup(recipe);
@@ -86,7 +86,7 @@ public class DissolutionChamber extends VirtualizedMekanismRegistry<DissolutionR
         public @Nullable DissolutionRecipe register() {
             if (!validate()) return null;
             DissolutionRecipe recipe = null;
-            for (ItemStack itemStack : input.get(0).getMatchingStacks()) {
+            for (ItemStack itemStack : input.get(0).getCachedMatchingStacks()) {
                 DissolutionRecipe r = new DissolutionRecipe(itemStack.copy(), gasOutput.get(0));
                 if (recipe == null) recipe = r;
                 ModSupport.MEKANISM.get().dissolutionChamber.add(r);
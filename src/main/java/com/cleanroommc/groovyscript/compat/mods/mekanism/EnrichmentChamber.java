@@ -35,7 +35,7 @@ public class EnrichmentChamber extends VirtualizedMekanismRegistry<EnrichmentRec
 
         output = output.copy();
         EnrichmentRecipe recipe1 = null;
-        for (ItemStack itemStack : ingredient.getMatchingStacks()) {
+        for (ItemStack itemStack : ingredient.getCachedMatchingStacks()) {
             EnrichmentRecipe recipe = new EnrichmentRecipe(itemStack.copy(), output);
             if (recipe1 == null) recipe1 = recipe;
             recipeRegistry.put(recipe);
@@ -51,7 +51,7 @@ public class EnrichmentChamber extends VirtualizedMekanismRegistry<EnrichmentRec
             return false;
         }
         boolean found = false;
-        for (ItemStack itemStack : ingredient.getMatchingStacks()) {
+        for (ItemStack itemStack : ingredient.getCachedMatchingStacks()) {
             EnrichmentRecipe recipe = recipeRegistry.get().remove(new ItemStackInput(itemStack));
             if (recipe != null) {
                 addBackup(recipe);
@@ -84,7 +84,7 @@ public class EnrichmentChamber extends VirtualizedMekanismRegistry<EnrichmentRec
         public @Nullable EnrichmentRecipe register() {
             if (!validate()) return null;
             EnrichmentRecipe recipe = null;
-            for (ItemStack itemStack : input.get(0).getMatchingStacks()) {
+            for (ItemStack itemStack : input.get(0).getCachedMatchingStacks()) {
                 EnrichmentRecipe r = new EnrichmentRecipe(itemStack.copy(), output.get(0));
                 if (recipe == null) recipe = r;
                 ModSupport.MEKANISM.get().enrichmentChamber.add(r);
@@ -37,7 +37,7 @@ public class InjectionChamber extends VirtualizedMekanismRegistry<InjectionRecip
 
         output = output.copy();
         InjectionRecipe recipe1 = null;
-        for (ItemStack itemStack : ingredient.getMatchingStacks()) {
+        for (ItemStack itemStack : ingredient.getCachedMatchingStacks()) {
             InjectionRecipe recipe = new InjectionRecipe(itemStack.copy(), gasInput.getGas(), output);
             if (recipe1 == null) recipe1 = recipe;
             recipeRegistry.put(recipe);
@@ -54,7 +54,7 @@ public class InjectionChamber extends VirtualizedMekanismRegistry<InjectionRecip
         if (msg.postIfNotEmpty()) return false;
 
         boolean found = false;
-        for (ItemStack itemStack : ingredient.getMatchingStacks()) {
+        for (ItemStack itemStack : ingredient.getCachedMatchingStacks()) {
             InjectionRecipe recipe = recipeRegistry.get().remove(new AdvancedMachineInput(itemStack, gasInput.getGas()));
             if (recipe != null) {
                 addBackup(recipe);
@@ -89,7 +89,7 @@ public class InjectionChamber extends VirtualizedMekanismRegistry<InjectionRecip
         public @Nullable InjectionRecipe register() {
             if (!validate()) return null;
             InjectionRecipe recipe = null;
-            for (ItemStack itemStack : input.get(0).getMatchingStacks()) {
+            for (ItemStack itemStack : input.get(0).getCachedMatchingStacks()) {
                 InjectionRecipe r = new InjectionRecipe(itemStack.copy(), gasInput.get(0).getGas(), output.get(0));
                 if (recipe == null) recipe = r;
                 ModSupport.MEKANISM.get().injectionChamber.add(r);
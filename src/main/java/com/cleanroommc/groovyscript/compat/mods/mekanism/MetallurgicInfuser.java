@@ -38,7 +38,7 @@ public class MetallurgicInfuser extends VirtualizedMekanismRegistry<MetallurgicI
 
         output = output.copy();
         MetallurgicInfuserRecipe recipe1 = null;
-        for (ItemStack itemStack : ingredient.getMatchingStacks()) {
+        for (ItemStack itemStack : ingredient.getCachedMatchingStacks()) {
             MetallurgicInfuserRecipe recipe = new MetallurgicInfuserRecipe(new InfusionInput(infuseType, infuseAmount, itemStack.copy()), output);
             if (recipe1 == null) recipe1 = recipe;
             recipeRegistry.put(recipe);
@@ -60,7 +60,7 @@ public class MetallurgicInfuser extends VirtualizedMekanismRegistry<MetallurgicI
         if (msg.postIfNotEmpty()) return false;
 
         boolean found = false;
-        for (ItemStack itemStack : ingredient.getMatchingStacks()) {
+        for (ItemStack itemStack : ingredient.getCachedMatchingStacks()) {
             // infuse amount is not hashed so we don't need it
             MetallurgicInfuserRecipe recipe = recipeRegistry.get().remove(new InfusionInput(infuseType, 1, itemStack));
             if (recipe != null) {
@@ -120,7 +120,7 @@ public class MetallurgicInfuser extends VirtualizedMekanismRegistry<MetallurgicI
         public @Nullable MetallurgicInfuserRecipe register() {
             if (!validate()) return null;
             MetallurgicInfuserRecipe recipe = null;
-            for (ItemStack itemStack : input.get(0).getMatchingStacks()) {
+            for (ItemStack itemStack : input.get(0).getCachedMatchingStacks()) {
                 MetallurgicInfuserRecipe r = new MetallurgicInfuserRecipe(new InfusionInput(infuse, amount, itemStack.copy()), output.get(0));
                 if (recipe == null) recipe = r;
                 ModSupport.MEKANISM.get().metallurgicInfuser.add(r);
@@ -38,7 +38,7 @@ public class OsmiumCompressor extends VirtualizedMekanismRegistry<OsmiumCompress
 
         output = output.copy();
         OsmiumCompressorRecipe recipe1 = null;
-        for (ItemStack itemStack : ingredient.getMatchingStacks()) {
+        for (ItemStack itemStack : ingredient.getCachedMatchingStacks()) {
             OsmiumCompressorRecipe recipe = new OsmiumCompressorRecipe(new AdvancedMachineInput(itemStack.copy(), gasInput.getGas()), new ItemStackOutput(output));
             if (recipe1 == null) recipe1 = recipe;
             recipeRegistry.put(recipe);
@@ -55,7 +55,7 @@ public class OsmiumCompressor extends VirtualizedMekanismRegistry<OsmiumCompress
         if (msg.postIfNotEmpty()) return false;
 
         boolean found = false;
-        for (ItemStack itemStack : ingredient.getMatchingStacks()) {
+        for (ItemStack itemStack : ingredient.getCachedMatchingStacks()) {
             OsmiumCompressorRecipe recipe = recipeRegistry.get().remove(new AdvancedMachineInput(itemStack, gasInput.getGas()));
             if (recipe != null) {
                 addBackup(recipe);
@@ -91,7 +91,7 @@ public class OsmiumCompressor extends VirtualizedMekanismRegistry<OsmiumCompress
             if (!validate()) return null;
             Gas gas = gasInput.isEmpty() ? MekanismFluids.LiquidOsmium : gasInput.get(0).getGas();
             OsmiumCompressorRecipe recipe = null;
-            for (ItemStack itemStack : input.get(0).getMatchingStacks()) {
+            for (ItemStack itemStack : input.get(0).getCachedMatchingStacks()) {
                 OsmiumCompressorRecipe r = new OsmiumCompressorRecipe(new AdvancedMachineInput(itemStack.copy(), gas), new ItemStackOutput(output.get(0)));
                 if (recipe == null) recipe = r;
                 ModSupport.MEKANISM.get().osmiumCompressor.add(r);
@@ -52,7 +52,7 @@ public class PressurizedReactionChamber extends VirtualizedMekanismRegistry<Pres
             return false;
         }
         boolean found = false;
-        for (ItemStack itemStack : inputSolid.getMatchingStacks()) {
+        for (ItemStack itemStack : inputSolid.getCachedMatchingStacks()) {
             PressurizedRecipe recipe = recipeRegistry.get().remove(new PressurizedInput(itemStack, inputFluid, inputGas));
             if (recipe != null) {
                 addBackup(recipe);
@@ -111,7 +111,7 @@ public class PressurizedReactionChamber extends VirtualizedMekanismRegistry<Pres
                 recipe = new PressurizedRecipe(new PressurizedInput(ItemStack.EMPTY, fluidInput.get(0), gasInput.get(0)), pressurizedOutput, energy, duration);
                 ModSupport.MEKANISM.get().pressurizedReactionChamber.add(recipe);
             } else {
-                for (ItemStack itemStack : input.get(0).getMatchingStacks()) {
+                for (ItemStack itemStack : input.get(0).getCachedMatchingStacks()) {
                     PressurizedRecipe r = new PressurizedRecipe(new PressurizedInput(itemStack.copy(), fluidInput.get(0), gasInput.get(0)), pressurizedOutput, energy, duration);
                     if (recipe == null) recipe = r;
                     ModSupport.MEKANISM.get().pressurizedReactionChamber.add(r);
@@ -37,7 +37,7 @@ public class PurificationChamber extends VirtualizedMekanismRegistry<Purificatio
 
         output = output.copy();
         PurificationRecipe recipe1 = null;
-        for (ItemStack itemStack : ingredient.getMatchingStacks()) {
+        for (ItemStack itemStack : ingredient.getCachedMatchingStacks()) {
             PurificationRecipe recipe = new PurificationRecipe(new AdvancedMachineInput(itemStack.copy(), gasInput.getGas()), new ItemStackOutput(output));
             if (recipe1 == null) recipe1 = recipe;
             recipeRegistry.put(recipe);
@@ -54,7 +54,7 @@ public class PurificationChamber extends VirtualizedMekanismRegistry<Purificatio
         if (msg.postIfNotEmpty()) return false;
 
         boolean found = false;
-        for (ItemStack itemStack : ingredient.getMatchingStacks()) {
+        for (ItemStack itemStack : ingredient.getCachedMatchingStacks()) {
             PurificationRecipe recipe = recipeRegistry.get().remove(new AdvancedMachineInput(itemStack, gasInput.getGas()));
             if (recipe != null) {
                 addBackup(recipe);
@@ -89,7 +89,7 @@ public class PurificationChamber extends VirtualizedMekanismRegistry<Purificatio
         public @Nullable PurificationRecipe register() {
             if (!validate()) return null;
             PurificationRecipe recipe = null;
-            for (ItemStack itemStack : input.get(0).getMatchingStacks()) {
+            for (ItemStack itemStack : input.get(0).getCachedMatchingStacks()) {
                 PurificationRecipe r = new PurificationRecipe(new AdvancedMachineInput(itemStack.copy(), gasInput.get(0).getGas()), new ItemStackOutput(output.get(0)));
                 if (recipe == null) recipe = r;
                 ModSupport.MEKANISM.get().purificationChamber.add(r);
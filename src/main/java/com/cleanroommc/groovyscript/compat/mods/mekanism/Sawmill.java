@@ -51,7 +51,7 @@ public class Sawmill extends VirtualizedMekanismRegistry<SawmillRecipe> {
 
         output = output.copy();
         SawmillRecipe recipe1 = null;
-        for (ItemStack itemStack : ingredient.getMatchingStacks()) {
+        for (ItemStack itemStack : ingredient.getCachedMatchingStacks()) {
             SawmillRecipe recipe;
             ChanceOutput chanceOutput = withSecondary ? new ChanceOutput(output, secondary, chance) : new ChanceOutput(output);
             recipe = new SawmillRecipe(new ItemStackInput(itemStack.copy()), chanceOutput);
@@ -69,7 +69,7 @@ public class Sawmill extends VirtualizedMekanismRegistry<SawmillRecipe> {
             return false;
         }
         boolean found = false;
-        for (ItemStack itemStack : ingredient.getMatchingStacks()) {
+        for (ItemStack itemStack : ingredient.getCachedMatchingStacks()) {
             SawmillRecipe recipe = recipeRegistry.get().remove(new ItemStackInput(itemStack));
             if (recipe != null) {
                 addBackup(recipe);
@@ -121,7 +121,7 @@ public class Sawmill extends VirtualizedMekanismRegistry<SawmillRecipe> {
                                         ? new ChanceOutput(output.get(0))
                                         : new ChanceOutput(output.get(0), extra, chance);
             SawmillRecipe recipe = null;
-            for (ItemStack itemStack : input.get(0).getMatchingStacks()) {
+            for (ItemStack itemStack : input.get(0).getCachedMatchingStacks()) {
                 SawmillRecipe r = new SawmillRecipe(new ItemStackInput(itemStack.copy()), chanceOutput);
                 if (recipe == null) recipe = r;
                 ModSupport.MEKANISM.get().sawmill.add(r);
@@ -40,7 +40,7 @@ public class Smelting extends VirtualizedMekanismRegistry<SmeltingRecipe> {
 
         output = output.copy();
         SmeltingRecipe recipe1 = null;
-        for (ItemStack itemStack : ingredient.getMatchingStacks()) {
+        for (ItemStack itemStack : ingredient.getCachedMatchingStacks()) {
             SmeltingRecipe recipe = new SmeltingRecipe(new ItemStackInput(itemStack.copy()), new ItemStackOutput(output));
             if (recipe1 == null) recipe1 = recipe;
             recipeRegistry.put(recipe);
@@ -56,7 +56,7 @@ public class Smelting extends VirtualizedMekanismRegistry<SmeltingRecipe> {
             return false;
         }
         boolean found = false;
-        for (ItemStack itemStack : ingredient.getMatchingStacks()) {
+        for (ItemStack itemStack : ingredient.getCachedMatchingStacks()) {
             SmeltingRecipe recipe = recipeRegistry.get().remove(new ItemStackInput(itemStack));
             if (recipe != null) {
                 addBackup(recipe);
@@ -89,7 +89,7 @@ public class Smelting extends VirtualizedMekanismRegistry<SmeltingRecipe> {
         public @Nullable SmeltingRecipe register() {
             if (!validate()) return null;
             SmeltingRecipe recipe = null;
-            for (ItemStack itemStack : input.get(0).getMatchingStacks()) {
+            for (ItemStack itemStack : input.get(0).getCachedMatchingStacks()) {
                 SmeltingRecipe r = new SmeltingRecipe(itemStack.copy(), output.get(0));
                 if (recipe == null) recipe = r;
                 ModSupport.MEKANISM.get().smelting.add(r);
@@ -61,7 +61,7 @@ public class InfusionCrafting extends VirtualizedRegistry<Pair<ResourceLocation,
     public InfusionRecipe add(String research, ItemStack outputResult, int inst, Collection<AspectStack> aspects, IIngredient centralItem, IIngredient... input) {
         Object[] inputs = ArrayUtils.map(input, IIngredient::toMcIngredient, new Ingredient[0]);
         InfusionRecipe infusionRecipe = new InfusionRecipe(research, outputResult, inst, Thaumcraft.makeAspectList(aspects), centralItem.toMcIngredient(), inputs);
-        add(RecipeName.generateRl("infusion_matrix_recipe"), infusionRecipe);
+        add(RecipeName.generateRl("infusion_matrix_recipe", research, outputResult, inst, centralItem, input), infusionRecipe);
         return infusionRecipe;
     }
 
@@ -199,7 +199,7 @@ public class InfusionCrafting extends VirtualizedRegistry<Pair<ResourceLocation,
 
             Object[] inputs = this.input.stream().map(IIngredient::toMcIngredient).toArray();
             InfusionRecipe recipe = new InfusionRecipe(researchKey, output.get(0), instability, aspects, mainInput.toMcIngredient(), inputs);
-            ModSupport.THAUMCRAFT.get().infusionCrafting.add(RecipeName.generateRl("infusion_matrix_recipe"), recipe);
+            ModSupport.THAUMCRAFT.get().infusionCrafting.add(RecipeName.generateRl("infusion_matrix_recipe", researchKey, output, instability, mainInput, this.input), recipe);
             return recipe;
         }
     }
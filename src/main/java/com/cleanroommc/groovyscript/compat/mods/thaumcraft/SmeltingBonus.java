@@ -42,7 +42,7 @@ public class SmeltingBonus extends VirtualizedRegistry<ThaumcraftApi.SmeltBonus>
         if (in instanceof OreDictIngredient) {
             ThaumcraftApi.addSmeltingBonus(((OreDictIngredient) in).getOreDict(), out, chance);
             addScripted(new ThaumcraftApi.SmeltBonus(((OreDictIngredient) in).getOreDict(), out, chance));
-        } else if (in.getMatchingStacks().length == 1) {
+        } else if (in.getCachedMatchingStacks().length == 1) {
             ThaumcraftApi.addSmeltingBonus(in.getMatchingStacks()[0], out, chance);
             addScripted(new ThaumcraftApi.SmeltBonus(in.getMatchingStacks()[0], out, chance));
         }
@@ -9,9 +9,12 @@ import com.cleanroommc.groovyscript.compat.mods.thaumcraft.Thaumcraft;
 import com.cleanroommc.groovyscript.helper.ingredient.IngredientHelper;
 import com.cleanroommc.groovyscript.helper.ingredient.OreDictIngredient;
 import com.cleanroommc.groovyscript.registry.VirtualizedRegistry;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
 import net.minecraft.item.ItemStack;
 import net.minecraftforge.fml.common.registry.EntityEntry;
+import org.apache.commons.lang3.tuple.Pair;
 import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
 import thaumcraft.api.ThaumcraftApi;
 import thaumcraft.api.ThaumcraftApiHelper;
 import thaumcraft.api.aspects.Aspect;
@@ -19,16 +22,25 @@ import thaumcraft.api.aspects.AspectList;
 import thaumcraft.api.internal.CommonInternals;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.Map;
 
 @RegistryDescription
 public class AspectHelper extends VirtualizedRegistry<AspectListHelper> {
 
+    private final Map<Object, AspectListHelper> scriptedByTarget = new Object2ObjectOpenHashMap<>();
+    private final Map<Object, AspectListHelper> backupByTarget = new Object2ObjectOpenHashMap<>();
+    private final Map<String, List<ThaumcraftApi.EntityTags>> entityTagsByName = new Object2ObjectOpenHashMap<>();
+    private int indexedEntityTags;
+
     @Override
     @GroovyBlacklist
     @ApiStatus.Internal
     public void onReload() {
+        scriptedByTarget.clear();
+        backupByTarget.clear();
+        indexedEntityTags = -1;
         removeScripted().forEach(aspectList -> {
             if (aspectList.item != null)
                 for (AspectStack as : aspectList.aspects)
@@ -47,54 +59,66 @@ public class AspectHelper extends VirtualizedRegistry<AspectListHelper> {
         });
     }
 
+    /**
+     * Entities are identified by their name and items by their item and metadata, like {@link ItemStack#isItemEqual(ItemStack)}.
+     */
+    private static @Nullable Object getTargetKey(Object target) {
+        if (target instanceof EntityEntry) return ((EntityEntry) target).getName();
+        if (target instanceof ItemStack && !((ItemStack) target).isEmpty()) {
+            return Pair.of(((ItemStack) target).getItem(), ((ItemStack) target).getItemDamage());
+        }
+        return null;
+    }
+
+    private static @Nullable AspectListHelper createAspectList(Object target, AspectStack aspect) {
+        ArrayList<AspectStack> aspectList = new ArrayList<>();
+        aspectList.add(aspect);
+        if (target instanceof ItemStack) return new AspectListHelper((ItemStack) target, aspectList);
+        if (target instanceof EntityEntry) return new AspectListHelper((EntityEntry) target, aspectList);
+        return null;
+    }
+
     @GroovyBlacklist
     public void addScripted(Object target, AspectStack aspect) {
-        AtomicBoolean found = new AtomicBoolean(false);
-        getScriptedRecipes().forEach(scriptedAspect -> {
-            if (target instanceof EntityEntry && scriptedAspect.entity != null
-                && ((EntityEntry) target).getName().equals(scriptedAspect.entity.getName())) {
-                found.set(true);
-                scriptedAspect.addAspect(aspect);
-            } else if (target instanceof ItemStack && scriptedAspect.item != null
-                       && ((ItemStack) target).isItemEqual(scriptedAspect.item)) {
-                found.set(true);
-                scriptedAspect.addAspect(aspect);
-            }
-        });
-
-        if (!found.get()) {
-            ArrayList<AspectStack> aspectList = new ArrayList<>();
-            aspectList.add(aspect);
-            if (target instanceof ItemStack)
-                addScripted(new AspectListHelper((ItemStack) target, aspectList));
-            else if (target instanceof EntityEntry)
-                addScripted(new AspectListHelper((EntityEntry) target, aspectList));
+        Object key = getTargetKey(target);
+        AspectListHelper scriptedAspect = key == null ? null : scriptedByTarget.get(key);
+        if (scriptedAspect != null) {
+            scriptedAspect.addAspect(aspect);
+            return;
         }
+        AspectListHelper aspectList = createAspectList(target, aspect);
+        if (aspectList == null) return;
+        addScripted(aspectList);
+        if (key != null) scriptedByTarget.put(key, aspectList);
     }
 
     @GroovyBlacklist
     public void addBackup(Object target, AspectStack aspect) {
-        AtomicBoolean found = new AtomicBoolean(false);
-        getBackupRecipes().forEach(backupAspect -> {
-            if (target instanceof EntityEntry && backupAspect.entity != null
-                && ((EntityEntry) target).getName().equals(backupAspect.entity.getName())) {
-                found.set(true);
-                backupAspect.addAspect(aspect);
-            } else if (target instanceof ItemStack && backupAspect.item != null
-                       && ((ItemStack) target).isItemEqual(backupAspect.item)) {
-                found.set(true);
-                backupAspect.addAspect(aspect);
-            }
-        });
+        Object key = getTargetKey(target);
+        AspectListHelper backupAspect = key == null ? null : backupByTarget.get(key);
+        if (backupAspect != null) {
+            backupAspect.addAspect(aspect);
+            return;
+        }
+        AspectListHelper aspectList = createAspectList(target, aspect);
+        if (aspectList == null) return;
+        addBackup(aspectList);
+        if (key != null) backupByTarget.put(key, aspectList);
+    }
 
-        if (!found.get()) {
-            ArrayList<AspectStack> aspectList = new ArrayList<>();
-            aspectList.add(aspect);
-            if (target instanceof ItemStack)
-                addBackup(new AspectListHelper((ItemStack) target, aspectList));
-            else if (target instanceof EntityEntry)
-                addBackup(new AspectListHelper((EntityEntry) target, aspectList));
+    /**
+     * Returns all entity tags with the name. The tags are indexed again if the amount of tags changed, since other mods
+     * may register entity tags.
+     */
+    private List<ThaumcraftApi.EntityTags> getEntityTags(String name) {
+        if (indexedEntityTags != CommonInternals.scanEntities.size()) {
+            entityTagsByName.clear();
+            for (ThaumcraftApi.EntityTags entityTags : CommonInternals.scanEntities) {
+                entityTagsByName.computeIfAbsent(entityTags.entityName, k -> new ArrayList<>()).add(entityTags);
+            }
+            indexedEntityTags = CommonInternals.scanEntities.size();
         }
+        return entityTagsByName.getOrDefault(name, Collections.emptyList());
     }
 
     @MethodDescription(description = "groovyscript.wiki.thaumcraft.aspect_helper.add_entity", type = MethodDescription.Type.ADDITION)
@@ -130,20 +154,24 @@ public class AspectHelper extends VirtualizedRegistry<AspectListHelper> {
     @SuppressWarnings("deprecation")
     public void add(EntityEntry entity, AspectStack aspect, boolean doBackup) {
         if (entity != null && aspect != null) {
-            AtomicBoolean found = new AtomicBoolean(false);
-            CommonInternals.scanEntities.forEach(entityTags -> {
-                if (entityTags.entityName.equals(entity.getName())) {
-                    entityTags.aspects.remove(aspect.getAspect());
-                    if (aspect.getAmount() != 0)
-                        entityTags.aspects.add(aspect.getAspect(), aspect.getAmount());
-                    found.set(true);
-                }
-            });
-            if (!found.get()) {
+            List<ThaumcraftApi.EntityTags> tags = getEntityTags(entity.getName());
+            for (ThaumcraftApi.EntityTags entityTags : tags) {
+                entityTags.aspects.remove(aspect.getAspect());
+                if (aspect.getAmount() != 0)
+                    entityTags.aspects.add(aspect.getAspect(), aspect.getAmount());
+            }
+            if (tags.isEmpty()) {
+                int size = CommonInternals.scanEntities.size();
                 ThaumcraftApi.registerEntityTag(
                         entity.getName(),
                         new AspectList().add(aspect.getAspect(), aspect.getAmount())
                 );
+                // index the new tag directly instead of indexing all tags again
+                if (indexedEntityTags == size && CommonInternals.scanEntities.size() == size + 1) {
+                    ThaumcraftApi.EntityTags registered = CommonInternals.scanEntities.get(size);
+                    entityTagsByName.computeIfAbsent(registered.entityName, k -> new ArrayList<>()).add(registered);
+                    indexedEntityTags++;
+                }
             }
 
             if (doBackup) addScripted(entity, aspect);
@@ -194,16 +222,14 @@ public class AspectHelper extends VirtualizedRegistry<AspectListHelper> {
 
     public void remove(EntityEntry entity, AspectStack aspect, boolean doBackup) {
         if (entity != null && aspect != null) {
-            CommonInternals.scanEntities.forEach(entityTags -> {
-                if (entityTags.entityName.equals(entity.getName())) {
-                    for (Aspect a : entityTags.aspects.getAspects()) {
-                        if (a.equals(aspect.getAspect())) {
-                            aspect.setAmount(entityTags.aspects.getAmount(a));
-                            entityTags.aspects.remove(a);
-                        }
+            for (ThaumcraftApi.EntityTags entityTags : getEntityTags(entity.getName())) {
+                for (Aspect a : entityTags.aspects.getAspects()) {
+                    if (a.equals(aspect.getAspect())) {
+                        aspect.setAmount(entityTags.aspects.getAmount(a));
+                        entityTags.aspects.remove(a);
                     }
                 }
-            });
+            }
 
             if (doBackup) addBackup(entity, aspect);
 
@@ -254,13 +280,13 @@ public class AspectHelper extends VirtualizedRegistry<AspectListHelper> {
     @MethodDescription(description = "groovyscript.wiki.thaumcraft.aspect_helper.removeAll_entity")
     public void removeAll(EntityEntry entity) {
         if (entity != null) {
-            for (ThaumcraftApi.EntityTags e : CommonInternals.scanEntities) {
-                if (e.entityName.equals(entity.getName())) {
-                    for (Aspect a : e.aspects.getAspects()) {
-                        this.remove(entity, new AspectStack(a, e.aspects.getAmount(a)));
-                    }
-                    return;
+            List<ThaumcraftApi.EntityTags> tags = getEntityTags(entity.getName());
+            if (!tags.isEmpty()) {
+                ThaumcraftApi.EntityTags e = tags.get(0);
+                for (Aspect a : e.aspects.getAspects()) {
+                    this.remove(entity, new AspectStack(a, e.aspects.getAmount(a)));
                 }
+                return;
             }
         }
         GroovyLog.msg("Error removing Thaumcraft Aspects from item/entity")
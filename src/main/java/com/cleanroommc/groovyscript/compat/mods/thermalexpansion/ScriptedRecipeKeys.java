@@ -0,0 +1,50 @@
+package com.cleanroommc.groovyscript.compat.mods.thermalexpansion;
+
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Remembers the key each scripted recipe was put into its recipe map with, so that reloading removes scripted recipes
+ * directly instead of scanning the whole map for every one of them. The key is kept rather than computed again, since the
+ * comparable stacks Thermal Expansion uses as keys depend on the ore dictionary, which may have changed since.
+ */
+public class ScriptedRecipeKeys {
+
+    private final Map<Object, Object> keys = new Reference2ObjectOpenHashMap<>();
+
+    public <K, R> void put(Map<K, R> map, K key, R recipe) {
+        map.put(key, recipe);
+        this.keys.put(recipe, key);
+    }
+
+    /**
+     * Removes a scripted recipe from the map.
+     */
+    public <R> void remove(Map<?, R> map, R recipe) {
+        Object key = this.keys.remove(recipe);
+        if (key == null || !map.remove(key, recipe)) {
+            map.values().removeIf(r -> r == recipe);
+        }
+    }
+
+    /**
+     * Removes scripted recipes from the map. Recipes whose key is unknown or no longer finds them are removed by scanning
+     * the map once.
+     */
+    public <R> void removeAll(Map<?, R> map, Collection<R> recipes) {
+        Set<R> remaining = new ReferenceOpenHashSet<>();
+        for (R recipe : recipes) {
+            Object key = this.keys.remove(recipe);
+            if (key == null || !map.remove(key, recipe)) {
+                remaining.add(recipe);
+            }
+        }
+        if (!remaining.isEmpty()) {
+            map.values().removeIf(remaining::contains);
+        }
+    }
+}
@@ -7,6 +7,7 @@ import com.cleanroommc.groovyscript.api.GroovyLog;
 import com.cleanroommc.groovyscript.api.IIngredient;
 import com.cleanroommc.groovyscript.api.documentation.annotations.*;
 import com.cleanroommc.groovyscript.compat.mods.ModSupport;
+import com.cleanroommc.groovyscript.compat.mods.thermalexpansion.ScriptedRecipeKeys;
 import com.cleanroommc.groovyscript.core.mixin.thermalexpansion.FactorizerManagerAccessor;
 import com.cleanroommc.groovyscript.core.mixin.thermalexpansion.FactorizerRecipeAccessor;
 import com.cleanroommc.groovyscript.helper.SimpleObjectStream;
@@ -25,6 +26,8 @@ import java.util.stream.Collectors;
 @RegistryDescription
 public class Factorizer extends VirtualizedRegistry<Pair<Boolean, FactorizerManager.FactorizerRecipe>> {
 
+    private final ScriptedRecipeKeys recipeKeys = new ScriptedRecipeKeys();
+
     @RecipeBuilderDescription(example = {
             @Example(".input(item('minecraft:clay') * 7).output(item('minecraft:book') * 2).combine().split()"),
             @Example(".input(item('minecraft:planks:*') * 4).output(item('minecraft:crafting_table')).combine()")
@@ -37,7 +40,7 @@ public class Factorizer extends VirtualizedRegistry<Pair<Boolean, FactorizerMana
     @GroovyBlacklist
     @ApiStatus.Internal
     public void onReload() {
-        removeScripted().forEach(recipe -> map(recipe.getKey()).values().removeIf(r -> r.equals(recipe.getValue())));
+        removeScripted().forEach(recipe -> recipeKeys.remove(map(recipe.getKey()), recipe.getValue()));
         restoreFromBackup().forEach(r -> map(r.getKey()).put(new ComparableItemStackValidated(r.getValue().getInput()), r.getValue()));
     }
 
@@ -46,7 +49,7 @@ public class Factorizer extends VirtualizedRegistry<Pair<Boolean, FactorizerMana
     }
 
     public void add(boolean isSplit, FactorizerManager.FactorizerRecipe recipe) {
-        map(isSplit).put(new ComparableItemStackValidated(recipe.getInput()), recipe);
+        recipeKeys.put(map(isSplit), new ComparableItemStackValidated(recipe.getInput()), recipe);
         addScripted(Pair.of(isSplit, recipe));
     }
 
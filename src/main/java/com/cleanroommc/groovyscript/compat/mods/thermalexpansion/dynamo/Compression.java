@@ -18,7 +18,7 @@ public class Compression extends VirtualizedRegistry<Compression.CompressionReci
     @GroovyBlacklist
     @ApiStatus.Internal
     public void onReload() {
-        removeScripted().forEach(recipe -> CompressionManagerAccessor.getFuelMap().keySet().removeIf(r -> r.equals(recipe.fluid())));
+        removeScripted().forEach(recipe -> CompressionManagerAccessor.getFuelMap().keySet().remove(recipe.fluid()));
         restoreFromBackup().forEach(r -> CompressionManagerAccessor.getFuelMap().put(r.fluid(), r.energy()));
     }
 
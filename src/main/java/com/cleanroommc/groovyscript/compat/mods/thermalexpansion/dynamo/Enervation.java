@@ -20,7 +20,7 @@ public class Enervation extends VirtualizedRegistry<Enervation.EnervationRecipe>
     @GroovyBlacklist
     @ApiStatus.Internal
     public void onReload() {
-        removeScripted().forEach(recipe -> EnervationManagerAccessor.getFuelMap().keySet().removeIf(r -> r.equals(recipe.comparableItemStack())));
+        removeScripted().forEach(recipe -> EnervationManagerAccessor.getFuelMap().keySet().remove(recipe.comparableItemStack()));
         restoreFromBackup().forEach(r -> EnervationManagerAccessor.getFuelMap().put(r.comparableItemStack(), r.energy()));
     }
 
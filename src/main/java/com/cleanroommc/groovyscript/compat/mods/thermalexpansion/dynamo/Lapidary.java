@@ -20,7 +20,7 @@ public class Lapidary extends VirtualizedRegistry<Lapidary.LapidaryRecipe> {
     @GroovyBlacklist
     @ApiStatus.Internal
     public void onReload() {
-        removeScripted().forEach(recipe -> NumismaticManagerAccessor.getGemFuelMap().keySet().removeIf(r -> r.equals(recipe.comparableItemStack())));
+        removeScripted().forEach(recipe -> NumismaticManagerAccessor.getGemFuelMap().keySet().remove(recipe.comparableItemStack()));
         restoreFromBackup().forEach(r -> NumismaticManagerAccessor.getGemFuelMap().put(r.comparableItemStack(), r.energy()));
     }
 
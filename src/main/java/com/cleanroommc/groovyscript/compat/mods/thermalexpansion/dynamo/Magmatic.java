@@ -20,7 +20,7 @@ public class Magmatic extends VirtualizedRegistry<Magmatic.MagmaticRecipe> {
     @GroovyBlacklist
     @ApiStatus.Internal
     public void onReload() {
-        removeScripted().forEach(recipe -> MagmaticManagerAccessor.getFuelMap().keySet().removeIf(r -> r.equals(recipe.fluid())));
+        removeScripted().forEach(recipe -> MagmaticManagerAccessor.getFuelMap().keySet().remove(recipe.fluid()));
         restoreFromBackup().forEach(r -> MagmaticManagerAccessor.getFuelMap().put(r.fluid(), r.energy()));
     }
 
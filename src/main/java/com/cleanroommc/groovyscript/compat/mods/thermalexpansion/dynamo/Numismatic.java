@@ -20,7 +20,7 @@ public class Numismatic extends VirtualizedRegistry<Numismatic.NumismaticRecipe>
     @GroovyBlacklist
     @ApiStatus.Internal
     public void onReload() {
-        removeScripted().forEach(recipe -> NumismaticManagerAccessor.getFuelMap().keySet().removeIf(r -> r.equals(recipe.comparableItemStack())));
+        removeScripted().forEach(recipe -> NumismaticManagerAccessor.getFuelMap().keySet().remove(recipe.comparableItemStack()));
         restoreFromBackup().forEach(r -> NumismaticManagerAccessor.getFuelMap().put(r.comparableItemStack(), r.energy()));
     }
 
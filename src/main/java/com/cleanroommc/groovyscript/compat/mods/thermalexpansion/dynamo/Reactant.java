@@ -7,6 +7,7 @@ import com.cleanroommc.groovyscript.api.GroovyLog;
 import com.cleanroommc.groovyscript.api.IIngredient;
 import com.cleanroommc.groovyscript.api.documentation.annotations.*;
 import com.cleanroommc.groovyscript.compat.mods.ModSupport;
+import com.cleanroommc.groovyscript.compat.mods.thermalexpansion.ScriptedRecipeKeys;
 import com.cleanroommc.groovyscript.core.mixin.thermalexpansion.ReactantManagerAccessor;
 import com.cleanroommc.groovyscript.core.mixin.thermalexpansion.ReactionAccessor;
 import com.cleanroommc.groovyscript.helper.SimpleObjectStream;
@@ -27,6 +28,7 @@ import java.util.stream.Collectors;
 @RegistryDescription
 public class Reactant extends VirtualizedRegistry<ReactantManager.Reaction> {
 
+    private final ScriptedRecipeKeys recipeKeys = new ScriptedRecipeKeys();
     private final AbstractReloadableStorage<ItemStack> elementalReactantStorage = new AbstractReloadableStorage<>();
     private final AbstractReloadableStorage<String> elementalFluidStorage = new AbstractReloadableStorage<>();
 
@@ -42,7 +44,7 @@ public class Reactant extends VirtualizedRegistry<ReactantManager.Reaction> {
     @GroovyBlacklist
     @ApiStatus.Internal
     public void onReload() {
-        removeScripted().forEach(recipe -> ReactantManagerAccessor.getReactionMap().values().removeIf(r -> r == recipe));
+        recipeKeys.removeAll(ReactantManagerAccessor.getReactionMap(), removeScripted());
         restoreFromBackup().forEach(r -> ReactantManagerAccessor.getReactionMap().put(hash(r), r));
         elementalReactantStorage.removeScripted().forEach(recipe -> ReactantManagerAccessor.getValidReactantsElemental().removeIf(r -> r.equals(new ComparableItemStack(recipe))));
         elementalReactantStorage.restoreFromBackup().forEach(r -> ReactantManagerAccessor.getValidReactantsElemental().add(new ComparableItemStack(r)));
@@ -99,7 +101,7 @@ public class Reactant extends VirtualizedRegistry<ReactantManager.Reaction> {
     }
 
     public void add(ReactantManager.Reaction recipe) {
-        ReactantManagerAccessor.getReactionMap().put(hash(recipe), recipe);
+        recipeKeys.put(ReactantManagerAccessor.getReactionMap(), hash(recipe), recipe);
         addScripted(recipe);
     }
 
@@ -20,7 +20,7 @@ public class Steam extends VirtualizedRegistry<Steam.SteamRecipe> {
     @GroovyBlacklist
     @ApiStatus.Internal
     public void onReload() {
-        removeScripted().forEach(recipe -> SteamManagerAccessor.getFuelMap().keySet().removeIf(r -> r.equals(recipe.comparableItemStack())));
+        removeScripted().forEach(recipe -> SteamManagerAccessor.getFuelMap().keySet().remove(recipe.comparableItemStack()));
         restoreFromBackup().forEach(r -> SteamManagerAccessor.getFuelMap().put(r.comparableItemStack(), r.energy()));
     }
 
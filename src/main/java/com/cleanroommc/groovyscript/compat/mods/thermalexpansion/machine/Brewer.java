@@ -8,6 +8,7 @@ import com.cleanroommc.groovyscript.api.GroovyLog;
 import com.cleanroommc.groovyscript.api.IIngredient;
 import com.cleanroommc.groovyscript.api.documentation.annotations.*;
 import com.cleanroommc.groovyscript.compat.mods.ModSupport;
+import com.cleanroommc.groovyscript.compat.mods.thermalexpansion.ScriptedRecipeKeys;
 import com.cleanroommc.groovyscript.core.mixin.thermalexpansion.BrewerManagerAccessor;
 import com.cleanroommc.groovyscript.core.mixin.thermalexpansion.BrewerRecipeAccessor;
 import com.cleanroommc.groovyscript.helper.Alias;
@@ -27,6 +28,8 @@ import java.util.stream.Collectors;
 @RegistryDescription
 public class Brewer extends VirtualizedRegistry<BrewerRecipe> {
 
+    private final ScriptedRecipeKeys recipeKeys = new ScriptedRecipeKeys();
+
     public Brewer() {
         super(Alias.generateOfClass(Brewer.class).andGenerate("Imbuer"));
     }
@@ -43,7 +46,7 @@ public class Brewer extends VirtualizedRegistry<BrewerRecipe> {
     @GroovyBlacklist
     @ApiStatus.Internal
     public void onReload() {
-        removeScripted().forEach(recipe -> BrewerManagerAccessor.getRecipeMap().values().removeIf(r -> r == recipe));
+        recipeKeys.removeAll(BrewerManagerAccessor.getRecipeMap(), removeScripted());
         restoreFromBackup().forEach(r -> BrewerManagerAccessor.getRecipeMap().put(hash(r), r));
     }
 
@@ -69,7 +72,7 @@ public class Brewer extends VirtualizedRegistry<BrewerRecipe> {
     }
 
     public void add(BrewerRecipe recipe) {
-        BrewerManagerAccessor.getRecipeMap().put(hash(recipe), recipe);
+        recipeKeys.put(BrewerManagerAccessor.getRecipeMap(), hash(recipe), recipe);
         addScripted(recipe);
     }
 
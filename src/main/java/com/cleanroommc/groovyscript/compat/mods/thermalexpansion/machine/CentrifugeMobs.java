@@ -7,6 +7,7 @@ import com.cleanroommc.groovyscript.api.GroovyLog;
 import com.cleanroommc.groovyscript.api.IIngredient;
 import com.cleanroommc.groovyscript.api.documentation.annotations.*;
 import com.cleanroommc.groovyscript.compat.mods.ModSupport;
+import com.cleanroommc.groovyscript.compat.mods.thermalexpansion.ScriptedRecipeKeys;
 import com.cleanroommc.groovyscript.core.mixin.thermalexpansion.CentrifugeManagerAccessor;
 import com.cleanroommc.groovyscript.core.mixin.thermalexpansion.CentrifugeRecipeAccessor;
 import com.cleanroommc.groovyscript.helper.SimpleObjectStream;
@@ -24,6 +25,8 @@ import java.util.List;
 @RegistryDescription
 public class CentrifugeMobs extends VirtualizedRegistry<CentrifugeRecipe> {
 
+    private final ScriptedRecipeKeys recipeKeys = new ScriptedRecipeKeys();
+
     @RecipeBuilderDescription(example = {
             @Example(".input(item('thermalexpansion:morb').withNbt(['id': 'minecraft:slime'])).fluidOutput(fluid('water') * 100).output(item('minecraft:diamond') * 2, item('minecraft:gold_ingot'), item('minecraft:gold_ingot')).chance(50, 100, 1)"),
             @Example(".input(item('minecraft:diamond') * 3).output(item('minecraft:clay')).chance(100).energy(1000)")
@@ -36,12 +39,12 @@ public class CentrifugeMobs extends VirtualizedRegistry<CentrifugeRecipe> {
     @GroovyBlacklist
     @ApiStatus.Internal
     public void onReload() {
-        removeScripted().forEach(recipe -> CentrifugeManagerAccessor.getRecipeMapMobs().values().removeIf(r -> r == recipe));
+        recipeKeys.removeAll(CentrifugeManagerAccessor.getRecipeMapMobs(), removeScripted());
         restoreFromBackup().forEach(r -> CentrifugeManagerAccessor.getRecipeMapMobs().put(CentrifugeManager.convertInput(r.getInput()), r));
     }
 
     public void add(CentrifugeRecipe recipe) {
-        CentrifugeManagerAccessor.getRecipeMapMobs().put(CentrifugeManager.convertInput(recipe.getInput()), recipe);
+        recipeKeys.put(CentrifugeManagerAccessor.getRecipeMapMobs(), CentrifugeManager.convertInput(recipe.getInput()), recipe);
         addScripted(recipe);
     }
 
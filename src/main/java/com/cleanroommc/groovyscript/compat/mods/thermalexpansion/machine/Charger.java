@@ -8,6 +8,7 @@ import com.cleanroommc.groovyscript.api.GroovyLog;
 import com.cleanroommc.groovyscript.api.IIngredient;
 import com.cleanroommc.groovyscript.api.documentation.annotations.*;
 import com.cleanroommc.groovyscript.compat.mods.ModSupport;
+import com.cleanroommc.groovyscript.compat.mods.thermalexpansion.ScriptedRecipeKeys;
 import com.cleanroommc.groovyscript.core.mixin.thermalexpansion.ChargerManagerAccessor;
 import com.cleanroommc.groovyscript.helper.SimpleObjectStream;
 import com.cleanroommc.groovyscript.helper.recipe.AbstractRecipeBuilder;
@@ -19,6 +20,8 @@ import org.jetbrains.annotations.Nullable;
 @RegistryDescription
 public class Charger extends VirtualizedRegistry<ChargerRecipe> {
 
+    private final ScriptedRecipeKeys recipeKeys = new ScriptedRecipeKeys();
+
     @RecipeBuilderDescription(example = {
             @Example(".input(item('minecraft:diamond') * 5).output(item('minecraft:clay'))"),
             @Example(".input(item('minecraft:clay')).output(item('minecraft:diamond') * 2).energy(1000)")
@@ -31,12 +34,12 @@ public class Charger extends VirtualizedRegistry<ChargerRecipe> {
     @GroovyBlacklist
     @ApiStatus.Internal
     public void onReload() {
-        removeScripted().forEach(recipe -> ChargerManagerAccessor.getRecipeMap().values().removeIf(r -> r == recipe));
+        recipeKeys.removeAll(ChargerManagerAccessor.getRecipeMap(), removeScripted());
         restoreFromBackup().forEach(r -> ChargerManagerAccessor.getRecipeMap().put(new ComparableItemStackValidated(r.getInput()), r));
     }
 
     public void add(ChargerRecipe recipe) {
-        ChargerManagerAccessor.getRecipeMap().put(new ComparableItemStackValidated(recipe.getInput()), recipe);
+        recipeKeys.put(ChargerManagerAccessor.getRecipeMap(), new ComparableItemStackValidated(recipe.getInput()), recipe);
         addScripted(recipe);
     }
 
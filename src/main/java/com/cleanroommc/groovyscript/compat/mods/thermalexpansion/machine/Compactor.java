@@ -8,6 +8,7 @@ import com.cleanroommc.groovyscript.api.GroovyLog;
 import com.cleanroommc.groovyscript.api.IIngredient;
 import com.cleanroommc.groovyscript.api.documentation.annotations.*;
 import com.cleanroommc.groovyscript.compat.mods.ModSupport;
+import com.cleanroommc.groovyscript.compat.mods.thermalexpansion.ScriptedRecipeKeys;
 import com.cleanroommc.groovyscript.core.mixin.thermalexpansion.CompactorManagerAccessor;
 import com.cleanroommc.groovyscript.core.mixin.thermalexpansion.CompactorRecipeAccessor;
 import com.cleanroommc.groovyscript.helper.SimpleObjectStream;
@@ -26,6 +27,8 @@ import java.util.stream.Collectors;
 @RegistryDescription
 public class Compactor extends VirtualizedRegistry<Pair<CompactorManager.Mode, CompactorRecipe>> {
 
+    private final ScriptedRecipeKeys recipeKeys = new ScriptedRecipeKeys();
+
     @RecipeBuilderDescription(example = {
             @Example(".input(item('minecraft:clay')).output(item('minecraft:diamond') * 2).mode(mode('coin'))"),
             @Example(".input(item('minecraft:clay')).output(item('minecraft:diamond')).mode(mode('all'))"),
@@ -39,7 +42,7 @@ public class Compactor extends VirtualizedRegistry<Pair<CompactorManager.Mode, C
     @GroovyBlacklist
     @ApiStatus.Internal
     public void onReload() {
-        removeScripted().forEach(recipe -> map(recipe.getKey()).values().removeIf(r -> r == recipe.getValue()));
+        removeScripted().forEach(recipe -> recipeKeys.remove(map(recipe.getKey()), recipe.getValue()));
         restoreFromBackup().forEach(r -> map(r.getKey()).put(new ComparableItemStackValidatedNBT(r.getValue().getInput()), r.getValue()));
     }
 
@@ -53,7 +56,7 @@ public class Compactor extends VirtualizedRegistry<Pair<CompactorManager.Mode, C
     }
 
     public void add(CompactorManager.Mode mode, CompactorRecipe recipe) {
-        map(mode).put(new ComparableItemStackValidatedNBT(recipe.getInput()), recipe);
+        recipeKeys.put(map(mode), new ComparableItemStackValidatedNBT(recipe.getInput()), recipe);
         addScripted(Pair.of(mode, recipe));
     }
 
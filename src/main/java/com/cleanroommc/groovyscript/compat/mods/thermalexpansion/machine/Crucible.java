@@ -8,6 +8,7 @@ import com.cleanroommc.groovyscript.api.GroovyLog;
 import com.cleanroommc.groovyscript.api.IIngredient;
 import com.cleanroommc.groovyscript.api.documentation.annotations.*;
 import com.cleanroommc.groovyscript.compat.mods.ModSupport;
+import com.cleanroommc.groovyscript.compat.mods.thermalexpansion.ScriptedRecipeKeys;
 import com.cleanroommc.groovyscript.core.mixin.thermalexpansion.CrucibleManagerAccessor;
 import com.cleanroommc.groovyscript.core.mixin.thermalexpansion.CrucibleRecipeAccessor;
 import com.cleanroommc.groovyscript.helper.SimpleObjectStream;
@@ -24,6 +25,8 @@ import java.util.stream.Collectors;
 @RegistryDescription
 public class Crucible extends VirtualizedRegistry<CrucibleRecipe> {
 
+    private final ScriptedRecipeKeys recipeKeys = new ScriptedRecipeKeys();
+
     @RecipeBuilderDescription(example = {
             @Example(".input(item('minecraft:clay')).fluidOutput(fluid('lava') * 25)"),
             @Example(".input(item('minecraft:diamond')).fluidOutput(fluid('water') * 1000).energy(1000)")
@@ -36,7 +39,7 @@ public class Crucible extends VirtualizedRegistry<CrucibleRecipe> {
     @GroovyBlacklist
     @ApiStatus.Internal
     public void onReload() {
-        removeScripted().forEach(recipe -> CrucibleManagerAccessor.getRecipeMap().values().removeIf(r -> r == recipe));
+        recipeKeys.removeAll(CrucibleManagerAccessor.getRecipeMap(), removeScripted());
         restoreFromBackup().forEach(r -> CrucibleManagerAccessor.getRecipeMap().put(new ComparableItemStackValidatedNBT(r.getInput()), r));
     }
 
@@ -53,7 +56,7 @@ public class Crucible extends VirtualizedRegistry<CrucibleRecipe> {
     }
 
     public void add(CrucibleRecipe recipe) {
-        CrucibleManagerAccessor.getRecipeMap().put(new ComparableItemStackValidatedNBT(recipe.getInput()), recipe);
+        recipeKeys.put(CrucibleManagerAccessor.getRecipeMap(), new ComparableItemStackValidatedNBT(recipe.getInput()), recipe);
         addScripted(recipe);
     }
 
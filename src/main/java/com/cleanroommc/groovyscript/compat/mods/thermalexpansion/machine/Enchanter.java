@@ -8,6 +8,7 @@ import com.cleanroommc.groovyscript.api.GroovyLog;
 import com.cleanroommc.groovyscript.api.IIngredient;
 import com.cleanroommc.groovyscript.api.documentation.annotations.*;
 import com.cleanroommc.groovyscript.compat.mods.ModSupport;
+import com.cleanroommc.groovyscript.compat.mods.thermalexpansion.ScriptedRecipeKeys;
 import com.cleanroommc.groovyscript.core.mixin.thermalexpansion.EnchanterManagerAccessor;
 import com.cleanroommc.groovyscript.core.mixin.thermalexpansion.EnchanterRecipeAccessor;
 import com.cleanroommc.groovyscript.helper.SimpleObjectStream;
@@ -25,6 +26,7 @@ import java.util.stream.Collectors;
 @RegistryDescription
 public class Enchanter extends VirtualizedRegistry<EnchanterRecipe> {
 
+    private final ScriptedRecipeKeys recipeKeys = new ScriptedRecipeKeys();
     private final AbstractReloadableStorage<ItemStack> arcanaStorage = new AbstractReloadableStorage<>();
 
 
@@ -40,7 +42,7 @@ public class Enchanter extends VirtualizedRegistry<EnchanterRecipe> {
     @GroovyBlacklist
     @ApiStatus.Internal
     public void onReload() {
-        removeScripted().forEach(recipe -> EnchanterManagerAccessor.getRecipeMap().values().removeIf(r -> r == recipe));
+        recipeKeys.removeAll(EnchanterManagerAccessor.getRecipeMap(), removeScripted());
         restoreFromBackup().forEach(r -> EnchanterManagerAccessor.getRecipeMap().put(hash(r), r));
         arcanaStorage.removeScripted().forEach(recipe -> EnchanterManagerAccessor.getLockSet().removeIf(r -> r.equals(EnchanterManager.convertInput(recipe))));
         arcanaStorage.restoreFromBackup().forEach(r -> EnchanterManagerAccessor.getLockSet().add(EnchanterManager.convertInput(r)));
@@ -78,7 +80,7 @@ public class Enchanter extends VirtualizedRegistry<EnchanterRecipe> {
     }
 
     public void add(EnchanterRecipe recipe) {
-        EnchanterManagerAccessor.getRecipeMap().put(hash(recipe), recipe);
+        recipeKeys.put(EnchanterManagerAccessor.getRecipeMap(), hash(recipe), recipe);
         addScripted(recipe);
     }
 
@@ -8,6 +8,7 @@ import com.cleanroommc.groovyscript.api.GroovyLog;
 import com.cleanroommc.groovyscript.api.IIngredient;
 import com.cleanroommc.groovyscript.api.documentation.annotations.*;
 import com.cleanroommc.groovyscript.compat.mods.ModSupport;
+import com.cleanroommc.groovyscript.compat.mods.thermalexpansion.ScriptedRecipeKeys;
 import com.cleanroommc.groovyscript.core.mixin.thermalexpansion.ExtruderManagerAccessor;
 import com.cleanroommc.groovyscript.core.mixin.thermalexpansion.ExtruderRecipeAccessor;
 import com.cleanroommc.groovyscript.helper.SimpleObjectStream;
@@ -28,6 +29,8 @@ import java.util.stream.Collectors;
 @RegistryDescription
 public class Extruder extends VirtualizedRegistry<Pair<Boolean, ExtruderRecipe>> {
 
+    private final ScriptedRecipeKeys recipeKeys = new ScriptedRecipeKeys();
+
     @RecipeBuilderDescription(example = {
             @Example(".fluidHot(100).fluidCold(1000).output(item('minecraft:clay'))"),
             @Example(".fluidHot(100).fluidCold(1000).output(item('minecraft:gold_ingot')).sedimentary().energy(1000)")
@@ -40,7 +43,7 @@ public class Extruder extends VirtualizedRegistry<Pair<Boolean, ExtruderRecipe>>
     @GroovyBlacklist
     @ApiStatus.Internal
     public void onReload() {
-        removeScripted().forEach(recipe -> map(recipe.getKey()).values().removeIf(r -> r == recipe.getValue()));
+        removeScripted().forEach(recipe -> recipeKeys.remove(map(recipe.getKey()), recipe.getValue()));
         restoreFromBackup().forEach(r -> map(r.getKey()).put(new ItemWrapper(r.getValue().getOutput()), r.getValue()));
     }
 
@@ -63,7 +66,7 @@ public class Extruder extends VirtualizedRegistry<Pair<Boolean, ExtruderRecipe>>
     }
 
     public void add(boolean sedimentary, ExtruderRecipe recipe) {
-        map(sedimentary).put(new ItemWrapper(recipe.getOutput()), recipe);
+        recipeKeys.put(map(sedimentary), new ItemWrapper(recipe.getOutput()), recipe);
         addScripted(Pair.of(sedimentary, recipe));
     }
 
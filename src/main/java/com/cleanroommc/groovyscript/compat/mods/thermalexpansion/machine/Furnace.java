@@ -7,6 +7,7 @@ import com.cleanroommc.groovyscript.api.GroovyLog;
 import com.cleanroommc.groovyscript.api.IIngredient;
 import com.cleanroommc.groovyscript.api.documentation.annotations.*;
 import com.cleanroommc.groovyscript.compat.mods.ModSupport;
+import com.cleanroommc.groovyscript.compat.mods.thermalexpansion.ScriptedRecipeKeys;
 import com.cleanroommc.groovyscript.core.mixin.thermalexpansion.FurnaceManagerAccessor;
 import com.cleanroommc.groovyscript.core.mixin.thermalexpansion.FurnaceRecipeAccessor;
 import com.cleanroommc.groovyscript.helper.SimpleObjectStream;
@@ -20,6 +21,7 @@ import org.jetbrains.annotations.Nullable;
 @RegistryDescription
 public class Furnace extends VirtualizedRegistry<FurnaceRecipe> {
 
+    private final ScriptedRecipeKeys recipeKeys = new ScriptedRecipeKeys();
     private final AbstractReloadableStorage<ItemStack> foodStorage = new AbstractReloadableStorage<>();
 
     @RecipeBuilderDescription(example = {
@@ -34,7 +36,7 @@ public class Furnace extends VirtualizedRegistry<FurnaceRecipe> {
     @GroovyBlacklist
     @ApiStatus.Internal
     public void onReload() {
-        removeScripted().forEach(recipe -> FurnaceManagerAccessor.getRecipeMap().values().removeIf(r -> r == recipe));
+        recipeKeys.removeAll(FurnaceManagerAccessor.getRecipeMap(), removeScripted());
         restoreFromBackup().forEach(r -> FurnaceManagerAccessor.getRecipeMap().put(FurnaceManager.convertInput(r.getInput()), r));
         foodStorage.removeScripted().forEach(r -> FurnaceManagerAccessor.getFoodSet().add(FurnaceManager.convertInput(r)));
         foodStorage.restoreFromBackup().forEach(r -> FurnaceManagerAccessor.getFoodSet().remove(FurnaceManager.convertInput(r)));
@@ -51,7 +53,7 @@ public class Furnace extends VirtualizedRegistry<FurnaceRecipe> {
     }
 
     public void add(FurnaceRecipe recipe) {
-        FurnaceManagerAccessor.getRecipeMap().put(FurnaceManager.convertInput(recipe.getInput()), recipe);
+        recipeKeys.put(FurnaceManagerAccessor.getRecipeMap(), FurnaceManager.convertInput(recipe.getInput()), recipe);
         addScripted(recipe);
     }
 
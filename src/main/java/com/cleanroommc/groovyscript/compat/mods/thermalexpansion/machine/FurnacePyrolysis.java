@@ -7,6 +7,7 @@ import com.cleanroommc.groovyscript.api.GroovyLog;
 import com.cleanroommc.groovyscript.api.IIngredient;
 import com.cleanroommc.groovyscript.api.documentation.annotations.*;
 import com.cleanroommc.groovyscript.compat.mods.ModSupport;
+import com.cleanroommc.groovyscript.compat.mods.thermalexpansion.ScriptedRecipeKeys;
 import com.cleanroommc.groovyscript.core.mixin.thermalexpansion.FurnaceManagerAccessor;
 import com.cleanroommc.groovyscript.core.mixin.thermalexpansion.FurnaceRecipeAccessor;
 import com.cleanroommc.groovyscript.helper.SimpleObjectStream;
@@ -19,6 +20,8 @@ import org.jetbrains.annotations.Nullable;
 @RegistryDescription
 public class FurnacePyrolysis extends VirtualizedRegistry<FurnaceRecipe> {
 
+    private final ScriptedRecipeKeys recipeKeys = new ScriptedRecipeKeys();
+
     @RecipeBuilderDescription(example = {
             @Example(".input(item('minecraft:clay')).output(item('minecraft:diamond') * 2).creosote(100)"),
             @Example(".input(item('minecraft:gold_ingot') * 2).output(item('minecraft:clay')).creosote(1000).energy(1000)")
@@ -31,12 +34,12 @@ public class FurnacePyrolysis extends VirtualizedRegistry<FurnaceRecipe> {
     @GroovyBlacklist
     @ApiStatus.Internal
     public void onReload() {
-        removeScripted().forEach(recipe -> FurnaceManagerAccessor.getRecipeMapPyrolysis().values().removeIf(r -> r == recipe));
+        recipeKeys.removeAll(FurnaceManagerAccessor.getRecipeMapPyrolysis(), removeScripted());
         restoreFromBackup().forEach(r -> FurnaceManagerAccessor.getRecipeMapPyrolysis().put(FurnaceManager.convertInput(r.getInput()), r));
     }
 
     public void add(FurnaceRecipe recipe) {
-        FurnaceManagerAccessor.getRecipeMapPyrolysis().put(FurnaceManager.convertInput(recipe.getInput()), recipe);
+        recipeKeys.put(FurnaceManagerAccessor.getRecipeMapPyrolysis(), FurnaceManager.convertInput(recipe.getInput()), recipe);
         addScripted(recipe);
     }
 
@@ -8,6 +8,7 @@ import com.cleanroommc.groovyscript.api.GroovyLog;
 import com.cleanroommc.groovyscript.api.IIngredient;
 import com.cleanroommc.groovyscript.api.documentation.annotations.*;
 import com.cleanroommc.groovyscript.compat.mods.ModSupport;
+import com.cleanroommc.groovyscript.compat.mods.thermalexpansion.ScriptedRecipeKeys;
 import com.cleanroommc.groovyscript.core.mixin.thermalexpansion.InsolatorManagerAccessor;
 import com.cleanroommc.groovyscript.core.mixin.thermalexpansion.InsolatorRecipeAccessor;
 import com.cleanroommc.groovyscript.helper.SimpleObjectStream;
@@ -25,6 +26,7 @@ import java.util.stream.Collectors;
 @RegistryDescription
 public class Insolator extends VirtualizedRegistry<InsolatorRecipe> {
 
+    private final ScriptedRecipeKeys recipeKeys = new ScriptedRecipeKeys();
     private final AbstractReloadableStorage<ItemStack> fertilizerStorage = new AbstractReloadableStorage<>();
 
     @RecipeBuilderDescription(example = {
@@ -39,7 +41,7 @@ public class Insolator extends VirtualizedRegistry<InsolatorRecipe> {
     @GroovyBlacklist
     @ApiStatus.Internal
     public void onReload() {
-        removeScripted().forEach(recipe -> InsolatorManagerAccessor.getRecipeMap().values().removeIf(r -> r == recipe));
+        recipeKeys.removeAll(InsolatorManagerAccessor.getRecipeMap(), removeScripted());
         restoreFromBackup().forEach(r -> InsolatorManagerAccessor.getRecipeMap().put(hash(r), r));
         fertilizerStorage.removeScripted().forEach(recipe -> InsolatorManagerAccessor.getLockSet().removeIf(r -> r.equals(InsolatorManager.convertInput(recipe))));
         fertilizerStorage.restoreFromBackup().forEach(r -> InsolatorManagerAccessor.getLockSet().add(InsolatorManager.convertInput(r)));
@@ -77,7 +79,7 @@ public class Insolator extends VirtualizedRegistry<InsolatorRecipe> {
     }
 
     public void add(InsolatorRecipe recipe) {
-        InsolatorManagerAccessor.getRecipeMap().put(hash(recipe), recipe);
+        recipeKeys.put(InsolatorManagerAccessor.getRecipeMap(), hash(recipe), recipe);
         addScripted(recipe);
     }
 
@@ -8,6 +8,7 @@ import com.cleanroommc.groovyscript.api.GroovyLog;
 import com.cleanroommc.groovyscript.api.IIngredient;
 import com.cleanroommc.groovyscript.api.documentation.annotations.*;
 import com.cleanroommc.groovyscript.compat.mods.ModSupport;
+import com.cleanroommc.groovyscript.compat.mods.thermalexpansion.ScriptedRecipeKeys;
 import com.cleanroommc.groovyscript.core.mixin.thermalexpansion.PrecipitatorManagerAccessor;
 import com.cleanroommc.groovyscript.core.mixin.thermalexpansion.PrecipitatorRecipeAccessor;
 import com.cleanroommc.groovyscript.helper.SimpleObjectStream;
@@ -24,6 +25,8 @@ import java.util.stream.Collectors;
 @RegistryDescription
 public class Precipitator extends VirtualizedRegistry<PrecipitatorRecipe> {
 
+    private final ScriptedRecipeKeys recipeKeys = new ScriptedRecipeKeys();
+
     @RecipeBuilderDescription(example = {
             @Example(".output(item('minecraft:clay'))"),
             @Example(".water(100).output(item('minecraft:clay')).energy(1000)")
@@ -36,7 +39,7 @@ public class Precipitator extends VirtualizedRegistry<PrecipitatorRecipe> {
     @GroovyBlacklist
     @ApiStatus.Internal
     public void onReload() {
-        removeScripted().forEach(recipe -> PrecipitatorManagerAccessor.getRecipeMap().values().removeIf(r -> r == recipe));
+        recipeKeys.removeAll(PrecipitatorManagerAccessor.getRecipeMap(), removeScripted());
         restoreFromBackup().forEach(r -> PrecipitatorManagerAccessor.getRecipeMap().put(new ItemWrapper(r.getOutput()), r));
     }
 
@@ -51,7 +54,7 @@ public class Precipitator extends VirtualizedRegistry<PrecipitatorRecipe> {
     }
 
     public void add(PrecipitatorRecipe recipe) {
-        PrecipitatorManagerAccessor.getRecipeMap().put(new ItemWrapper(recipe.getOutput()), recipe);
+        recipeKeys.put(PrecipitatorManagerAccessor.getRecipeMap(), new ItemWrapper(recipe.getOutput()), recipe);
         addScripted(recipe);
     }
 
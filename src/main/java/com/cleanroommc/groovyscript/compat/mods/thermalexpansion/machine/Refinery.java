@@ -8,6 +8,7 @@ import com.cleanroommc.groovyscript.api.GroovyLog;
 import com.cleanroommc.groovyscript.api.IIngredient;
 import com.cleanroommc.groovyscript.api.documentation.annotations.*;
 import com.cleanroommc.groovyscript.compat.mods.ModSupport;
+import com.cleanroommc.groovyscript.compat.mods.thermalexpansion.ScriptedRecipeKeys;
 import com.cleanroommc.groovyscript.core.mixin.thermalexpansion.RefineryManagerAccessor;
 import com.cleanroommc.groovyscript.core.mixin.thermalexpansion.RefineryRecipeAccessor;
 import com.cleanroommc.groovyscript.helper.SimpleObjectStream;
@@ -25,6 +26,7 @@ import org.jetbrains.annotations.Nullable;
 )
 public class Refinery extends VirtualizedRegistry<RefineryRecipe> {
 
+    private final ScriptedRecipeKeys recipeKeys = new ScriptedRecipeKeys();
     private final AbstractReloadableStorage<String> fossilFuelStorage = new AbstractReloadableStorage<>();
     private final AbstractReloadableStorage<String> bioFuelStorage = new AbstractReloadableStorage<>();
 
@@ -40,7 +42,7 @@ public class Refinery extends VirtualizedRegistry<RefineryRecipe> {
     @GroovyBlacklist
     @ApiStatus.Internal
     public void onReload() {
-        removeScripted().forEach(recipe -> RefineryManagerAccessor.getRecipeMap().values().removeIf(r -> r == recipe));
+        recipeKeys.removeAll(RefineryManagerAccessor.getRecipeMap(), removeScripted());
         restoreFromBackup().forEach(r -> RefineryManagerAccessor.getRecipeMap().put(FluidHelper.getFluidHash(r.getInput()), r));
         fossilFuelStorage.removeScripted().forEach(RefineryManagerAccessor.getFossilFluids()::add);
         fossilFuelStorage.restoreFromBackup().forEach(RefineryManagerAccessor.getFossilFluids()::remove);
@@ -109,7 +111,7 @@ public class Refinery extends VirtualizedRegistry<RefineryRecipe> {
     }
 
     public void add(RefineryRecipe recipe) {
-        RefineryManagerAccessor.getRecipeMap().put(FluidHelper.getFluidHash(recipe.getInput()), recipe);
+        recipeKeys.put(RefineryManagerAccessor.getRecipeMap(), FluidHelper.getFluidHash(recipe.getInput()), recipe);
         addScripted(recipe);
     }
 
@@ -8,6 +8,7 @@ import com.cleanroommc.groovyscript.api.GroovyLog;
 import com.cleanroommc.groovyscript.api.IIngredient;
 import com.cleanroommc.groovyscript.api.documentation.annotations.*;
 import com.cleanroommc.groovyscript.compat.mods.ModSupport;
+import com.cleanroommc.groovyscript.compat.mods.thermalexpansion.ScriptedRecipeKeys;
 import com.cleanroommc.groovyscript.core.mixin.thermalexpansion.RefineryManagerAccessor;
 import com.cleanroommc.groovyscript.core.mixin.thermalexpansion.RefineryRecipeAccessor;
 import com.cleanroommc.groovyscript.helper.SimpleObjectStream;
@@ -21,6 +22,8 @@ import org.jetbrains.annotations.Nullable;
 @RegistryDescription
 public class RefineryPotion extends VirtualizedRegistry<RefineryRecipe> {
 
+    private final ScriptedRecipeKeys recipeKeys = new ScriptedRecipeKeys();
+
     @RecipeBuilderDescription(example = {
             @Example(".fluidInput(fluid('water') * 100).fluidOutput(fluid('steam') * 200)"),
             @Example(".fluidInput(fluid('lava') * 100).fluidOutput(fluid('steam') * 30).output(item('minecraft:clay')).chance(75).energy(1000)")
@@ -33,12 +36,12 @@ public class RefineryPotion extends VirtualizedRegistry<RefineryRecipe> {
     @GroovyBlacklist
     @ApiStatus.Internal
     public void onReload() {
-        removeScripted().forEach(recipe -> RefineryManagerAccessor.getRecipeMapPotion().values().removeIf(r -> r == recipe));
+        recipeKeys.removeAll(RefineryManagerAccessor.getRecipeMapPotion(), removeScripted());
         restoreFromBackup().forEach(r -> RefineryManagerAccessor.getRecipeMapPotion().put(FluidHelper.getFluidHash(r.getInput()), r));
     }
 
     public void add(RefineryRecipe recipe) {
-        RefineryManagerAccessor.getRecipeMapPotion().put(FluidHelper.getFluidHash(recipe.getInput()), recipe);
+        recipeKeys.put(RefineryManagerAccessor.getRecipeMapPotion(), FluidHelper.getFluidHash(recipe.getInput()), recipe);
         addScripted(recipe);
     }
 
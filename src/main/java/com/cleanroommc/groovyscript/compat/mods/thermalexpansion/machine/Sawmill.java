@@ -7,6 +7,7 @@ import com.cleanroommc.groovyscript.api.GroovyLog;
 import com.cleanroommc.groovyscript.api.IIngredient;
 import com.cleanroommc.groovyscript.api.documentation.annotations.*;
 import com.cleanroommc.groovyscript.compat.mods.ModSupport;
+import com.cleanroommc.groovyscript.compat.mods.thermalexpansion.ScriptedRecipeKeys;
 import com.cleanroommc.groovyscript.core.mixin.thermalexpansion.SawmillManagerAccessor;
 import com.cleanroommc.groovyscript.core.mixin.thermalexpansion.SawmillRecipeAccessor;
 import com.cleanroommc.groovyscript.helper.SimpleObjectStream;
@@ -21,6 +22,8 @@ import org.jetbrains.annotations.Nullable;
 )
 public class Sawmill extends VirtualizedRegistry<SawmillRecipe> {
 
+    private final ScriptedRecipeKeys recipeKeys = new ScriptedRecipeKeys();
+
     @RecipeBuilderDescription(example = {
             @Example(".input(item('minecraft:diamond')).output(item('minecraft:gold_ingot') * 2)"),
             @Example(".input(item('minecraft:clay') * 4).output(item('minecraft:gold_ingot'), item('minecraft:diamond')).chance(25).energy(1000)")
@@ -33,12 +36,12 @@ public class Sawmill extends VirtualizedRegistry<SawmillRecipe> {
     @GroovyBlacklist
     @ApiStatus.Internal
     public void onReload() {
-        removeScripted().forEach(recipe -> SawmillManagerAccessor.getRecipeMap().values().removeIf(r -> r == recipe));
+        recipeKeys.removeAll(SawmillManagerAccessor.getRecipeMap(), removeScripted());
         restoreFromBackup().forEach(r -> SawmillManagerAccessor.getRecipeMap().put(SawmillManager.convertInput(r.getInput()), r));
     }
 
     public void add(SawmillRecipe recipe) {
-        SawmillManagerAccessor.getRecipeMap().put(SawmillManager.convertInput(recipe.getInput()), recipe);
+        recipeKeys.put(SawmillManagerAccessor.getRecipeMap(), SawmillManager.convertInput(recipe.getInput()), recipe);
         addScripted(recipe);
     }
 
@@ -8,6 +8,7 @@ import com.cleanroommc.groovyscript.api.GroovyLog;
 import com.cleanroommc.groovyscript.api.IIngredient;
 import com.cleanroommc.groovyscript.api.documentation.annotations.*;
 import com.cleanroommc.groovyscript.compat.mods.ModSupport;
+import com.cleanroommc.groovyscript.compat.mods.thermalexpansion.ScriptedRecipeKeys;
 import com.cleanroommc.groovyscript.core.mixin.thermalexpansion.SmelterManagerAccessor;
 import com.cleanroommc.groovyscript.core.mixin.thermalexpansion.SmelterRecipeAccessor;
 import com.cleanroommc.groovyscript.helper.SimpleObjectStream;
@@ -24,6 +25,7 @@ import java.util.List;
 @RegistryDescription
 public class Smelter extends VirtualizedRegistry<SmelterRecipe> {
 
+    private final ScriptedRecipeKeys recipeKeys = new ScriptedRecipeKeys();
     private final AbstractReloadableStorage<ItemStack> fluxStorage = new AbstractReloadableStorage<>();
 
     @RecipeBuilderDescription(example = {
@@ -38,7 +40,7 @@ public class Smelter extends VirtualizedRegistry<SmelterRecipe> {
     @GroovyBlacklist
     @ApiStatus.Internal
     public void onReload() {
-        removeScripted().forEach(recipe -> SmelterManagerAccessor.getRecipeMap().values().removeIf(r -> r == recipe));
+        recipeKeys.removeAll(SmelterManagerAccessor.getRecipeMap(), removeScripted());
         restoreFromBackup().forEach(r -> SmelterManagerAccessor.getRecipeMap().put(hash(r), r));
         fluxStorage.removeScripted().forEach(recipe -> SmelterManagerAccessor.getLockSet().removeIf(r -> r.equals(SmelterManager.convertInput(recipe))));
         fluxStorage.restoreFromBackup().forEach(r -> SmelterManagerAccessor.getLockSet().add(SmelterManager.convertInput(r)));
@@ -63,7 +65,7 @@ public class Smelter extends VirtualizedRegistry<SmelterRecipe> {
     }
 
     public void add(SmelterRecipe recipe) {
-        SmelterManagerAccessor.getRecipeMap().put(hash(recipe), recipe);
+        recipeKeys.put(SmelterManagerAccessor.getRecipeMap(), hash(recipe), recipe);
         addScripted(recipe);
     }
 
@@ -7,6 +7,7 @@ import com.cleanroommc.groovyscript.api.GroovyLog;
 import com.cleanroommc.groovyscript.api.IIngredient;
 import com.cleanroommc.groovyscript.api.documentation.annotations.*;
 import com.cleanroommc.groovyscript.compat.mods.ModSupport;
+import com.cleanroommc.groovyscript.compat.mods.thermalexpansion.ScriptedRecipeKeys;
 import com.cleanroommc.groovyscript.core.mixin.thermalexpansion.TransposerManagerAccessor;
 import com.cleanroommc.groovyscript.helper.SimpleObjectStream;
 import com.cleanroommc.groovyscript.helper.recipe.AbstractRecipeBuilder;
@@ -23,6 +24,8 @@ import java.util.stream.Collectors;
 )
 public class TransposerExtract extends VirtualizedRegistry<TransposerRecipe> {
 
+    private final ScriptedRecipeKeys recipeKeys = new ScriptedRecipeKeys();
+
     @RecipeBuilderDescription(example = {
             @Example(".input(item('minecraft:diamond') * 2).fluidOutput(fluid('water') * 100)"),
             @Example(".input(item('minecraft:clay')).output(item('minecraft:diamond') * 2).fluidOutput(fluid('water') * 50).energy(1000)")
@@ -35,7 +38,7 @@ public class TransposerExtract extends VirtualizedRegistry<TransposerRecipe> {
     @GroovyBlacklist
     @ApiStatus.Internal
     public void onReload() {
-        removeScripted().forEach(recipe -> TransposerManagerAccessor.getRecipeMapExtract().values().removeIf(r -> r == recipe));
+        recipeKeys.removeAll(TransposerManagerAccessor.getRecipeMapExtract(), removeScripted());
         restoreFromBackup().forEach(r -> TransposerManagerAccessor.getRecipeMapExtract().put(TransposerManager.convertInput(r.getInput()), r));
     }
 
@@ -53,7 +56,7 @@ public class TransposerExtract extends VirtualizedRegistry<TransposerRecipe> {
     }
 
     public void add(TransposerRecipe recipe) {
-        TransposerManagerAccessor.getRecipeMapExtract().put(TransposerManager.convertInput(recipe.getInput()), recipe);
+        recipeKeys.put(TransposerManagerAccessor.getRecipeMapExtract(), TransposerManager.convertInput(recipe.getInput()), recipe);
         addScripted(recipe);
     }
 
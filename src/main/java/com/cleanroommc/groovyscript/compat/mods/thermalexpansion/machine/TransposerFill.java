@@ -8,6 +8,7 @@ import com.cleanroommc.groovyscript.api.GroovyLog;
 import com.cleanroommc.groovyscript.api.IIngredient;
 import com.cleanroommc.groovyscript.api.documentation.annotations.*;
 import com.cleanroommc.groovyscript.compat.mods.ModSupport;
+import com.cleanroommc.groovyscript.compat.mods.thermalexpansion.ScriptedRecipeKeys;
 import com.cleanroommc.groovyscript.core.mixin.thermalexpansion.TransposerManagerAccessor;
 import com.cleanroommc.groovyscript.helper.SimpleObjectStream;
 import com.cleanroommc.groovyscript.helper.recipe.AbstractRecipeBuilder;
@@ -26,6 +27,8 @@ import java.util.stream.Collectors;
 )
 public class TransposerFill extends VirtualizedRegistry<TransposerRecipe> {
 
+    private final ScriptedRecipeKeys recipeKeys = new ScriptedRecipeKeys();
+
     @RecipeBuilderDescription(example = {
             @Example(".input(item('minecraft:diamond') * 2).fluidInput(fluid('water') * 100)"),
             @Example(".input(item('minecraft:clay')).output(item('minecraft:diamond') * 2).fluidInput(fluid('water') * 50).energy(1000)")
@@ -38,7 +41,7 @@ public class TransposerFill extends VirtualizedRegistry<TransposerRecipe> {
     @GroovyBlacklist
     @ApiStatus.Internal
     public void onReload() {
-        removeScripted().forEach(recipe -> TransposerManagerAccessor.getRecipeMapFill().values().removeIf(r -> r == recipe));
+        recipeKeys.removeAll(TransposerManagerAccessor.getRecipeMapFill(), removeScripted());
         restoreFromBackup().forEach(r -> TransposerManagerAccessor.getRecipeMapFill().put(hash(r), r));
     }
 
@@ -64,7 +67,7 @@ public class TransposerFill extends VirtualizedRegistry<TransposerRecipe> {
     }
 
     public void add(TransposerRecipe recipe) {
-        TransposerManagerAccessor.getRecipeMapFill().put(hash(recipe), recipe);
+        recipeKeys.put(TransposerManagerAccessor.getRecipeMapFill(), hash(recipe), recipe);
         addScripted(recipe);
     }
 
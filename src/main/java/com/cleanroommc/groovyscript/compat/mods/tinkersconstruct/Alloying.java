@@ -22,7 +22,7 @@ public class Alloying extends VirtualizedRegistry<AlloyRecipe> {
     @Override
     @GroovyBlacklist
     public void onReload() {
-        removeScripted().forEach(TinkerRegistryAccessor.getAlloyRegistry()::remove);
+        removeAllByIdentity(TinkerRegistryAccessor.getAlloyRegistry(), removeScripted());
         restoreFromBackup().forEach(TinkerRegistryAccessor.getAlloyRegistry()::add);
     }
 
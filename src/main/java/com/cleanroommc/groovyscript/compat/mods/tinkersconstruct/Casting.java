@@ -9,6 +9,7 @@ import com.cleanroommc.groovyscript.core.mixin.tconstruct.TinkerRegistryAccessor
 import com.cleanroommc.groovyscript.helper.Alias;
 import com.cleanroommc.groovyscript.helper.SimpleObjectStream;
 import com.cleanroommc.groovyscript.helper.recipe.AbstractRecipeBuilder;
+import com.cleanroommc.groovyscript.helper.recipe.RecipeIndex;
 import com.cleanroommc.groovyscript.registry.VirtualizedRegistry;
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
 import net.minecraft.item.ItemStack;
@@ -18,6 +19,8 @@ import org.jetbrains.annotations.Nullable;
 import slimeknights.tconstruct.library.smeltery.CastingRecipe;
 import slimeknights.tconstruct.library.smeltery.ICastingRecipe;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Map;
 
 public class Casting implements IDynamicGroovyProperty {
@@ -42,8 +45,23 @@ public class Casting implements IDynamicGroovyProperty {
         return properties;
     }
 
+    private static Collection<?> getOutputKeys(ICastingRecipe recipe) {
+        ItemStack result = recipe.getResult(ItemStack.EMPTY, FluidRegistry.WATER);
+        return result == null || result.isEmpty() ? Collections.emptySet() : Collections.singleton(result.getItem());
+    }
+
+    /**
+     * Only {@link CastingRecipe} has the same fluid for every fluid it is asked with.
+     */
+    private static Collection<?> getFluidKeys(ICastingRecipe recipe) {
+        return recipe instanceof CastingRecipe ? Collections.singleton(recipe.getFluid(ItemStack.EMPTY, FluidRegistry.WATER).getFluid()) : Collections.emptySet();
+    }
+
     public static class Table extends VirtualizedRegistry<ICastingRecipe> {
 
+        private final RecipeIndex<ICastingRecipe> outputIndex = new RecipeIndex<>(TinkerRegistryAccessor::getTableCastRegistry, Casting::getOutputKeys);
+        private final RecipeIndex<ICastingRecipe> fluidIndex = new RecipeIndex<>(TinkerRegistryAccessor::getTableCastRegistry, Casting::getFluidKeys);
+
         public RecipeBuilder recipeBuilder() {
             return new RecipeBuilder();
         }
@@ -51,29 +69,28 @@ public class Casting implements IDynamicGroovyProperty {
         @Override
         @GroovyBlacklist
         public void onReload() {
-            removeScripted().forEach(TinkerRegistryAccessor.getTableCastRegistry()::remove);
+            removeAllByIdentity(TinkerRegistryAccessor.getTableCastRegistry(), removeScripted());
             restoreFromBackup().forEach(TinkerRegistryAccessor.getTableCastRegistry()::add);
+            outputIndex.invalidate();
+            fluidIndex.invalidate();
         }
 
         public void add(ICastingRecipe recipe) {
             if (recipe == null) return;
             addScripted(recipe);
-            TinkerRegistryAccessor.getTableCastRegistry().add(recipe);
+            RecipeIndex.add(TinkerRegistryAccessor.getTableCastRegistry(), recipe, outputIndex, fluidIndex);
         }
 
         public boolean remove(ICastingRecipe recipe) {
             if (recipe == null) return false;
-            addBackup(recipe);
-            TinkerRegistryAccessor.getTableCastRegistry().remove(recipe);
+            RecipeIndex.removeIf(TinkerRegistryAccessor.getTableCastRegistry(), Collections.singleton(recipe), r -> true, this::addBackup, outputIndex, fluidIndex);
             return true;
         }
 
         public boolean removeByOutput(ItemStack output) {
-            if (TinkerRegistryAccessor.getTableCastRegistry().removeIf(recipe -> {
-                boolean found = recipe.getResult(ItemStack.EMPTY, FluidRegistry.WATER).isItemEqual(output);
-                if (found) addBackup(recipe);
-                return found;
-            })) return true;
+            if (RecipeIndex.removeIf(TinkerRegistryAccessor.getTableCastRegistry(), outputIndex.getCandidates(Collections.singleton(output.getItem())),
+                                     recipe -> recipe.getResult(ItemStack.EMPTY, FluidRegistry.WATER).isItemEqual(output),
+                                     this::addBackup, outputIndex, fluidIndex)) return true;
 
             GroovyLog.msg("Error removing Tinkers Construct Casting Table recipe")
                     .add("could not find recipe with output {}", output)
@@ -83,11 +100,9 @@ public class Casting implements IDynamicGroovyProperty {
         }
 
         public boolean removeByInput(FluidStack input) {
-            if (TinkerRegistryAccessor.getTableCastRegistry().removeIf(recipe -> {
-                boolean found = recipe.getFluid(ItemStack.EMPTY, input.getFluid()).isFluidEqual(input);
-                if (found) addBackup(recipe);
-                return found;
-            })) return true;
+            if (RecipeIndex.removeIf(TinkerRegistryAccessor.getTableCastRegistry(), fluidIndex.getCandidates(Collections.singleton(input.getFluid())),
+                                     recipe -> recipe.getFluid(ItemStack.EMPTY, input.getFluid()).isFluidEqual(input),
+                                     this::addBackup, outputIndex, fluidIndex)) return true;
 
             GroovyLog.msg("Error removing Tinkers Construct Casting Table recipe")
                     .add("could not find recipe with input {}", input)
@@ -101,7 +116,11 @@ public class Casting implements IDynamicGroovyProperty {
                 boolean found = recipe.matches(cast.getMatchingStacks()[0], recipe.getFluid(cast.getMatchingStacks()[0], FluidRegistry.WATER).getFluid());
                 if (found) addBackup(recipe);
                 return found;
-            })) return true;
+            })) {
+                outputIndex.invalidate();
+                fluidIndex.invalidate();
+                return true;
+            }
 
             GroovyLog.msg("Error removing Tinkers Construct Casting Table recipe")
                     .add("could not find recipe with cast {}", cast)
@@ -113,6 +132,8 @@ public class Casting implements IDynamicGroovyProperty {
         public void removeAll() {
             TinkerRegistryAccessor.getTableCastRegistry().forEach(this::addBackup);
             TinkerRegistryAccessor.getTableCastRegistry().forEach(TinkerRegistryAccessor.getTableCastRegistry()::remove);
+            outputIndex.invalidate();
+            fluidIndex.invalidate();
         }
 
         public SimpleObjectStream<ICastingRecipe> streamRecipes() {
@@ -168,6 +189,9 @@ public class Casting implements IDynamicGroovyProperty {
 
     public static class Basin extends VirtualizedRegistry<ICastingRecipe> {
 
+        private final RecipeIndex<ICastingRecipe> outputIndex = new RecipeIndex<>(TinkerRegistryAccessor::getBasinCastRegistry, Casting::getOutputKeys);
+        private final RecipeIndex<ICastingRecipe> fluidIndex = new RecipeIndex<>(TinkerRegistryAccessor::getBasinCastRegistry, Casting::getFluidKeys);
+
         public RecipeBuilder recipeBuilder() {
             return new RecipeBuilder();
         }
@@ -175,29 +199,28 @@ public class Casting implements IDynamicGroovyProperty {
         @Override
         @GroovyBlacklist
         public void onReload() {
-            removeScripted().forEach(TinkerRegistryAccessor.getBasinCastRegistry()::remove);
+            removeAllByIdentity(TinkerRegistryAccessor.getBasinCastRegistry(), removeScripted());
             restoreFromBackup().forEach(TinkerRegistryAccessor.getBasinCastRegistry()::add);
+            outputIndex.invalidate();
+            fluidIndex.invalidate();
         }
 
         public void add(ICastingRecipe recipe) {
             if (recipe == null) return;
             addScripted(recipe);
-            TinkerRegistryAccessor.getBasinCastRegistry().add(recipe);
+            RecipeIndex.add(TinkerRegistryAccessor.getBasinCastRegistry(), recipe, outputIndex, fluidIndex);
         }
 
         public boolean remove(ICastingRecipe recipe) {
             if (recipe == null) return false;
-            addBackup(recipe);
-            TinkerRegistryAccessor.getBasinCastRegistry().remove(recipe);
+            RecipeIndex.removeIf(TinkerRegistryAccessor.getBasinCastRegistry(), Collections.singleton(recipe), r -> true, this::addBackup, outputIndex, fluidIndex);
             return true;
         }
 
         public boolean removeByOutput(ItemStack output) {
-            if (TinkerRegistryAccessor.getBasinCastRegistry().removeIf(recipe -> {
-                boolean found = ItemStack.areItemStacksEqual(recipe.getResult(ItemStack.EMPTY, FluidRegistry.WATER), output);
-                if (found) addBackup(recipe);
-                return found;
-            })) return true;
+            if (RecipeIndex.removeIf(TinkerRegistryAccessor.getBasinCastRegistry(), outputIndex.getCandidates(Collections.singleton(output.getItem())),
+                                     recipe -> ItemStack.areItemStacksEqual(recipe.getResult(ItemStack.EMPTY, FluidRegistry.WATER), output),
+                                     this::addBackup, outputIndex, fluidIndex)) return true;
 
             GroovyLog.msg("Error removing Tinkers Construct Casting Basin recipe")
                     .add("could not find recipe with output {}", output)
@@ -207,11 +230,9 @@ public class Casting implements IDynamicGroovyProperty {
         }
 
         public boolean removeByInput(FluidStack input) {
-            if (TinkerRegistryAccessor.getBasinCastRegistry().removeIf(recipe -> {
-                boolean found = recipe.getFluid(ItemStack.EMPTY, input.getFluid()).isFluidEqual(input);
-                if (found) addBackup(recipe);
-                return found;
-            })) return true;
+            if (RecipeIndex.removeIf(TinkerRegistryAccessor.getBasinCastRegistry(), fluidIndex.getCandidates(Collections.singleton(input.getFluid())),
+                                     recipe -> recipe.getFluid(ItemStack.EMPTY, input.getFluid()).isFluidEqual(input),
+                                     this::addBackup, outputIndex, fluidIndex)) return true;
 
             GroovyLog.msg("Error removing Tinkers Construct Casting Basin recipe")
                     .add("could not find recipe with input {}", input)
@@ -226,7 +247,11 @@ public class Casting implements IDynamicGroovyProperty {
                 boolean found = recipe.matches(castStack, recipe.getFluid(castStack, FluidRegistry.WATER).getFluid());
                 if (found) addBackup(recipe);
                 return found;
-            })) return true;
+            })) {
+                outputIndex.invalidate();
+                fluidIndex.invalidate();
+                return true;
+            }
 
             GroovyLog.msg("Error removing Tinkers Construct Casting Basin recipe")
                     .add("could not find recipe with cast {}", cast)
@@ -238,6 +263,8 @@ public class Casting implements IDynamicGroovyProperty {
         public void removeAll() {
             TinkerRegistryAccessor.getBasinCastRegistry().forEach(this::addBackup);
             TinkerRegistryAccessor.getBasinCastRegistry().forEach(TinkerRegistryAccessor.getBasinCastRegistry()::remove);
+            outputIndex.invalidate();
+            fluidIndex.invalidate();
         }
 
         public SimpleObjectStream<ICastingRecipe> streamRecipes() {
@@ -22,7 +22,7 @@ public class Drying extends VirtualizedRegistry<DryingRecipe> {
     @Override
     @GroovyBlacklist
     public void onReload() {
-        removeScripted().forEach(TinkerRegistryAccessor.getDryingRegistry()::remove);
+        removeAllByIdentity(TinkerRegistryAccessor.getDryingRegistry(), removeScripted());
         restoreFromBackup().forEach(TinkerRegistryAccessor.getDryingRegistry()::add);
     }
 
@@ -9,9 +9,11 @@ import com.cleanroommc.groovyscript.compat.mods.tinkersconstruct.recipe.MeltingR
 import com.cleanroommc.groovyscript.core.mixin.tconstruct.TinkerRegistryAccessor;
 import com.cleanroommc.groovyscript.helper.SimpleObjectStream;
 import com.cleanroommc.groovyscript.helper.recipe.IRecipeBuilder;
+import com.cleanroommc.groovyscript.helper.recipe.RecipeIndex;
 import com.cleanroommc.groovyscript.registry.AbstractReloadableStorage;
 import com.cleanroommc.groovyscript.registry.VirtualizedRegistry;
 import net.minecraft.entity.EntityList;
+import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
 import net.minecraft.util.NonNullList;
 import net.minecraft.util.ResourceLocation;
@@ -20,6 +22,9 @@ import net.minecraftforge.fml.common.registry.EntityEntry;
 import org.jetbrains.annotations.Nullable;
 import slimeknights.tconstruct.library.smeltery.MeltingRecipe;
 
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -27,6 +32,11 @@ public class Melting extends MeltingRecipeRegistry {
 
     public final EntityMelting entityMelting = new EntityMelting();
 
+    private final RecipeIndex<MeltingRecipe> inputIndex = new RecipeIndex<>(TinkerRegistryAccessor::getMeltingRegistry,
+                                                                            recipe -> recipe.input.getInputs().stream().map(ItemStack::getItem).collect(Collectors.toSet()));
+    private final RecipeIndex<MeltingRecipe> outputIndex = new RecipeIndex<>(TinkerRegistryAccessor::getMeltingRegistry,
+                                                                             recipe -> Collections.singleton(recipe.getResult().getFluid()));
+
     public RecipeBuilder recipeBuilder() {
         return new RecipeBuilder(this);
     }
@@ -34,8 +44,10 @@ public class Melting extends MeltingRecipeRegistry {
     @Override
     @GroovyBlacklist
     public void onReload() {
-        removeScripted().forEach(TinkerRegistryAccessor.getMeltingRegistry()::remove);
+        removeAllByIdentity(TinkerRegistryAccessor.getMeltingRegistry(), removeScripted());
         restoreFromBackup().forEach(TinkerRegistryAccessor.getMeltingRegistry()::add);
+        inputIndex.invalidate();
+        outputIndex.invalidate();
         entityMelting.onReload();
     }
 
@@ -48,23 +60,24 @@ public class Melting extends MeltingRecipeRegistry {
     public void add(MeltingRecipe recipe) {
         if (recipe == null) return;
         addScripted(recipe);
-        TinkerRegistryAccessor.getMeltingRegistry().add(recipe);
+        RecipeIndex.add(TinkerRegistryAccessor.getMeltingRegistry(), recipe, inputIndex, outputIndex);
     }
 
     public boolean remove(MeltingRecipe recipe) {
         if (recipe == null) return false;
-        addBackup(recipe);
-        TinkerRegistryAccessor.getMeltingRegistry().remove(recipe);
+        RecipeIndex.removeIf(TinkerRegistryAccessor.getMeltingRegistry(), Collections.singleton(recipe), r -> true, this::addBackup, inputIndex, outputIndex);
         return true;
     }
 
+    private static Collection<Item> getItems(ItemStack[] stacks) {
+        return Arrays.stream(stacks).map(ItemStack::getItem).collect(Collectors.toSet());
+    }
+
     public boolean removeByInput(IIngredient input) {
-        NonNullList<ItemStack> matching = NonNullList.from(ItemStack.EMPTY, input.getMatchingStacks());
-        if (TinkerRegistryAccessor.getMeltingRegistry().removeIf(recipe -> {
-            boolean found = recipe.input.matches(matching).isPresent();
-            if (found) addBackup(recipe);
-            return found;
-        })) return true;
+        ItemStack[] stacks = input.getMatchingStacks();
+        NonNullList<ItemStack> matching = NonNullList.from(ItemStack.EMPTY, stacks);
+        if (RecipeIndex.removeIf(TinkerRegistryAccessor.getMeltingRegistry(), inputIndex.getCandidates(getItems(stacks)),
+                                 recipe -> recipe.input.matches(matching).isPresent(), this::addBackup, inputIndex, outputIndex)) return true;
 
         GroovyLog.msg("Error removing Tinkers Construct Melting recipe")
                 .add("could not find recipe with input {}", input)
@@ -74,11 +87,8 @@ public class Melting extends MeltingRecipeRegistry {
     }
 
     public boolean removeByOutput(FluidStack output) {
-        if (TinkerRegistryAccessor.getMeltingRegistry().removeIf(recipe -> {
-            boolean found = recipe.getResult().isFluidEqual(output);
-            if (found) addBackup(recipe);
-            return found;
-        })) return true;
+        if (RecipeIndex.removeIf(TinkerRegistryAccessor.getMeltingRegistry(), outputIndex.getCandidates(Collections.singleton(output.getFluid())),
+                                 recipe -> recipe.getResult().isFluidEqual(output), this::addBackup, inputIndex, outputIndex)) return true;
 
         GroovyLog.msg("Error removing Tinkers Construct Melting recipe")
                 .add("could not find recipe with output {}", output)
@@ -88,12 +98,13 @@ public class Melting extends MeltingRecipeRegistry {
     }
 
     public boolean removeByInputAndOutput(IIngredient input, FluidStack output) {
-        NonNullList<ItemStack> matching = NonNullList.from(ItemStack.EMPTY, input.getMatchingStacks());
-        if (TinkerRegistryAccessor.getMeltingRegistry().removeIf(recipe -> {
-            boolean found = recipe.input.matches(matching).isPresent() && recipe.getResult().isFluidEqual(output);
-            if (found) addBackup(recipe);
-            return found;
-        })) return true;
+        ItemStack[] stacks = input.getMatchingStacks();
+        NonNullList<ItemStack> matching = NonNullList.from(ItemStack.EMPTY, stacks);
+        if (RecipeIndex.removeIf(TinkerRegistryAccessor.getMeltingRegistry(), inputIndex.getCandidates(getItems(stacks)),
+                                 recipe -> recipe.input.matches(matching).isPresent() && recipe.getResult().isFluidEqual(output),
+                                 this::addBackup, inputIndex, outputIndex)) {
+            return true;
+        }
 
         GroovyLog.msg("Error removing Tinkers Construct Melting recipe")
                 .add("could not find recipe with input {} and output {}", input, output)
@@ -105,6 +116,8 @@ public class Melting extends MeltingRecipeRegistry {
     public void removeAll() {
         TinkerRegistryAccessor.getMeltingRegistry().forEach(this::addBackup);
         TinkerRegistryAccessor.getMeltingRegistry().forEach(TinkerRegistryAccessor.getMeltingRegistry()::remove);
+        inputIndex.invalidate();
+        outputIndex.invalidate();
     }
 
     public SimpleObjectStream<MeltingRecipe> streamRecipes() {
@@ -39,7 +39,7 @@ public class StygianIronAnvil extends VirtualizedRegistry<IAnvilRecipe> {
 
     @Override
     public void onReload() {
-        removeScripted().forEach(Woot.anvilManager.getRecipes()::remove);
+        removeAllByIdentity(Woot.anvilManager.getRecipes(), removeScripted());
         Woot.anvilManager.getRecipes().addAll(restoreFromBackup());
     }
 
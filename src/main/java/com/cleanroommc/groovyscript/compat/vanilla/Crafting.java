@@ -5,6 +5,7 @@ import com.cleanroommc.groovyscript.api.GroovyLog;
 import com.cleanroommc.groovyscript.api.IIngredient;
 import com.cleanroommc.groovyscript.helper.ingredient.IngredientHelper;
 import com.cleanroommc.groovyscript.registry.ForgeRegistryWrapper;
+import com.cleanroommc.groovyscript.registry.RegistryMetrics;
 import com.cleanroommc.groovyscript.registry.ReloadableRegistryManager;
 import it.unimi.dsi.fastutil.chars.Char2ObjectOpenHashMap;
 import net.minecraft.item.ItemStack;
@@ -158,6 +159,7 @@ public class Crafting extends ForgeRegistryWrapper<IRecipe> {
                 recipesToRemove.add(recipe.getRegistryName());
             }
         }
+        RegistryMetrics.scanned(ForgeRegistries.RECIPES.getValuesCollection().size());
         if (recipesToRemove.isEmpty()) {
             if (log) {
                 GroovyLog.msg("Error removing Minecraft Crafting recipe")
@@ -192,6 +194,7 @@ public class Crafting extends ForgeRegistryWrapper<IRecipe> {
                 recipesToRemove.add(recipe.getRegistryName());
             }
         }
+        RegistryMetrics.scanned(ForgeRegistries.RECIPES.getValuesCollection().size());
         if (recipesToRemove.isEmpty()) {
             if (log) {
                 GroovyLog.msg("Error removing Minecraft Crafting recipe")
@@ -6,6 +6,7 @@ import com.cleanroommc.groovyscript.api.IIngredient;
 import com.cleanroommc.groovyscript.helper.SimpleObjectStream;
 import com.cleanroommc.groovyscript.helper.ingredient.IngredientHelper;
 import com.cleanroommc.groovyscript.helper.recipe.AbstractRecipeBuilder;
+import com.cleanroommc.groovyscript.registry.RegistryMetrics;
 import com.cleanroommc.groovyscript.registry.VirtualizedRegistry;
 import net.minecraft.item.ItemStack;
 import net.minecraft.item.crafting.FurnaceRecipes;
@@ -48,6 +49,11 @@ public class Furnace extends VirtualizedRegistry<Furnace.Recipe> {
         addScripted(recipe);
     }
 
+    @GroovyBlacklist
+    public void add(ItemStack input, ItemStack output, float exp) {
+        add(new Recipe(input, output, exp));
+    }
+
     @GroovyBlacklist
     public boolean remove(Recipe recipe, boolean isScripted) {
         return removeByInput(recipe.input, isScripted, isScripted);
@@ -139,6 +145,7 @@ public class Furnace extends VirtualizedRegistry<Furnace.Recipe> {
                 recipesToRemove.add(recipe);
             }
         }
+        RegistryMetrics.scanned(FurnaceRecipes.instance().getSmeltingList().size());
         if (recipesToRemove.isEmpty()) {
             if (log) {
                 GroovyLog.msg("Error removing Minecraft Furnace recipe")
@@ -178,8 +185,8 @@ public class Furnace extends VirtualizedRegistry<Furnace.Recipe> {
     @GroovyBlacklist
     @Override
     public void onReload() {
-        getScriptedRecipes().forEach(recipe -> remove(recipe, false));
-        getBackupRecipes().forEach(recipe -> FurnaceRecipes.instance().addSmeltingRecipe(recipe.input, recipe.output, recipe.exp));
+        removeScripted().forEach(recipe -> remove(recipe, false));
+        restoreFromBackup().forEach(recipe -> FurnaceRecipes.instance().addSmeltingRecipe(recipe.input, recipe.output, recipe.exp));
     }
 
     public static class RecipeBuilder extends AbstractRecipeBuilder<Recipe> {
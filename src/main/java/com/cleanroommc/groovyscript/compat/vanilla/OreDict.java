@@ -5,6 +5,7 @@ import com.cleanroommc.groovyscript.api.GroovyLog;
 import com.cleanroommc.groovyscript.core.mixin.OreDictionaryAccessor;
 import com.cleanroommc.groovyscript.helper.Alias;
 import com.cleanroommc.groovyscript.helper.ingredient.IngredientHelper;
+import com.cleanroommc.groovyscript.helper.ingredient.OreDictIngredient;
 import com.cleanroommc.groovyscript.registry.VirtualizedRegistry;
 import net.minecraft.block.Block;
 import net.minecraft.item.Item;
@@ -91,6 +92,7 @@ public class OreDict extends VirtualizedRegistry<OreDictEntry> {
             int i = id;
             List<ItemStack> items = OreDictionaryAccessor.getIdToStack().get(i);
             items.removeIf(itemStack -> itemStack.isItemEqual(ore));
+            OreDictIngredient.onOreDictChanged();
             int hash = Item.REGISTRY.getIDForObject(ore.getItem().delegate.get());
             List<Integer> oreDicts = OreDictionaryAccessor.getStackToId().get(hash);
             if (oreDicts != null) {
@@ -1,19 +1,26 @@
 package com.cleanroommc.groovyscript.compat.vanilla;
 
 import com.cleanroommc.groovyscript.api.IIngredient;
+import com.cleanroommc.groovyscript.helper.ingredient.IngredientHelper;
+import com.cleanroommc.groovyscript.helper.ingredient.ItemsIngredient;
+import com.cleanroommc.groovyscript.helper.ingredient.OreDictIngredient;
 import groovy.lang.Closure;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
 import net.minecraft.inventory.InventoryCrafting;
+import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
 import net.minecraftforge.common.crafting.IShapedRecipe;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
+import java.util.Set;
 
 public class ShapedCraftingRecipe extends CraftingRecipe implements IShapedRecipe {
 
     private final int width, height;
     private final boolean mirrored;
+    private Signature signature;
 
     public ShapedCraftingRecipe(ItemStack output, List<IIngredient> input, int width, int height, boolean mirrored, @Nullable Closure<ItemStack> recipeFunction, @Nullable Closure<Void> recipeAction) {
         super(output, input, recipeFunction, recipeAction);
@@ -43,6 +50,7 @@ public class ShapedCraftingRecipe extends CraftingRecipe implements IShapedRecip
 
     @Override
     public @NotNull MatchList getMatchingList(InventoryCrafting inv) {
+        if (!canMatch(inv)) return MatchList.EMPTY;
         for (int x = 0; x <= inv.getWidth() - width; x++) {
             for (int y = 0; y <= inv.getHeight() - height; ++y) {
                 MatchList matches = checkMatch(inv, x, y, false);
@@ -57,6 +65,38 @@ public class ShapedCraftingRecipe extends CraftingRecipe implements IShapedRecip
         return MatchList.EMPTY;
     }
 
+    /**
+     * Rejects grids which can not match this recipe with any offset or mirror before checking every slot. This is the case
+     * if the grid has fewer or more items than the recipe can hold, if the items do not fit into the recipe size or if an
+     * item is not accepted by any ingredient.
+     */
+    protected boolean canMatch(InventoryCrafting inv) {
+        Signature signature = getSignature();
+        int count = 0, minX = inv.getWidth(), minY = inv.getHeight(), maxX = -1, maxY = -1;
+        for (int y = 0; y < inv.getHeight(); y++) {
+            for (int x = 0; x < inv.getWidth(); x++) {
+                ItemStack itemStack = inv.getStackInRowAndColumn(x, y);
+                if (itemStack.isEmpty()) continue;
+                if (++count > signature.maxItems) return false;
+                if (signature.items != null && !signature.items.contains(itemStack.getItem())) return false;
+                minX = Math.min(minX, x);
+                minY = Math.min(minY, y);
+                maxX = Math.max(maxX, x);
+                maxY = Math.max(maxY, y);
+            }
+        }
+        return count >= signature.minItems && maxX - minX < width && maxY - minY < height;
+    }
+
+    private Signature getSignature() {
+        Signature signature = this.signature;
+        if (signature == null || signature.oreDictVersion != OreDictIngredient.getOreDictVersion()) {
+            signature = new Signature(input);
+            this.signature = signature;
+        }
+        return signature;
+    }
+
     /**
      * Based on {@link net.minecraft.item.crafting.ShapedRecipes#checkMatch(InventoryCrafting, int, int, boolean)}
      */
@@ -90,4 +130,42 @@ public class ShapedCraftingRecipe extends CraftingRecipe implements IShapedRecip
 
         return matches;
     }
+
+    /**
+     * How many items a grid needs at least and at most to match the recipe and which items it may contain. The items are
+     * only known if all ingredients are items or ore dicts.
+     */
+    private static class Signature {
+
+        private final int minItems;
+        private final int maxItems;
+        private final @Nullable Set<Item> items;
+        private final int oreDictVersion;
+
+        private Signature(List<IIngredient> input) {
+            this.oreDictVersion = OreDictIngredient.getOreDictVersion();
+            int minItems = 0, maxItems = 0;
+            Set<Item> items = new ReferenceOpenHashSet<>();
+            for (IIngredient ingredient : input) {
+                if (ingredient == IIngredient.EMPTY || (IngredientHelper.isItem(ingredient) && IngredientHelper.toItemStack(ingredient).isEmpty())) {
+                    continue;
+                }
+                maxItems++;
+                if (IngredientHelper.isItem(ingredient) || ingredient instanceof ItemsIngredient || ingredient instanceof OreDictIngredient) {
+                    boolean matchesEmpty = false;
+                    for (ItemStack stack : ingredient.getCachedMatchingStacks()) {
+                        if (stack.isEmpty()) matchesEmpty = true;
+                        else if (items != null) items.add(stack.getItem());
+                    }
+                    if (!matchesEmpty) minItems++;
+                } else {
+                    // other ingredients may match empty slots or any item
+                    items = null;
+                }
+            }
+            this.minItems = minItems;
+            this.maxItems = maxItems;
+            this.items = items;
+        }
+    }
 }
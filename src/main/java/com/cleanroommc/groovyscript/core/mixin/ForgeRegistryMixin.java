@@ -17,10 +17,7 @@ import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.asm.mixin.Unique;
 
-import java.util.BitSet;
-import java.util.Locale;
-import java.util.Objects;
-import java.util.Set;
+import java.util.*;
 import java.util.function.Supplier;
 
 @Mixin(value = ForgeRegistry.class, remap = false)
@@ -75,10 +72,24 @@ public abstract class ForgeRegistryMixin<V extends IForgeRegistryEntry<V>> imple
 
     @Override
     public V groovyScript$registerEntry(V registryEntry) {
+        return groovyScript$registerEntry(registryEntry, -1);
+    }
+
+    @Override
+    public V groovyScript$registerEntry(V registryEntry, int id) {
         if (stage != RegistryManager.ACTIVE) throw new IllegalStateException("Do not modify VANILLA or FROZEN registry directly!");
         Objects.requireNonNull(registryEntry);
         Objects.requireNonNull(registryEntry.getRegistryName());
-        int id = groovyScript$removeDummy(registryEntry.getRegistryName(), DummyContext.ADDITION);
+        int dummyId = groovyScript$removeDummy(registryEntry.getRegistryName(), DummyContext.ADDITION);
+        if (id < 0) {
+            id = dummyId;
+        } else {
+            // free the id if it is taken by the dummy of another entry
+            V occupant = this.ids.get(id);
+            if (occupant != null && occupant.getRegistryName() != null && this.groovyScript$dummies.contains(occupant.getRegistryName())) {
+                groovyScript$removeDummy(occupant.getRegistryName(), DummyContext.ADDITION);
+            }
+        }
         id = add(id, registryEntry, null);
         V newEntry = getValue(id);
         if (newEntry == registryEntry) {
@@ -148,6 +159,29 @@ public abstract class ForgeRegistryMixin<V extends IForgeRegistryEntry<V>> imple
         }
     }
 
+    @Override
+    public Collection<V> groovyScript$getScriptedEntries() {
+        if (this.groovyScript$scripted == null) return Collections.emptyList();
+        List<V> entries = new ArrayList<>();
+        for (V entry : this.groovyScript$scripted) {
+            // scripted entries can be removed again by scripts
+            if (entry.getRegistryName() != null && this.names.get(entry.getRegistryName()) == entry) {
+                entries.add(entry);
+            }
+        }
+        return entries;
+    }
+
+    @Override
+    public Collection<ResourceLocation> groovyScript$getRemovedEntries() {
+        if (this.groovyScript$backups == null) return Collections.emptyList();
+        List<ResourceLocation> removed = new ArrayList<>();
+        for (VirtualizedForgeRegistryEntry<V> entry : this.groovyScript$backups) {
+            removed.add(entry.getValue().getRegistryName());
+        }
+        return removed;
+    }
+
     @Unique
     public V groovyScript$putDummy(V entry, ResourceLocation rl, Integer id, Object owner, DummyContext context) {
         if (entry == null || rl == null || id == null) {
@@ -0,0 +1,18 @@
+package com.cleanroommc.groovyscript.core.mixin;
+
+import com.cleanroommc.groovyscript.helper.ingredient.OreDictIngredient;
+import net.minecraft.item.ItemStack;
+import net.minecraftforge.oredict.OreDictionary;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+@Mixin(value = OreDictionary.class, remap = false)
+public abstract class OreDictionaryMixin {
+
+    @Inject(method = "registerOreImpl", at = @At("RETURN"))
+    private static void registerOre(String name, ItemStack ore, CallbackInfo ci) {
+        OreDictIngredient.onOreDictChanged();
+    }
+}
@@ -1,6 +1,7 @@
 package com.cleanroommc.groovyscript.core.mixin.groovy;
 
 import com.cleanroommc.groovyscript.GroovyScript;
+import com.cleanroommc.groovyscript.sandbox.ScriptLoadTimings;
 import groovy.lang.GroovyClassLoader;
 import org.codehaus.groovy.ast.ClassNode;
 import org.codehaus.groovy.control.SourceUnit;
@@ -18,8 +19,15 @@ public class ClassCollectorMixin {
     @Final
     private SourceUnit su;
 
+    @Inject(method = "createClass", at = @At("HEAD"))
+    public void onCreateClassStart(byte[] code, ClassNode classNode, CallbackInfoReturnable<Class<?>> cir) {
+        GroovyScript.getSandbox().getTimings().enter(ScriptLoadTimings.Phase.DEFINE_CLASS);
+    }
+
     @Inject(method = "createClass", at = @At("RETURN"))
     public void onCreateClass(byte[] code, ClassNode classNode, CallbackInfoReturnable<Class<?>> cir) {
         GroovyScript.getSandbox().onCompileClass(su, su.getName(), cir.getReturnValue(), code, classNode.getName().contains("$"));
+        // classes are only created during class generation
+        GroovyScript.getSandbox().getTimings().enter(ScriptLoadTimings.Phase.COMPILE);
     }
 }
@@ -2,15 +2,19 @@ package com.cleanroommc.groovyscript.core.mixin.groovy;
 
 import com.cleanroommc.groovyscript.GroovyScript;
 import groovy.lang.GroovyClassLoader;
+import org.codehaus.groovy.control.CompilationUnit;
+import org.codehaus.groovy.control.CompilerConfiguration;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 
 import java.net.URL;
+import java.security.CodeSource;
 
 /**
  * If a script depends on another script and the there is a compiled cache for the script, it needs to be loaded manually.
+ * Also measures the compile phases of scripts.
  */
 @Mixin(value = GroovyClassLoader.class, remap = false)
 public class GroovyClassLoaderMixin {
@@ -24,4 +28,11 @@ public class GroovyClassLoaderMixin {
             }
         }
     }
+
+    @Inject(method = "createCompilationUnit", at = @At("RETURN"))
+    public void onCreateCompilationUnit(CompilerConfiguration config, CodeSource source, CallbackInfoReturnable<CompilationUnit> cir) {
+        if (GroovyScript.isSandboxLoaded()) {
+            cir.getReturnValue().setProgressCallback(GroovyScript.getSandbox().getTimings().getProgressCallback());
+        }
+    }
 }
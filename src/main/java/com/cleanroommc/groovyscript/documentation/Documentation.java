@@ -8,15 +8,25 @@ import com.cleanroommc.groovyscript.compat.mods.ModSupport;
 import com.cleanroommc.groovyscript.documentation.format.IFormat;
 import com.cleanroommc.groovyscript.documentation.format.OutputFormat;
 import com.cleanroommc.groovyscript.sandbox.LoadStage;
-import it.unimi.dsi.fastutil.objects.ObjectLinkedOpenHashSet;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import net.minecraft.client.resources.I18n;
 import net.minecraftforge.fml.common.FMLCommonHandler;
 import net.minecraftforge.fml.relauncher.FMLLaunchHandler;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import java.util.regex.Pattern;
 
 public class Documentation {
@@ -38,7 +48,12 @@ public class Documentation {
 
     private static final boolean LOG_MISSING_KEYS = true;
 
-    private static final Set<String> missingLangKeys = new ObjectLinkedOpenHashSet<>();
+    // containers are documented in parallel, so this is written from multiple threads
+    private static final Set<String> missingLangKeys = ConcurrentHashMap.newKeySet();
+    // the content hash of every page written or checked during this session, used to skip pages which did not change
+    private static final Map<Path, HashCode> pageHashes = new ConcurrentHashMap<>();
+    private static final AtomicInteger writtenPages = new AtomicInteger();
+    private static final AtomicInteger skippedPages = new AtomicInteger();
 
     public static void generate() {
         if (GENERATE_EXAMPLES) generateExamples();
@@ -47,41 +62,104 @@ public class Documentation {
     }
 
     public static void generateExamples() {
+        long time = System.currentTimeMillis();
         try {
             Files.createDirectories(EXAMPLES.toPath());
             for (LoadStage stage : LoadStage.getLoadStages()) {
-                File target = new File(EXAMPLES, stage.getName());
-                Files.createDirectories(target.toPath());
-
-                for (GroovyContainer<? extends ModPropertyContainer> mod : ModSupport.getAllContainers()) {
-                    if (!mod.isLoaded()) continue;
-                    Exporter.generateExamples(stage.getName(), mod);
-                }
+                Files.createDirectories(new File(EXAMPLES, stage.getName()).toPath());
             }
         } catch (IOException e) {
             GroovyScript.LOGGER.throwing(e);
+            return;
         }
+        forEachLoadedContainer(mod -> {
+            for (LoadStage stage : LoadStage.getLoadStages()) {
+                Exporter.generateExamples(stage.getName(), mod);
+            }
+        });
+        logPageCount("examples", time);
         logAnyMissingKeys();
     }
 
     public static void generateWiki() {
+        long time = System.currentTimeMillis();
         try {
             Files.createDirectories(WIKI.toPath());
-            for (GroovyContainer<? extends ModPropertyContainer> mod : ModSupport.getAllContainers()) {
-                if (!mod.isLoaded()) continue;
-                File target = new File(WIKI, mod.getModId());
+        } catch (IOException e) {
+            GroovyScript.LOGGER.throwing(e);
+            return;
+        }
+        forEachLoadedContainer(mod -> {
+            File target = new File(WIKI, mod.getModId());
+            try {
                 if (target.exists() || Files.createDirectories(target.toPath()) != null) {
                     Exporter.generateWiki(target, mod);
                 } else {
                     GroovyLog.get().error("Error creating file at {} to generate wiki files in", target);
                 }
+            } catch (IOException e) {
+                GroovyScript.LOGGER.throwing(e);
             }
-        } catch (IOException e) {
-            GroovyScript.LOGGER.throwing(e);
-        }
+        });
+        logPageCount("wiki", time);
         logAnyMissingKeys();
     }
 
+    /**
+     * Documents every loaded container on its own task and waits until all are done. Each container writes only its own files.
+     */
+    private static void forEachLoadedContainer(Consumer<GroovyContainer<? extends ModPropertyContainer>> action) {
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Runtime.getRuntime().availableProcessors() - 1),
+                                                                new ThreadFactoryBuilder().setNameFormat("GroovyScript Documentation %d").setDaemon(true).build());
+        List<Future<?>> tasks = new ArrayList<>();
+        for (GroovyContainer<? extends ModPropertyContainer> mod : ModSupport.getAllContainers()) {
+            if (!mod.isLoaded()) continue;
+            tasks.add(executor.submit(() -> action.accept(mod)));
+        }
+        executor.shutdown();
+        for (Future<?> task : tasks) {
+            try {
+                task.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                executor.shutdownNow();
+                return;
+            } catch (ExecutionException e) {
+                GroovyScript.LOGGER.error("Failed to generate documentation", e.getCause());
+            }
+        }
+    }
+
+    /**
+     * Writes the page, unless the file already has exactly this content.
+     */
+    public static void writePage(File file, String content) throws IOException {
+        Path path = file.toPath();
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        HashCode hash = Hashing.sha256().hashBytes(bytes);
+        if (Files.isRegularFile(path) && Files.size(path) == bytes.length) {
+            HashCode previous = pageHashes.get(path);
+            if (previous == null) {
+                // the file was written by a previous session
+                previous = Hashing.sha256().hashBytes(Files.readAllBytes(path));
+            }
+            if (hash.equals(previous)) {
+                pageHashes.put(path, hash);
+                skippedPages.incrementAndGet();
+                return;
+            }
+        }
+        Files.write(path, bytes);
+        pageHashes.put(path, hash);
+        writtenPages.incrementAndGet();
+    }
+
+    private static void logPageCount(String type, long time) {
+        GroovyLog.msg("Generated {} in {}ms, wrote {} pages and skipped {} unchanged pages", type, System.currentTimeMillis() - time, writtenPages.getAndSet(0), skippedPages.getAndSet(0))
+                .debug()
+                .post();
+    }
+
     public static void logAnyMissingKeys() {
         if (!missingLangKeys.isEmpty()) {
             GroovyLog.Msg log = GroovyLog.msg("Missing the following localization keys");
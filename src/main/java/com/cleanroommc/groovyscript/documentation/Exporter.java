@@ -13,7 +13,6 @@ import net.minecraft.client.resources.I18n;
 import java.io.File;
 import java.io.IOException;
 import java.lang.reflect.Method;
-import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -62,7 +61,7 @@ public class Exporter {
             fileLinks.add(String.format("* [%s](./%s)", example.getTitle(), location));
             try {
                 File file = new File(folder, location);
-                Files.write(file.toPath(), example.documentationBlock().trim().concat("\n").getBytes());
+                Documentation.writePage(file, example.documentationBlock().trim().concat("\n"));
             } catch (IOException e) {
                 GroovyScript.LOGGER.throwing(e);
             }
@@ -93,7 +92,7 @@ public class Exporter {
 
         try {
             File file = new File(folder, INDEX_FILE_NAME);
-            Files.write(file.toPath(), index.toString().getBytes());
+            Documentation.writePage(file, index.toString());
         } catch (IOException e) {
             GroovyScript.LOGGER.throwing(e);
         }
@@ -101,7 +100,7 @@ public class Exporter {
         if (Documentation.DEFAULT_FORMAT.requiresNavFile()) {
             try {
                 File file = new File(folder, NAV_FILE_NAME);
-                Files.write(file.toPath(), navigation.toString().getBytes());
+                Documentation.writePage(file, navigation.toString());
             } catch (IOException e) {
                 GroovyScript.LOGGER.throwing(e);
             }
@@ -147,7 +146,7 @@ public class Exporter {
 
         try {
             File file = new File(new File(Documentation.EXAMPLES, target), mod.getModId() + ".groovy");
-            Files.write(file.toPath(), header.toString().getBytes());
+            Documentation.writePage(file, header.toString());
         } catch (IOException e) {
             GroovyScript.LOGGER.throwing(e);
         }
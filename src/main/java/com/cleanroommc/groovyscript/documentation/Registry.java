@@ -13,12 +13,16 @@ import org.apache.commons.lang3.text.WordUtils;
 
 import java.lang.reflect.Method;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 
 public class Registry {
 
+    // the annotated methods of a registry class never change, so they are only scanned and sorted once
+    private static final Map<Class<?>, AnnotatedMethods> ANNOTATED_METHODS = new ConcurrentHashMap<>();
+
     private final GroovyContainer<? extends ModPropertyContainer> mod;
     private final INamed registry;
     private final String baseTranslationKey;
@@ -26,7 +30,7 @@ public class Registry {
     private final Class<?> registryClass;
     private final RegistryDescription description;
     private final List<Method> recipeBuilderMethods;
-    private final EnumMap<MethodDescription.Type, List<Method>> methods = new EnumMap<>(MethodDescription.Type.class);
+    private final EnumMap<MethodDescription.Type, List<Method>> methods;
     private final List<String> imports;
 
     public Registry(GroovyContainer<? extends ModPropertyContainer> mod, INamed registry) {
@@ -37,31 +41,10 @@ public class Registry {
         this.registryClass = registry.getClass();
         this.description = registryClass.getAnnotation(RegistryDescription.class);
 
-        List<Method> recipeBuilderMethods = new ArrayList<>();
-        EnumMap<MethodDescription.Type, List<Method>> methods = new EnumMap<>(MethodDescription.Type.class);
-        for (MethodDescription.Type value : MethodDescription.Type.values()) methods.put(value, new ArrayList<>());
-        List<String> imports = new ArrayList<>();
-
-        for (Method method : registryClass.getMethods()) {
-            if (method.isAnnotationPresent(GroovyBlacklist.class)) continue;
-            if (method.isAnnotationPresent(RecipeBuilderDescription.class)) {
-                recipeBuilderMethods.add(method);
-                for (Example example : method.getAnnotation(RecipeBuilderDescription.class).example()) {
-                    Collections.addAll(imports, example.imports());
-                }
-            }
-            if (method.isAnnotationPresent(MethodDescription.class)) {
-                MethodDescription description = method.getAnnotation(MethodDescription.class);
-                methods.get(description.type()).add(method);
-                for (Example example : description.example()) {
-                    Collections.addAll(imports, example.imports());
-                }
-            }
-        }
-
-        this.recipeBuilderMethods = sortGrSRecipeBuilderDescriptionMethods(recipeBuilderMethods);
-        methods.forEach((k, v) -> this.methods.put(k, sortGrSMethodDescriptionMethods(v)));
-        this.imports = imports;
+        AnnotatedMethods annotated = ANNOTATED_METHODS.computeIfAbsent(registryClass, AnnotatedMethods::new);
+        this.recipeBuilderMethods = annotated.recipeBuilderMethods;
+        this.methods = annotated.methods;
+        this.imports = annotated.imports;
     }
 
     private static List<Method> sortGrSRecipeBuilderDescriptionMethods(List<Method> methods) {
@@ -326,4 +309,43 @@ public class Registry {
         return out.toString();
     }
 
+    /**
+     * The sorted methods of a registry class which are annotated with {@link RecipeBuilderDescription} or {@link MethodDescription}
+     * and the imports their examples need. The lists are shared between all {@link Registry} instances and must not be modified.
+     */
+    private static class AnnotatedMethods {
+
+        private final List<Method> recipeBuilderMethods;
+        private final EnumMap<MethodDescription.Type, List<Method>> methods = new EnumMap<>(MethodDescription.Type.class);
+        private final List<String> imports;
+
+        private AnnotatedMethods(Class<?> registryClass) {
+            List<Method> recipeBuilderMethods = new ArrayList<>();
+            EnumMap<MethodDescription.Type, List<Method>> methods = new EnumMap<>(MethodDescription.Type.class);
+            for (MethodDescription.Type value : MethodDescription.Type.values()) methods.put(value, new ArrayList<>());
+            List<String> imports = new ArrayList<>();
+
+            for (Method method : registryClass.getMethods()) {
+                if (method.isAnnotationPresent(GroovyBlacklist.class)) continue;
+                if (method.isAnnotationPresent(RecipeBuilderDescription.class)) {
+                    recipeBuilderMethods.add(method);
+                    for (Example example : method.getAnnotation(RecipeBuilderDescription.class).example()) {
+                        Collections.addAll(imports, example.imports());
+                    }
+                }
+                if (method.isAnnotationPresent(MethodDescription.class)) {
+                    MethodDescription description = method.getAnnotation(MethodDescription.class);
+                    methods.get(description.type()).add(method);
+                    for (Example example : description.example()) {
+                        Collections.addAll(imports, example.imports());
+                    }
+                }
+            }
+
+            this.recipeBuilderMethods = Collections.unmodifiableList(sortGrSRecipeBuilderDescriptionMethods(recipeBuilderMethods));
+            methods.forEach((k, v) -> this.methods.put(k, Collections.unmodifiableList(sortGrSMethodDescriptionMethods(v))));
+            this.imports = Collections.unmodifiableList(imports);
+        }
+    }
+
 }
@@ -237,6 +237,18 @@ public class IngredientHelper {
         return item == null || item == ItemStack.EMPTY ? ItemStack.EMPTY : item.copy();
     }
 
+    /**
+     * Copies the array and all of its stacks
+     */
+    @NotNull
+    public static ItemStack[] copy(ItemStack[] itemStacks) {
+        ItemStack[] copy = new ItemStack[itemStacks.length];
+        for (int i = 0; i < itemStacks.length; i++) {
+            copy[i] = itemStacks[i].copy();
+        }
+        return copy;
+    }
+
     @Contract("null -> null")
     public static FluidStack copy(FluidStack fluid) {
         return fluid == null ? null : fluid.copy();
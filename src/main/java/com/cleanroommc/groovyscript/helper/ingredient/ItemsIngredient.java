@@ -1,10 +1,12 @@
 package com.cleanroommc.groovyscript.helper.ingredient;
 
+import com.cleanroommc.groovyscript.api.GroovyBlacklist;
 import com.cleanroommc.groovyscript.api.IIngredient;
 import com.google.common.collect.Iterators;
 import net.minecraft.item.ItemStack;
 import net.minecraft.item.crafting.Ingredient;
 import net.minecraftforge.oredict.OreDictionary;
+import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Collection;
@@ -16,6 +18,7 @@ public class ItemsIngredient extends IngredientBase implements Iterable<ItemStac
 
     private final ItemStackList itemStacks = new ItemStackList();
     private int amount = 1;
+    private ItemStack[] matchingStacks;
 
     public ItemsIngredient(ItemStack... itemStacks) {
         Collections.addAll(this.itemStacks, itemStacks);
@@ -45,13 +48,23 @@ public class ItemsIngredient extends IngredientBase implements Iterable<ItemStac
 
     @Override
     public ItemStack[] getMatchingStacks() {
-        ItemStack[] stacks = itemStacks.toArray(new ItemStack[0]);
-        for (int i = 0; i < stacks.length; i++) {
-            ItemStack stack = stacks[i].copy();
-            stack.setCount(getAmount());
-            stacks[i] = stack;
+        return IngredientHelper.copy(getCachedMatchingStacks());
+    }
+
+    @Override
+    @GroovyBlacklist
+    @ApiStatus.Internal
+    public ItemStack[] getCachedMatchingStacks() {
+        if (this.matchingStacks == null) {
+            ItemStack[] stacks = itemStacks.toArray(new ItemStack[0]);
+            for (int i = 0; i < stacks.length; i++) {
+                ItemStack stack = stacks[i].copy();
+                stack.setCount(getAmount());
+                stacks[i] = stack;
+            }
+            this.matchingStacks = stacks;
         }
-        return stacks;
+        return this.matchingStacks;
     }
 
     @Override
@@ -62,6 +75,7 @@ public class ItemsIngredient extends IngredientBase implements Iterable<ItemStac
     @Override
     public void setAmount(int amount) {
         this.amount = Math.max(0, amount);
+        this.matchingStacks = null;
     }
 
     @Override
@@ -1,8 +1,10 @@
 package com.cleanroommc.groovyscript.helper.ingredient;
 
+import com.cleanroommc.groovyscript.api.GroovyBlacklist;
 import com.cleanroommc.groovyscript.api.IIngredient;
 import net.minecraft.item.ItemStack;
 import net.minecraft.item.crafting.Ingredient;
+import org.jetbrains.annotations.ApiStatus;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -12,6 +14,9 @@ public class OrIngredient extends IngredientBase {
 
     private final List<IIngredient> ingredients = new ArrayList<>();
     private int amount = 1;
+    private ItemStack[] matchingStacks;
+    // the arrays of the ingredients the matching stacks were built from
+    private ItemStack[][] parts;
 
     @Override
     public int getAmount() {
@@ -40,11 +45,29 @@ public class OrIngredient extends IngredientBase {
 
     @Override
     public ItemStack[] getMatchingStacks() {
-        List<ItemStack> stacks = new ArrayList<>();
-        for (IIngredient ingredient : this.ingredients) {
-            Collections.addAll(stacks, ingredient.getMatchingStacks());
+        return IngredientHelper.copy(getCachedMatchingStacks());
+    }
+
+    @Override
+    @GroovyBlacklist
+    @ApiStatus.Internal
+    public ItemStack[] getCachedMatchingStacks() {
+        ItemStack[][] parts = new ItemStack[this.ingredients.size()][];
+        boolean changed = this.parts == null || this.parts.length != parts.length;
+        for (int i = 0; i < parts.length; i++) {
+            parts[i] = this.ingredients.get(i).getCachedMatchingStacks();
+            // ingredients which cache their matching stacks return the same array until they change
+            if (!changed && this.parts[i] != parts[i]) changed = true;
+        }
+        if (changed) {
+            List<ItemStack> stacks = new ArrayList<>();
+            for (ItemStack[] part : parts) {
+                Collections.addAll(stacks, part);
+            }
+            this.matchingStacks = stacks.toArray(new ItemStack[0]);
+            this.parts = parts;
         }
-        return stacks.toArray(new ItemStack[0]);
+        return this.matchingStacks;
     }
 
     @Override
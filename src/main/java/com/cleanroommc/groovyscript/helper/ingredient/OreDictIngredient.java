@@ -8,6 +8,7 @@ import net.minecraft.item.crafting.Ingredient;
 import net.minecraftforge.oredict.OreDictionary;
 
 import com.google.common.collect.Iterators;
+import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Iterator;
@@ -15,8 +16,27 @@ import java.util.List;
 
 public class OreDictIngredient extends IngredientBase implements Iterable<ItemStack> {
 
+    // incremented whenever any ore dict changes, which invalidates the matching stacks of all ore dict ingredients
+    private static int oreDictVersion;
+
     private final String oreDict;
     private int count = 1;
+    private ItemStack[] matchingStacks;
+    private int matchingStacksVersion;
+
+    @GroovyBlacklist
+    @ApiStatus.Internal
+    public static void onOreDictChanged() {
+        oreDictVersion++;
+    }
+
+    /**
+     * Returns a number which changes whenever any ore dict changes.
+     */
+    @GroovyBlacklist
+    public static int getOreDictVersion() {
+        return oreDictVersion;
+    }
 
     public OreDictIngredient(String oreDict) {
         this.oreDict = oreDict;
@@ -34,6 +54,7 @@ public class OreDictIngredient extends IngredientBase implements Iterable<ItemSt
     @Override
     public void setAmount(int amount) {
         count = Math.max(0, amount);
+        this.matchingStacks = null;
     }
 
     @Override
@@ -63,28 +84,35 @@ public class OreDictIngredient extends IngredientBase implements Iterable<ItemSt
         return Ingredient.fromStacks(getMatchingStacks());
     }
 
-    @GroovyBlacklist
-    private List<ItemStack> prepareItemStacks() {
-        List<ItemStack> stacks = OreDictionary.getOres(this.oreDict);
-        for (int i = 0; i < stacks.size(); i++) {
-            ItemStack stack = stacks.get(i).copy();
-            stack.setCount(getAmount());
-            stacks.set(i, stack);
-        }
-        return stacks;
+    @Override
+    public ItemStack[] getMatchingStacks() {
+        return IngredientHelper.copy(getCachedMatchingStacks());
     }
 
     @Override
-    public ItemStack[] getMatchingStacks() {
-        return prepareItemStacks().toArray(new ItemStack[0]);
+    @GroovyBlacklist
+    @ApiStatus.Internal
+    public ItemStack[] getCachedMatchingStacks() {
+        if (this.matchingStacks == null || this.matchingStacksVersion != oreDictVersion) {
+            List<ItemStack> ores = OreDictionary.getOres(this.oreDict);
+            ItemStack[] stacks = new ItemStack[ores.size()];
+            for (int i = 0; i < stacks.length; i++) {
+                ItemStack stack = ores.get(i).copy();
+                stack.setCount(getAmount());
+                stacks[i] = stack;
+            }
+            this.matchingStacks = stacks;
+            this.matchingStacksVersion = oreDictVersion;
+        }
+        return this.matchingStacks;
     }
 
     public ItemStack getFirst() {
-        return prepareItemStacks().get(0);
+        return getAt(0);
     }
 
     public ItemStack getAt(int index) {
-        return prepareItemStacks().get(index);
+        return getCachedMatchingStacks()[index].copy();
     }
 
     @Override
@@ -131,6 +159,6 @@ public class OreDictIngredient extends IngredientBase implements Iterable<ItemSt
     @NotNull
     @Override
     public Iterator<ItemStack> iterator() {
-        return Iterators.unmodifiableIterator(prepareItemStacks().listIterator());
+        return Iterators.transform(Iterators.forArray(getCachedMatchingStacks()), ItemStack::copy);
     }
 }
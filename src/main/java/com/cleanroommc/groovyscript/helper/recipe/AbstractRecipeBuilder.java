@@ -13,10 +13,16 @@ import net.minecraft.item.ItemStack;
 import net.minecraft.util.ResourceLocation;
 import net.minecraftforge.fluids.FluidStack;
 
-import java.util.Collection;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 public abstract class AbstractRecipeBuilder<T> implements IRecipeBuilder<T> {
 
+    // the fields of each builder class which are part of the recipe name content
+    private static final Map<Class<?>, Field[]> recipeNameFields = new ConcurrentHashMap<>();
+
     @Property(value = "groovyscript.wiki.name.value", needsOverride = true, priority = 100, hierarchy = 20)
     protected ResourceLocation name;
     @Property(value = "groovyscript.wiki.input.value", needsOverride = true, priority = 200, hierarchy = 20)
@@ -147,10 +153,51 @@ public abstract class AbstractRecipeBuilder<T> implements IRecipeBuilder<T> {
 
     public abstract void validate(GroovyLog.Msg msg);
 
+    /**
+     * Returns what identifies the recipe if recipe names are hashed. By default, these are the inputs and outputs and all
+     * fields which subclasses declare, like energy, time or chance. Fields which don't identify the recipe should be
+     * {@code transient}.
+     *
+     * @see RecipeName#generate(String, Object...)
+     */
+    @GroovyBlacklist
+    protected Object[] getRecipeNameContent() {
+        Field[] fields = recipeNameFields.computeIfAbsent(getClass(), AbstractRecipeBuilder::findRecipeNameFields);
+        Object[] content = new Object[5 + fields.length];
+        content[0] = getClass().getName();
+        content[1] = input;
+        content[2] = output;
+        content[3] = fluidInput;
+        content[4] = fluidOutput;
+        for (int i = 0; i < fields.length; i++) {
+            try {
+                content[5 + i] = fields[i].get(this);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        return content;
+    }
+
+    private static Field[] findRecipeNameFields(Class<?> clazz) {
+        List<Field> fields = new ArrayList<>();
+        for (Class<?> c = clazz; c != null && c != AbstractRecipeBuilder.class; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                int modifiers = field.getModifiers();
+                if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers) || field.isSynthetic()) continue;
+                field.setAccessible(true);
+                fields.add(field);
+            }
+        }
+        // the order of declared fields is not specified
+        fields.sort(Comparator.comparing((Field field) -> field.getDeclaringClass().getName()).thenComparing(Field::getName));
+        return fields.toArray(new Field[0]);
+    }
+
     @GroovyBlacklist
     public void validateName() {
         if (name == null) {
-            name = RecipeName.generateRl(getRecipeNamePrefix());
+            name = RecipeName.generateRl(getRecipeNamePrefix(), getRecipeNameContent());
         }
     }
 
@@ -0,0 +1,190 @@
+package com.cleanroommc.groovyscript.helper.recipe;
+
+import com.cleanroommc.groovyscript.GroovyScript;
+import com.cleanroommc.groovyscript.helper.ingredient.OreDictIngredient;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceLinkedOpenHashSet;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Field;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Indexes the recipes of a recipe list by some keys of each recipe, so that removals only have to test the recipes which
+ * can match. Recipes without keys are always candidates.
+ * <p>
+ * The index is built when it is first needed. It is built again if the list changed since it was indexed, since other mods
+ * may change the list, or if the ore dictionary changed, since ore dict recipes are indexed by their current items. Changes
+ * are detected by the identity of the list, its size and the modification count of {@link AbstractList}s. Changes to other
+ * lists which keep their size must call {@link #invalidate()}.
+ * <p>
+ * Recipes should be added and removed with {@link #add(List, Object, RecipeIndex[])} and
+ * {@link #removeIf(List, Collection, Predicate, Consumer, RecipeIndex[])}, which keep all indexes of the list up to date.
+ */
+public class RecipeIndex<R> {
+
+    private static final @Nullable Field modCountField = findModCountField();
+
+    private final Supplier<List<R>> registry;
+    private final Function<R, Collection<?>> keys;
+    private final List<R> unindexed = new ArrayList<>();
+    private Map<Object, List<R>> index;
+    // the state of the list when it was indexed
+    private List<R> indexedList;
+    private int size;
+    private int modCount;
+    private int oreDictVersion;
+
+    public RecipeIndex(Supplier<List<R>> registry, Function<R, Collection<?>> keys) {
+        this.registry = registry;
+        this.keys = keys;
+    }
+
+    /**
+     * Adds the recipe to the recipe list and to all given indexes of the list.
+     *
+     * @param recipes the recipe list
+     * @param recipe  the recipe to add
+     * @param indexes all indexes of the recipe list
+     */
+    @SafeVarargs
+    public static <R> void add(List<R> recipes, R recipe, RecipeIndex<R>... indexes) {
+        for (RecipeIndex<R> index : indexes) {
+            index.invalidateIfChanged(recipes);
+        }
+        recipes.add(recipe);
+        for (RecipeIndex<R> index : indexes) {
+            if (index.index != null) {
+                index.put(recipe);
+                index.updateState(recipes);
+            }
+        }
+    }
+
+    /**
+     * Removes the candidates which match the filter from the recipe list with a single pass over the list and removes them
+     * from all given indexes of the list.
+     *
+     * @param recipes    the recipe list
+     * @param candidates the recipes which may be removed, usually from {@link #getCandidates(Collection)}
+     * @param filter     tests which candidates are removed
+     * @param onRemoved  called for each recipe which was actually removed from the list, usually to back it up
+     * @param indexes    all indexes of the recipe list
+     * @return true if any recipe was removed
+     */
+    @SafeVarargs
+    public static <R> boolean removeIf(List<R> recipes, Collection<R> candidates, Predicate<R> filter, Consumer<R> onRemoved, RecipeIndex<R>... indexes) {
+        Set<R> matches = new ReferenceOpenHashSet<>();
+        for (R recipe : candidates) {
+            if (filter.test(recipe)) {
+                matches.add(recipe);
+            }
+        }
+        if (matches.isEmpty()) return false;
+        for (RecipeIndex<R> index : indexes) {
+            index.invalidateIfChanged(recipes);
+        }
+        Set<R> removed = new ReferenceLinkedOpenHashSet<>();
+        recipes.removeIf(recipe -> {
+            if (!matches.contains(recipe)) return false;
+            removed.add(recipe);
+            return true;
+        });
+        if (removed.isEmpty()) return false;
+        for (RecipeIndex<R> index : indexes) {
+            index.remove(removed, recipes);
+        }
+        removed.forEach(onRemoved);
+        return true;
+    }
+
+    /**
+     * Returns all recipes which may have any of the keys.
+     */
+    public Set<R> getCandidates(Collection<?> keys) {
+        List<R> recipes = this.registry.get();
+        invalidateIfChanged(recipes);
+        if (this.index == null) {
+            this.index = new Object2ObjectOpenHashMap<>();
+            this.unindexed.clear();
+            recipes.forEach(this::put);
+            updateState(recipes);
+        }
+        Set<R> candidates = new ReferenceLinkedOpenHashSet<>();
+        for (Object key : keys) {
+            List<R> list = this.index.get(key);
+            if (list != null) candidates.addAll(list);
+        }
+        candidates.addAll(this.unindexed);
+        return candidates;
+    }
+
+    public void invalidate() {
+        this.index = null;
+        this.indexedList = null;
+        this.unindexed.clear();
+    }
+
+    private void invalidateIfChanged(List<R> recipes) {
+        if (this.index == null) return;
+        if (this.indexedList != recipes || this.size != recipes.size() || this.modCount != getModCount(recipes) ||
+            this.oreDictVersion != OreDictIngredient.getOreDictVersion()) {
+            invalidate();
+        }
+    }
+
+    private void updateState(List<R> recipes) {
+        this.indexedList = recipes;
+        this.size = recipes.size();
+        this.modCount = getModCount(recipes);
+        this.oreDictVersion = OreDictIngredient.getOreDictVersion();
+    }
+
+    private void put(R recipe) {
+        Collection<?> keys = this.keys.apply(recipe);
+        if (keys.isEmpty()) {
+            this.unindexed.add(recipe);
+            return;
+        }
+        for (Object key : keys) {
+            this.index.computeIfAbsent(key, k -> new ArrayList<>()).add(recipe);
+        }
+    }
+
+    private void remove(Set<R> removed, List<R> recipes) {
+        if (this.index == null) return;
+        for (R recipe : removed) {
+            for (Object key : this.keys.apply(recipe)) {
+                List<R> list = this.index.get(key);
+                if (list != null) list.removeIf(removed::contains);
+            }
+        }
+        this.unindexed.removeIf(removed::contains);
+        updateState(recipes);
+    }
+
+    private static int getModCount(List<?> recipes) {
+        if (modCountField == null || !(recipes instanceof AbstractList)) return 0;
+        try {
+            return modCountField.getInt(recipes);
+        } catch (IllegalAccessException e) {
+            return 0;
+        }
+    }
+
+    private static @Nullable Field findModCountField() {
+        try {
+            Field field = AbstractList.class.getDeclaredField("modCount");
+            field.setAccessible(true);
+            return field;
+        } catch (NoSuchFieldException | RuntimeException e) {
+            GroovyScript.LOGGER.warn("Could not access the modification count of lists, recipe indexes only detect changes by size", e);
+            return null;
+        }
+    }
+}
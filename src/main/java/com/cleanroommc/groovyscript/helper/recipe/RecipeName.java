@@ -1,12 +1,30 @@
 package com.cleanroommc.groovyscript.helper.recipe;
 
 import com.cleanroommc.groovyscript.GroovyScript;
+import com.cleanroommc.groovyscript.api.GroovyBlacklist;
+import com.cleanroommc.groovyscript.api.IIngredient;
+import com.cleanroommc.groovyscript.helper.ingredient.IngredientHelper;
+import com.cleanroommc.groovyscript.helper.ingredient.OreDictIngredient;
+import com.cleanroommc.groovyscript.sandbox.LoadStage;
+import com.google.common.hash.Hashing;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import net.minecraft.item.ItemStack;
 import net.minecraft.util.ResourceLocation;
+import net.minecraftforge.fluids.FluidStack;
+import org.jetbrains.annotations.ApiStatus;
+
+import java.lang.reflect.Array;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 
 public class RecipeName {
 
     private static int nextId = -1;
     private static String prefix = "";
+    private static final Object2IntOpenHashMap<String> hashedNames = new Object2IntOpenHashMap<>();
 
     public static String generate() {
         if (prefix.isEmpty())
@@ -19,7 +37,97 @@ public class RecipeName {
         return prefix + Integer.toHexString(nextId--);
     }
 
+    /**
+     * Generates a name for a recipe. If {@code hashRecipeNames} is enabled in the run config, the name is derived from the
+     * content of the recipe and the current load stage, so an unchanged recipe keeps its name across reloads and restarts.
+     * Recipes with the same content are numbered in the order they are added. Otherwise, this is the same as
+     * {@link #generate(String)}.
+     *
+     * @param prefix  prefix of the name
+     * @param content inputs, outputs and everything else which identifies the recipe
+     */
+    public static String generate(String prefix, Object... content) {
+        if (!GroovyScript.getRunConfig().isHashRecipeNames()) return generate(prefix);
+        StringBuilder builder = new StringBuilder();
+        LoadStage loadStage = GroovyScript.isSandboxLoaded() ? GroovyScript.getSandbox().getCurrentLoader() : null;
+        builder.append(loadStage == null ? "" : loadStage.getName());
+        for (Object o : content) {
+            builder.append(';');
+            appendContent(builder, o);
+        }
+        String name = prefix + Long.toHexString(Hashing.murmur3_128().hashString(builder, StandardCharsets.UTF_8).asLong());
+        int duplicates = hashedNames.addTo(name, 1);
+        return duplicates == 0 ? name : name + "_" + duplicates;
+    }
+
     public static ResourceLocation generateRl(String prefix) {
         return new ResourceLocation(GroovyScript.getRunConfig().getPackId(), generate(prefix));
     }
+
+    public static ResourceLocation generateRl(String prefix, Object... content) {
+        return new ResourceLocation(GroovyScript.getRunConfig().getPackId(), generate(prefix, content));
+    }
+
+    /**
+     * Forgets all hashed names. Called before scripts of a load stage run.
+     */
+    @GroovyBlacklist
+    @ApiStatus.Internal
+    public static void reset() {
+        hashedNames.clear();
+    }
+
+    private static void appendContent(StringBuilder builder, Object o) {
+        if (o == null) {
+            builder.append("null");
+        } else if (o instanceof ItemStack) {
+            ItemStack itemStack = (ItemStack) o;
+            builder.append(IngredientHelper.asGroovyCode(itemStack, false, false)).append('*').append(itemStack.getCount());
+        } else if (o instanceof FluidStack) {
+            FluidStack fluidStack = (FluidStack) o;
+            builder.append(IngredientHelper.asGroovyCode(fluidStack, false, false)).append('*').append(fluidStack.amount);
+        } else if (o instanceof OreDictIngredient) {
+            OreDictIngredient oreDict = (OreDictIngredient) o;
+            builder.append(IngredientHelper.asGroovyCode(oreDict.getOreDict(), false)).append('*').append(oreDict.getAmount());
+        } else if (o instanceof IIngredient) {
+            IIngredient ingredient = (IIngredient) o;
+            builder.append(o.getClass().getSimpleName()).append('[');
+            for (ItemStack itemStack : ingredient.getCachedMatchingStacks()) {
+                appendContent(builder, itemStack);
+                builder.append(',');
+            }
+            builder.append("]*").append(ingredient.getAmount());
+        } else if (o instanceof Map) {
+            // sort entries, since the order of hash maps may change
+            List<String> entries = new ArrayList<>();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) o).entrySet()) {
+                StringBuilder entryBuilder = new StringBuilder();
+                appendContent(entryBuilder, entry.getKey());
+                entryBuilder.append('=');
+                appendContent(entryBuilder, entry.getValue());
+                entries.add(entryBuilder.toString());
+            }
+            Collections.sort(entries);
+            appendContent(builder, entries);
+        } else if (o instanceof Iterable) {
+            builder.append('[');
+            for (Object element : (Iterable<?>) o) {
+                appendContent(builder, element);
+                builder.append(',');
+            }
+            builder.append(']');
+        } else if (o.getClass().isArray()) {
+            builder.append('[');
+            for (int i = 0, n = Array.getLength(o); i < n; i++) {
+                appendContent(builder, Array.get(o, i));
+                builder.append(',');
+            }
+            builder.append(']');
+        } else if (o instanceof CharSequence || o instanceof Number || o instanceof Character || o instanceof Boolean || o instanceof Enum || o instanceof ResourceLocation) {
+            builder.append(o);
+        } else {
+            // the string of other objects may contain their identity hash code
+            builder.append(o.getClass().getName());
+        }
+    }
 }
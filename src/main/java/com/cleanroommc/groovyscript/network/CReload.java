@@ -3,6 +3,7 @@ package com.cleanroommc.groovyscript.network;
 import com.cleanroommc.groovyscript.command.GSCommand;
 import net.minecraft.network.NetHandlerPlayServer;
 import net.minecraft.network.PacketBuffer;
+import net.minecraft.util.text.TextComponentString;
 
 public class CReload implements IPacket {
 
@@ -16,6 +17,11 @@ public class CReload implements IPacket {
 
     @Override
     public IPacket executeServer(NetHandlerPlayServer handler) {
+        // the key binding is only checked on the client
+        if (!handler.player.canUseCommand(4, "groovyscript")) {
+            handler.player.sendMessage(new TextComponentString("You don't have permission to reload scripts."));
+            return null;
+        }
         GSCommand.runReload(handler.player, handler.player.getServer());
         return null;
     }
@@ -0,0 +1,419 @@
+package com.cleanroommc.groovyscript.network;
+
+import com.cleanroommc.groovyscript.GroovyScript;
+import com.cleanroommc.groovyscript.api.GroovyLog;
+import com.cleanroommc.groovyscript.api.IReloadableForgeRegistry;
+import com.cleanroommc.groovyscript.compat.mods.ModSupport;
+import com.cleanroommc.groovyscript.compat.mods.jei.JeiRecipeSync;
+import com.cleanroommc.groovyscript.compat.vanilla.Furnace;
+import com.cleanroommc.groovyscript.compat.vanilla.VanillaModule;
+import com.cleanroommc.groovyscript.registry.DummyRecipe;
+import com.cleanroommc.groovyscript.sandbox.FileUtil;
+import com.cleanroommc.groovyscript.sandbox.LoadStage;
+import io.netty.buffer.Unpooled;
+import it.unimi.dsi.fastutil.floats.FloatArrayList;
+import it.unimi.dsi.fastutil.floats.FloatList;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import net.minecraft.client.Minecraft;
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.item.ItemStack;
+import net.minecraft.item.crafting.FurnaceRecipes;
+import net.minecraft.item.crafting.IRecipe;
+import net.minecraft.item.crafting.Ingredient;
+import net.minecraft.item.crafting.ShapedRecipes;
+import net.minecraft.item.crafting.ShapelessRecipes;
+import net.minecraft.network.PacketBuffer;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.NonNullList;
+import net.minecraft.util.ResourceLocation;
+import net.minecraft.util.text.TextComponentString;
+import net.minecraftforge.common.crafting.IShapedRecipe;
+import net.minecraftforge.fml.common.registry.ForgeRegistries;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.fml.relauncher.SideOnly;
+import net.minecraftforge.registries.ForgeRegistry;
+import org.apache.commons.io.IOUtils;
+import org.jetbrains.annotations.ApiStatus;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.*;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Syncs the crafting and furnace recipes which were added and removed by scripts from a server to its remote clients after
+ * a reload, if {@link com.cleanroommc.groovyscript.sandbox.RunConfig#isSyncRecipes() syncRecipes} is enabled. Recipe names are sorted and front coded (each name only stores the suffix which differs from the previous name),
+ * the whole payload is deflated and then split into chunks of {@link #CHUNK_SIZE} bytes. Added crafting recipes keep the
+ * registry id they have on the server, since the recipe book refers to recipes by id.
+ * <p>
+ * Clients whose post init scripts are the same as the scripts of the server run their own scripts again, which results in
+ * the exact state of the server. Other clients undo the changes of their own scripts to the crafting recipes and the furnace
+ * recipes and apply the received state instead. Only these two registries are synced, since recipes of other mods can't be
+ * rebuilt from a payload. All other registries keep the state of the client scripts, which the client is warned about. JEI
+ * is updated by adding and hiding the changed recipes. Crafting itself is always validated by the server, so synced recipes
+ * only exist for the recipe book and JEI.
+ */
+@ApiStatus.Internal
+public class RecipeDeltaSync {
+
+    public static final int CHUNK_SIZE = 30000;
+
+    private static final byte SHAPED = 0;
+    private static final byte SHAPELESS = 1;
+
+    // server side
+    private static int syncId = 0;
+    private static boolean reloaded;
+    private static byte[][] lastChunks;
+
+    // client side
+    private static int receivingId = -1;
+    private static byte[][] receivedChunks;
+    private static int receivedCount;
+    private static long lastAppliedChecksum = -1;
+
+    // checksum of the post init scripts, computed once per load
+    private static long scriptChecksum = -1;
+
+    /**
+     * Sends the current recipe script state to every remote player, like guests of a LAN world or players on a dedicated
+     * server. Should be called after scripts were reloaded. The state is only encoded once a remote player needs it.
+     */
+    public static void sendToAll(MinecraftServer server) {
+        reloaded = true;
+        lastChunks = null;
+        syncId++;
+        for (EntityPlayerMP player : server.getPlayerList().getPlayers()) {
+            sendTo(player);
+        }
+    }
+
+    /**
+     * Sends the last recipe state to a player. Does nothing if scripts were never reloaded on this server.
+     */
+    public static void sendTo(EntityPlayerMP player) {
+        // the integrated server shares its registries with the host
+        if (!reloaded || isLocal(player)) return;
+        if (lastChunks == null) {
+            long time = System.currentTimeMillis();
+            byte[] payload = encode();
+            time = System.currentTimeMillis() - time;
+            lastChunks = split(payload);
+            GroovyScript.LOGGER.info("Encoded recipe sync payload with {} bytes in {} chunks in {}ms", payload.length, lastChunks.length, time);
+        }
+        for (int i = 0; i < lastChunks.length; i++) {
+            NetworkHandler.sendToPlayer(new SSyncRecipes(syncId, i, lastChunks.length, lastChunks[i]), player);
+        }
+    }
+
+    public static boolean isLocal(EntityPlayerMP player) {
+        return player.connection.getNetworkManager().isLocalChannel();
+    }
+
+    private static byte[] encode() {
+        IReloadableForgeRegistry<IRecipe> registry = (IReloadableForgeRegistry<IRecipe>) ForgeRegistries.RECIPES;
+        List<ResourceLocation> removed = new ArrayList<>(registry.groovyScript$getRemovedEntries());
+        removed.sort(Comparator.comparing(ResourceLocation::toString));
+        List<IRecipe> scripted = new ArrayList<>();
+        for (IRecipe recipe : registry.groovyScript$getScriptedEntries()) {
+            // special recipes have no static ingredients and can't be displayed anyway
+            if (!recipe.getIngredients().isEmpty()) {
+                scripted.add(recipe);
+            }
+        }
+        scripted.sort(Comparator.comparing(recipe -> String.valueOf(recipe.getRegistryName())));
+
+        ForgeRegistry<IRecipe> forgeRegistry = (ForgeRegistry<IRecipe>) ForgeRegistries.RECIPES;
+
+        PacketBuffer buf = new PacketBuffer(Unpooled.buffer());
+        buf.writeLong(getScriptChecksum());
+        buf.writeVarInt(removed.size());
+        String previous = "";
+        for (ResourceLocation rl : removed) {
+            previous = writeName(buf, previous, rl.toString());
+        }
+        buf.writeVarInt(scripted.size());
+        previous = "";
+        for (IRecipe recipe : scripted) {
+            previous = writeName(buf, previous, String.valueOf(recipe.getRegistryName()));
+            buf.writeVarInt(forgeRegistry.getID(recipe));
+            if (recipe instanceof IShapedRecipe) {
+                buf.writeByte(SHAPED);
+                buf.writeVarInt(((IShapedRecipe) recipe).getRecipeWidth());
+                buf.writeVarInt(((IShapedRecipe) recipe).getRecipeHeight());
+            } else {
+                buf.writeByte(SHAPELESS);
+            }
+            buf.writeItemStack(recipe.getRecipeOutput());
+            NonNullList<Ingredient> ingredients = recipe.getIngredients();
+            buf.writeVarInt(ingredients.size());
+            for (Ingredient ingredient : ingredients) {
+                ItemStack[] stacks = ingredient.getMatchingStacks();
+                buf.writeVarInt(stacks.length);
+                for (ItemStack stack : stacks) {
+                    buf.writeItemStack(stack);
+                }
+            }
+        }
+        Collection<Furnace.Recipe> furnaceRemoved = VanillaModule.furnace.getBackupRecipes();
+        buf.writeVarInt(furnaceRemoved.size());
+        for (Furnace.Recipe recipe : furnaceRemoved) {
+            buf.writeItemStack(recipe.getInput());
+        }
+        Collection<Furnace.Recipe> furnaceScripted = VanillaModule.furnace.getScriptedRecipes();
+        buf.writeVarInt(furnaceScripted.size());
+        for (Furnace.Recipe recipe : furnaceScripted) {
+            buf.writeItemStack(recipe.getInput());
+            buf.writeItemStack(recipe.getOutput());
+            buf.writeFloat(recipe.getExp());
+        }
+        byte[] raw = new byte[buf.readableBytes()];
+        buf.readBytes(raw);
+        buf.release();
+        return deflate(raw);
+    }
+
+    @SideOnly(Side.CLIENT)
+    public static void receiveChunk(int id, int index, int total, byte[] data) {
+        if (id != receivingId || receivedChunks == null || receivedChunks.length != total) {
+            // a newer sync supersedes any incomplete older one
+            receivingId = id;
+            receivedChunks = new byte[total][];
+            receivedCount = 0;
+        }
+        if (index < 0 || index >= total || receivedChunks[index] != null) return;
+        receivedChunks[index] = data;
+        if (++receivedCount == total) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(total * CHUNK_SIZE);
+            for (byte[] chunk : receivedChunks) {
+                out.write(chunk, 0, chunk.length);
+            }
+            receivedChunks = null;
+            apply(out.toByteArray());
+        }
+    }
+
+    @SideOnly(Side.CLIENT)
+    private static void apply(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        if (crc.getValue() == lastAppliedChecksum) {
+            GroovyScript.LOGGER.info("Skipping recipe sync, since nothing changed");
+            return;
+        }
+        long time = System.currentTimeMillis();
+        long serverScripts;
+        List<ResourceLocation> removed = new ArrayList<>();
+        List<IRecipe> scripted = new ArrayList<>();
+        IntList scriptedIds = new IntArrayList();
+        List<ItemStack> furnaceRemoved = new ArrayList<>();
+        List<ItemStack[]> furnaceScripted = new ArrayList<>();
+        FloatList furnaceExp = new FloatArrayList();
+        try {
+            PacketBuffer buf = new PacketBuffer(Unpooled.wrappedBuffer(inflate(payload)));
+            serverScripts = buf.readLong();
+            int n = buf.readVarInt();
+            String previous = "";
+            for (int i = 0; i < n; i++) {
+                previous = readName(buf, previous);
+                removed.add(new ResourceLocation(previous));
+            }
+            n = buf.readVarInt();
+            previous = "";
+            for (int i = 0; i < n; i++) {
+                previous = readName(buf, previous);
+                scriptedIds.add(buf.readVarInt());
+                scripted.add(readRecipe(buf).setRegistryName(new ResourceLocation(previous)));
+            }
+            n = buf.readVarInt();
+            for (int i = 0; i < n; i++) {
+                furnaceRemoved.add(buf.readItemStack());
+            }
+            n = buf.readVarInt();
+            for (int i = 0; i < n; i++) {
+                furnaceScripted.add(new ItemStack[]{buf.readItemStack(), buf.readItemStack()});
+                furnaceExp.add(buf.readFloat());
+            }
+        } catch (IOException e) {
+            GroovyScript.LOGGER.error("Failed to decode recipe sync payload", e);
+            return;
+        }
+
+        lastAppliedChecksum = crc.getValue();
+        if (serverScripts == getScriptChecksum()) {
+            // running the same scripts results in the state of the server, including the recipes of other mods
+            changeRecipes(() -> GroovyScript.runGroovyScriptsInLoader(LoadStage.POST_INIT));
+            GroovyScript.LOGGER.info("Ran own scripts again for recipe sync, since they are the same as the scripts of the server");
+            return;
+        }
+        changeRecipes(() -> {
+            IReloadableForgeRegistry<IRecipe> registry = (IReloadableForgeRegistry<IRecipe>) ForgeRegistries.RECIPES;
+            registry.groovyScript$onReload();
+            for (ResourceLocation rl : removed) {
+                registry.groovyScript$removeEntry(rl);
+            }
+            for (int i = 0; i < scripted.size(); i++) {
+                registry.groovyScript$registerEntry(scripted.get(i), scriptedIds.getInt(i));
+            }
+            VanillaModule.furnace.onReload();
+            for (ItemStack input : furnaceRemoved) {
+                VanillaModule.furnace.removeByInput(input, false, true);
+            }
+            for (int i = 0; i < furnaceScripted.size(); i++) {
+                VanillaModule.furnace.add(furnaceScripted.get(i)[0], furnaceScripted.get(i)[1], furnaceExp.getFloat(i));
+            }
+        });
+        time = System.currentTimeMillis() - time;
+        GroovyScript.LOGGER.info("Applied recipe sync payload with {} bytes ({} removed, {} added) in {}ms", payload.length, removed.size() + furnaceRemoved.size(), scripted.size() + furnaceScripted.size(), time);
+        GroovyLog.get().warn("The scripts of the server differ from your scripts. Only crafting and furnace recipes were synced, all other recipes and registries are still from your own scripts.");
+        Minecraft.getMinecraft().player.sendMessage(new TextComponentString("The scripts of the server differ from your scripts. Only crafting and furnace recipes were synced, recipes of other mods may differ from the server in JEI."));
+    }
+
+    /**
+     * Restores the recipes of the client scripts after leaving a server which synced its recipes.
+     */
+    @SideOnly(Side.CLIENT)
+    public static void onDisconnect() {
+        if (lastAppliedChecksum == -1) return;
+        lastAppliedChecksum = -1;
+        receivingId = -1;
+        receivedChunks = null;
+        changeRecipes(() -> GroovyScript.runGroovyScriptsInLoader(LoadStage.POST_INIT));
+    }
+
+    /**
+     * Runs a change of crafting and furnace recipes and shows the recipes which were removed or added by it in JEI.
+     */
+    @SideOnly(Side.CLIENT)
+    private static void changeRecipes(Runnable change) {
+        Set<IRecipe> craftingBefore = new ReferenceOpenHashSet<>(ForgeRegistries.RECIPES.getValuesCollection());
+        Map<ItemStack, ItemStack> smeltingBefore = new Reference2ObjectOpenHashMap<>(FurnaceRecipes.instance().getSmeltingList());
+        change.run();
+        if (!ModSupport.JEI.isLoaded()) return;
+        Set<IRecipe> craftingAfter = new ReferenceOpenHashSet<>(ForgeRegistries.RECIPES.getValuesCollection());
+        Map<ItemStack, ItemStack> smeltingAfter = FurnaceRecipes.instance().getSmeltingList();
+        List<IRecipe> removedCrafting = new ArrayList<>();
+        for (IRecipe recipe : craftingBefore) {
+            if (!craftingAfter.contains(recipe) && !(recipe instanceof DummyRecipe)) removedCrafting.add(recipe);
+        }
+        List<IRecipe> newCrafting = new ArrayList<>();
+        for (IRecipe recipe : craftingAfter) {
+            if (!craftingBefore.contains(recipe) && !(recipe instanceof DummyRecipe)) newCrafting.add(recipe);
+        }
+        Map<ItemStack, ItemStack> removedSmelting = new Reference2ObjectOpenHashMap<>();
+        smeltingBefore.forEach((input, output) -> {
+            if (smeltingAfter.get(input) != output) removedSmelting.put(input, output);
+        });
+        Map<ItemStack, ItemStack> newSmelting = new Reference2ObjectOpenHashMap<>();
+        smeltingAfter.forEach((input, output) -> {
+            if (smeltingBefore.get(input) != output) newSmelting.put(input, output);
+        });
+        JeiRecipeSync.update(removedCrafting, newCrafting, removedSmelting, newSmelting);
+    }
+
+    /**
+     * Forgets the checksum of the post init scripts. Called before the post init scripts run.
+     */
+    public static void invalidateScriptChecksum() {
+        scriptChecksum = -1;
+    }
+
+    /**
+     * A checksum of the paths and contents of all post init scripts. Scripts of the other load stages are not reloaded.
+     * The scripts are only read once per load.
+     */
+    private static long getScriptChecksum() {
+        if (scriptChecksum == -1) {
+            scriptChecksum = computeScriptChecksum();
+        }
+        return scriptChecksum;
+    }
+
+    private static long computeScriptChecksum() {
+        CRC32 crc = new CRC32();
+        File root = GroovyScript.getScriptFile();
+        for (File file : GroovyScript.getRunConfig().getSortedFiles(root, LoadStage.POST_INIT.getName())) {
+            crc.update(FileUtil.relativize(root.getPath(), file.getPath()).getBytes(StandardCharsets.UTF_8));
+            try {
+                crc.update(Files.readAllBytes(file.toPath()));
+            } catch (IOException e) {
+                GroovyScript.LOGGER.error("Failed to read script {}", file, e);
+            }
+        }
+        return crc.getValue();
+    }
+
+    private static IRecipe readRecipe(PacketBuffer buf) throws IOException {
+        byte type = buf.readByte();
+        int width = 0, height = 0;
+        if (type == SHAPED) {
+            width = buf.readVarInt();
+            height = buf.readVarInt();
+        }
+        ItemStack output = buf.readItemStack();
+        int size = buf.readVarInt();
+        NonNullList<Ingredient> ingredients = NonNullList.withSize(size, Ingredient.EMPTY);
+        for (int i = 0; i < size; i++) {
+            ItemStack[] stacks = new ItemStack[buf.readVarInt()];
+            for (int j = 0; j < stacks.length; j++) {
+                stacks[j] = buf.readItemStack();
+            }
+            ingredients.set(i, stacks.length == 0 ? Ingredient.EMPTY : Ingredient.fromStacks(stacks));
+        }
+        return type == SHAPED ? new ShapedRecipes("", width, height, ingredients, output) : new ShapelessRecipes("", output, ingredients);
+    }
+
+    private static String writeName(PacketBuffer buf, String previous, String name) {
+        int prefix = 0;
+        int max = Math.min(previous.length(), name.length());
+        while (prefix < max && previous.charAt(prefix) == name.charAt(prefix)) {
+            prefix++;
+        }
+        buf.writeVarInt(prefix);
+        buf.writeString(name.substring(prefix));
+        return name;
+    }
+
+    private static String readName(PacketBuffer buf, String previous) {
+        int prefix = buf.readVarInt();
+        return previous.substring(0, prefix) + buf.readString(Short.MAX_VALUE);
+    }
+
+    private static byte[][] split(byte[] payload) {
+        int count = Math.max(1, (payload.length + CHUNK_SIZE - 1) / CHUNK_SIZE);
+        byte[][] chunks = new byte[count][];
+        for (int i = 0; i < count; i++) {
+            chunks[i] = Arrays.copyOfRange(payload, i * CHUNK_SIZE, Math.min(payload.length, (i + 1) * CHUNK_SIZE));
+        }
+        return chunks;
+    }
+
+    private static byte[] deflate(byte[] raw) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        deflater.setInput(raw);
+        deflater.finish();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, raw.length / 4));
+        byte[] buffer = new byte[8192];
+        while (!deflater.finished()) {
+            int n = deflater.deflate(buffer);
+            out.write(buffer, 0, n);
+        }
+        deflater.end();
+        return out.toByteArray();
+    }
+
+    private static byte[] inflate(byte[] payload) throws IOException {
+        try (InflaterInputStream in = new InflaterInputStream(new ByteArrayInputStream(payload))) {
+            return IOUtils.toByteArray(in);
+        }
+    }
+}
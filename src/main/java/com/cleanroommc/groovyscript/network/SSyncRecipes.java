@@ -0,0 +1,47 @@
+package com.cleanroommc.groovyscript.network;
+
+import net.minecraft.client.network.NetHandlerPlayClient;
+import net.minecraft.network.PacketBuffer;
+
+/**
+ * A single chunk of a recipe sync payload. See {@link RecipeDeltaSync}.
+ */
+public class SSyncRecipes implements IPacket {
+
+    private int syncId;
+    private int index;
+    private int total;
+    private byte[] data;
+
+    public SSyncRecipes() {
+    }
+
+    public SSyncRecipes(int syncId, int index, int total, byte[] data) {
+        this.syncId = syncId;
+        this.index = index;
+        this.total = total;
+        this.data = data;
+    }
+
+    @Override
+    public void encode(PacketBuffer buf) {
+        buf.writeVarInt(this.syncId);
+        buf.writeVarInt(this.index);
+        buf.writeVarInt(this.total);
+        buf.writeByteArray(this.data);
+    }
+
+    @Override
+    public void decode(PacketBuffer buf) {
+        this.syncId = buf.readVarInt();
+        this.index = buf.readVarInt();
+        this.total = buf.readVarInt();
+        this.data = buf.readByteArray(RecipeDeltaSync.CHUNK_SIZE);
+    }
+
+    @Override
+    public IPacket executeClient(NetHandlerPlayClient handler) {
+        RecipeDeltaSync.receiveChunk(this.syncId, this.index, this.total, this.data);
+        return null;
+    }
+}
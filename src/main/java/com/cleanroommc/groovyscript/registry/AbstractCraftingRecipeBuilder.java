@@ -125,10 +125,20 @@ public abstract class AbstractCraftingRecipeBuilder<R> {
         return "groovyscript_";
     }
 
+    /**
+     * Returns what identifies the recipe if recipe names are hashed.
+     *
+     * @see RecipeName#generate(String, Object...)
+     */
+    @GroovyBlacklist
+    protected Object[] getRecipeNameContent() {
+        return new Object[]{getClass().getName(), output, width, height};
+    }
+
     @GroovyBlacklist
     public void validateName() {
         if (name == null) {
-            name = RecipeName.generateRl(getRecipeNamePrefix());
+            name = RecipeName.generateRl(getRecipeNamePrefix(), getRecipeNameContent());
         }
     }
 
@@ -299,6 +309,12 @@ public abstract class AbstractCraftingRecipeBuilder<R> {
             this.ingredientMatrix = matrix;
             return this;
         }
+
+        @Override
+        @GroovyBlacklist
+        protected Object[] getRecipeNameContent() {
+            return new Object[]{getClass().getName(), output, mirrored, keyBasedMatrix, keyMap, ingredientMatrix};
+        }
     }
 
     public abstract static class AbstractShapeless<T> extends AbstractCraftingRecipeBuilder<T> {
@@ -311,6 +327,12 @@ public abstract class AbstractCraftingRecipeBuilder<R> {
             super(width, height);
         }
 
+        @Override
+        @GroovyBlacklist
+        protected Object[] getRecipeNameContent() {
+            return new Object[]{getClass().getName(), output, ingredients};
+        }
+
         @RecipeBuilderMethodDescription(field = "ingredients")
         public AbstractShapeless<T> input(IIngredient ingredient) {
             ingredients.add(ingredient);
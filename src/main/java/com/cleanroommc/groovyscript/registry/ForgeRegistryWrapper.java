@@ -65,6 +65,7 @@ public class ForgeRegistryWrapper<T extends IForgeRegistryEntry<T>> extends Name
 
     @MethodDescription(priority = 2000, example = @Example(commented = true))
     public void removeAll() {
+        RegistryMetrics.scanned(this.registry.getValuesCollection().size());
         for (T recipe : this.registry) {
             ReloadableRegistryManager.removeRegistryEntry(this.registry, recipe.getRegistryName());
         }
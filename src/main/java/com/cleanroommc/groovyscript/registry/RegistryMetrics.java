@@ -0,0 +1,230 @@
+package com.cleanroommc.groovyscript.registry;
+
+import com.cleanroommc.groovyscript.GroovyScript;
+import com.cleanroommc.groovyscript.api.GroovyBlacklist;
+import com.cleanroommc.groovyscript.helper.JsonHelper;
+import com.cleanroommc.groovyscript.sandbox.FileUtil;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import groovy.lang.GroovySystem;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects how often scripts call each method of each registry, how long these calls take and how many recipes they scan
+ * and match. Measuring is enabled with {@code registryMetrics} in the run config. Calls are recorded by
+ * {@link RegistryMetricsMetaClass}, which wraps the meta class of every {@link VirtualizedRegistry} and
+ * {@link ForgeRegistryWrapper}, so registries are measured without doing anything. The wrapper prevents groovy from caching
+ * call sites, so it is only installed while a load stage is measured. Afterwards the meta classes are created again without it.
+ * <p>
+ * Recipes passed to {@link VirtualizedRegistry#addBackup(Object)} or removed through
+ * {@link ReloadableRegistryManager#removeRegistryEntry} are counted as matched. Registries which iterate over their
+ * recipes can report how many they looked at with {@link #scanned(int)}.
+ * <p>
+ * Metrics are reset when a load stage starts and written to {@code logs/groovyscript_metrics_<stage>.json} after it ran.
+ */
+public class RegistryMetrics {
+
+    private static final Map<Class<?>, Map<String, Entry>> entries = new Object2ObjectOpenHashMap<>();
+    private static final List<Call> calls = new ArrayList<>();
+    // registry classes which have a meta class, which must be created again when measuring starts or stops
+    private static final Set<Class<?>> registryClasses = new ReferenceOpenHashSet<>();
+    private static volatile @Nullable Thread owner;
+
+    /**
+     * Removes all metrics and starts measuring if it is enabled. Only calls on the current thread are recorded from now on.
+     */
+    @GroovyBlacklist
+    @ApiStatus.Internal
+    public static void start() {
+        entries.clear();
+        calls.clear();
+        if (GroovyScript.getRunConfig().isRegistryMetrics()) {
+            owner = Thread.currentThread();
+            invalidateMetaClasses();
+        }
+    }
+
+    /**
+     * Stops measuring and writes the metrics of the load stage, if it was measured.
+     */
+    @GroovyBlacklist
+    @ApiStatus.Internal
+    public static void stop(String loadStage) {
+        if (owner == null) return;
+        owner = null;
+        calls.clear();
+        invalidateMetaClasses();
+        write(loadStage);
+    }
+
+    @GroovyBlacklist
+    public static boolean isMeasuring() {
+        return owner != null;
+    }
+
+    /**
+     * Called when the meta class of a class is created. Returns true if the meta class should record calls.
+     */
+    @GroovyBlacklist
+    @ApiStatus.Internal
+    public static boolean onMetaClassCreated(Class<?> clazz) {
+        if (!VirtualizedRegistry.class.isAssignableFrom(clazz) && !ForgeRegistryWrapper.class.isAssignableFrom(clazz)) {
+            return false;
+        }
+        synchronized (registryClasses) {
+            registryClasses.add(clazz);
+        }
+        return isMeasuring();
+    }
+
+    private static void invalidateMetaClasses() {
+        List<Class<?>> classes;
+        synchronized (registryClasses) {
+            classes = new ArrayList<>(registryClasses);
+            registryClasses.clear();
+        }
+        // also invalidates all call sites which cached the previous meta class
+        classes.forEach(GroovySystem.getMetaClassRegistry()::removeMetaClass);
+    }
+
+    /**
+     * Starts measuring a call.
+     *
+     * @return the call which must be passed to {@link #end(Call)} or null if the call is not recorded
+     */
+    @GroovyBlacklist
+    @ApiStatus.Internal
+    public static @Nullable Call begin(Object registry, String method) {
+        if (owner != Thread.currentThread()) return null;
+        Call call = new Call(registry.getClass(), method, System.nanoTime());
+        calls.add(call);
+        return call;
+    }
+
+    @GroovyBlacklist
+    @ApiStatus.Internal
+    public static void end(@Nullable Call call) {
+        if (call == null) return;
+        long time = System.nanoTime() - call.startTime;
+        // a registry call may run a closure which calls another registry
+        calls.remove(call);
+        Entry entry = entries.computeIfAbsent(call.registry, k -> new Object2ObjectOpenHashMap<>()).computeIfAbsent(call.method, k -> new Entry());
+        entry.count++;
+        entry.totalTime += time;
+        entry.maxTime = Math.max(entry.maxTime, time);
+        entry.scanned += call.scanned;
+        entry.matched += call.matched;
+    }
+
+    /**
+     * Adds scanned recipes to the registry call which is currently running. Does nothing if no call is measured.
+     */
+    @GroovyBlacklist
+    public static void scanned(int amount) {
+        Call call = getCurrentCall();
+        if (call != null) call.scanned += amount;
+    }
+
+    /**
+     * Adds matched recipes to the registry call which is currently running. Does nothing if no call is measured.
+     */
+    @GroovyBlacklist
+    public static void matched(int amount) {
+        Call call = getCurrentCall();
+        if (call != null) call.matched += amount;
+    }
+
+    private static @Nullable Call getCurrentCall() {
+        return calls.isEmpty() || owner != Thread.currentThread() ? null : calls.get(calls.size() - 1);
+    }
+
+    /**
+     * Returns a line for each of the registry methods which took the most time in total.
+     */
+    @GroovyBlacklist
+    public static List<String> getSummary(int limit) {
+        List<String> summary = new ArrayList<>();
+        for (Map.Entry<String, Entry> entry : getSortedEntries()) {
+            if (summary.size() >= limit) break;
+            Entry metrics = entry.getValue();
+            summary.add(String.format(" - %s: %d calls, %.2fms total, %.2fms max, %d scanned, %d matched", entry.getKey(), metrics.count,
+                                      metrics.totalTime / 1_000_000.0, metrics.maxTime / 1_000_000.0, metrics.scanned, metrics.matched));
+        }
+        return summary;
+    }
+
+    private static void write(String loadStage) {
+        JsonArray array = new JsonArray();
+        for (Map.Entry<String, Entry> entry : getSortedEntries()) {
+            Entry metrics = entry.getValue();
+            JsonObject json = new JsonObject();
+            json.addProperty("method", entry.getKey());
+            json.addProperty("count", metrics.count);
+            json.addProperty("totalMicros", TimeUnit.NANOSECONDS.toMicros(metrics.totalTime));
+            json.addProperty("maxMicros", TimeUnit.NANOSECONDS.toMicros(metrics.maxTime));
+            json.addProperty("scanned", metrics.scanned);
+            json.addProperty("matched", metrics.matched);
+            array.add(json);
+        }
+        JsonObject json = new JsonObject();
+        json.addProperty("loadStage", loadStage);
+        json.add("metrics", array);
+        JsonHelper.saveJson(new File(FileUtil.getMinecraftHome(), "logs/groovyscript_metrics_" + loadStage + ".json"), json);
+    }
+
+    private static List<Map.Entry<String, Entry>> getSortedEntries() {
+        Map<String, Entry> named = new Object2ObjectOpenHashMap<>();
+        entries.forEach((registry, methods) -> {
+            String name = registry.getSimpleName().isEmpty() ? registry.getName() : registry.getSimpleName();
+            methods.forEach((method, entry) -> named.merge(name + "." + method, entry, Entry::merge));
+        });
+        List<Map.Entry<String, Entry>> sorted = new ArrayList<>(named.entrySet());
+        sorted.sort(Comparator.comparingLong((Map.Entry<String, Entry> entry) -> entry.getValue().totalTime).reversed());
+        return sorted;
+    }
+
+    public static class Call {
+
+        private final Class<?> registry;
+        private final String method;
+        private final long startTime;
+        private int scanned;
+        private int matched;
+
+        private Call(Class<?> registry, String method, long startTime) {
+            this.registry = registry;
+            this.method = method;
+            this.startTime = startTime;
+        }
+    }
+
+    private static class Entry {
+
+        private int count;
+        private long totalTime;
+        private long maxTime;
+        private long scanned;
+        private long matched;
+
+        private static Entry merge(Entry a, Entry b) {
+            Entry entry = new Entry();
+            entry.count = a.count + b.count;
+            entry.totalTime = a.totalTime + b.totalTime;
+            entry.maxTime = Math.max(a.maxTime, b.maxTime);
+            entry.scanned = a.scanned + b.scanned;
+            entry.matched = a.matched + b.matched;
+            return entry;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.cleanroommc.groovyscript.registry;
+
+import groovy.lang.DelegatingMetaClass;
+import groovy.lang.MetaClass;
+
+/**
+ * Records the method calls of scripts on registries in {@link RegistryMetrics}. Groovy only optimizes call sites for
+ * {@link groovy.lang.MetaClassImpl}, so every call on a registry goes through this class. It is therefore only installed
+ * while {@link RegistryMetrics#isMeasuring() measuring}.
+ */
+public class RegistryMetricsMetaClass extends DelegatingMetaClass {
+
+    public RegistryMetricsMetaClass(MetaClass delegate) {
+        super(delegate);
+    }
+
+    @Override
+    public Object invokeMethod(Object object, String methodName, Object[] arguments) {
+        RegistryMetrics.Call call = RegistryMetrics.begin(object, methodName);
+        try {
+            return super.invokeMethod(object, methodName, arguments);
+        } finally {
+            RegistryMetrics.end(call);
+        }
+    }
+
+    @Override
+    public Object invokeMethod(Object object, String methodName, Object arguments) {
+        RegistryMetrics.Call call = RegistryMetrics.begin(object, methodName);
+        try {
+            return super.invokeMethod(object, methodName, arguments);
+        } finally {
+            RegistryMetrics.end(call);
+        }
+    }
+
+    @Override
+    public Object invokeMethod(Class sender, Object receiver, String methodName, Object[] arguments, boolean isCallToSuper, boolean fromInsideClass) {
+        RegistryMetrics.Call call = RegistryMetrics.begin(receiver, methodName);
+        try {
+            return super.invokeMethod(sender, receiver, methodName, arguments, isCallToSuper, fromInsideClass);
+        } finally {
+            RegistryMetrics.end(call);
+        }
+    }
+}
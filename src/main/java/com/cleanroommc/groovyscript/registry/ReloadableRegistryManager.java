@@ -126,6 +126,7 @@ public class ReloadableRegistryManager {
     }
 
     public static <V extends IForgeRegistryEntry<V>> void removeRegistryEntry(IForgeRegistry<V> registry, ResourceLocation name) {
+        RegistryMetrics.matched(1);
         ((IReloadableForgeRegistry<V>) registry).groovyScript$removeEntry(name);
     }
 
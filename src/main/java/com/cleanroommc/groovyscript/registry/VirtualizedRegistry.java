@@ -2,10 +2,13 @@ package com.cleanroommc.groovyscript.registry;
 
 import com.cleanroommc.groovyscript.api.GroovyBlacklist;
 import com.cleanroommc.groovyscript.api.IScriptReloadable;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Collection;
+import java.util.List;
+import java.util.Set;
 
 public abstract class VirtualizedRegistry<R> extends NamedRegistry implements IScriptReloadable {
 
@@ -46,6 +49,7 @@ public abstract class VirtualizedRegistry<R> extends NamedRegistry implements IS
 
     @GroovyBlacklist
     public void addBackup(R recipe) {
+        RegistryMetrics.matched(1);
         recipeStorage.addBackup(recipe);
     }
 
@@ -64,4 +68,23 @@ public abstract class VirtualizedRegistry<R> extends NamedRegistry implements IS
         return recipeStorage.removeScripted();
     }
 
+    /**
+     * Removes the recipes from a registry collection, typically the result of {@link #removeScripted()}. Lists are only
+     * iterated once and compare recipes by identity, instead of calling {@link List#remove(Object)} for every recipe.
+     * Other collections, like sets, remove each recipe on their own.
+     *
+     * @param registry the collection of the mod the recipes are removed from
+     * @param recipes  the recipes to remove
+     */
+    @GroovyBlacklist
+    protected static <T> void removeAllByIdentity(Collection<T> registry, Collection<? extends T> recipes) {
+        if (recipes.isEmpty()) return;
+        if (registry instanceof List) {
+            Set<T> removed = new ReferenceOpenHashSet<>(recipes);
+            registry.removeIf(removed::contains);
+        } else {
+            recipes.forEach(registry::remove);
+        }
+    }
+
 }
@@ -58,6 +58,18 @@ class CompiledScript extends CompiledClass {
         }
     }
 
+    /**
+     * Forgets the loaded classes and their bytes, so that they are read from the cache again.
+     */
+    public void unload() {
+        this.clazz = null;
+        this.data = null;
+        for (CompiledClass comp : this.innerClasses) {
+            comp.clazz = null;
+            comp.data = null;
+        }
+    }
+
     @NotNull
     public JsonObject toJson() {
         JsonObject jsonEntry = new JsonObject();
@@ -116,6 +128,10 @@ class CompiledScript extends CompiledClass {
                Preprocessor.validatePreprocessor(new File(basePath, this.path), this.preprocessors);
     }
 
+    public boolean canCompileSkipped(File basePath) {
+        return this.preprocessors != null && Preprocessor.canCompileSkipped(new File(basePath, this.path), this.preprocessors);
+    }
+
     @Override
     public String toString() {
         return new ToStringBuilder(this)
@@ -11,6 +11,7 @@ import com.cleanroommc.groovyscript.helper.GroovyHelper;
 import com.cleanroommc.groovyscript.helper.JsonHelper;
 import com.cleanroommc.groovyscript.registry.ReloadableRegistryManager;
 import com.cleanroommc.groovyscript.sandbox.transformer.GroovyScriptCompiler;
+import com.cleanroommc.groovyscript.sandbox.transformer.StaticCompilationCustomizer;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
@@ -49,7 +50,12 @@ public class GroovyScriptSandbox extends GroovySandbox {
      * 1: Default
      */
     private int cacheVersion = 1;
+    // if the cached classes were compiled with compileStatic enabled
+    private boolean cacheCompileStatic;
     private final Map<String, CompiledScript> index = new Object2ObjectOpenHashMap<>();
+    private final ScriptLoadTimings timings = new ScriptLoadTimings();
+    // replaces the files of the run config, used by the script load benchmark
+    private @Nullable Collection<File> scriptFileOverride;
 
     public static final boolean WRITE_CACHE = true;
 
@@ -110,6 +116,7 @@ public class GroovyScriptSandbox extends GroovySandbox {
             deleteScriptCache();
             return;
         }
+        this.cacheCompileStatic = JsonHelper.getBoolean(json, false, "compileStatic");
         for (JsonElement element : json.getAsJsonArray("index")) {
             if (element.isJsonObject()) {
                 CompiledScript cs = CompiledScript.fromJson(element.getAsJsonObject(), this.scriptRoot.getPath(), this.cacheRoot.getPath());
@@ -125,6 +132,7 @@ public class GroovyScriptSandbox extends GroovySandbox {
         JsonObject json = new JsonObject();
         json.addProperty("!DANGER!", "DO NOT EDIT THIS FILE!!!");
         json.addProperty("version", this.cacheVersion);
+        json.addProperty("compileStatic", this.cacheCompileStatic);
         JsonArray index = new JsonArray();
         json.add("index", index);
         for (Map.Entry<String, CompiledScript> entry : this.index.entrySet()) {
@@ -147,6 +155,13 @@ public class GroovyScriptSandbox extends GroovySandbox {
 
     public void run(LoadStage currentLoadStage) {
         this.currentLoadStage = Objects.requireNonNull(currentLoadStage);
+        boolean compileStatic = GroovyScript.getRunConfig().isCompileStatic();
+        if (compileStatic != this.cacheCompileStatic) {
+            // the cached classes were compiled with the other setting, so every script has to be compiled again
+            deleteScriptCache();
+            this.cacheCompileStatic = compileStatic;
+        }
+        this.timings.start();
         try {
             super.load();
         } catch (IOException | ScriptException | ResourceException e) {
@@ -155,6 +170,7 @@ public class GroovyScriptSandbox extends GroovySandbox {
         } catch (Throwable t) {
             GroovyLog.get().exception(t);
         } finally {
+            this.timings.stop();
             this.currentLoadStage = null;
             if (currentLoadStage == LoadStage.POST_INIT) {
                 writeIndex();
@@ -165,7 +181,14 @@ public class GroovyScriptSandbox extends GroovySandbox {
     @Override
     protected void runScript(Script script) {
         GroovyLog.get().info(" - running {}", script.getClass().getName());
-        super.runScript(script);
+        ScriptLoadTimings.Phase previous = this.timings.enter(ScriptLoadTimings.Phase.EXECUTE);
+        ScriptProfiler.enterScript(script.getClass().getName());
+        try {
+            super.runScript(script);
+        } finally {
+            ScriptProfiler.exitScript();
+            this.timings.enter(previous);
+        }
     }
 
     @ApiStatus.Internal
@@ -250,7 +273,7 @@ public class GroovyScriptSandbox extends GroovySandbox {
         Class<?> c = null;
         if (cs != null) {
             if (cs.clazz == null && cs.readData(this.cacheRoot.getPath())) {
-                cs.ensureLoaded(classLoader, this.cacheRoot.getPath());
+                ensureLoaded(cs, classLoader);
             }
             c = cs.clazz;
         }
@@ -268,7 +291,7 @@ public class GroovyScriptSandbox extends GroovySandbox {
             if (!comp.checkPreprocessors(this.scriptRoot)) {
                 return GroovyLog.class; // failed preprocessor check
             }
-            comp.ensureLoaded(engine.getGroovyClassLoader(), this.cacheRoot.getPath());
+            ensureLoaded(comp, engine.getGroovyClassLoader());
 
         } else if (comp == null || comp.clazz == null || lastModified > comp.lastEdited) {
             // class is not loaded and class bytes don't exist yet or script has been edited
@@ -276,19 +299,33 @@ public class GroovyScriptSandbox extends GroovySandbox {
                 comp = new CompiledScript(relativeFile.toString(), 0);
                 this.index.put(relativeFile.toString(), comp);
             }
-            if (lastModified > comp.lastEdited || comp.preprocessors == null) {
+            ScriptLoadTimings.Phase previous = this.timings.enter(ScriptLoadTimings.Phase.PARSE);
+            boolean edited = lastModified > comp.lastEdited;
+            if (edited || comp.preprocessors == null) {
                 // recompile preprocessors if there is no data or script was edited
                 comp.preprocessors = Preprocessor.parsePreprocessors(file);
             }
             comp.lastEdited = lastModified;
             if (!comp.checkPreprocessors(this.scriptRoot)) {
-                // delete class bytes to make sure it's recompiled once the preprocessors returns true
-                comp.deleteCache(this.cacheRoot.getPath());
-                comp.clazz = null;
-                comp.data = null;
+                if (edited) {
+                    // class bytes are outdated, make sure the script is compiled again
+                    comp.deleteCache(this.cacheRoot.getPath());
+                    comp.unload();
+                }
+                if (comp.clazz == null && comp.canCompileSkipped(this.scriptRoot)) {
+                    // the script only doesn't run, cache the class bytes so that they can be used once it runs
+                    compileSkippedScript(engine, relativeFile);
+                }
+                this.timings.enter(previous);
                 return GroovyLog.class; // failed preprocessor check
             }
-            Class<?> clazz = super.loadScriptClass(engine, relativeFile);
+            // groovy switches to the compile phase on its own, see ScriptLoadTimings#getProgressCallback()
+            Class<?> clazz;
+            try {
+                clazz = super.loadScriptClass(engine, relativeFile);
+            } finally {
+                this.timings.enter(previous);
+            }
             if (comp.clazz == null) {
                 // should not happen
                 GroovyLog.get().errorMC("Class for {} was loaded, but didn't receive class created callback! Index: {}", relativeFile, this.index);
@@ -299,11 +336,29 @@ public class GroovyScriptSandbox extends GroovySandbox {
             if (!comp.checkPreprocessors(this.scriptRoot)) {
                 return GroovyLog.class; // failed preprocessor check
             }
-            comp.ensureLoaded(engine.getGroovyClassLoader(), this.cacheRoot.getPath());
+            ensureLoaded(comp, engine.getGroovyClassLoader());
         }
         return comp.clazz;
     }
 
+    private void compileSkippedScript(GroovyScriptEngine engine, File relativeFile) {
+        try {
+            engine.loadScriptByName(relativeFile.toString());
+        } catch (Exception e) {
+            // errors are reported once the script runs
+            GroovyLog.get().debug("Could not compile skipped script {}: {}", relativeFile, e.getMessage());
+        }
+    }
+
+    private void ensureLoaded(CompiledScript comp, GroovyClassLoader classLoader) {
+        ScriptLoadTimings.Phase previous = this.timings.enter(ScriptLoadTimings.Phase.DEFINE_CLASS);
+        try {
+            comp.ensureLoaded(classLoader, this.cacheRoot.getPath());
+        } finally {
+            this.timings.enter(previous);
+        }
+    }
+
     @Override
     protected void postInitBindings(Binding binding) {
         binding.setProperty("out", GroovyLog.get().getWriter());
@@ -312,6 +367,7 @@ public class GroovyScriptSandbox extends GroovySandbox {
 
     @Override
     protected void initEngine(GroovyScriptEngine engine, CompilerConfiguration config) {
+        config.addCompilationCustomizers(new StaticCompilationCustomizer());
         config.addCompilationCustomizers(GroovyScriptCompiler.transformer());
         config.addCompilationCustomizers(this.importCustomizer);
     }
@@ -321,8 +377,10 @@ public class GroovyScriptSandbox extends GroovySandbox {
         GroovyLog.get().infoMC("Running scripts in loader '{}'", this.currentLoadStage);
         MinecraftForge.EVENT_BUS.post(new ScriptRunEvent.Pre());
         if (this.currentLoadStage.isReloadable() && !ReloadableRegistryManager.isFirstLoad()) {
+            this.timings.enter(ScriptLoadTimings.Phase.ON_RELOAD);
             ReloadableRegistryManager.onReload();
             MinecraftForge.EVENT_BUS.post(new GroovyReloadEvent());
+            this.timings.enter(null);
         }
         GroovyEventManager.INSTANCE.reset();
     }
@@ -336,7 +394,9 @@ public class GroovyScriptSandbox extends GroovySandbox {
     @Override
     protected void postRun() {
         if (this.currentLoadStage == LoadStage.POST_INIT) {
+            this.timings.enter(ScriptLoadTimings.Phase.AFTER_SCRIPT_RUN);
             ReloadableRegistryManager.afterScriptRun();
+            this.timings.enter(null);
         }
         MinecraftForge.EVENT_BUS.post(new ScriptRunEvent.Post());
         if (this.currentLoadStage == LoadStage.POST_INIT && ReloadableRegistryManager.isFirstLoad()) {
@@ -346,11 +406,13 @@ public class GroovyScriptSandbox extends GroovySandbox {
 
     @Override
     public Collection<File> getClassFiles() {
+        if (this.scriptFileOverride != null) return Collections.emptyList();
         return GroovyScript.getRunConfig().getClassFiles(this.scriptRoot, this.currentLoadStage.getName());
     }
 
     @Override
     public Collection<File> getScriptFiles() {
+        if (this.scriptFileOverride != null) return this.scriptFileOverride;
         return GroovyScript.getRunConfig().getSortedFiles(this.scriptRoot, this.currentLoadStage.getName());
     }
 
@@ -359,6 +421,34 @@ public class GroovyScriptSandbox extends GroovySandbox {
         return currentLoadStage;
     }
 
+    /**
+     * Returns the time spent in each phase of the last script run.
+     */
+    public ScriptLoadTimings getTimings() {
+        return timings;
+    }
+
+    void setScriptFileOverride(@Nullable Collection<File> scriptFiles) {
+        this.scriptFileOverride = scriptFiles;
+    }
+
+    /**
+     * Unloads the classes of the given scripts, so that the next run has to define them again. If the cache is deleted
+     * as well, they have to be compiled again.
+     */
+    void forgetScripts(Collection<File> files, boolean deleteCache) {
+        for (File file : files) {
+            String path = this.scriptRoot.toPath().relativize(file.toPath()).toString();
+            CompiledScript comp = deleteCache ? this.index.remove(path) : this.index.get(path);
+            if (comp == null) continue;
+            if (deleteCache) {
+                comp.deleteCache(this.cacheRoot.getPath());
+            } else {
+                comp.unload();
+            }
+        }
+    }
+
     public ImportCustomizer getImportCustomizer() {
         return importCustomizer;
     }
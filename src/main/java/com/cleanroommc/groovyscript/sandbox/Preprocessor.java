@@ -22,6 +22,8 @@ public class Preprocessor {
 
     private static final Object2ObjectArrayMap<String, BiPredicate<File, String[]>> PREPROCESSORS = new Object2ObjectArrayMap<>();
     private static final String[] NO_ARGS = new String[0];
+    // these only decide if a script runs, scripts excluded by them still compile
+    private static final Set<String> RUN_ONLY_PREPROCESSORS = new HashSet<>(Arrays.asList("DEBUG_ONLY", "NO_RELOAD", "PACKMODE"));
 
     public static void registerPreprocessor(String name, BiPredicate<File, String[]> test) {
         PREPROCESSORS.put(name.toUpperCase(Locale.ROOT), test);
@@ -34,6 +36,8 @@ public class Preprocessor {
         registerPreprocessor("MODS_LOADED", Preprocessor::checkModsLoaded);
         registerPreprocessor("SIDE", Preprocessor::checkSide);
         registerPreprocessor("PACKMODE", Preprocessor::checkPackmode);
+        // only changes how the script is compiled
+        registerPreprocessor("COMPILE_STATIC", (file, args) -> true);
     }
 
     public static List<String> parsePreprocessors(File file) {
@@ -78,6 +82,30 @@ public class Preprocessor {
         return true;
     }
 
+    /**
+     * Checks if a script which failed its preprocessors can still be compiled. This is the case if all failing
+     * preprocessors only decide if the script runs, like packmodes. Scripts excluded by their side or by missing mods may
+     * reference classes which don't exist.
+     */
+    public static boolean canCompileSkipped(File file, List<String> preprocessors) {
+        for (String pp : preprocessors) {
+            String name = pp.split(":", 2)[0].toUpperCase(Locale.ROOT);
+            if (!RUN_ONLY_PREPROCESSORS.contains(name) && !processPreprocessor(file, pp)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public static boolean hasPreprocessor(List<String> preprocessors, String name) {
+        for (String pp : preprocessors) {
+            if (pp.split(":", 2)[0].equalsIgnoreCase(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private static boolean isPreprocessor(String line) {
         String s = line.split(":", 2)[0];
         return PREPROCESSORS.containsKey(s.toUpperCase(Locale.ROOT));
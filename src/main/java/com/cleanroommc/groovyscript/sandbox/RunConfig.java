@@ -20,13 +20,9 @@ import org.apache.commons.lang3.tuple.Pair;
 import org.jetbrains.annotations.ApiStatus;
 
 import java.io.File;
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
 import java.util.*;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 public class RunConfig {
 
@@ -36,6 +32,10 @@ public class RunConfig {
         json.addProperty("packId", "placeholdername");
         json.addProperty("version", "1.0.0");
         json.addProperty("debug", false);
+        json.addProperty("hashRecipeNames", false);
+        json.addProperty("compileStatic", false);
+        json.addProperty("registryMetrics", false);
+        json.addProperty("syncRecipes", false);
         JsonObject classes = new JsonObject();
         JsonArray preInit = new JsonArray();
         classes.add("preInit", preInit);
@@ -73,10 +73,15 @@ public class RunConfig {
     private final List<String> packmodeList = new ArrayList<>();
     private final Set<String> packmodeSet = new ObjectOpenHashSet<>();
     private final Map<String, List<String>> packmodePaths = new Object2ObjectOpenHashMap<>();
+    private final Map<File, ScriptFileTree> fileTrees = new Object2ObjectOpenHashMap<>();
     private boolean integratePackmodeMod = false;
     // TODO asm
     private final String asmClass = null;
     private boolean debug;
+    private boolean hashRecipeNames;
+    private boolean compileStatic;
+    private boolean registryMetrics;
+    private boolean syncRecipes;
 
 
     private final boolean invalidPackId;
@@ -117,6 +122,10 @@ public class RunConfig {
             throw new RuntimeException();
         }
         this.debug = JsonHelper.getBoolean(json, false, "debug");
+        this.hashRecipeNames = JsonHelper.getBoolean(json, false, "hashRecipeNames");
+        this.compileStatic = JsonHelper.getBoolean(json, false, "compileStatic");
+        this.registryMetrics = JsonHelper.getBoolean(json, false, "registryMetrics");
+        this.syncRecipes = JsonHelper.getBoolean(json, false, "syncRecipes");
         this.classes.clear();
         this.loaderPaths.clear();
         this.packmodeList.clear();
@@ -249,6 +258,46 @@ public class RunConfig {
         return debug;
     }
 
+    /**
+     * If generated recipe names should be derived from the recipe content instead of a counter.
+     *
+     * @see com.cleanroommc.groovyscript.helper.recipe.RecipeName#generate(String, Object...)
+     */
+    public boolean isHashRecipeNames() {
+        return hashRecipeNames;
+    }
+
+    /**
+     * If all scripts are compiled statically, like scripts with the {@code COMPILE_STATIC} preprocessor. Changing this
+     * deletes the script cache on the next run, so that all scripts are compiled again.
+     *
+     * @see com.cleanroommc.groovyscript.sandbox.transformer.StaticCompilationCustomizer
+     */
+    public boolean isCompileStatic() {
+        return compileStatic;
+    }
+
+    /**
+     * If registry calls of scripts are measured during each load stage. Measuring slows down all registry calls.
+     *
+     * @see com.cleanroommc.groovyscript.registry.RegistryMetrics
+     */
+    public boolean isRegistryMetrics() {
+        return registryMetrics;
+    }
+
+    /**
+     * If scripts may be reloaded on servers with remote players, like dedicated servers and guests of LAN worlds. After a
+     * reload, the crafting recipes of the forge recipe registry and the furnace recipes are synced to remote players. All
+     * other registries of remote players keep the state of their own scripts, unless their scripts are the same as the
+     * scripts of the server, in which case they run them again.
+     *
+     * @see com.cleanroommc.groovyscript.network.RecipeDeltaSync
+     */
+    public boolean isSyncRecipes() {
+        return syncRecipes;
+    }
+
     public boolean isValidPackmode(String packmode) {
         return this.packmodeSet.contains(packmode);
     }
@@ -308,6 +357,7 @@ public class RunConfig {
     private Collection<File> getSortedFilesOf(File root, Collection<String> paths) {
         Object2IntLinkedOpenHashMap<File> files = new Object2IntLinkedOpenHashMap<>();
         String separator = getSeparator();
+        ScriptFileTree fileTree = getFileTree(root);
 
         for (String path : paths) {
             File rootFile = new File(root, path);
@@ -315,27 +365,23 @@ public class RunConfig {
                 continue;
             }
             int pathSize = path.split(separator).length;
-            try (Stream<Path> stream = Files.walk(rootFile.toPath())) {
-                stream.filter(path1 -> isGroovyFile(path1.toString()))
-                        .map(Path::toFile)
-                        //.filter(Preprocessor::validatePreprocessors)
-                        .sorted(Comparator.comparing(File::getPath))
-                        .forEach(file -> {
-                            if (files.containsKey(file)) {
-                                if (pathSize > files.getInt(file)) {
-                                    files.put(file, pathSize);
-                                }
-                            } else {
-                                files.put(file, pathSize);
-                            }
-                        });
-            } catch (IOException e) {
-                throw new RuntimeException(e);
+            for (File file : fileTree.getSortedFiles(rootFile)) {
+                if (files.containsKey(file)) {
+                    if (pathSize > files.getInt(file)) {
+                        files.put(file, pathSize);
+                    }
+                } else {
+                    files.put(file, pathSize);
+                }
             }
         }
         return new ArrayList<>(files.keySet());
     }
 
+    private synchronized ScriptFileTree getFileTree(File root) {
+        return this.fileTrees.computeIfAbsent(root, ScriptFileTree::new);
+    }
+
     private static String sanitizePath(String path) {
         while (path.endsWith("/") || path.endsWith("\\")) {
             path = path.substring(0, path.length() - 1);
@@ -0,0 +1,163 @@
+package com.cleanroommc.groovyscript.sandbox;
+
+import com.cleanroommc.groovyscript.GroovyScript;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Stream;
+
+/**
+ * A snapshot of all groovy files in a directory, so that the directory doesn't have to be walked for every load stage or
+ * reload. A {@link WatchService} reports created and deleted files and directories, which are applied to the snapshot the
+ * next time it is used. The directory is only walked again if the watch service dropped events or a watched directory
+ * can't be watched anymore. The directory is watched once it exists. Until then, and if the file system can't be watched,
+ * it is walked every time.
+ */
+public class ScriptFileTree {
+
+    private final File root;
+    // true if the whole directory has to be walked again
+    private volatile boolean outdated = true;
+    // created and deleted paths reported by the watch thread which are not applied yet
+    private final Queue<Change> changes = new ConcurrentLinkedQueue<>();
+    private boolean watchUnsupported;
+    private WatchService watchService;
+    // true if the root is registered with the watch service
+    private boolean watching;
+    private final NavigableSet<File> files = new TreeSet<>(Comparator.comparing(File::getPath));
+
+    public ScriptFileTree(File root) {
+        this.root = root;
+    }
+
+    /**
+     * Returns all groovy files in the file or directory sorted by path.
+     */
+    public synchronized List<File> getSortedFiles(File fileOrDir) {
+        if (this.outdated || !this.watching) {
+            // mark as up to date before walking, so that changes during the walk are not missed
+            this.outdated = false;
+            this.changes.clear();
+            walkRoot();
+        } else {
+            applyChanges();
+        }
+        String dirPath = fileOrDir.getPath() + File.separator;
+        List<File> result = new ArrayList<>();
+        for (File file : this.files) {
+            if (file.equals(fileOrDir) || file.getPath().startsWith(dirPath)) {
+                result.add(file);
+            }
+        }
+        return result;
+    }
+
+    private void walkRoot() {
+        this.files.clear();
+        if (!this.root.exists()) {
+            this.watching = false;
+            return;
+        }
+        startWatching();
+        walk(this.root.toPath());
+        this.watching = this.watchService != null;
+    }
+
+    /**
+     * Adds all groovy files in the directory to the snapshot and watches all directories in it.
+     */
+    private void walk(Path dir) {
+        try (Stream<Path> stream = Files.walk(dir)) {
+            Iterator<Path> paths = stream.iterator();
+            while (paths.hasNext()) {
+                Path path = paths.next();
+                if (this.watchService != null && Files.isDirectory(path)) {
+                    // registering a directory again returns the same key
+                    path.register(this.watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_DELETE);
+                } else if (RunConfig.isGroovyFile(path.toString())) {
+                    this.files.add(path.toFile());
+                }
+            }
+        } catch (NoSuchFileException e) {
+            // the directory was deleted again, which is reported as its own change
+        } catch (UncheckedIOException e) {
+            if (!(e.getCause() instanceof NoSuchFileException)) throw e;
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void applyChanges() {
+        Change change;
+        while ((change = this.changes.poll()) != null) {
+            if (change.created) {
+                if (Files.isDirectory(change.path)) {
+                    // files may have been created in the directory before it was watched
+                    walk(change.path);
+                } else if (RunConfig.isGroovyFile(change.path.toString())) {
+                    this.files.add(change.path.toFile());
+                }
+            } else {
+                File file = change.path.toFile();
+                this.files.remove(file);
+                // a deleted directory only reports itself
+                String dirPath = file.getPath() + File.separator;
+                this.files.removeIf(f -> f.getPath().startsWith(dirPath));
+            }
+        }
+    }
+
+    private void startWatching() {
+        if (this.watchService != null || this.watchUnsupported) return;
+        try {
+            this.watchService = this.root.toPath().getFileSystem().newWatchService();
+            Thread thread = new Thread(this::watch, "GroovyScript file watcher");
+            thread.setDaemon(true);
+            thread.start();
+        } catch (IOException | UnsupportedOperationException e) {
+            GroovyScript.LOGGER.warn("Could not watch script files in {}, they will be searched on every load", this.root, e);
+            this.watchService = null;
+            this.watchUnsupported = true;
+        }
+    }
+
+    private void watch() {
+        while (true) {
+            WatchKey key;
+            try {
+                key = this.watchService.take();
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+            Path dir = (Path) key.watchable();
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                    // events were dropped
+                    this.outdated = true;
+                } else {
+                    this.changes.add(new Change(event.kind() == StandardWatchEventKinds.ENTRY_CREATE, dir.resolve((Path) event.context())));
+                }
+            }
+            if (!key.reset()) {
+                // the directory was deleted or can't be watched anymore
+                // if it was the root, the next walk notices that it has to be registered again
+                this.outdated = true;
+            }
+        }
+    }
+
+    private static class Change {
+
+        private final boolean created;
+        private final Path path;
+
+        private Change(boolean created, Path path) {
+            this.created = created;
+            this.path = path;
+        }
+    }
+}
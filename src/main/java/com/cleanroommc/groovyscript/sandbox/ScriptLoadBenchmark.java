@@ -0,0 +1,123 @@
+package com.cleanroommc.groovyscript.sandbox;
+
+import com.cleanroommc.groovyscript.GroovyScript;
+import com.cleanroommc.groovyscript.api.GroovyLog;
+import org.apache.commons.io.FileUtils;
+import org.jetbrains.annotations.ApiStatus;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures loading a synthetic script pack. The pack is generated into a hidden folder of the script root and consists of
+ * a number of files with a number of vanilla crafting, furnace and ore dictionary changes each. Optionally the post init
+ * examples of the dev environment are added. The pack is run in place of the post init scripts of the run config in three
+ * scenarios: with an empty script cache, with classes cached on disk but not loaded, and as a reload with loaded classes.
+ * <p>
+ * Scripts of the pack change the game like any other script, so the real scripts should be reloaded afterwards.
+ */
+@ApiStatus.Internal
+public class ScriptLoadBenchmark {
+
+    private static final String FOLDER = ".benchmark";
+
+    public enum Scenario {
+        COLD_CACHE("cold cache"),
+        WARM_CACHE("warm cache"),
+        RELOAD("reload");
+
+        private final String name;
+
+        Scenario(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+
+    /**
+     * Generates the pack, runs every scenario the given amount of times and returns the average timings of each scenario.
+     */
+    public static List<String> run(int fileCount, int recipesPerFile, int runs, boolean includeExamples) throws IOException {
+        GroovyScriptSandbox sandbox = GroovyScript.getSandbox();
+        if (!GroovyScript.getRunConfig().isLoaderConfigured(LoadStage.POST_INIT.getName())) {
+            throw new IllegalStateException("The run config has no post init loader");
+        }
+        File root = new File(sandbox.getScriptRoot(), FOLDER);
+        List<String> report = new ArrayList<>();
+        List<File> files = generatePack(root, fileCount, recipesPerFile, includeExamples);
+        report.add(String.format("Script load benchmark with %d files, %d recipes per file and %d runs per scenario", files.size(), recipesPerFile, runs));
+        sandbox.setScriptFileOverride(files);
+        try {
+            for (Scenario scenario : Scenario.values()) {
+                ScriptLoadTimings average = new ScriptLoadTimings();
+                for (int i = 0; i < runs; i++) {
+                    if (scenario == Scenario.COLD_CACHE) {
+                        sandbox.forgetScripts(files, true);
+                    } else if (scenario == Scenario.WARM_CACHE) {
+                        sandbox.forgetScripts(files, false);
+                    }
+                    GroovyScript.runGroovyScriptsInLoader(LoadStage.POST_INIT);
+                    average.add(sandbox.getTimings());
+                }
+                average.divide(runs);
+                report.add(String.format("%s: %dms (%s)", scenario.getName(), TimeUnit.NANOSECONDS.toMillis(average.getTotalNanos()), average));
+            }
+        } finally {
+            sandbox.setScriptFileOverride(null);
+            sandbox.forgetScripts(files, true);
+            FileUtils.deleteDirectory(root);
+        }
+        GroovyLog.Msg msg = GroovyLog.msg(report.get(0));
+        report.stream().skip(1).forEach(msg::add);
+        msg.info().post();
+        return report;
+    }
+
+    private static List<File> generatePack(File root, int fileCount, int recipesPerFile, boolean includeExamples) throws IOException {
+        if (root.exists()) FileUtils.deleteDirectory(root);
+        Files.createDirectories(root.toPath());
+        List<File> files = new ArrayList<>();
+        for (int i = 0; i < fileCount; i++) {
+            File file = new File(root, String.format("benchmark_%04d.groovy", i));
+            Files.write(file.toPath(), generateScript(i, recipesPerFile).getBytes(StandardCharsets.UTF_8));
+            files.add(file);
+        }
+        File examples = new File(new File(FileUtil.getMinecraftHome()).getParentFile(), "examples" + File.separator + "postInit");
+        if (includeExamples && examples.isDirectory()) {
+            File target = new File(root, "examples");
+            FileUtils.copyDirectory(examples, target);
+            FileUtils.listFiles(target, new String[]{"groovy"}, true).stream().sorted().forEach(files::add);
+        }
+        return files;
+    }
+
+    private static String generateScript(int file, int recipes) {
+        StringBuilder builder = new StringBuilder("\n// Generated by /gs benchmark\n\n");
+        for (int i = 0; i < recipes; i++) {
+            switch (i % 3) {
+                case 0:
+                    builder.append("crafting.shapelessBuilder()\n")
+                            .append("    .name('benchmark_").append(file).append('_').append(i).append("')\n")
+                            .append("    .output(item('minecraft:clay'))\n")
+                            .append("    .input([item('minecraft:cobblestone'), item('minecraft:gold_ingot'), ore('ingotIron')])\n")
+                            .append("    .register()\n\n");
+                    break;
+                case 1:
+                    builder.append("furnace.add(item('minecraft:wool', ").append((file + i) % 16).append("), item('minecraft:string') * 4)\n\n");
+                    break;
+                default:
+                    builder.append("oredict.add('benchmark").append(file).append("', item('minecraft:planks', ").append(i % 6).append("))\n\n");
+                    break;
+            }
+        }
+        return builder.toString();
+    }
+}
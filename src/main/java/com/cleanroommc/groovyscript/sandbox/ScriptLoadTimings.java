@@ -0,0 +1,136 @@
+package com.cleanroommc.groovyscript.sandbox;
+
+import org.codehaus.groovy.control.CompilationUnit;
+import org.codehaus.groovy.control.Phases;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how much time a script run spends in each phase of loading and running scripts. Only one phase is measured at a
+ * time. Entering a phase stops the current one, which is returned so that nested work (like a script loading the class of
+ * another script while it runs) can restore it afterwards.
+ * <p>
+ * Only the thread which started the measurement is recorded, since the compile hooks are called for every groovy class loader.
+ */
+public class ScriptLoadTimings {
+
+    public enum Phase {
+        PARSE("parse"),
+        COMPILE("compile"),
+        DEFINE_CLASS("define class"),
+        EXECUTE("execute"),
+        ON_RELOAD("onReload"),
+        AFTER_SCRIPT_RUN("afterScriptRun");
+
+        private final String name;
+
+        Phase(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+
+    private static final Phase[] PHASES = Phase.values();
+
+    private final long[] nanos = new long[PHASES.length];
+    private final CompilationUnit.ProgressCallback progressCallback = (context, phase) -> {
+        if (isRecording()) enter(phase <= Phases.CONVERSION ? Phase.PARSE : Phase.COMPILE);
+    };
+    private @Nullable Thread owner;
+    private @Nullable Phase current;
+    private long since;
+
+    /**
+     * Resets all phases and starts recording on the current thread.
+     */
+    public void start() {
+        Arrays.fill(this.nanos, 0);
+        this.current = null;
+        this.owner = Thread.currentThread();
+    }
+
+    public void stop() {
+        if (!isRecording()) return;
+        enter(null);
+        this.owner = null;
+    }
+
+    public boolean isRecording() {
+        return this.owner == Thread.currentThread();
+    }
+
+    /**
+     * Stops the current phase and starts the given one. Does nothing if this thread isn't recorded.
+     *
+     * @param phase the phase to start or null to stop measuring until the next phase is entered
+     * @return the phase which was stopped
+     */
+    public @Nullable Phase enter(@Nullable Phase phase) {
+        if (!isRecording()) return null;
+        long now = System.nanoTime();
+        Phase previous = this.current;
+        if (previous != null) {
+            this.nanos[previous.ordinal()] += now - this.since;
+        }
+        this.current = phase;
+        this.since = now;
+        return previous;
+    }
+
+    /**
+     * Switches between parsing and compiling when groovy enters a new compile phase. Class definition is entered through the
+     * class collector mixin.
+     */
+    public CompilationUnit.ProgressCallback getProgressCallback() {
+        return progressCallback;
+    }
+
+    public long getNanos(Phase phase) {
+        return this.nanos[phase.ordinal()];
+    }
+
+    public long getTotalNanos() {
+        long total = 0;
+        for (long n : this.nanos) total += n;
+        return total;
+    }
+
+    /**
+     * Adds the measured time of all phases of the other timings to these timings.
+     */
+    public void add(ScriptLoadTimings other) {
+        for (int i = 0; i < this.nanos.length; i++) {
+            this.nanos[i] += other.nanos[i];
+        }
+    }
+
+    /**
+     * Divides the measured time of all phases, for example to average over multiple runs.
+     */
+    public void divide(int divisor) {
+        for (int i = 0; i < this.nanos.length; i++) {
+            this.nanos[i] /= divisor;
+        }
+    }
+
+    public ScriptLoadTimings copy() {
+        ScriptLoadTimings copy = new ScriptLoadTimings();
+        copy.add(this);
+        return copy;
+    }
+
+    @Override
+    public String toString() {
+        StringJoiner joiner = new StringJoiner(", ");
+        for (Phase phase : PHASES) {
+            joiner.add(phase.getName() + " " + TimeUnit.NANOSECONDS.toMillis(getNanos(phase)) + "ms");
+        }
+        return joiner.toString();
+    }
+}
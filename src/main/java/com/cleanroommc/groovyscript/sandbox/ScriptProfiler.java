@@ -0,0 +1,223 @@
+package com.cleanroommc.groovyscript.sandbox;
+
+import com.cleanroommc.groovyscript.GroovyScript;
+import com.cleanroommc.groovyscript.api.GroovyBlacklist;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Attributes the wall time and allocated bytes of script runs to scripts, and optionally to their top level statements,
+ * and to the registry calls they make. While profiling, scripts are compiled with calls to the probe methods of this class
+ * (see {@link com.cleanroommc.groovyscript.sandbox.transformer.ScriptProfilerTransformer}).
+ * <p>
+ * A line probe ends the previous line and everything started in it, so frames which weren't ended, because a call threw,
+ * are ended with the next line or the end of the script. The results are written as collapsed stacks, which can be turned
+ * into flame graphs by most flame graph tools.
+ */
+public class ScriptProfiler {
+
+    private static final ThreadMXBean THREAD_BEAN = ManagementFactory.getThreadMXBean();
+    private static final boolean TRACK_ALLOCATION = THREAD_BEAN instanceof com.sun.management.ThreadMXBean &&
+                                                    ((com.sun.management.ThreadMXBean) THREAD_BEAN).isThreadAllocatedMemorySupported();
+
+    private static @Nullable Thread owner;
+    private static boolean lines;
+    private static final List<Frame> stack = new ArrayList<>();
+    // self time and allocated bytes of each collapsed stack
+    private static final Map<String, long[]> samples = new Object2ObjectOpenHashMap<>();
+
+    /**
+     * Starts profiling script runs on the current thread. Scripts compiled from now on are instrumented. The post init scripts
+     * are removed from the script cache, so that they are compiled again with probes on the next run.
+     *
+     * @param lines if top level statements should be profiled
+     */
+    @GroovyBlacklist
+    @ApiStatus.Internal
+    public static void start(boolean lines) {
+        ScriptProfiler.owner = Thread.currentThread();
+        ScriptProfiler.lines = lines;
+        stack.clear();
+        samples.clear();
+        forgetPostInitScripts();
+    }
+
+    /**
+     * Stops profiling, writes the collapsed stacks into the logs folder and returns a short summary of the slowest scripts.
+     * The instrumented post init scripts are removed from the script cache again, so that the next run compiles them without
+     * probes. Must also be called if the profiled run failed.
+     */
+    @GroovyBlacklist
+    @ApiStatus.Internal
+    public static List<String> stop() throws IOException {
+        owner = null;
+        stack.clear();
+        forgetPostInitScripts();
+        File logs = new File(FileUtil.getMinecraftHome(), "logs");
+        File timeFile = new File(logs, "groovyscript_profile_time.collapsed");
+        File allocationFile = new File(logs, "groovyscript_profile_alloc.collapsed");
+        // flame graphs need integer sample counts, time is written in microseconds
+        writeCollapsed(timeFile, 0, TimeUnit.NANOSECONDS.toMicros(1));
+        if (TRACK_ALLOCATION) writeCollapsed(allocationFile, 1, 1);
+
+        Map<String, long[]> scripts = new Object2ObjectOpenHashMap<>();
+        samples.forEach((path, sample) -> {
+            int i = path.indexOf(';');
+            long[] total = scripts.computeIfAbsent(i < 0 ? path : path.substring(0, i), k -> new long[2]);
+            total[0] += sample[0];
+            total[1] += sample[1];
+        });
+        List<String> summary = new ArrayList<>();
+        summary.add("Wrote profile to " + timeFile.getPath() + (TRACK_ALLOCATION ? " and " + allocationFile.getName() : ""));
+        scripts.entrySet().stream()
+                .sorted((a, b) -> Long.compare(b.getValue()[0], a.getValue()[0]))
+                .limit(10)
+                .forEach(entry -> summary.add(String.format(" - %s: %dms, %dkB allocated", entry.getKey(),
+                                                            TimeUnit.NANOSECONDS.toMillis(entry.getValue()[0]),
+                                                            entry.getValue()[1] / 1024)));
+        samples.clear();
+        return summary;
+    }
+
+    private static void forgetPostInitScripts() {
+        GroovyScriptSandbox sandbox = GroovyScript.getSandbox();
+        sandbox.forgetScripts(GroovyScript.getRunConfig().getSortedFiles(sandbox.getScriptRoot(), LoadStage.POST_INIT.getName()), true);
+    }
+
+    private static void writeCollapsed(File file, int index, long unit) throws IOException {
+        String content = samples.entrySet().stream()
+                .filter(entry -> entry.getValue()[index] >= unit)
+                .sorted(Map.Entry.comparingByKey())
+                .map(entry -> entry.getKey() + " " + entry.getValue()[index] / unit)
+                .collect(Collectors.joining("\n"));
+        Files.createDirectories(file.getParentFile().toPath());
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns true if scripts which are compiled now should be instrumented.
+     */
+    @GroovyBlacklist
+    public static boolean isInstrumenting() {
+        return owner != null;
+    }
+
+    @GroovyBlacklist
+    public static boolean isProfilingLines() {
+        return lines;
+    }
+
+    private static boolean isRecording() {
+        return owner == Thread.currentThread();
+    }
+
+    @GroovyBlacklist
+    static void enterScript(String name) {
+        if (isRecording()) push(name, true);
+    }
+
+    @GroovyBlacklist
+    static void exitScript() {
+        if (isRecording() && !stack.isEmpty()) {
+            popTo(findScriptFrame());
+        }
+    }
+
+    /**
+     * Probe called before each top level statement of a script. Ends the previous statement.
+     */
+    public static void line(int line) {
+        if (!isRecording() || stack.isEmpty()) return;
+        int script = findScriptFrame();
+        popTo(script + 1);
+        push("line " + line, false);
+    }
+
+    /**
+     * Probe called before a registry call.
+     *
+     * @return the stack depth before the call, which must be passed to {@link #exit(Object, Object)}
+     */
+    public static @Nullable Object enter(String call) {
+        if (!isRecording() || stack.isEmpty()) return null;
+        int depth = stack.size();
+        push(call, false);
+        return depth;
+    }
+
+    /**
+     * Probe called after a registry call.
+     *
+     * @param token the value returned by {@link #enter(String)}
+     * @param result the result of the call, which is returned with its type, so that statically compiled scripts can still
+     *               assign it
+     */
+    public static <T> T exit(@Nullable Object token, T result) {
+        if (token instanceof Integer && isRecording()) {
+            popTo((Integer) token);
+        }
+        return result;
+    }
+
+    private static int findScriptFrame() {
+        for (int i = stack.size() - 1; i >= 0; i--) {
+            if (stack.get(i).script) return i;
+        }
+        return 0;
+    }
+
+    private static void push(String name, boolean script) {
+        Frame parent = stack.isEmpty() ? null : stack.get(stack.size() - 1);
+        stack.add(new Frame(parent == null ? name : parent.path + ";" + name, script, System.nanoTime(), getAllocatedBytes()));
+    }
+
+    private static void popTo(int depth) {
+        while (stack.size() > depth) {
+            Frame frame = stack.remove(stack.size() - 1);
+            long time = System.nanoTime() - frame.startTime;
+            long allocated = getAllocatedBytes() - frame.startAllocated;
+            long[] sample = samples.computeIfAbsent(frame.path, k -> new long[2]);
+            sample[0] += time - frame.childTime;
+            sample[1] += allocated - frame.childAllocated;
+            if (!stack.isEmpty()) {
+                Frame parent = stack.get(stack.size() - 1);
+                parent.childTime += time;
+                parent.childAllocated += allocated;
+            }
+        }
+    }
+
+    private static long getAllocatedBytes() {
+        return TRACK_ALLOCATION ? ((com.sun.management.ThreadMXBean) THREAD_BEAN).getThreadAllocatedBytes(Thread.currentThread().getId()) : 0;
+    }
+
+    private static class Frame {
+
+        private final String path;
+        private final boolean script;
+        private final long startTime;
+        private final long startAllocated;
+        private long childTime;
+        private long childAllocated;
+
+        private Frame(String path, boolean script, long startTime, long startAllocated) {
+            this.path = path;
+            this.script = script;
+            this.startTime = startTime;
+            this.startAllocated = startAllocated;
+        }
+    }
+}
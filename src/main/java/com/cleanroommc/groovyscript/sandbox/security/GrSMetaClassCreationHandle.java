@@ -1,10 +1,13 @@
 package com.cleanroommc.groovyscript.sandbox.security;
 
+import com.cleanroommc.groovyscript.registry.RegistryMetrics;
+import com.cleanroommc.groovyscript.registry.RegistryMetricsMetaClass;
 import groovy.lang.MetaClass;
 import groovy.lang.MetaClassRegistry;
 
 /**
- * Handles creation of groovy {@link MetaClass}s. It creates a special empty MetaClass for blacklisted classes
+ * Handles creation of groovy {@link MetaClass}s. It creates a special empty MetaClass for blacklisted classes and wraps the
+ * MetaClass of registries to measure their calls while metrics are enabled
  */
 public class GrSMetaClassCreationHandle extends MetaClassRegistry.MetaClassCreationHandle {
 
@@ -18,6 +21,10 @@ public class GrSMetaClassCreationHandle extends MetaClassRegistry.MetaClassCreat
         if (!GroovySecurityManager.INSTANCE.isValid(theClass)) {
             return new BlackListedMetaClass(theClass);
         }
-        return super.createNormalMetaClass(theClass, registry);
+        MetaClass metaClass = super.createNormalMetaClass(theClass, registry);
+        if (RegistryMetrics.onMetaClassCreated(theClass)) {
+            return new RegistryMetricsMetaClass(metaClass);
+        }
+        return metaClass;
     }
 }
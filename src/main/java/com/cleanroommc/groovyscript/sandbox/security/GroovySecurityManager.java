@@ -3,6 +3,7 @@ package com.cleanroommc.groovyscript.sandbox.security;
 import com.cleanroommc.groovyscript.api.GroovyBlacklist;
 import com.cleanroommc.groovyscript.compat.mods.ModSupport;
 import com.cleanroommc.groovyscript.sandbox.GroovyLogImpl;
+import com.cleanroommc.groovyscript.sandbox.ScriptProfiler;
 import com.cleanroommc.groovyscript.sandbox.expand.LambdaClosure;
 import groovy.lang.GroovyClassLoader;
 import groovy.lang.GroovyShell;
@@ -38,7 +39,7 @@ public class GroovySecurityManager {
     }
 
     public void initDefaults() {
-        unBanClasses(GroovyLogImpl.class, LambdaClosure.class);
+        unBanClasses(GroovyLogImpl.class, LambdaClosure.class, ScriptProfiler.class); // profiler probes are called by instrumented scripts
         unBanClasses(NullObject.class, FormatHelper.class, GStringImpl.class, RegexSupport.class);
         unBanClass(PrintWriter.class); // for print methods
 
@@ -1,5 +1,6 @@
 package com.cleanroommc.groovyscript.sandbox.transformer;
 
+import com.cleanroommc.groovyscript.sandbox.ScriptProfiler;
 import org.codehaus.groovy.ast.*;
 import org.codehaus.groovy.ast.expr.ClassExpression;
 import org.codehaus.groovy.ast.expr.Expression;
@@ -41,6 +42,9 @@ public class GroovyScriptCompiler extends CompilationCustomizer {
             visitor.visitField(f);
             return false;
         });
+        if (ScriptProfiler.isInstrumenting()) {
+            ScriptProfilerTransformer.instrument(source, classNode);
+        }
     }
 
     private static boolean isBannedFromSide(AnnotatedNode node) {
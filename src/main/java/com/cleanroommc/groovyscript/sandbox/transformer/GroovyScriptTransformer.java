@@ -21,10 +21,12 @@ public class GroovyScriptTransformer extends ClassCodeExpressionTransformer {
     private static final ClassNode groovyFile = ClassHelper.makeCached(GroovyFile.class);
     private final SourceUnit source;
     private final ClassNode classNode;
+    private final boolean staticallyCompiled;
 
     public GroovyScriptTransformer(SourceUnit source, ClassNode classNode) {
         this.source = source;
         this.classNode = classNode;
+        this.staticallyCompiled = StaticCompilationCustomizer.isStaticallyCompiled(classNode);
     }
 
     @Override
@@ -107,7 +109,9 @@ public class GroovyScriptTransformer extends ClassCodeExpressionTransformer {
             if (GameObjectHandlerManager.hasGameObjectHandler(name)) {
                 List<Expression> args = getArguments(expression.getArguments());
                 args.add(0, new ConstantExpression(name));
-                return makeCheckedCall(bracketHandlerClass, "getGameObject", args);
+                Expression call = makeCheckedCall(bracketHandlerClass, "getGameObject", args);
+                // the type checker needs to know the type of the game object
+                return this.staticallyCompiled ? CastExpression.asExpression(ClassHelper.make(GameObjectHandlerManager.getReturnTypeOf(name)), call) : call;
             }
         }
         return expression;
@@ -0,0 +1,194 @@
+package com.cleanroommc.groovyscript.sandbox.transformer;
+
+import com.cleanroommc.groovyscript.GroovyScript;
+import com.cleanroommc.groovyscript.api.GroovyBlacklist;
+import com.cleanroommc.groovyscript.api.IDynamicGroovyProperty;
+import com.cleanroommc.groovyscript.sandbox.security.GroovySecurityManager;
+import groovy.lang.GroovySystem;
+import groovy.lang.MetaClass;
+import org.codehaus.groovy.ast.*;
+import org.codehaus.groovy.ast.expr.*;
+import org.codehaus.groovy.control.SourceUnit;
+import org.codehaus.groovy.runtime.MetaClassHelper;
+import org.codehaus.groovy.transform.sc.StaticCompilationMetadataKeys;
+import org.codehaus.groovy.transform.stc.AbstractTypeCheckingExtension;
+import org.codehaus.groovy.transform.stc.ExtensionMethodNode;
+import org.codehaus.groovy.transform.stc.StaticTypeCheckingVisitor;
+import org.codehaus.groovy.transform.stc.StaticTypesMarker;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Type checking extension for statically compiled scripts.
+ * <p>
+ * Statically compiled calls and field access don't go through meta classes, so the {@link GroovySecurityManager} is asked
+ * while type checking instead. Variables from the script binding, untyped values and methods and properties which only
+ * exist in meta classes, like expansions, are left dynamic.
+ *
+ * @see StaticCompilationCustomizer
+ */
+public class SandboxTypeCheckingExtension extends AbstractTypeCheckingExtension {
+
+    private static final ClassNode BLACKLIST = ClassHelper.make(GroovyBlacklist.class);
+    private static final ClassNode DYNAMIC_PROPERTY = ClassHelper.make(IDynamicGroovyProperty.class);
+
+    public SandboxTypeCheckingExtension(StaticTypeCheckingVisitor typeCheckingVisitor) {
+        super(typeCheckingVisitor);
+    }
+
+    @Override
+    public void onMethodSelection(Expression expression, MethodNode target) {
+        if (expression instanceof MethodCallExpression) {
+            checkClass(getType(((MethodCallExpression) expression).getObjectExpression()), expression);
+        }
+        checkMethod(target instanceof ExtensionMethodNode ? ((ExtensionMethodNode) target).getExtensionMethodNode() : target, expression);
+    }
+
+    /**
+     * Field and property access is not reported to extensions, so it is checked after the class was type checked.
+     */
+    @Override
+    public void afterVisitClass(ClassNode node) {
+        new MemberAccessChecker().visitClass(node);
+    }
+
+    @Override
+    public boolean handleUnresolvedVariableExpression(VariableExpression vexp) {
+        // variables of the binding, which are typed by the objects that are registered for them
+        Object value = GroovyScript.isSandboxLoaded() ? GroovyScript.getSandbox().getBindings().get(vexp.getName()) : null;
+        makeDynamic(vexp, value == null ? ClassHelper.OBJECT_TYPE : ClassHelper.make(value.getClass()));
+        return true;
+    }
+
+    @Override
+    public boolean handleUnresolvedProperty(PropertyExpression pexp) {
+        ClassNode receiver = getType(pexp.getObjectExpression());
+        if (isDynamic(receiver)) {
+            makeDynamic(pexp);
+            return true;
+        }
+        MetaClass metaClass = getMetaClass(receiver);
+        if (metaClass != null && metaClass.getMetaProperty(pexp.getPropertyAsString()) != null) {
+            makeDynamic(pexp);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public List<MethodNode> handleMissingMethod(ClassNode receiver, String name, ArgumentListExpression argumentList, ClassNode[] argumentTypes, MethodCall call) {
+        // call is null for operators
+        if (call == null) return Collections.emptyList();
+        if (isDynamic(receiver)) {
+            return Collections.singletonList(makeDynamic(call));
+        }
+        MetaClass metaClass = getMetaClass(receiver);
+        if (metaClass != null && !metaClass.respondsTo(null, name).isEmpty()) {
+            return Collections.singletonList(makeDynamic(call));
+        }
+        return Collections.emptyList();
+    }
+
+    /**
+     * Untyped values and objects with dynamic properties, like {@code mods}, can only be used dynamically.
+     */
+    private static boolean isDynamic(ClassNode classNode) {
+        return ClassHelper.isObjectType(classNode) || classNode.implementsInterface(DYNAMIC_PROPERTY);
+    }
+
+    private void checkMethod(MethodNode method, Expression expression) {
+        ClassNode declaringClass = method.getDeclaringClass();
+        if (declaringClass == null || !checkClass(declaringClass, expression)) return;
+        declaringClass = declaringClass.redirect();
+        if (declaringClass.isResolved() &&
+            (!GroovySecurityManager.INSTANCE.isValidMethod(declaringClass.getTypeClass(), method.getName()) || !method.getAnnotations(BLACKLIST).isEmpty())) {
+            addStaticTypeError("Tried to call method " + method.getName() + " of class " + declaringClass.getName() + ", but method is blacklisted!", expression);
+        }
+    }
+
+    private void checkProperty(PropertyExpression pexp) {
+        // dynamic properties are checked by the meta class
+        if (pexp.getNodeMetaData(StaticTypesMarker.DYNAMIC_RESOLUTION) != null) return;
+        String name = pexp.getPropertyAsString();
+        if (name == null || name.isEmpty()) return;
+        ClassNode owner = pexp.getNodeMetaData(StaticCompilationMetadataKeys.PROPERTY_OWNER);
+        if (owner == null) {
+            Expression objectExpression = pexp.getObjectExpression();
+            owner = objectExpression instanceof ClassExpression ? objectExpression.getType() : getType(objectExpression);
+        }
+        if (owner == null || !checkClass(owner, pexp)) return;
+        FieldNode field = owner.getField(name);
+        if (field != null) {
+            checkField(field, pexp);
+        }
+        // attributes always access the field
+        if (pexp instanceof AttributeExpression) return;
+        String capitalized = MetaClassHelper.capitalize(name);
+        for (MethodNode accessor : new MethodNode[]{owner.getGetterMethod("get" + capitalized), owner.getGetterMethod("is" + capitalized), owner.getSetterMethod("set" + capitalized)}) {
+            if (accessor != null) {
+                checkMethod(accessor, pexp);
+            }
+        }
+    }
+
+    private void checkField(FieldNode field, Expression expression) {
+        ClassNode declaringClass = field.getDeclaringClass();
+        if (declaringClass == null || !checkClass(declaringClass, expression)) return;
+        if (!isValid(field)) {
+            addStaticTypeError("Tried to access field " + field.getName() + " of class " + declaringClass.getName() + ", but field is blacklisted!", expression);
+        }
+    }
+
+    private static boolean isValid(FieldNode field) {
+        ClassNode declaringClass = field.getDeclaringClass().redirect();
+        if (declaringClass.isResolved()) {
+            try {
+                return GroovySecurityManager.INSTANCE.isValid(declaringClass.getTypeClass().getDeclaredField(field.getName()));
+            } catch (NoSuchFieldException | LinkageError ignored) {
+            }
+        }
+        return field.getAnnotations(BLACKLIST).isEmpty();
+    }
+
+    private boolean checkClass(ClassNode classNode, Expression expression) {
+        classNode = classNode.redirect();
+        if (classNode.isResolved() && !GroovySecurityManager.INSTANCE.isValid(classNode.getTypeClass())) {
+            addStaticTypeError("Tried to access class " + classNode.getName() + ", but class is blacklisted!", expression);
+            return false;
+        }
+        return true;
+    }
+
+    private class MemberAccessChecker extends ClassCodeVisitorSupport {
+
+        @Override
+        protected SourceUnit getSourceUnit() {
+            return typeCheckingVisitor.getTypeCheckingContext().getSource();
+        }
+
+        @Override
+        public void visitPropertyExpression(PropertyExpression expression) {
+            checkProperty(expression);
+            super.visitPropertyExpression(expression);
+        }
+
+        @Override
+        public void visitAttributeExpression(AttributeExpression expression) {
+            checkProperty(expression);
+            super.visitAttributeExpression(expression);
+        }
+
+        @Override
+        public void visitFieldExpression(FieldExpression expression) {
+            checkField(expression.getField(), expression);
+            super.visitFieldExpression(expression);
+        }
+    }
+
+    private static MetaClass getMetaClass(ClassNode classNode) {
+        classNode = classNode.redirect();
+        if (!classNode.isResolved() || classNode.isPrimaryClassNode()) return null;
+        return GroovySystem.getMetaClassRegistry().getMetaClass(classNode.getTypeClass());
+    }
+}
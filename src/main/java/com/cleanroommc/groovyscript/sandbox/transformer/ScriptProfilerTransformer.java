@@ -0,0 +1,117 @@
+package com.cleanroommc.groovyscript.sandbox.transformer;
+
+import com.cleanroommc.groovyscript.sandbox.ScriptProfiler;
+import org.codehaus.groovy.ast.*;
+import org.codehaus.groovy.ast.expr.*;
+import org.codehaus.groovy.ast.stmt.BlockStatement;
+import org.codehaus.groovy.ast.stmt.ExpressionStatement;
+import org.codehaus.groovy.ast.stmt.Statement;
+import org.codehaus.groovy.control.SourceUnit;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Inserts the probes of the {@link ScriptProfiler} into the body of a script. Calls on bindings, like
+ * {@code mods.mekanism.crusher.removeByInput(...)}, are wrapped in enter and exit probes named after the call. A call chain
+ * which starts with such a call, like a recipe builder, is wrapped as a whole as well. If lines are profiled, a line probe is
+ * inserted before each top level statement. Closures are not instrumented, since they usually don't run with the script.
+ */
+public class ScriptProfilerTransformer extends ClassCodeExpressionTransformer {
+
+    private static final ClassNode profilerClass = ClassHelper.makeCached(ScriptProfiler.class);
+
+    private final SourceUnit source;
+    // true while the object expression of a call is transformed, since it's part of the same call chain
+    private boolean inChain = false;
+
+    private ScriptProfilerTransformer(SourceUnit source) {
+        this.source = source;
+    }
+
+    public static void instrument(SourceUnit source, ClassNode classNode) {
+        if (!classNode.isScript()) return;
+        MethodNode run = classNode.getDeclaredMethod("run", Parameter.EMPTY_ARRAY);
+        if (run == null || !(run.getCode() instanceof BlockStatement block)) return;
+        ScriptProfilerTransformer transformer = new ScriptProfilerTransformer(source);
+        List<Statement> statements = new ArrayList<>();
+        for (Statement statement : block.getStatements()) {
+            if (ScriptProfiler.isProfilingLines() && statement.getLineNumber() > 0) {
+                Expression probe = new StaticMethodCallExpression(profilerClass, "line", new ArgumentListExpression(new ConstantExpression(statement.getLineNumber(), true)));
+                statements.add(new ExpressionStatement(probe));
+            }
+            statement.visit(transformer);
+            statements.add(statement);
+        }
+        block.getStatements().clear();
+        block.getStatements().addAll(statements);
+    }
+
+    @Override
+    protected SourceUnit getSourceUnit() {
+        return source;
+    }
+
+    @Override
+    public Expression transform(Expression expr) {
+        if (expr == null) return null;
+        boolean outermost = !this.inChain;
+        if (!(expr instanceof MethodCallExpression call)) {
+            this.inChain = false;
+            Expression result = super.transform(expr);
+            this.inChain = !outermost;
+            return result;
+        }
+        String name = getBindingCall(call);
+        MethodCallExpression root = call;
+        while (root.getObjectExpression() instanceof MethodCallExpression objectCall) {
+            root = objectCall;
+        }
+        String rootName = root == call ? null : getBindingCall(root);
+
+        this.inChain = true;
+        call.setObjectExpression(transform(call.getObjectExpression()));
+        this.inChain = false;
+        call.setMethod(transform(call.getMethod()));
+        call.setArguments(transform(call.getArguments()));
+        this.inChain = !outermost;
+
+        if (name != null) {
+            return wrap(name, call);
+        }
+        if (rootName != null && outermost) {
+            return wrap(rootName + "..." + call.getMethodAsString(), call);
+        }
+        return call;
+    }
+
+    private static Expression wrap(String name, Expression call) {
+        Expression enter = new StaticMethodCallExpression(profilerClass, "enter", new ArgumentListExpression(new ConstantExpression(name)));
+        Expression exit = new StaticMethodCallExpression(profilerClass, "exit", new ArgumentListExpression(enter, call));
+        exit.setSourcePosition(call);
+        return exit;
+    }
+
+    /**
+     * Returns the name of the call if it is called on a binding or a property of it, for example {@code crafting.remove}.
+     */
+    private static @Nullable String getBindingCall(MethodCallExpression call) {
+        String method = call.getMethodAsString();
+        if (method == null || call.isImplicitThis()) return null;
+        String receiver = getBindingPath(call.getObjectExpression());
+        return receiver == null ? null : receiver + "." + method;
+    }
+
+    private static @Nullable String getBindingPath(Expression expr) {
+        if (expr instanceof VariableExpression variable) {
+            return variable.getAccessedVariable() instanceof DynamicVariable ? variable.getName() : null;
+        }
+        if (expr instanceof PropertyExpression property && !property.isSpreadSafe()) {
+            String object = getBindingPath(property.getObjectExpression());
+            String name = property.getPropertyAsString();
+            return object == null || name == null ? null : object + "." + name;
+        }
+        return null;
+    }
+}
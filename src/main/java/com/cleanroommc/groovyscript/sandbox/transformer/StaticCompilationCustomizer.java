@@ -0,0 +1,73 @@
+package com.cleanroommc.groovyscript.sandbox.transformer;
+
+import com.cleanroommc.groovyscript.GroovyScript;
+import com.cleanroommc.groovyscript.sandbox.Preprocessor;
+import groovy.transform.CompileDynamic;
+import groovy.transform.CompileStatic;
+import groovy.transform.TypeChecked;
+import org.codehaus.groovy.ast.AnnotationNode;
+import org.codehaus.groovy.ast.ClassHelper;
+import org.codehaus.groovy.ast.ClassNode;
+import org.codehaus.groovy.ast.expr.ConstantExpression;
+import org.codehaus.groovy.classgen.GeneratorContext;
+import org.codehaus.groovy.control.CompilationFailedException;
+import org.codehaus.groovy.control.CompilePhase;
+import org.codehaus.groovy.control.SourceUnit;
+import org.codehaus.groovy.control.customizers.CompilationCustomizer;
+
+import java.io.File;
+import java.net.URI;
+
+/**
+ * Compiles scripts statically if they have the {@code COMPILE_STATIC} preprocessor or if {@code compileStatic} is enabled
+ * in the run config. This is done by adding {@link CompileStatic} with the {@link SandboxTypeCheckingExtension} to all
+ * classes of the script, unless a class already decides how it is compiled. {@link GroovyScriptCompiler} runs before the
+ * type checking, so scripts are transformed the same way in both modes.
+ */
+public class StaticCompilationCustomizer extends CompilationCustomizer {
+
+    private static final ClassNode COMPILE_STATIC = ClassHelper.make(CompileStatic.class);
+    private static final ClassNode COMPILE_DYNAMIC = ClassHelper.make(CompileDynamic.class);
+    private static final ClassNode TYPE_CHECKED = ClassHelper.make(TypeChecked.class);
+
+    public StaticCompilationCustomizer() {
+        // annotations must be added before they are collected in semantic analysis
+        super(CompilePhase.CONVERSION);
+    }
+
+    @Override
+    public void call(SourceUnit source, GeneratorContext context, ClassNode classNode) throws CompilationFailedException {
+        if (!isCompileStatic(source) || hasCompileAnnotation(classNode)) return;
+        AnnotationNode annotation = new AnnotationNode(COMPILE_STATIC);
+        annotation.addMember("extensions", new ConstantExpression(SandboxTypeCheckingExtension.class.getName()));
+        classNode.addAnnotation(annotation);
+    }
+
+    /**
+     * Checks if a class is compiled statically. Only works after the annotations of the class are resolved.
+     */
+    public static boolean isStaticallyCompiled(ClassNode classNode) {
+        return !classNode.getAnnotations(COMPILE_STATIC).isEmpty() || !classNode.getAnnotations(TYPE_CHECKED).isEmpty();
+    }
+
+    private static boolean isCompileStatic(SourceUnit source) {
+        if (GroovyScript.getRunConfig().isCompileStatic()) return true;
+        URI uri = source.getSource().getURI();
+        if (uri == null || !"file".equals(uri.getScheme())) return false;
+        File file = new File(uri);
+        return file.exists() && Preprocessor.hasPreprocessor(Preprocessor.parsePreprocessors(file), "COMPILE_STATIC");
+    }
+
+    private static boolean hasCompileAnnotation(ClassNode classNode) {
+        for (AnnotationNode annotation : classNode.getAnnotations()) {
+            String name = annotation.getClassNode().getName();
+            // annotations are not resolved yet, so they may only have their simple name
+            if (name.equals(COMPILE_STATIC.getName()) || name.equals(COMPILE_STATIC.getNameWithoutPackage()) ||
+                name.equals(COMPILE_DYNAMIC.getName()) || name.equals(COMPILE_DYNAMIC.getNameWithoutPackage()) ||
+                name.equals(TYPE_CHECKED.getName()) || name.equals(TYPE_CHECKED.getNameWithoutPackage())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -8,8 +8,6 @@ import net.minecraft.launchwrapper.Launch;
 import net.prominic.groovyls.compiler.control.GroovyLSCompilationUnit;
 import net.prominic.groovyls.config.CompilationUnitFactoryBase;
 import org.codehaus.groovy.control.CompilerConfiguration;
-import org.codehaus.groovy.control.SourceUnit;
-import org.jetbrains.annotations.Nullable;
 
 import java.io.File;
 import java.net.URI;
@@ -22,7 +20,6 @@ public class GroovyScriptCompilationUnitFactory extends CompilationUnitFactoryBa
 
     private final File root;
     private final GroovyScriptLanguageServerContext languageServerContext;
-    private final Map<URI, GroovyLSCompilationUnit> compilationUnitsByScript = new HashMap<>();
 
     public GroovyScriptCompilationUnitFactory(File root, GroovyScriptLanguageServerContext languageServerContext) {
         this.root = root;
@@ -47,42 +44,21 @@ public class GroovyScriptCompilationUnitFactory extends CompilationUnitFactoryBa
     }
 
     @Override
-    public GroovyLSCompilationUnit create(Path workspaceRoot, @Nullable URI context) {
-        if (context == null || isInClassesContext(context)) {
-            context = null; // actions on classes are going into classes only unit
-        }
-
-        var unit = compilationUnitsByScript.computeIfAbsent(context, uri -> new GroovyLSCompilationUnit(getConfiguration(), null, getClassLoader(), languageServerContext));
-
-        var changedUris = languageServerContext.getFileContentsTracker().getChangedURIs();
-
-        removeSources(unit, changedUris);
-
-        // add open classes
+    public Set<URI> getSharedSources(Path workspaceRoot) {
+        // scripts only see the classes, but not each other
+        Set<URI> result = new HashSet<>();
+        getAllClasses().forEach(path -> result.add(path.toUri()));
         languageServerContext.getFileContentsTracker().getOpenURIs().stream()
-                .filter(uri -> {
-                    Path openPath = Paths.get(uri);
-                    return openPath.normalize().startsWith(workspaceRoot.normalize());
-                })
+                .filter(uri -> Paths.get(uri).normalize().startsWith(workspaceRoot.normalize()))
                 .filter(this::isInClassesContext)
-                .forEach(uri -> {
-                    addOpenFileToCompilationUnit(uri, languageServerContext.getFileContentsTracker().getContents(uri), unit);
-                });
-
-        // add all other classes too
-        getAllClasses()
-                .filter(path -> !languageServerContext.getFileContentsTracker().isOpen(path.toUri()))
-                .forEach(path -> {
-                    addOpenFileToCompilationUnit(path.toUri(), languageServerContext.getFileContentsTracker().getContents(path.toUri()), unit);
-                });
-
-        if (context != null) {
-            var contents = languageServerContext.getFileContentsTracker().getContents(context);
-
-            // we're in script context so only classes and the script itself
-            addOpenFileToCompilationUnit(context, contents, unit);
-        }
+                .forEach(result::add);
+        return result;
+    }
 
+    @Override
+    public GroovyLSCompilationUnit create(Path workspaceRoot, URI uri) {
+        var unit = createCompilationUnit(uri);
+        addOpenFileToCompilationUnit(uri, languageServerContext.getFileContentsTracker().getContents(uri), unit);
         return unit;
     }
 
@@ -98,18 +74,4 @@ public class GroovyScriptCompilationUnitFactory extends CompilationUnitFactoryBa
                 .map(File::toPath)
                 .map(path -> GroovyScript.getScriptFile().toPath().resolve(path));
     }
-
-    protected void removeSources(GroovyLSCompilationUnit unit, Set<URI> urisToRemove) {
-        List<SourceUnit> sourcesToRemove = new ArrayList<>();
-        unit.iterator().forEachRemaining(sourceUnit -> {
-            URI uri = sourceUnit.getSource().getURI();
-            if (urisToRemove.contains(uri)) {
-                sourcesToRemove.add(sourceUnit);
-            }
-        });
-
-        // if an URI has changed, we remove it from the compilation unit so
-        // that a new version can be built from the updated source file
-        unit.removeSources(sourcesToRemove);
-    }
 }
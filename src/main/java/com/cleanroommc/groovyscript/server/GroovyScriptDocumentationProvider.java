@@ -5,42 +5,55 @@ import com.cleanroommc.groovyscript.api.IScriptReloadable;
 import com.cleanroommc.groovyscript.api.documentation.annotations.MethodDescription;
 import com.cleanroommc.groovyscript.compat.mods.ModSupport;
 import com.cleanroommc.groovyscript.documentation.Registry;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import net.prominic.groovyls.compiler.ast.ASTContext;
 import net.prominic.groovyls.compiler.documentation.IDocumentationProvider;
 import net.prominic.groovyls.compiler.util.GroovyReflectionUtils;
 import org.codehaus.groovy.ast.AnnotatedNode;
 import org.codehaus.groovy.ast.ClassNode;
 import org.codehaus.groovy.ast.MethodNode;
+import org.apache.commons.lang3.tuple.Pair;
 import org.jetbrains.annotations.Nullable;
 
+import java.lang.reflect.Method;
 import java.util.Collections;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
 
 public class GroovyScriptDocumentationProvider implements IDocumentationProvider {
 
+    // the documentation only depends on the registry class and the annotations of the method, so it never changes at runtime
+    private final Cache<Pair<Class<?>, Method>, Optional<String>> documentationCache = CacheBuilder.newBuilder().maximumSize(512).build();
+
     @Override
     public @Nullable String getDocumentation(AnnotatedNode node, ASTContext context) {
-        var builder = new StringBuilder();
-
-        if (node instanceof MethodNode methodNode && methodNode.getDeclaringClass().implementsInterface(new ClassNode(IScriptReloadable.class))) {
-            ModSupport.getAllContainers().stream()
-                    .filter(IGroovyContainer::isLoaded)
-                    .map(groovyContainer -> {
-                        var methodRegistry = groovyContainer.get().getRegistries().stream()
-                                .filter(registry -> registry.getClass().equals(methodNode.getDeclaringClass().getTypeClass()))
-                                .findFirst();
-
-                        if (methodRegistry.isPresent()) {
-                            var method = GroovyReflectionUtils.resolveMethodFromMethodNode(methodNode, context);
-
-                            if (method.isPresent() && method.get().isAnnotationPresent(MethodDescription.class)) {
-                                return new Registry(groovyContainer, methodRegistry.get()).documentMethods(Collections.singletonList(method.get()), true);
-                            }
-                        }
-
-                        return null;
-                    }).filter(Objects::nonNull).forEach(builder::append);
+        if (!(node instanceof MethodNode methodNode) || !methodNode.getDeclaringClass().implementsInterface(new ClassNode(IScriptReloadable.class))) {
+            return null;
         }
+        var method = GroovyReflectionUtils.resolveMethodFromMethodNode(methodNode, context);
+        if (!method.isPresent() || !method.get().isAnnotationPresent(MethodDescription.class)) {
+            return null;
+        }
+        Class<?> registryClass = methodNode.getDeclaringClass().getTypeClass();
+        try {
+            return documentationCache.get(Pair.of(registryClass, method.get()), () -> Optional.ofNullable(documentMethod(registryClass, method.get()))).orElse(null);
+        } catch (ExecutionException e) {
+            return null;
+        }
+    }
+
+    private static @Nullable String documentMethod(Class<?> registryClass, Method method) {
+        var builder = new StringBuilder();
+        ModSupport.getAllContainers().stream()
+                .filter(IGroovyContainer::isLoaded)
+                .map(groovyContainer -> groovyContainer.get().getRegistries().stream()
+                        .filter(registry -> registry.getClass().equals(registryClass))
+                        .findFirst()
+                        .map(registry -> new Registry(groovyContainer, registry).documentMethods(Collections.singletonList(method), true))
+                        .orElse(null))
+                .filter(Objects::nonNull).forEach(builder::append);
 
         return builder.length() == 0 ? null : builder.toString();
     }
@@ -1,11 +1,10 @@
 package com.cleanroommc.groovyscript.server;
 
 import com.cleanroommc.groovyscript.GroovyScript;
+import com.cleanroommc.groovyscript.sandbox.FileUtil;
 import com.cleanroommc.groovyscript.sandbox.GroovyScriptSandbox;
-import com.cleanroommc.groovyscript.sandbox.security.GroovySecurityManager;
-import io.github.classgraph.ClassGraph;
-import io.github.classgraph.ScanResult;
-import net.minecraft.launchwrapper.Launch;
+import com.cleanroommc.groovyscript.server.index.ClassIndex;
+import com.cleanroommc.groovyscript.server.index.ClassIndexer;
 import net.prominic.groovyls.compiler.ILanguageServerContext;
 import net.prominic.groovyls.compiler.documentation.DocumentationFactory;
 import net.prominic.groovyls.compiler.documentation.GroovydocProvider;
@@ -15,16 +14,7 @@ public class GroovyScriptLanguageServerContext implements ILanguageServerContext
 
     private final FileContentsTracker fileContentsTracker = new FileContentsTracker();
 
-    private ScanResult scanResult = new ClassGraph()
-            .enableClassInfo()
-            .enableMethodInfo()
-            .enableSystemJarsAndModules()
-            .overrideClassLoaders(Launch.classLoader)
-            .acceptPaths("*")
-            .rejectClasses(GroovySecurityManager.INSTANCE.getBannedClasses().stream().map(Class::getName).toArray(String[]::new))
-            .rejectPackages(GroovySecurityManager.INSTANCE.getBannedPackages().stream().toArray(String[]::new))
-            .acceptClasses(GroovySecurityManager.INSTANCE.getWhiteListedClasses().stream().map(Class::getName).toArray(String[]::new))
-            .scan();
+    private final ClassIndex classIndex = new ClassIndexer(FileUtil.makeFile(FileUtil.getMinecraftHome(), "cache", "groovy_ls")).createIndex();
 
     private final DocumentationFactory documentationFactory = new DocumentationFactory(new GroovyScriptDocumentationProvider(), new GroovydocProvider());
 
@@ -32,8 +22,9 @@ public class GroovyScriptLanguageServerContext implements ILanguageServerContext
         return GroovyScript.getSandbox();
     }
 
-    public ScanResult getScanResult() {
-        return this.scanResult;
+    @Override
+    public ClassIndex getClassIndex() {
+        return this.classIndex;
     }
 
     @Override
@@ -0,0 +1,292 @@
+package com.cleanroommc.groovyscript.server.index;
+
+import com.cleanroommc.groovyscript.GroovyScript;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import net.minecraft.launchwrapper.Launch;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.*;
+import java.lang.reflect.Array;
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * An index of all classes and their public methods which can be used in scripts. The index is split into one file per
+ * classpath element. Class names of all files are always kept in memory, while methods are read from disk per package when
+ * they are first requested. See {@link ClassIndexer} for how the files are created.
+ */
+public class ClassIndex {
+
+    static final int VERSION = 1;
+
+    private final Map<String, IndexedClass> classes = new Object2ObjectOpenHashMap<>();
+    private final Map<String, List<PackageSection>> packages = new Object2ObjectOpenHashMap<>();
+
+    // sorted lookups for prefix completion
+    private IndexedClass[] classesBySimpleName = new IndexedClass[0];
+    private IndexedClass[] classesByName = new IndexedClass[0];
+    private String[] sortedPackages = new String[0];
+
+    public Collection<IndexedClass> getAllClasses() {
+        return Collections.unmodifiableCollection(this.classes.values());
+    }
+
+    public Set<String> getPackages() {
+        return Collections.unmodifiableSet(this.packages.keySet());
+    }
+
+    @Nullable
+    public IndexedClass getClassInfo(String name) {
+        return this.classes.get(name);
+    }
+
+    /**
+     * Finds classes which simple name starts with the prefix. Classes with shorter names and shorter packages come first.
+     */
+    public List<IndexedClass> findClassesBySimpleName(String prefix, int limit) {
+        return findClassesBySimpleName(prefix, clazz -> true, limit);
+    }
+
+    /**
+     * Finds classes which simple name starts with the prefix and which match the filter. The limit only counts classes
+     * which match the filter.
+     */
+    public List<IndexedClass> findClassesBySimpleName(String prefix, Predicate<IndexedClass> filter, int limit) {
+        return findByPrefix(this.classesBySimpleName, IndexedClass::getSimpleName, prefix, filter, limit);
+    }
+
+    /**
+     * Finds classes which fully qualified name starts with the prefix.
+     */
+    public List<IndexedClass> findClassesByName(String prefix, int limit) {
+        return findClassesByName(prefix, clazz -> true, limit);
+    }
+
+    /**
+     * Finds classes which fully qualified name starts with the prefix and which match the filter. The limit only counts
+     * classes which match the filter.
+     */
+    public List<IndexedClass> findClassesByName(String prefix, Predicate<IndexedClass> filter, int limit) {
+        return findByPrefix(this.classesByName, IndexedClass::getName, prefix, filter, limit);
+    }
+
+    public List<String> findPackages(String prefix, int limit) {
+        return findByPrefix(this.sortedPackages, Function.identity(), prefix, packageName -> true, limit);
+    }
+
+    /**
+     * Sorts all classes and packages for prefix lookups. Must be called after all index files are read.
+     */
+    void buildLookups() {
+        this.classesBySimpleName = this.classes.values().stream()
+                .sorted(Comparator.comparing(IndexedClass::getSimpleName)
+                                .thenComparingInt(clazz -> clazz.getPackageName().length())
+                                .thenComparing(IndexedClass::getName))
+                .toArray(IndexedClass[]::new);
+        this.classesByName = this.classes.values().stream()
+                .sorted(Comparator.comparing(IndexedClass::getName))
+                .toArray(IndexedClass[]::new);
+        this.sortedPackages = this.packages.keySet().stream()
+                .filter(packageName -> !packageName.isEmpty())
+                .sorted()
+                .toArray(String[]::new);
+    }
+
+    private static <T> List<T> findByPrefix(T[] sorted, Function<T, String> key, String prefix, Predicate<T> filter, int limit) {
+        // binary search for the first element which is not smaller than the prefix
+        int low = 0, high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (key.apply(sorted[mid]).compareTo(prefix) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        List<T> result = new ArrayList<>();
+        for (int i = low; i < sorted.length && result.size() < limit; i++) {
+            if (!key.apply(sorted[i]).startsWith(prefix)) break;
+            if (filter.test(sorted[i])) result.add(sorted[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the public declared methods of a class. Loads the methods of the whole package if they are not loaded yet.
+     */
+    public synchronized List<IndexedMethod> getMethods(IndexedClass clazz) {
+        if (clazz.methods == null) {
+            loadPackage(clazz.getPackageName());
+            if (clazz.methods == null) {
+                // the index file is broken or was deleted
+                clazz.methods = Collections.emptyList();
+            }
+        }
+        return clazz.methods;
+    }
+
+    private void loadPackage(String packageName) {
+        List<PackageSection> sections = this.packages.get(packageName);
+        if (sections == null) return;
+        for (PackageSection section : sections) {
+            byte[] bytes = new byte[section.length];
+            try (RandomAccessFile file = new RandomAccessFile(section.file, "r")) {
+                file.seek(section.offset);
+                file.readFully(bytes);
+            } catch (IOException e) {
+                GroovyScript.LOGGER.error("Failed to read methods of package {} from class index {}", packageName, section.file.getName());
+                continue;
+            }
+            try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+                for (IndexedClass clazz : section.classes) {
+                    int methodCount = in.readInt();
+                    List<IndexedMethod> methods = new ArrayList<>(methodCount);
+                    for (int i = 0; i < methodCount; i++) {
+                        String name = in.readUTF();
+                        boolean isStatic = in.readBoolean();
+                        String returnType = in.readUTF();
+                        String[] parameterTypes = new String[in.readUnsignedByte()];
+                        for (int j = 0; j < parameterTypes.length; j++) {
+                            parameterTypes[j] = in.readUTF();
+                        }
+                        methods.add(new IndexedMethod(clazz.getName(), name, isStatic, returnType, parameterTypes));
+                    }
+                    clazz.methods = methods;
+                }
+            } catch (IOException e) {
+                GroovyScript.LOGGER.error("Class index {} is corrupted", section.file.getName());
+            }
+        }
+    }
+
+    /**
+     * Reads the class names of an index file. Methods are read later on demand.
+     *
+     * @return false if the file doesn't exist or is outdated
+     */
+    boolean readFile(File file) {
+        if (!file.isFile()) return false;
+        byte[] header;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != VERSION) return false;
+            header = new byte[in.readInt()];
+            in.readFully(header);
+        } catch (IOException e) {
+            return false;
+        }
+        long membersStart = 8L + header.length;
+        List<IndexedClass> read = new ArrayList<>();
+        Map<String, PackageSection> sections = new Object2ObjectOpenHashMap<>();
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(header))) {
+            int packageCount = in.readInt();
+            for (int i = 0; i < packageCount; i++) {
+                String packageName = in.readUTF();
+                PackageSection section = new PackageSection(file, membersStart + in.readInt(), in.readInt());
+                int classCount = in.readInt();
+                for (int j = 0; j < classCount; j++) {
+                    IndexedClass clazz = new IndexedClass(in.readUTF(), in.readByte());
+                    section.classes.add(clazz);
+                    read.add(clazz);
+                }
+                sections.put(packageName, section);
+            }
+        } catch (IOException e) {
+            return false;
+        }
+        for (IndexedClass clazz : read) {
+            this.classes.put(clazz.getName(), clazz);
+        }
+        sections.forEach((packageName, section) -> this.packages.computeIfAbsent(packageName, k -> new ArrayList<>(1)).add(section));
+        return true;
+    }
+
+    /**
+     * Writes an index file.
+     *
+     * @param content all classes of a classpath element with their methods grouped by package
+     */
+    static void writeFile(File file, Map<String, Map<IndexedClass, List<IndexedMethod>>> content) throws IOException {
+        ByteArrayOutputStream headerBytes = new ByteArrayOutputStream();
+        ByteArrayOutputStream memberBytes = new ByteArrayOutputStream();
+        DataOutputStream header = new DataOutputStream(headerBytes);
+        DataOutputStream members = new DataOutputStream(memberBytes);
+        header.writeInt(content.size());
+        for (Map.Entry<String, Map<IndexedClass, List<IndexedMethod>>> entry : content.entrySet()) {
+            int offset = members.size();
+            for (List<IndexedMethod> methods : entry.getValue().values()) {
+                members.writeInt(methods.size());
+                for (IndexedMethod method : methods) {
+                    members.writeUTF(method.getName());
+                    members.writeBoolean(method.isStatic());
+                    members.writeUTF(method.getReturnType());
+                    members.writeByte(method.getParameterTypes().length);
+                    for (String parameterType : method.getParameterTypes()) {
+                        members.writeUTF(parameterType);
+                    }
+                }
+            }
+            header.writeUTF(entry.getKey());
+            header.writeInt(offset);
+            header.writeInt(members.size() - offset);
+            header.writeInt(entry.getValue().size());
+            for (IndexedClass clazz : entry.getValue().keySet()) {
+                header.writeUTF(clazz.getName());
+                header.writeByte(clazz.getFlags());
+            }
+        }
+        file.getParentFile().mkdirs();
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            out.writeInt(VERSION);
+            out.writeInt(headerBytes.size());
+            headerBytes.writeTo(out);
+            memberBytes.writeTo(out);
+        }
+    }
+
+    /**
+     * Loads a class by a name from {@link IndexedMethod}, which may be a primitive or an array type.
+     */
+    @Nullable
+    public static Class<?> loadClass(String typeName) {
+        int dimensions = 0;
+        while (typeName.endsWith("[]")) {
+            typeName = typeName.substring(0, typeName.length() - 2);
+            dimensions++;
+        }
+        Class<?> clazz = switch (typeName) {
+            case "boolean" -> boolean.class;
+            case "byte" -> byte.class;
+            case "char" -> char.class;
+            case "short" -> short.class;
+            case "int" -> int.class;
+            case "long" -> long.class;
+            case "float" -> float.class;
+            case "double" -> double.class;
+            case "void" -> void.class;
+            default -> {
+                try {
+                    yield Class.forName(typeName, false, Launch.classLoader);
+                } catch (ClassNotFoundException | LinkageError e) {
+                    yield null;
+                }
+            }
+        };
+        if (clazz == null || dimensions == 0) return clazz;
+        return Array.newInstance(clazz, new int[dimensions]).getClass();
+    }
+
+    private static class PackageSection {
+
+        private final File file;
+        private final long offset;
+        private final int length;
+        private final List<IndexedClass> classes = new ArrayList<>();
+
+        private PackageSection(File file, long offset, int length) {
+            this.file = file;
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+}
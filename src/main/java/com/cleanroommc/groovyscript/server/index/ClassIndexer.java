@@ -0,0 +1,205 @@
+package com.cleanroommc.groovyscript.server.index;
+
+import com.cleanroommc.groovyscript.GroovyScript;
+import com.cleanroommc.groovyscript.api.GroovyBlacklist;
+import com.cleanroommc.groovyscript.sandbox.security.GroovySecurityManager;
+import com.google.common.hash.Hashing;
+import io.github.classgraph.ClassGraph;
+import io.github.classgraph.ClassInfo;
+import io.github.classgraph.MethodInfo;
+import io.github.classgraph.MethodParameterInfo;
+import io.github.classgraph.ScanResult;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
+import net.minecraft.launchwrapper.Launch;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Creates a {@link ClassIndex} from the classpath of the game. Each classpath element (jar or directory) gets its own index
+ * file in the cache directory which is named after a hash of the element and the current security settings. Only elements
+ * without a matching file are scanned, so after the first start only changed or new mods need to be scanned.
+ */
+public class ClassIndexer {
+
+    private static final String MODULES = "jdk_modules";
+    private static final String FILE_EXTENSION = ".idx";
+
+    private final File cacheDir;
+    private final String securityHash;
+
+    public ClassIndexer(File cacheDir) {
+        this.cacheDir = cacheDir;
+        this.securityHash = hashSecurityConfig();
+    }
+
+    public ClassIndex createIndex() {
+        long time = System.currentTimeMillis();
+        ClassIndex index = new ClassIndex();
+        Map<String, File> indexFiles = new Object2ObjectOpenHashMap<>();
+        for (File element : newClassGraph().getClasspathFiles()) {
+            String path = element.getAbsolutePath();
+            indexFiles.put(path, new File(this.cacheDir, hash(describe(element)) + FILE_EXTENSION));
+        }
+        indexFiles.put(MODULES, new File(this.cacheDir, hash(MODULES + System.getProperty("java.home") + System.getProperty("java.version")) + FILE_EXTENSION));
+
+        Set<String> changed = new ObjectOpenHashSet<>();
+        indexFiles.forEach((path, file) -> {
+            if (!index.readFile(file)) changed.add(path);
+        });
+        if (!changed.isEmpty()) {
+            scan(index, changed, indexFiles);
+        }
+        deleteUnusedFiles(indexFiles.values());
+        index.buildLookups();
+        time = System.currentTimeMillis() - time;
+        GroovyScript.LOGGER.info("Loaded class index with {} classes in {}ms, scanned {} of {} classpath elements",
+                                 index.getAllClasses().size(), time, changed.size(), indexFiles.size());
+        return index;
+    }
+
+    private void scan(ClassIndex index, Set<String> changed, Map<String, File> indexFiles) {
+        ClassGraph classGraph = newClassGraph()
+                .enableMethodInfo()
+                .enableAnnotationInfo()
+                .filterClasspathElements(path -> changed.contains(new File(path).getAbsolutePath()));
+        if (!changed.contains(MODULES)) {
+            classGraph.rejectModules("*");
+        }
+        Map<String, Map<String, Map<IndexedClass, List<IndexedMethod>>>> content = new Object2ObjectOpenHashMap<>();
+        try (ScanResult scanResult = classGraph.scan()) {
+            for (ClassInfo classInfo : scanResult.getAllClasses()) {
+                String element;
+                if (classInfo.getModuleRef() != null) {
+                    element = MODULES;
+                } else if (classInfo.getClasspathElementFile() != null) {
+                    element = classInfo.getClasspathElementFile().getAbsolutePath();
+                } else {
+                    continue;
+                }
+                if (!changed.contains(element) || !isAllowed(classInfo)) continue;
+                byte flags = 0;
+                if (classInfo.isInterface()) flags |= IndexedClass.INTERFACE;
+                if (classInfo.isEnum()) flags |= IndexedClass.ENUM;
+                content.computeIfAbsent(element, k -> new Object2ObjectOpenHashMap<>())
+                        .computeIfAbsent(classInfo.getPackageName(), k -> new LinkedHashMap<>())
+                        .put(new IndexedClass(classInfo.getName(), flags), getMethods(classInfo));
+            }
+        }
+        for (String element : changed) {
+            File file = indexFiles.get(element);
+            try {
+                ClassIndex.writeFile(file, content.getOrDefault(element, Collections.emptyMap()));
+            } catch (IOException e) {
+                GroovyScript.LOGGER.error("Failed to write class index for {}", element, e);
+                continue;
+            }
+            index.readFile(file);
+        }
+    }
+
+    private static List<IndexedMethod> getMethods(ClassInfo classInfo) {
+        Set<String> bannedMethods = GroovySecurityManager.INSTANCE.getBannedMethods().entrySet().stream()
+                .filter(entry -> entry.getKey().getName().equals(classInfo.getName()))
+                .map(Map.Entry::getValue)
+                .findFirst()
+                .orElse(Collections.emptySet());
+        List<IndexedMethod> methods = new ArrayList<>();
+        for (MethodInfo methodInfo : classInfo.getDeclaredMethodInfo()) {
+            if (!methodInfo.isPublic() || methodInfo.isSynthetic() || methodInfo.isBridge() ||
+                bannedMethods.contains(methodInfo.getName()) || methodInfo.hasAnnotation(GroovyBlacklist.class.getName())) {
+                continue;
+            }
+            MethodParameterInfo[] parameterInfo = methodInfo.getParameterInfo();
+            String[] parameterTypes = new String[parameterInfo.length];
+            for (int i = 0; i < parameterInfo.length; i++) {
+                parameterTypes[i] = parameterInfo[i].getTypeDescriptor().toString();
+            }
+            methods.add(new IndexedMethod(classInfo.getName(), methodInfo.getName(), methodInfo.isStatic(),
+                                          methodInfo.getTypeDescriptor().getResultType().toString(), parameterTypes));
+        }
+        return methods;
+    }
+
+    private static boolean isAllowed(ClassInfo classInfo) {
+        if (!classInfo.isPublic() || classInfo.isAnonymousInnerClass() || classInfo.isSynthetic()) return false;
+        for (Class<?> clazz : GroovySecurityManager.INSTANCE.getWhiteListedClasses()) {
+            if (clazz.getName().equals(classInfo.getName())) return true;
+        }
+        for (Class<?> clazz : GroovySecurityManager.INSTANCE.getBannedClasses()) {
+            if (clazz.getName().equals(classInfo.getName())) return false;
+        }
+        return !classInfo.hasAnnotation(GroovyBlacklist.class.getName());
+    }
+
+    private static ClassGraph newClassGraph() {
+        return new ClassGraph()
+                .enableClassInfo()
+                .enableSystemJarsAndModules()
+                .overrideClassLoaders(Launch.classLoader)
+                .acceptPaths("*")
+                .rejectClasses(GroovySecurityManager.INSTANCE.getBannedClasses().stream().map(Class::getName).toArray(String[]::new))
+                .rejectPackages(GroovySecurityManager.INSTANCE.getBannedPackages().toArray(new String[0]))
+                .acceptClasses(GroovySecurityManager.INSTANCE.getWhiteListedClasses().stream().map(Class::getName).toArray(String[]::new));
+    }
+
+    private void deleteUnusedFiles(Collection<File> used) {
+        File[] files = this.cacheDir.listFiles((dir, name) -> name.endsWith(FILE_EXTENSION));
+        if (files == null) return;
+        Set<File> usedFiles = new ObjectOpenHashSet<>(used);
+        for (File file : files) {
+            if (!usedFiles.contains(file)) {
+                file.delete();
+            }
+        }
+    }
+
+    private String hash(String s) {
+        return Hashing.murmur3_128().hashString(ClassIndex.VERSION + "|" + this.securityHash + "|" + s, StandardCharsets.UTF_8).toString();
+    }
+
+    /**
+     * Describes the state of a classpath element. Jars are identified by their size and modification time, so they don't
+     * need to be read. Directories (only used in dev) are identified by the newest modification time of their files.
+     */
+    private static String describe(File element) {
+        if (!element.isDirectory()) {
+            return element.getAbsolutePath() + "|" + element.length() + "|" + element.lastModified();
+        }
+        long newest = 0;
+        long count = 0;
+        try (Stream<Path> stream = Files.walk(element.toPath())) {
+            for (Path path : (Iterable<Path>) stream::iterator) {
+                newest = Math.max(newest, path.toFile().lastModified());
+                count++;
+            }
+        } catch (IOException e) {
+            // forces a rescan
+            newest = System.currentTimeMillis();
+        }
+        return element.getAbsolutePath() + "|" + count + "|" + newest;
+    }
+
+    private static String hashSecurityConfig() {
+        GroovySecurityManager securityManager = GroovySecurityManager.INSTANCE;
+        StringBuilder builder = new StringBuilder();
+        securityManager.getBannedPackages().stream().sorted().forEach(s -> builder.append(s).append(';'));
+        builder.append('|');
+        securityManager.getBannedClasses().stream().map(Class::getName).sorted().forEach(s -> builder.append(s).append(';'));
+        builder.append('|');
+        securityManager.getWhiteListedClasses().stream().map(Class::getName).sorted().forEach(s -> builder.append(s).append(';'));
+        builder.append('|');
+        securityManager.getBannedMethods().entrySet().stream()
+                .map(entry -> entry.getKey().getName() + entry.getValue().stream().sorted().collect(Collectors.joining(",", "[", "]")))
+                .sorted()
+                .forEach(s -> builder.append(s).append(';'));
+        return Hashing.murmur3_128().hashString(builder, StandardCharsets.UTF_8).toString();
+    }
+}
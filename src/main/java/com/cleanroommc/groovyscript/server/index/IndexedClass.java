@@ -0,0 +1,60 @@
+package com.cleanroommc.groovyscript.server.index;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * A class stored in a {@link ClassIndex}. Methods are only loaded when they are first requested.
+ */
+public class IndexedClass {
+
+    public static final byte INTERFACE = 1;
+    public static final byte ENUM = 2;
+
+    private final String name;
+    private final String simpleName;
+    private final String packageName;
+    private final byte flags;
+    @Nullable
+    List<IndexedMethod> methods;
+
+    public IndexedClass(String name, byte flags) {
+        this.name = name;
+        int i = name.lastIndexOf('.');
+        this.packageName = i < 0 ? "" : name.substring(0, i);
+        String simpleName = name.substring(i + 1);
+        i = simpleName.lastIndexOf('$');
+        this.simpleName = i < 0 ? simpleName : simpleName.substring(i + 1);
+        this.flags = flags;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getSimpleName() {
+        return simpleName;
+    }
+
+    public String getPackageName() {
+        return packageName;
+    }
+
+    public byte getFlags() {
+        return flags;
+    }
+
+    public boolean isInterface() {
+        return (flags & INTERFACE) != 0;
+    }
+
+    public boolean isEnum() {
+        return (flags & ENUM) != 0;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,47 @@
+package com.cleanroommc.groovyscript.server.index;
+
+/**
+ * A public method signature stored in a {@link ClassIndex}. All type names are erased and use the format of
+ * {@link Class#getTypeName()}.
+ */
+public class IndexedMethod {
+
+    private final String declaringClass;
+    private final String name;
+    private final boolean isStatic;
+    private final String returnType;
+    private final String[] parameterTypes;
+
+    public IndexedMethod(String declaringClass, String name, boolean isStatic, String returnType, String[] parameterTypes) {
+        this.declaringClass = declaringClass;
+        this.name = name;
+        this.isStatic = isStatic;
+        this.returnType = returnType;
+        this.parameterTypes = parameterTypes;
+    }
+
+    public String getDeclaringClass() {
+        return declaringClass;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isStatic() {
+        return isStatic;
+    }
+
+    public String getReturnType() {
+        return returnType;
+    }
+
+    public String[] getParameterTypes() {
+        return parameterTypes;
+    }
+
+    public static String getSimpleTypeName(String typeName) {
+        int i = Math.max(typeName.lastIndexOf('.'), typeName.lastIndexOf('$'));
+        return i < 0 ? typeName : typeName.substring(i + 1);
+    }
+}
@@ -84,6 +84,7 @@ public class GroovyLanguageServer implements LanguageServer, LanguageClientAware
 
     @Override
     public CompletableFuture<Object> shutdown() {
+        groovyServices.shutdown();
         return CompletableFuture.completedFuture(new Object());
     }
 
@@ -20,12 +20,14 @@
 package net.prominic.groovyls;
 
 import com.cleanroommc.groovyscript.GroovyScript;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
 import net.prominic.groovyls.compiler.ILanguageServerContext;
 import net.prominic.groovyls.compiler.ast.ASTContext;
 import net.prominic.groovyls.compiler.ast.ASTNodeVisitor;
 import net.prominic.groovyls.compiler.control.GroovyLSCompilationUnit;
+import net.prominic.groovyls.compiler.control.WorkspaceCompiler;
 import net.prominic.groovyls.config.ICompilationUnitFactory;
 import net.prominic.groovyls.providers.*;
 import net.prominic.groovyls.util.GroovyLanguageServerUtils;
@@ -49,30 +51,60 @@ import java.net.URI;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.*;
-import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.*;
+import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
+/**
+ * All compiling and all access to the file contents happens on a single compiler thread. Document changes are applied in
+ * order on that thread and compilation is debounced per document, so that typing does not queue up a full compile for every
+ * keystroke. A pending compile is cancelled when a newer change to the same document supersedes it. Diagnostics are
+ * published from the compiler thread.
+ * <p>
+ * The latest completed AST is published to a separate reader thread, which serves read only requests without waiting for
+ * compiles. Completion is only served there if the AST contains all changes of the document and a node at the cursor.
+ * Otherwise it, signature help and rename need the text at the cursor and flush a pending compile of their document on the
+ * compiler thread first.
+ */
 public class GroovyServices implements TextDocumentService, WorkspaceService, LanguageClientAware {
 
     private static final Pattern PATTERN_CONSTRUCTOR_CALL = Pattern.compile(".*new \\w*$");
+    private static final long COMPILE_DELAY_MS = 200;
 
     private LanguageClient languageClient;
 
     private Path workspaceRoot;
     private ICompilationUnitFactory compilationUnitFactory;
+    private final WorkspaceCompiler workspaceCompiler;
     private final ILanguageServerContext languageServerContext;
     private Map<URI, List<Diagnostic>> prevDiagnosticsByFile;
 
+    private final ScheduledExecutorService compiler = Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder().setNameFormat("GroovyScript Language Server Compiler").setDaemon(true).build());
+    private final ExecutorService reader = Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder().setNameFormat("GroovyScript Language Server Reader").setDaemon(true).build());
+    // only accessed on the compiler thread
+    private final Map<URI, ScheduledFuture<?>> pendingCompiles = new HashMap<>();
+    // changes which were applied to the file contents since the last compile, only accessed on the compiler thread
+    private final Map<URI, Integer> appliedChanges = new HashMap<>();
+    // changes which were received, but are not part of the snapshot yet
+    private final Map<URI, Integer> uncompiledChanges = new ConcurrentHashMap<>();
+    private volatile @Nullable ASTNodeVisitor snapshot;
+
     public GroovyServices(ICompilationUnitFactory factory, ILanguageServerContext languageServerContext) {
         compilationUnitFactory = factory;
         this.languageServerContext = languageServerContext;
+        this.workspaceCompiler = new WorkspaceCompiler(factory, languageServerContext);
     }
 
     public void setWorkspaceRoot(Path workspaceRoot) {
-        this.workspaceRoot = workspaceRoot;
-        compilationUnitFactory.invalidateCompilationUnit();
+        compiler.execute(() -> {
+            this.workspaceRoot = workspaceRoot;
+            workspaceCompiler.invalidate();
+            snapshot = null;
+        });
     }
 
     @Override
@@ -80,36 +112,44 @@ public class GroovyServices implements TextDocumentService, WorkspaceService, La
         languageClient = client;
     }
 
+    public void shutdown() {
+        compiler.shutdownNow();
+        reader.shutdownNow();
+    }
+
     // --- NOTIFICATIONS
 
     @Override
     public void didOpen(DidOpenTextDocumentParams params) {
-        languageServerContext.getFileContentsTracker().didOpen(params);
         URI uri = URIUtils.toUri(params.getTextDocument().getUri());
-
-        var unit = compilationUnitFactory.create(workspaceRoot, uri);
-
-        compileAndVisitAST(unit, uri);
+        uncompiledChanges.merge(uri, 1, Integer::sum);
+        compiler.execute(() -> {
+            languageServerContext.getFileContentsTracker().didOpen(params);
+            appliedChanges.merge(uri, 1, Integer::sum);
+            scheduleCompile(uri);
+        });
     }
 
     @Override
     public void didChange(DidChangeTextDocumentParams params) {
-        languageServerContext.getFileContentsTracker().didChange(params);
         URI uri = URIUtils.toUri(params.getTextDocument().getUri());
-
-        var unit = compilationUnitFactory.create(workspaceRoot, uri);
-
-        compileAndVisitAST(unit, uri);
+        uncompiledChanges.merge(uri, 1, Integer::sum);
+        compiler.execute(() -> {
+            languageServerContext.getFileContentsTracker().didChange(params);
+            appliedChanges.merge(uri, 1, Integer::sum);
+            scheduleCompile(uri);
+        });
     }
 
     @Override
     public void didClose(DidCloseTextDocumentParams params) {
-        languageServerContext.getFileContentsTracker().didClose(params);
         URI uri = URIUtils.toUri(params.getTextDocument().getUri());
-
-        var unit = compilationUnitFactory.create(workspaceRoot, uri);
-
-        compileAndVisitAST(unit, uri);
+        uncompiledChanges.merge(uri, 1, Integer::sum);
+        compiler.execute(() -> {
+            languageServerContext.getFileContentsTracker().didClose(params);
+            appliedChanges.merge(uri, 1, Integer::sum);
+            scheduleCompile(uri);
+        });
     }
 
     @Override
@@ -122,11 +162,7 @@ public class GroovyServices implements TextDocumentService, WorkspaceService, La
         Set<URI> urisWithChanges = params.getChanges().stream().map(fileEvent -> URIUtils.toUri(fileEvent.getUri()))
                 .collect(Collectors.toSet());
 
-        for (URI uri : urisWithChanges) {
-            var unit = compilationUnitFactory.create(workspaceRoot, uri);
-
-            compileAndVisitAST(unit, uri);
-        }
+        compiler.execute(() -> urisWithChanges.forEach(this::scheduleCompile));
     }
 
     @Override
@@ -135,7 +171,7 @@ public class GroovyServices implements TextDocumentService, WorkspaceService, La
             return;
         }
         JsonObject settings = (JsonObject) params.getSettings();
-        this.updateClasspath(settings);
+        compiler.execute(() -> this.updateClasspath(settings));
     }
 
     private void updateClasspath(JsonObject settings) {
@@ -153,6 +189,8 @@ public class GroovyServices implements TextDocumentService, WorkspaceService, La
 
         if (!classpathList.equals(compilationUnitFactory.getAdditionalClasspathList())) {
             compilationUnitFactory.setAdditionalClasspathList(classpathList);
+            workspaceCompiler.invalidate();
+            snapshot = null;
         }
     }
 
@@ -161,16 +199,14 @@ public class GroovyServices implements TextDocumentService, WorkspaceService, La
     @Override
     public CompletableFuture<Hover> hover(HoverParams params) {
         URI uri = URIUtils.toUri(params.getTextDocument().getUri());
-        var unit = compilationUnitFactory.create(workspaceRoot, uri);
-
-        var visitor = compileAndVisitAST(unit, uri);
-
-        if (visitor == null) {
-            return CompletableFuture.completedFuture(null);
-        }
+        return onSnapshot(uri, visitor -> {
+            if (visitor == null) {
+                return CompletableFuture.completedFuture(null);
+            }
 
-        HoverProvider provider = new HoverProvider(new ASTContext(visitor, languageServerContext));
-        return provider.provideHover(params.getTextDocument(), params.getPosition());
+            HoverProvider provider = new HoverProvider(new ASTContext(visitor, languageServerContext));
+            return provider.provideHover(params.getTextDocument(), params.getPosition());
+        });
     }
 
     @Override
@@ -178,67 +214,67 @@ public class GroovyServices implements TextDocumentService, WorkspaceService, La
         TextDocumentIdentifier textDocument = params.getTextDocument();
         Position position = params.getPosition();
         URI uri = URIUtils.toUri(textDocument.getUri());
-        var unit = compilationUnitFactory.create(workspaceRoot, uri);
-
-        var visitor = compileAndVisitAST(unit, uri);
-
-        String originalSource = null;
-        ASTNode offsetNode = visitor.getNodeAtLineAndColumn(uri, position.getLine(), position.getCharacter());
-        if (offsetNode == null) {
-            originalSource = languageServerContext.getFileContentsTracker().getContents(uri);
-            VersionedTextDocumentIdentifier versionedTextDocument = new VersionedTextDocumentIdentifier(
-                    textDocument.getUri(), 1);
-            int offset = Positions.getOffset(originalSource, position);
-            String lineBeforeOffset = originalSource.substring(offset - position.getCharacter(), offset);
-            Matcher matcher = PATTERN_CONSTRUCTOR_CALL.matcher(lineBeforeOffset);
-            TextDocumentContentChangeEvent changeEvent = null;
-            if (matcher.matches()) {
-                changeEvent = new TextDocumentContentChangeEvent(new Range(position, position), 0, "a()");
-            } else {
-                changeEvent = new TextDocumentContentChangeEvent(new Range(position, position), 0, "a");
+        return fromSnapshot(uri, true, visitor -> {
+            if (visitor.getNodeAtLineAndColumn(uri, position.getLine(), position.getCharacter()) == null) {
+                return null;
             }
-            DidChangeTextDocumentParams didChangeParams = new DidChangeTextDocumentParams(versionedTextDocument,
-                                                                                          Collections.singletonList(changeEvent));
-            // if the offset node is null, there is probably a syntax error.
-            // a completion request is usually triggered by the . character, and
-            // if there is no property name after the dot, it will cause a syntax
-            // error.
-            // this hack adds a placeholder property name in the hopes that it
-            // will correctly create a PropertyExpression to use for completion.
-            // we'll restore the original text after we're done handling the
-            // completion request.
-            didChange(didChangeParams);
-        }
-
-        CompletableFuture<Either<List<CompletionItem>, CompletionList>> result = null;
-        try {
             CompletionProvider provider = new CompletionProvider(new ASTContext(visitor, languageServerContext));
-            result = provider.provideCompletion(params.getTextDocument(), params.getPosition(), params.getContext());
-        } finally {
-            if (originalSource != null) {
-                VersionedTextDocumentIdentifier versionedTextDocument = new VersionedTextDocumentIdentifier(
-                        textDocument.getUri(), 1);
-                TextDocumentContentChangeEvent changeEvent = new TextDocumentContentChangeEvent(null, 0,
-                                                                                                originalSource);
-                DidChangeTextDocumentParams didChangeParams = new DidChangeTextDocumentParams(versionedTextDocument,
-                                                                                              Collections.singletonList(changeEvent));
-                didChange(didChangeParams);
+            return provider.provideCompletion(params.getTextDocument(), params.getPosition(), params.getContext());
+        }, () -> {
+            var visitor = getSnapshot(uri, true);
+
+            if (visitor == null) {
+                return CompletableFuture.completedFuture(Either.forLeft(Collections.emptyList()));
             }
-        }
 
-        return result;
+            String originalSource = null;
+            ASTNode offsetNode = visitor.getNodeAtLineAndColumn(uri, position.getLine(), position.getCharacter());
+            if (offsetNode == null) {
+                originalSource = languageServerContext.getFileContentsTracker().getContents(uri);
+                int offset = languageServerContext.getFileContentsTracker().getOffset(uri, position);
+                if (offset < 0) {
+                    offset = Positions.getOffset(originalSource, position);
+                }
+                String lineBeforeOffset = originalSource.substring(offset - position.getCharacter(), offset);
+                Matcher matcher = PATTERN_CONSTRUCTOR_CALL.matcher(lineBeforeOffset);
+                // if the offset node is null, there is probably a syntax error.
+                // a completion request is usually triggered by the . character, and
+                // if there is no property name after the dot, it will cause a syntax
+                // error.
+                // this hack adds a placeholder property name in the hopes that it
+                // will correctly create a PropertyExpression to use for completion.
+                // we'll restore the original text after we're done handling the
+                // completion request.
+                visitor = compileWithPlaceholder(uri, position, matcher.matches() ? "a()" : "a");
+                if (visitor == null) {
+                    restoreSource(uri, originalSource);
+                    return CompletableFuture.completedFuture(Either.forLeft(Collections.emptyList()));
+                }
+            }
+
+            try {
+                CompletionProvider provider = new CompletionProvider(new ASTContext(visitor, languageServerContext));
+                return provider.provideCompletion(params.getTextDocument(), params.getPosition(), params.getContext());
+            } finally {
+                if (originalSource != null) {
+                    restoreSource(uri, originalSource);
+                }
+            }
+        });
     }
 
     @Override
     public CompletableFuture<Either<List<? extends Location>, List<? extends LocationLink>>> definition(
             DefinitionParams params) {
         URI uri = URIUtils.toUri(params.getTextDocument().getUri());
-        var unit = compilationUnitFactory.create(workspaceRoot, uri);
-
-        var visitor = compileAndVisitAST(unit, uri);
+        return onSnapshot(uri, visitor -> {
+            if (visitor == null) {
+                return CompletableFuture.completedFuture(Either.forLeft(Collections.emptyList()));
+            }
 
-        DefinitionProvider provider = new DefinitionProvider(new ASTContext(visitor, languageServerContext));
-        return provider.provideDefinition(params.getTextDocument(), params.getPosition());
+            DefinitionProvider provider = new DefinitionProvider(new ASTContext(visitor, languageServerContext));
+            return provider.provideDefinition(params.getTextDocument(), params.getPosition());
+        });
     }
 
     @Override
@@ -246,133 +282,252 @@ public class GroovyServices implements TextDocumentService, WorkspaceService, La
         TextDocumentIdentifier textDocument = params.getTextDocument();
         Position position = params.getPosition();
         URI uri = URIUtils.toUri(textDocument.getUri());
-        var unit = compilationUnitFactory.create(workspaceRoot, uri);
-
-        var visitor = compileAndVisitAST(unit, uri);
-
-        String originalSource = null;
-        ASTNode offsetNode = visitor.getNodeAtLineAndColumn(uri, position.getLine(), position.getCharacter());
-        if (offsetNode == null) {
-            originalSource = languageServerContext.getFileContentsTracker().getContents(uri);
-            VersionedTextDocumentIdentifier versionedTextDocument = new VersionedTextDocumentIdentifier(
-                    textDocument.getUri(), 1);
-            TextDocumentContentChangeEvent changeEvent = new TextDocumentContentChangeEvent(
-                    new Range(position, position), 0, ")");
-            DidChangeTextDocumentParams didChangeParams = new DidChangeTextDocumentParams(versionedTextDocument,
-                                                                                          Collections.singletonList(changeEvent));
-            // if the offset node is null, there is probably a syntax error.
-            // a signature help request is usually triggered by the ( character,
-            // and if there is no matching ), it will cause a syntax error.
-            // this hack adds a placeholder ) character in the hopes that it
-            // will correctly create a ArgumentListExpression to use for
-            // signature help.
-            // we'll restore the original text after we're done handling the
-            // signature help request.
-            didChange(didChangeParams);
-        }
+        return onCompiler(() -> {
+            var visitor = getSnapshot(uri, true);
 
-        try {
-            SignatureHelpProvider provider = new SignatureHelpProvider(new ASTContext(visitor, languageServerContext));
-            return provider.provideSignatureHelp(params.getTextDocument(), params.getPosition());
-        } finally {
-            if (originalSource != null) {
-                VersionedTextDocumentIdentifier versionedTextDocument = new VersionedTextDocumentIdentifier(
-                        textDocument.getUri(), 1);
-                TextDocumentContentChangeEvent changeEvent = new TextDocumentContentChangeEvent(null, 0,
-                                                                                                originalSource);
-                DidChangeTextDocumentParams didChangeParams = new DidChangeTextDocumentParams(versionedTextDocument,
-                                                                                              Collections.singletonList(changeEvent));
-                didChange(didChangeParams);
+            if (visitor == null) {
+                return CompletableFuture.completedFuture(new SignatureHelp(Collections.emptyList(), -1, -1));
             }
-        }
+
+            String originalSource = null;
+            ASTNode offsetNode = visitor.getNodeAtLineAndColumn(uri, position.getLine(), position.getCharacter());
+            if (offsetNode == null) {
+                originalSource = languageServerContext.getFileContentsTracker().getContents(uri);
+                // if the offset node is null, there is probably a syntax error.
+                // a signature help request is usually triggered by the ( character,
+                // and if there is no matching ), it will cause a syntax error.
+                // this hack adds a placeholder ) character in the hopes that it
+                // will correctly create a ArgumentListExpression to use for
+                // signature help.
+                // we'll restore the original text after we're done handling the
+                // signature help request.
+                visitor = compileWithPlaceholder(uri, position, ")");
+                if (visitor == null) {
+                    restoreSource(uri, originalSource);
+                    return CompletableFuture.completedFuture(new SignatureHelp(Collections.emptyList(), -1, -1));
+                }
+            }
+
+            try {
+                SignatureHelpProvider provider = new SignatureHelpProvider(new ASTContext(visitor, languageServerContext));
+                return provider.provideSignatureHelp(params.getTextDocument(), params.getPosition());
+            } finally {
+                if (originalSource != null) {
+                    restoreSource(uri, originalSource);
+                }
+            }
+        });
     }
 
     @Override
     public CompletableFuture<Either<List<? extends Location>, List<? extends LocationLink>>> typeDefinition(
             TypeDefinitionParams params) {
         URI uri = URIUtils.toUri(params.getTextDocument().getUri());
-        var unit = compilationUnitFactory.create(workspaceRoot, uri);
-
-        var visitor = compileAndVisitAST(unit, uri);
+        return onSnapshot(uri, visitor -> {
+            if (visitor == null) {
+                return CompletableFuture.completedFuture(Either.forLeft(Collections.emptyList()));
+            }
 
-        TypeDefinitionProvider provider = new TypeDefinitionProvider(new ASTContext(visitor, languageServerContext));
-        return provider.provideTypeDefinition(params.getTextDocument(), params.getPosition());
+            TypeDefinitionProvider provider = new TypeDefinitionProvider(new ASTContext(visitor, languageServerContext));
+            return provider.provideTypeDefinition(params.getTextDocument(), params.getPosition());
+        });
     }
 
     @Override
     public CompletableFuture<List<? extends Location>> references(ReferenceParams params) {
         URI uri = URIUtils.toUri(params.getTextDocument().getUri());
-        var unit = compilationUnitFactory.create(workspaceRoot, uri);
-
-        var visitor = compileAndVisitAST(unit, uri);
+        return onSnapshot(uri, visitor -> {
+            if (visitor == null) {
+                return CompletableFuture.completedFuture(Collections.emptyList());
+            }
 
-        ReferenceProvider provider = new ReferenceProvider(new ASTContext(visitor, languageServerContext));
-        return provider.provideReferences(params.getTextDocument(), params.getPosition());
+            ReferenceProvider provider = new ReferenceProvider(new ASTContext(visitor, languageServerContext));
+            return provider.provideReferences(params.getTextDocument(), params.getPosition());
+        });
     }
 
     @Override
     public CompletableFuture<List<Either<SymbolInformation, DocumentSymbol>>> documentSymbol(
             DocumentSymbolParams params) {
         URI uri = URIUtils.toUri(params.getTextDocument().getUri());
-        var unit = compilationUnitFactory.create(workspaceRoot, uri);
-
-        var visitor = compileAndVisitAST(unit, uri);
+        return onSnapshot(uri, visitor -> {
+            if (visitor == null) {
+                return CompletableFuture.completedFuture(Collections.emptyList());
+            }
 
-        DocumentSymbolProvider provider = new DocumentSymbolProvider(new ASTContext(visitor, languageServerContext));
-        return provider.provideDocumentSymbols(params.getTextDocument());
+            DocumentSymbolProvider provider = new DocumentSymbolProvider(new ASTContext(visitor, languageServerContext));
+            return provider.provideDocumentSymbols(params.getTextDocument());
+        });
     }
 
     @Override
     public CompletableFuture<Either<List<? extends SymbolInformation>, List<? extends WorkspaceSymbol>>> symbol(WorkspaceSymbolParams params) {
-        var unit = compilationUnitFactory.create(workspaceRoot, null);
-
-        var visitor = compileAndVisitAST(unit, null);
+        return onCompiler(() -> {
+            // workspace symbols need every file, so flush all pending compiles
+            pendingCompiles.values().forEach(future -> future.cancel(false));
+            pendingCompiles.clear();
+            var visitor = compile(null, true);
+
+            if (visitor == null) {
+                return CompletableFuture.completedFuture(Either.forLeft(Collections.emptyList()));
+            }
 
-        WorkspaceSymbolProvider provider = new WorkspaceSymbolProvider(new ASTContext(visitor, languageServerContext));
-        return provider.provideWorkspaceSymbols(params.getQuery()).thenApply(Either::forLeft);
+            WorkspaceSymbolProvider provider = new WorkspaceSymbolProvider(new ASTContext(visitor, languageServerContext));
+            return provider.provideWorkspaceSymbols(params.getQuery()).thenApply(Either::forLeft);
+        });
     }
 
     @Override
     public CompletableFuture<WorkspaceEdit> rename(RenameParams params) {
         URI uri = URIUtils.toUri(params.getTextDocument().getUri());
-        var unit = compilationUnitFactory.create(workspaceRoot, uri);
+        return onCompiler(() -> {
+            // edits are computed from offsets in the current text, so the ast must match it
+            var visitor = getSnapshot(uri, true);
+
+            if (visitor == null) {
+                return CompletableFuture.completedFuture(new WorkspaceEdit());
+            }
 
-        var visitor = compileAndVisitAST(unit, uri);
+            RenameProvider provider = new RenameProvider(new ASTContext(visitor, languageServerContext), languageServerContext.getFileContentsTracker());
+            return provider.provideRename(params);
+        });
+    }
 
-        RenameProvider provider = new RenameProvider(new ASTContext(visitor, languageServerContext), languageServerContext.getFileContentsTracker());
-        return provider.provideRename(params);
+    // --- COMPILATION
+
+    /**
+     * Runs a request on the compiler thread. The providers compute their result eagerly, so the returned future completes as
+     * soon as the task ran.
+     */
+    private <T> CompletableFuture<T> onCompiler(Callable<CompletableFuture<T>> task) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return task.call();
+            } catch (GroovyBugError | Exception e) {
+                GroovyScript.LOGGER.error("Unexpected exception in language server request.", e);
+                return CompletableFuture.<T>completedFuture(null);
+            }
+        }, compiler).thenCompose(Function.identity());
     }
 
-    private @Nullable ASTNodeVisitor compileAndVisitAST(GroovyLSCompilationUnit compilationUnit, URI context) {
+    /**
+     * Runs a read only request on the reader thread with the latest snapshot. If the document was never compiled, it is
+     * compiled on the compiler thread first. The request is called with null if the compile failed.
+     */
+    private <T> CompletableFuture<T> onSnapshot(URI uri, Function<ASTNodeVisitor, CompletableFuture<T>> request) {
+        return fromSnapshot(uri, false, request, () -> request.apply(getSnapshot(uri, false)));
+    }
+
+    /**
+     * Tries to serve a request from the latest snapshot on the reader thread. The request may return null if it can't be
+     * served from the snapshot, in which case the fallback runs on the compiler thread. So does it if the document is not part
+     * of the snapshot or if {@code current} is true and the snapshot does not contain all changes of the document yet.
+     */
+    private <T> CompletableFuture<T> fromSnapshot(URI uri, boolean current, Function<ASTNodeVisitor, CompletableFuture<T>> request,
+                                                  Callable<CompletableFuture<T>> fallback) {
+        return CompletableFuture.supplyAsync(() -> {
+            ASTNodeVisitor visitor = snapshot;
+            if (visitor != null && (!current || !uncompiledChanges.containsKey(uri))) {
+                try {
+                    CompletableFuture<T> result = workspaceCompiler.read(() -> visitor.isVisited(uri) ? request.apply(visitor) : null);
+                    if (result != null) {
+                        return result;
+                    }
+                } catch (GroovyBugError | Exception e) {
+                    GroovyScript.LOGGER.error("Unexpected exception in language server request.", e);
+                    return CompletableFuture.<T>completedFuture(null);
+                }
+            }
+            return onCompiler(fallback);
+        }, reader).thenCompose(Function.identity());
+    }
+
+    /**
+     * Schedules a compile of the given document. A compile which is still waiting for the same document is superseded and
+     * cancelled. Must be called on the compiler thread.
+     */
+    private void scheduleCompile(URI uri) {
+        ScheduledFuture<?> previous = pendingCompiles.remove(uri);
+        if (previous != null) {
+            previous.cancel(false);
+        }
+        pendingCompiles.put(uri, compiler.schedule(() -> {
+            pendingCompiles.remove(uri);
+            compile(uri, true);
+        }, COMPILE_DELAY_MS, TimeUnit.MILLISECONDS));
+    }
+
+    /**
+     * Returns the latest completed ast. The document is compiled right away if it was never compiled before or if {@code flush}
+     * is true and a compile of it is still pending. A document without any nodes, for example because it is empty, counts as
+     * compiled. Must be called on the compiler thread.
+     */
+    private @Nullable ASTNodeVisitor getSnapshot(URI uri, boolean flush) {
+        ScheduledFuture<?> pending = pendingCompiles.get(uri);
+        ASTNodeVisitor snapshot = this.snapshot;
+        if (snapshot == null || !snapshot.isVisited(uri) || (flush && pending != null)) {
+            if (pending != null) {
+                pending.cancel(false);
+                pendingCompiles.remove(uri);
+            }
+            return compile(uri, true);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Temporarily inserts a placeholder at the given position and compiles the document. Diagnostics are not published for
+     * this state, since the original text is restored afterwards.
+     */
+    private @Nullable ASTNodeVisitor compileWithPlaceholder(URI uri, Position position, String placeholder) {
+        // the snapshot is not current until the original text is compiled again
+        uncompiledChanges.merge(uri, 1, Integer::sum);
+        TextDocumentContentChangeEvent changeEvent = new TextDocumentContentChangeEvent(new Range(position, position), 0, placeholder);
+        applyChange(uri, changeEvent);
+        return compile(uri, false);
+    }
+
+    private void restoreSource(URI uri, String originalSource) {
+        applyChange(uri, new TextDocumentContentChangeEvent(null, 0, originalSource));
+        appliedChanges.merge(uri, 1, Integer::sum);
+        scheduleCompile(uri);
+    }
+
+    private void applyChange(URI uri, TextDocumentContentChangeEvent changeEvent) {
+        VersionedTextDocumentIdentifier versionedTextDocument = new VersionedTextDocumentIdentifier(uri.toString(), 1);
+        DidChangeTextDocumentParams didChangeParams = new DidChangeTextDocumentParams(versionedTextDocument,
+                                                                                      Collections.singletonList(changeEvent));
+        languageServerContext.getFileContentsTracker().didChange(didChangeParams);
+    }
+
+    private @Nullable ASTNodeVisitor compile(@Nullable URI context, boolean publishDiagnostics) {
+        // the compile picks up all changes which were applied so far
+        Map<URI, Integer> compiledChanges = new HashMap<>(appliedChanges);
+        appliedChanges.clear();
         try {
-            return compilationUnit.recompileAndVisitASTIfContextChanged(context);
+            ASTNodeVisitor visitor = workspaceCompiler.compile(workspaceRoot, context);
+            snapshot = visitor;
+            compiledChanges.forEach((uri, count) -> uncompiledChanges.computeIfPresent(uri, (key, uncompiled) -> uncompiled > count ? uncompiled - count : null));
+            return visitor;
         } catch (GroovyBugError | Exception e) {
+            // the changes still count as uncompiled until a compile succeeds
+            compiledChanges.forEach((uri, count) -> appliedChanges.merge(uri, count, Integer::sum));
             GroovyScript.LOGGER.error("Unexpected exception in language server when compiling Groovy.", e);
         } finally {
-            Set<PublishDiagnosticsParams> diagnostics = handleErrorCollector(compilationUnit.getErrorCollector());
-            diagnostics.stream().forEach(languageClient::publishDiagnostics);
+            if (publishDiagnostics && languageClient != null) {
+                Set<PublishDiagnosticsParams> diagnostics = handleErrorCollectors(workspaceCompiler.getCompilationUnits());
+                diagnostics.stream().forEach(languageClient::publishDiagnostics);
+            }
         }
 
         return null;
     }
 
-    private Set<PublishDiagnosticsParams> handleErrorCollector(ErrorCollector collector) {
+    private Set<PublishDiagnosticsParams> handleErrorCollectors(Collection<GroovyLSCompilationUnit> compilationUnits) {
         Map<URI, List<Diagnostic>> diagnosticsByFile = new HashMap<>();
 
-        List<? extends Message> errors = collector.getErrors();
-        if (errors != null) {
-            errors.stream().filter((Object message) -> message instanceof SyntaxErrorMessage)
-                    .forEach((Object message) -> {
-                        SyntaxErrorMessage syntaxErrorMessage = (SyntaxErrorMessage) message;
-                        SyntaxException cause = syntaxErrorMessage.getCause();
-                        Range range = GroovyLanguageServerUtils.syntaxExceptionToRange(cause);
-                        Diagnostic diagnostic = new Diagnostic();
-                        diagnostic.setRange(range);
-                        diagnostic.setSeverity(DiagnosticSeverity.Error);
-                        diagnostic.setMessage(cause.getMessage());
-                        URI uri = Paths.get(cause.getSourceLocator()).toUri();
-                        diagnosticsByFile.computeIfAbsent(uri, (key) -> new ArrayList<>()).add(diagnostic);
-                    });
+        for (GroovyLSCompilationUnit compilationUnit : compilationUnits) {
+            addDiagnostics(compilationUnit.getErrorCollector(), diagnosticsByFile);
         }
 
         Set<PublishDiagnosticsParams> result = diagnosticsByFile.entrySet().stream()
@@ -391,4 +546,22 @@ public class GroovyServices implements TextDocumentService, WorkspaceService, La
         prevDiagnosticsByFile = diagnosticsByFile;
         return result;
     }
-}
\ No newline at end of file
+
+    private void addDiagnostics(ErrorCollector collector, Map<URI, List<Diagnostic>> diagnosticsByFile) {
+        List<? extends Message> errors = collector.getErrors();
+        if (errors != null) {
+            errors.stream().filter((Object message) -> message instanceof SyntaxErrorMessage)
+                    .forEach((Object message) -> {
+                        SyntaxErrorMessage syntaxErrorMessage = (SyntaxErrorMessage) message;
+                        SyntaxException cause = syntaxErrorMessage.getCause();
+                        Range range = GroovyLanguageServerUtils.syntaxExceptionToRange(cause);
+                        Diagnostic diagnostic = new Diagnostic();
+                        diagnostic.setRange(range);
+                        diagnostic.setSeverity(DiagnosticSeverity.Error);
+                        diagnostic.setMessage(cause.getMessage());
+                        URI uri = Paths.get(cause.getSourceLocator()).toUri();
+                        diagnosticsByFile.computeIfAbsent(uri, (key) -> new ArrayList<>()).add(diagnostic);
+                    });
+        }
+    }
+}
@@ -1,7 +1,7 @@
 package net.prominic.groovyls.compiler;
 
 import com.cleanroommc.groovyscript.sandbox.GroovySandbox;
-import io.github.classgraph.ScanResult;
+import com.cleanroommc.groovyscript.server.index.ClassIndex;
 import net.prominic.groovyls.compiler.documentation.DocumentationFactory;
 import net.prominic.groovyls.util.FileContentsTracker;
 
@@ -9,7 +9,7 @@ public interface ILanguageServerContext {
 
     GroovySandbox getSandbox();
 
-    ScanResult getScanResult();
+    ClassIndex getClassIndex();
 
     FileContentsTracker getFileContentsTracker();
 
@@ -0,0 +1,117 @@
+package net.prominic.groovyls.compiler.ast;
+
+import net.prominic.groovyls.util.GroovyLanguageServerUtils;
+import org.codehaus.groovy.ast.ASTNode;
+import org.codehaus.groovy.ast.ConstructorNode;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+/**
+ * Finds the innermost node at a position of a single source file in O(log n).
+ * <p>
+ * Nodes are sorted by start position and then by end position descending, so the innermost node containing a position is
+ * the last node starting before the position which also ends after it. A segment tree over the end positions finds that
+ * node without looking at every node.
+ */
+public class ASTNodePositionIndex {
+
+    private final ASTNode[] nodes;
+    private final long[] starts;
+    private final long[] maxEnds;
+
+    public ASTNodePositionIndex(List<ASTNode> nodes, ToIntFunction<ASTNode> depth) {
+        List<Entry> entries = new ArrayList<>(nodes.size());
+        for (ASTNode node : nodes) {
+            if (node.getLineNumber() == -1) continue;
+            Range range = GroovyLanguageServerUtils.astNodeToRange(node);
+            if (range == null) continue;
+            // a constructor shares its range with its class, in which case the class is preferred
+            int priority = node instanceof ConstructorNode ? depth.applyAsInt(node) - 2 : depth.applyAsInt(node);
+            entries.add(new Entry(node, toLong(range.getStart()), toLong(range.getEnd()), priority));
+        }
+        // for equal ranges the deeper node comes last
+        entries.sort(Comparator.comparingLong((Entry entry) -> entry.start)
+                             .thenComparing(Comparator.comparingLong((Entry entry) -> entry.end).reversed())
+                             .thenComparingInt(entry -> entry.priority));
+        this.nodes = new ASTNode[entries.size()];
+        this.starts = new long[entries.size()];
+        long[] ends = new long[entries.size()];
+        for (int i = 0; i < entries.size(); i++) {
+            Entry entry = entries.get(i);
+            this.nodes[i] = entry.node;
+            this.starts[i] = entry.start;
+            ends[i] = entry.end;
+        }
+        this.maxEnds = new long[Math.max(1, 4 * ends.length)];
+        if (ends.length > 0) {
+            build(ends, 0, 0, ends.length);
+        }
+    }
+
+    public ASTNode getNodeAt(int line, int column) {
+        long position = toLong(line, column);
+        // index of the last node which starts before or at the position
+        int low = 0, high = this.starts.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (this.starts[mid] <= position) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        if (low == 0) return null;
+        int index = findLast(0, 0, this.nodes.length, low - 1, position);
+        return index < 0 ? null : this.nodes[index];
+    }
+
+    private void build(long[] ends, int treeIndex, int from, int to) {
+        if (to - from == 1) {
+            this.maxEnds[treeIndex] = ends[from];
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        build(ends, 2 * treeIndex + 1, from, mid);
+        build(ends, 2 * treeIndex + 2, mid, to);
+        this.maxEnds[treeIndex] = Math.max(this.maxEnds[2 * treeIndex + 1], this.maxEnds[2 * treeIndex + 2]);
+    }
+
+    /**
+     * Finds the last index in [from, min(to, limit + 1)) which ends at or after the position.
+     */
+    private int findLast(int treeIndex, int from, int to, int limit, long position) {
+        if (from > limit || this.maxEnds[treeIndex] < position) return -1;
+        if (to - from == 1) return from;
+        int mid = (from + to) >>> 1;
+        int result = findLast(2 * treeIndex + 2, mid, to, limit, position);
+        return result >= 0 ? result : findLast(2 * treeIndex + 1, from, mid, limit, position);
+    }
+
+    private static long toLong(Position position) {
+        return toLong(position.getLine(), position.getCharacter());
+    }
+
+    private static long toLong(int line, int column) {
+        return ((long) line << 32) | (column & 0xFFFFFFFFL);
+    }
+
+    private static class Entry {
+
+        private final ASTNode node;
+        private final long start;
+        private final long end;
+        private final int priority;
+
+        private Entry(ASTNode node, long start, long end, int priority) {
+            this.node = node;
+            this.start = start;
+            this.end = end;
+            this.priority = priority;
+        }
+    }
+}
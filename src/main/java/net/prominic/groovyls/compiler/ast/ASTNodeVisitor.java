@@ -21,21 +21,16 @@ package net.prominic.groovyls.compiler.ast;
 
 import com.cleanroommc.groovyscript.helper.BetterList;
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
-import net.prominic.groovyls.util.GroovyLanguageServerUtils;
-import net.prominic.lsp.utils.Positions;
-import net.prominic.lsp.utils.Ranges;
 import org.codehaus.groovy.ast.*;
 import org.codehaus.groovy.ast.expr.*;
 import org.codehaus.groovy.ast.stmt.*;
 import org.codehaus.groovy.classgen.BytecodeExpression;
 import org.codehaus.groovy.control.CompilationUnit;
 import org.codehaus.groovy.control.SourceUnit;
-import org.eclipse.lsp4j.Position;
-import org.eclipse.lsp4j.Range;
 
 import java.net.URI;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class ASTNodeVisitor extends ClassCodeVisitorSupport {
 
@@ -64,6 +59,7 @@ public class ASTNodeVisitor extends ClassCodeVisitorSupport {
 
         public ASTNode parent;
         public URI uri;
+        public int depth;
     }
 
     private SourceUnit sourceUnit;
@@ -77,15 +73,20 @@ public class ASTNodeVisitor extends ClassCodeVisitorSupport {
     private final Map<URI, List<ASTNode>> nodesByURI = new Object2ObjectOpenHashMap<>();
     private final Map<URI, List<ClassNode>> classNodesByURI = new Object2ObjectOpenHashMap<>();
     private final Map<ASTLookupKey, ASTNodeLookupData> lookup = new Object2ObjectOpenHashMap<>();
+    // built lazily by reads, which may happen on multiple threads
+    private final Map<URI, ASTNodePositionIndex> positionIndexByURI = new ConcurrentHashMap<>();
+    private final SymbolIndex symbolIndex = new SymbolIndex();
 
     private void pushASTNode(ASTNode node) {
         if (!(node instanceof AnnotatedNode an && an.isSynthetic())) {
             URI uri = sourceUnit.getSource().getURI();
             nodesByURI.get(uri).add(node);
+            symbolIndex.add(uri, node);
 
             ASTNodeLookupData data = new ASTNodeLookupData();
             data.uri = uri;
             data.parent = stack.peekLast();
+            data.depth = stack.size();
             lookup.put(new ASTLookupKey(node), data);
         }
         stack.add(node);
@@ -111,6 +112,10 @@ public class ASTNodeVisitor extends ClassCodeVisitorSupport {
         return result;
     }
 
+    public Set<URI> getURIs() {
+        return Collections.unmodifiableSet(nodesByURI.keySet());
+    }
+
     public List<ASTNode> getNodes(URI uri) {
         List<ASTNode> nodes = nodesByURI.get(uri);
         if (nodes == null) {
@@ -119,58 +124,32 @@ public class ASTNodeVisitor extends ClassCodeVisitorSupport {
         return nodes;
     }
 
+    /**
+     * Returns true if the file was visited, even if it has no nodes because it can't be parsed or is empty.
+     */
+    public boolean isVisited(URI uri) {
+        return nodesByURI.containsKey(uri);
+    }
+
+    public SymbolIndex getSymbolIndex() {
+        return symbolIndex;
+    }
+
     public ASTNode getNodeAtLineAndColumn(URI uri, int line, int column) {
-        Position position = new Position(line, column);
-        Map<ASTNode, Range> nodeToRange = new HashMap<>();
-        List<ASTNode> nodes = nodesByURI.get(uri);
-        if (nodes == null) {
-            return null;
-        }
-        List<ASTNode> foundNodes = nodes.stream().filter(node -> {
-            if (node.getLineNumber() == -1) {
-                // can't be the offset node if it has no position
-                // also, do this first because it's the fastest comparison
-                return false;
-            }
-            Range range = GroovyLanguageServerUtils.astNodeToRange(node);
-            if (range == null) {
-                return false;
-            }
-            boolean result = Ranges.contains(range, position);
-            if (result) {
-                // save the range object to avoid creating it again when we
-                // sort the nodes
-                nodeToRange.put(node, range);
+        ASTNodePositionIndex index = positionIndexByURI.get(uri);
+        if (index == null) {
+            List<ASTNode> nodes = nodesByURI.get(uri);
+            if (nodes == null) {
+                return null;
             }
-            return result;
-        }).sorted((n1, n2) -> {
-            int result = Positions.COMPARATOR.reversed().compare(nodeToRange.get(n1).getStart(),
-                                                                 nodeToRange.get(n2).getStart());
-            if (result != 0) {
-                return result;
-            }
-            result = Positions.COMPARATOR.compare(nodeToRange.get(n1).getEnd(), nodeToRange.get(n2).getEnd());
-            if (result != 0) {
-                return result;
-            }
-            // n1 and n2 have the same range
-            if (contains(n1, n2)) {
-                if (n1 instanceof ClassNode && n2 instanceof ConstructorNode) {
-                    return -1;
-                }
-                return 1;
-            } else if (contains(n2, n1)) {
-                if (n2 instanceof ClassNode && n1 instanceof ConstructorNode) {
-                    return 1;
-                }
-                return -1;
-            }
-            return 0;
-        }).collect(Collectors.toList());
-        if (foundNodes.isEmpty()) {
-            return null;
+            // only built on demand, so that files which changed multiple times are not indexed each time
+            index = new ASTNodePositionIndex(nodes, node -> {
+                ASTNodeLookupData data = lookup.get(new ASTLookupKey(node));
+                return data == null ? 0 : data.depth;
+            });
+            positionIndexByURI.put(uri, index);
         }
-        return foundNodes.get(0);
+        return index.getNodeAt(line, column);
     }
 
     public ASTNode getParent(ASTNode child) {
@@ -207,20 +186,14 @@ public class ASTNodeVisitor extends ClassCodeVisitorSupport {
         nodesByURI.clear();
         classNodesByURI.clear();
         lookup.clear();
+        positionIndexByURI.clear();
+        symbolIndex.clear();
         unit.iterator().forEachRemaining(this::visitSourceUnit);
     }
 
     public void visitCompilationUnit(CompilationUnit unit, Collection<URI> uris) {
-        uris.forEach(uri -> {
-            // clear all old nodes so that they may be replaced
-            List<ASTNode> nodes = nodesByURI.remove(uri);
-            if (nodes != null) {
-                nodes.forEach(node -> {
-                    lookup.remove(new ASTLookupKey(node));
-                });
-            }
-            classNodesByURI.remove(uri);
-        });
+        // clear all old nodes so that they may be replaced
+        uris.forEach(this::removeNodes);
         unit.iterator().forEachRemaining(sourceUnit -> {
             URI uri = sourceUnit.getSource().getURI();
             if (!uris.contains(uri)) {
@@ -230,6 +203,18 @@ public class ASTNodeVisitor extends ClassCodeVisitorSupport {
         });
     }
 
+    public void removeNodes(URI uri) {
+        List<ASTNode> nodes = nodesByURI.remove(uri);
+        if (nodes != null) {
+            nodes.forEach(node -> {
+                lookup.remove(new ASTLookupKey(node));
+            });
+        }
+        classNodesByURI.remove(uri);
+        positionIndexByURI.remove(uri);
+        symbolIndex.remove(uri);
+    }
+
     public void visitSourceUnit(SourceUnit unit) {
         sourceUnit = unit;
         URI uri = sourceUnit.getSource().getURI();
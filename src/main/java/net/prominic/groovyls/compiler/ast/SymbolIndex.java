@@ -0,0 +1,284 @@
+package net.prominic.groovyls.compiler.ast;
+
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
+import net.prominic.groovyls.compiler.util.GroovyASTUtils;
+import org.codehaus.groovy.ast.*;
+import org.codehaus.groovy.ast.expr.*;
+import org.codehaus.groovy.ast.stmt.ExpressionStatement;
+import org.jetbrains.annotations.Nullable;
+
+import java.net.URI;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Indexes the nodes of all visited files by name. It is updated by the {@link ASTNodeVisitor} for every file it visits or
+ * removes, so requests only have to look at the nodes which can match instead of every node of the workspace.
+ * <p>
+ * References are indexed by the name of the definition {@link GroovyASTUtils#getDefinition} resolves them to. Resolving needs
+ * the whole workspace, so a file is only indexed the first time references are looked up after it was visited, and only if
+ * it mentions the name at all. Nodes which can't be resolved yet are resolved again on every lookup, since another file may
+ * define them later. The references of a file which depends on a file that changed have to be dropped with
+ * {@link #invalidateReferences(Collection)}, since they may have been resolved to the old nodes.
+ * <p>
+ * Declarations (classes, methods, fields and properties) are additionally indexed by all lower case substrings of up to
+ * {@link #GRAM_LENGTH} characters of their name. A query only checks the names of the smallest matching posting list.
+ */
+public class SymbolIndex {
+
+    private static final int GRAM_LENGTH = 3;
+
+    // built lazily by reads, which may happen on multiple threads
+    private final Map<URI, FileReferences> referencesByURI = new ConcurrentHashMap<>();
+    // the simple names each file spells out, see getMentionedNames()
+    private final Map<URI, Set<String>> mentionsByURI = new Object2ObjectOpenHashMap<>();
+    private final Map<String, Map<URI, List<ASTNode>>> declarationsByName = new Object2ObjectOpenHashMap<>();
+    private final Map<URI, Set<String>> declarationNamesByURI = new Object2ObjectOpenHashMap<>();
+    private final Map<String, Set<String>> declarationNamesByGram = new Object2ObjectOpenHashMap<>();
+
+    public void add(URI uri, ASTNode node) {
+        Set<String> mentions = mentionsByURI.computeIfAbsent(uri, k -> new ObjectOpenHashSet<>());
+        addMentionedNames(node, mentions);
+        String declarationName = getDeclarationName(node);
+        if (declarationName != null) {
+            String lowerCaseName = declarationName.toLowerCase(Locale.ROOT);
+            if (put(declarationsByName, declarationNamesByURI, uri, lowerCaseName, node)) {
+                forEachGram(lowerCaseName, gram -> declarationNamesByGram.computeIfAbsent(gram, k -> new ObjectOpenHashSet<>()).add(lowerCaseName));
+            }
+        }
+    }
+
+    public void remove(URI uri) {
+        referencesByURI.remove(uri);
+        mentionsByURI.remove(uri);
+        for (String lowerCaseName : remove(declarationsByName, declarationNamesByURI, uri)) {
+            forEachGram(lowerCaseName, gram -> {
+                Set<String> names = declarationNamesByGram.get(gram);
+                if (names != null && names.remove(lowerCaseName) && names.isEmpty()) {
+                    declarationNamesByGram.remove(gram);
+                }
+            });
+        }
+    }
+
+    /**
+     * Drops the references of the files, so that they are resolved again on the next lookup.
+     */
+    public void invalidateReferences(Collection<URI> uris) {
+        uris.forEach(referencesByURI::remove);
+    }
+
+    public void clear() {
+        referencesByURI.clear();
+        mentionsByURI.clear();
+        declarationsByName.clear();
+        declarationNamesByURI.clear();
+        declarationNamesByGram.clear();
+    }
+
+    /**
+     * Returns all nodes whose definition has the given name. See {@link #getDefinitionName(ASTNode)}.
+     */
+    public List<ASTNode> getReferences(String name, ASTContext context) {
+        ASTNodeVisitor visitor = context.getVisitor();
+        String simpleName = getSimpleName(name);
+        List<ASTNode> result = new ArrayList<>();
+        for (URI uri : visitor.getURIs()) {
+            FileReferences references = referencesByURI.get(uri);
+            if (references == null) {
+                // files which don't spell out the name can't refer to it, so they don't have to be resolved yet
+                if (!mentionsByURI.getOrDefault(uri, Collections.emptySet()).contains(simpleName)) continue;
+                references = referencesByURI.computeIfAbsent(uri, key -> new FileReferences(visitor.getNodes(key), context));
+            }
+            result.addAll(references.nodesByName.getOrDefault(name, Collections.emptyList()));
+            for (ASTNode node : references.unresolved) {
+                if (name.equals(getDefinitionName(node, context))) {
+                    result.add(node);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns all declarations whose name contains the query, ignoring case. Names starting with the query come first. If no
+     * name contains the query, declarations whose name contains the characters of the query in order are returned instead.
+     */
+    public List<ASTNode> findDeclarations(String query) {
+        String lowerCaseQuery = query.toLowerCase(Locale.ROOT);
+        List<ASTNode> result = new ArrayList<>();
+        if (lowerCaseQuery.isEmpty()) {
+            for (Map<URI, List<ASTNode>> nodes : declarationsByName.values()) {
+                collect(nodes, result);
+            }
+            return result;
+        }
+        List<String> matches = new ArrayList<>();
+        for (String name : getCandidates(lowerCaseQuery)) {
+            if (name.contains(lowerCaseQuery)) {
+                matches.add(name);
+            }
+        }
+        if (matches.isEmpty() && lowerCaseQuery.length() > 1) {
+            for (String name : declarationNamesByGram.getOrDefault(lowerCaseQuery.substring(0, 1), Collections.emptySet())) {
+                if (isSubsequence(lowerCaseQuery, name)) {
+                    matches.add(name);
+                }
+            }
+        }
+        matches.sort(Comparator.comparing((String name) -> !name.startsWith(lowerCaseQuery)).thenComparing(Comparator.naturalOrder()));
+        for (String name : matches) {
+            collect(declarationsByName.get(name), result);
+        }
+        return result;
+    }
+
+    private Set<String> getCandidates(String lowerCaseQuery) {
+        Set<String> smallest = null;
+        int length = Math.min(GRAM_LENGTH, lowerCaseQuery.length());
+        for (int i = 0; i + length <= lowerCaseQuery.length(); i++) {
+            Set<String> names = declarationNamesByGram.get(lowerCaseQuery.substring(i, i + length));
+            if (names == null) return Collections.emptySet();
+            if (smallest == null || names.size() < smallest.size()) {
+                smallest = names;
+            }
+        }
+        return smallest == null ? Collections.emptySet() : smallest;
+    }
+
+    /**
+     * Returns the name under which nodes referring to the definition are indexed, or null if the definition can't be looked up
+     * by name.
+     */
+    public static @Nullable String getDefinitionName(ASTNode definition) {
+        if (definition instanceof ClassNode classNode) return classNode.getName();
+        if (definition instanceof MethodNode methodNode) return methodNode.getName();
+        if (definition instanceof Variable variable) return variable.getName();
+        return null;
+    }
+
+    private static @Nullable String getDefinitionName(ASTNode node, ASTContext context) {
+        ASTNode definition = GroovyASTUtils.getDefinition(node, false, context);
+        return definition == null ? null : getDefinitionName(definition);
+    }
+
+    /**
+     * Adds the names a reference node spells out. These are the names of the definitions {@link GroovyASTUtils#getDefinition}
+     * can resolve the node to, without the package.
+     */
+    private static void addMentionedNames(ASTNode node, Set<String> mentions) {
+        if (node instanceof ExpressionStatement statement) {
+            addMentionedNames(statement.getExpression(), mentions);
+        } else if (node instanceof ClassNode classNode) {
+            mentions.add(getSimpleName(classNode.getName()));
+        } else if (node instanceof ConstructorCallExpression) {
+            mentions.add("<init>");
+        } else if (node instanceof DeclarationExpression declaration) {
+            if (!declaration.isMultipleAssignmentDeclaration()) {
+                mentions.add(getSimpleName(declaration.getVariableExpression().getOriginType().getName()));
+            }
+        } else if (node instanceof ClassExpression classExpression) {
+            mentions.add(getSimpleName(classExpression.getType().getName()));
+        } else if (node instanceof ImportNode importNode) {
+            mentions.add(getSimpleName(importNode.getType().getName()));
+        } else if (node instanceof MethodNode methodNode) {
+            mentions.add(methodNode.getName());
+        } else if (node instanceof ConstantExpression constant) {
+            // method and property names
+            mentions.add(constant.getText());
+        } else if (node instanceof Variable variable) {
+            mentions.add(variable.getName());
+        } else if (node instanceof MethodCallExpression methodCall) {
+            addMentionedNames(methodCall.getObjectExpression(), mentions);
+        } else if (node instanceof StaticMethodCallExpression staticMethodCall) {
+            mentions.add(staticMethodCall.getMethod());
+            // game object calls resolve to a method named after their first argument
+            if (staticMethodCall.getArguments() instanceof ArgumentListExpression arguments && !arguments.getExpressions().isEmpty() &&
+                arguments.getExpression(0) instanceof ConstantExpression constant) {
+                mentions.add(constant.getText());
+            }
+        }
+    }
+
+    private static String getSimpleName(String name) {
+        return name.substring(name.lastIndexOf('.') + 1);
+    }
+
+    private static @Nullable String getDeclarationName(ASTNode node) {
+        if (node instanceof ClassNode classNode) return classNode.getName();
+        if (node instanceof MethodNode methodNode) return methodNode.getName();
+        if (node instanceof FieldNode fieldNode) return fieldNode.getName();
+        if (node instanceof PropertyNode propertyNode) return propertyNode.getName();
+        return null;
+    }
+
+    private static boolean put(Map<String, Map<URI, List<ASTNode>>> index, Map<URI, Set<String>> namesByURI, URI uri, String name, ASTNode node) {
+        namesByURI.computeIfAbsent(uri, k -> new ObjectOpenHashSet<>()).add(name);
+        boolean newName = !index.containsKey(name);
+        index.computeIfAbsent(name, k -> new Object2ObjectOpenHashMap<>()).computeIfAbsent(uri, k -> new ArrayList<>()).add(node);
+        return newName;
+    }
+
+    /**
+     * Removes all nodes of the file and returns the names which no longer have any node.
+     */
+    private static List<String> remove(Map<String, Map<URI, List<ASTNode>>> index, Map<URI, Set<String>> namesByURI, URI uri) {
+        Set<String> names = namesByURI.remove(uri);
+        if (names == null) return Collections.emptyList();
+        List<String> removed = new ArrayList<>();
+        for (String name : names) {
+            Map<URI, List<ASTNode>> nodes = index.get(name);
+            if (nodes != null && nodes.remove(uri) != null && nodes.isEmpty()) {
+                index.remove(name);
+                removed.add(name);
+            }
+        }
+        return removed;
+    }
+
+    private static List<ASTNode> collect(@Nullable Map<URI, List<ASTNode>> nodes, List<ASTNode> result) {
+        if (nodes != null) {
+            for (List<ASTNode> list : nodes.values()) {
+                result.addAll(list);
+            }
+        }
+        return result;
+    }
+
+    private static class FileReferences {
+
+        private final Map<String, List<ASTNode>> nodesByName = new Object2ObjectOpenHashMap<>();
+        private final List<ASTNode> unresolved = new ArrayList<>();
+
+        private FileReferences(List<ASTNode> nodes, ASTContext context) {
+            for (ASTNode node : nodes) {
+                String name = getDefinitionName(node, context);
+                if (name != null) {
+                    nodesByName.computeIfAbsent(name, key -> new ArrayList<>()).add(node);
+                } else {
+                    unresolved.add(node);
+                }
+            }
+        }
+    }
+
+    private static void forEachGram(String name, Consumer<String> consumer) {
+        Set<String> grams = new ObjectOpenHashSet<>();
+        for (int length = 1; length <= GRAM_LENGTH; length++) {
+            for (int i = 0; i + length <= name.length(); i++) {
+                grams.add(name.substring(i, i + length));
+            }
+        }
+        grams.forEach(consumer);
+    }
+
+    private static boolean isSubsequence(String query, String name) {
+        int j = 0;
+        for (int i = 0; i < name.length() && j < query.length(); i++) {
+            if (name.charAt(i) == query.charAt(j)) j++;
+        }
+        return j == query.length();
+    }
+}
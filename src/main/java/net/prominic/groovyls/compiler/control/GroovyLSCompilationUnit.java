@@ -20,8 +20,6 @@
 package net.prominic.groovyls.compiler.control;
 
 import groovy.lang.GroovyClassLoader;
-import net.prominic.groovyls.compiler.ILanguageServerContext;
-import net.prominic.groovyls.compiler.ast.ASTNodeVisitor;
 import org.codehaus.groovy.ast.CompileUnit;
 import org.codehaus.groovy.ast.ModuleNode;
 import org.codehaus.groovy.control.*;
@@ -33,24 +31,31 @@ import java.security.CodeSource;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
-import java.util.Set;
 import java.util.stream.Collectors;
 
+/**
+ * A compilation unit which only contains a single file of the workspace. Classes of other files are resolved through a
+ * {@link ScriptClassTable}.
+ */
 public class GroovyLSCompilationUnit extends CompilationUnit {
 
-    private final ILanguageServerContext languageServerContext;
-    @Nullable
-    private ASTNodeVisitor visitor;
+    private final URI uri;
 
-    @Nullable
-    private URI previousContext;
-
-    public GroovyLSCompilationUnit(CompilerConfiguration config, CodeSource security, GroovyClassLoader loader, ILanguageServerContext languageServerContext) {
+    public GroovyLSCompilationUnit(CompilerConfiguration config, CodeSource security, GroovyClassLoader loader, URI uri) {
         super(config, security, loader);
-        this.languageServerContext = languageServerContext;
+        this.uri = uri;
         this.errorCollector = new LanguageServerErrorCollector(config);
     }
 
+    public URI getURI() {
+        return uri;
+    }
+
+    public @Nullable ModuleNode getModule() {
+        List<ModuleNode> modules = ast.getModules();
+        return modules.isEmpty() ? null : modules.get(0);
+    }
+
     public void setErrorCollector(LanguageServerErrorCollector errorCollector) {
         this.errorCollector = errorCollector;
     }
@@ -92,49 +97,4 @@ public class GroovyLSCompilationUnit extends CompilationUnit {
             // ignore
         }
     }
-
-    private ASTNodeVisitor visitAST(Set<URI> uris) {
-        if (visitor == null || uris.isEmpty()) {
-            visitor = new ASTNodeVisitor();
-            visitor.visitCompilationUnit(this);
-        } else {
-            visitor.visitCompilationUnit(this, uris);
-        }
-
-        return visitor;
-    }
-
-    private ASTNodeVisitor compileAndVisitAST() {
-        previousContext = null;
-
-        compile();
-        return visitAST(Collections.emptySet());
-    }
-
-    private ASTNodeVisitor compileAndVisitAST(@Nullable URI context) {
-        if (context == null) {
-            return compileAndVisitAST();
-        }
-
-        previousContext = context;
-
-        compile();
-        return visitAST(Collections.singleton(context));
-    }
-
-    public ASTNodeVisitor recompileAndVisitASTIfContextChanged(@Nullable URI context) {
-        var isChanged = context == null || languageServerContext.getFileContentsTracker().getChangedURIs().contains(context);
-
-        languageServerContext.getFileContentsTracker().resetChangedFiles();
-
-        if ((previousContext == null || previousContext.equals(context)) && visitor != null && !isChanged) {
-            return visitor;
-        }
-
-        if (context != null) {
-            languageServerContext.getFileContentsTracker().forceChanged(context);
-        }
-
-        return compileAndVisitAST(context);
-    }
-}
\ No newline at end of file
+}
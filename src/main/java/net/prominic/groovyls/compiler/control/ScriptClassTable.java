@@ -0,0 +1,187 @@
+package net.prominic.groovyls.compiler.control;
+
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
+import org.codehaus.groovy.ast.*;
+import org.codehaus.groovy.control.ClassNodeResolver;
+import org.codehaus.groovy.control.CompilationUnit;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Modifier;
+import java.net.URI;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The classes declared in the shared source files of a workspace. Every file is compiled in its own compilation unit, which
+ * resolves classes of other files through {@link #getResolver()}. The table remembers which names each file looked up, so that
+ * only the files depending on a class need to be recompiled when its public surface changes.
+ */
+public class ScriptClassTable {
+
+    private final Map<String, ClassNode> classes = new Object2ObjectOpenHashMap<>();
+    private final Map<String, URI> owners = new Object2ObjectOpenHashMap<>();
+    private final Map<URI, Map<String, String>> signaturesByFile = new Object2ObjectOpenHashMap<>();
+    private final Map<URI, Set<String>> lookupsByFile = new Object2ObjectOpenHashMap<>();
+    private Resolver resolver = new Resolver();
+
+    public ClassNodeResolver getResolver() {
+        return resolver;
+    }
+
+    /**
+     * Replaces the classes declared by a file. Returns the names of all classes which were added, removed or whose public
+     * surface changed.
+     */
+    public Set<String> update(URI uri, @Nullable ModuleNode module) {
+        Map<String, String> signatures = new Object2ObjectOpenHashMap<>();
+        Map<String, ClassNode> declared = new Object2ObjectOpenHashMap<>();
+        if (module != null) {
+            for (ClassNode classNode : module.getClasses()) {
+                if (classNode.isScript()) continue;
+                declared.put(classNode.getName(), classNode);
+                signatures.put(classNode.getName(), getSignature(classNode));
+            }
+        }
+        Map<String, String> previous = signaturesByFile.remove(uri);
+        if (previous == null) previous = Collections.emptyMap();
+        Set<String> changed = new ObjectOpenHashSet<>();
+        for (Map.Entry<String, String> entry : previous.entrySet()) {
+            if (!entry.getValue().equals(signatures.get(entry.getKey()))) {
+                changed.add(entry.getKey());
+            }
+            if (uri.equals(owners.get(entry.getKey()))) {
+                classes.remove(entry.getKey());
+                owners.remove(entry.getKey());
+            }
+        }
+        for (Map.Entry<String, String> entry : signatures.entrySet()) {
+            if (!previous.containsKey(entry.getKey())) {
+                changed.add(entry.getKey());
+            }
+        }
+        if (!signatures.isEmpty()) {
+            signaturesByFile.put(uri, signatures);
+            classes.putAll(declared);
+            for (String name : declared.keySet()) {
+                owners.put(name, uri);
+            }
+        }
+        return changed;
+    }
+
+    public Set<String> remove(URI uri) {
+        lookupsByFile.remove(uri);
+        return update(uri, null);
+    }
+
+    /**
+     * Forgets the names a file looked up. Should be called before the file is compiled again.
+     */
+    public void clearLookups(URI uri) {
+        lookupsByFile.remove(uri);
+    }
+
+    /**
+     * Returns the names of the classes currently declared by a file.
+     */
+    public Set<String> getClassNames(URI uri) {
+        Map<String, String> signatures = signaturesByFile.get(uri);
+        return signatures == null ? Collections.emptySet() : Collections.unmodifiableSet(signatures.keySet());
+    }
+
+    /**
+     * Returns all files which looked up any of the given class names.
+     */
+    public Set<URI> getDependents(Collection<String> classNames) {
+        Set<URI> dependents = new ObjectOpenHashSet<>();
+        if (classNames.isEmpty()) return dependents;
+        for (Map.Entry<URI, Set<String>> entry : lookupsByFile.entrySet()) {
+            for (String name : classNames) {
+                if (entry.getValue().contains(name)) {
+                    dependents.add(entry.getKey());
+                    break;
+                }
+            }
+        }
+        return dependents;
+    }
+
+    public void clear() {
+        classes.clear();
+        owners.clear();
+        signaturesByFile.clear();
+        lookupsByFile.clear();
+        // the resolver caches classes from the class loader, which may change when the table is cleared
+        resolver = new Resolver();
+    }
+
+    private static String getSignature(ClassNode classNode) {
+        StringBuilder builder = new StringBuilder();
+        builder.append(classNode.getModifiers()).append(' ');
+        appendType(builder, classNode.getUnresolvedSuperClass(false));
+        for (ClassNode anInterface : classNode.getInterfaces()) {
+            appendType(builder, anInterface);
+        }
+        builder.append('{');
+        for (FieldNode field : classNode.getFields()) {
+            if (field.isSynthetic() || Modifier.isPrivate(field.getModifiers())) continue;
+            builder.append(field.getModifiers()).append(' ').append(field.getName()).append(' ');
+            appendType(builder, field.getType());
+        }
+        for (PropertyNode property : classNode.getProperties()) {
+            builder.append(property.getModifiers()).append(' ').append(property.getName()).append(' ');
+            appendType(builder, property.getType());
+        }
+        for (ConstructorNode constructor : classNode.getDeclaredConstructors()) {
+            appendMethod(builder, constructor);
+        }
+        for (MethodNode method : classNode.getMethods()) {
+            appendMethod(builder, method);
+        }
+        return builder.append('}').toString();
+    }
+
+    private static void appendMethod(StringBuilder builder, MethodNode method) {
+        if (method.isSynthetic() || method.isPrivate()) return;
+        builder.append(method.getModifiers()).append(' ').append(method.getName()).append(' ');
+        appendType(builder, method.getReturnType());
+        builder.append('(');
+        for (Parameter parameter : method.getParameters()) {
+            appendType(builder, parameter.getType());
+        }
+        builder.append(')');
+    }
+
+    private static void appendType(StringBuilder builder, @Nullable ClassNode type) {
+        builder.append(type == null ? "" : type.getName()).append(';');
+    }
+
+    private class Resolver extends ClassNodeResolver {
+
+        @Override
+        public LookupResult resolveName(String name, CompilationUnit compilationUnit) {
+            URI uri = compilationUnit instanceof GroovyLSCompilationUnit unit ? unit.getURI() : null;
+            ClassNode classNode = classes.get(name);
+            // classes of the compiling file itself are found in its own ast first, so an entry owned by it is outdated
+            if (classNode != null && !owners.get(name).equals(uri)) {
+                recordLookup(uri, name);
+                return new LookupResult(null, classNode);
+            }
+            LookupResult result = super.resolveName(name, compilationUnit);
+            if (result == null) {
+                // the class may be declared by another file later
+                recordLookup(uri, name);
+            }
+            return result;
+        }
+
+        private void recordLookup(@Nullable URI uri, String name) {
+            if (uri != null) {
+                lookupsByFile.computeIfAbsent(uri, k -> new ObjectOpenHashSet<>()).add(name);
+            }
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package net.prominic.groovyls.compiler.control;
+
+import com.cleanroommc.groovyscript.GroovyScript;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
+import net.prominic.groovyls.compiler.ILanguageServerContext;
+import net.prominic.groovyls.compiler.ast.ASTNodeVisitor;
+import net.prominic.groovyls.config.ICompilationUnitFactory;
+import net.prominic.groovyls.util.FileContentsTracker;
+import org.codehaus.groovy.GroovyBugError;
+import org.codehaus.groovy.ast.ModuleNode;
+import org.jetbrains.annotations.Nullable;
+
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Compiles every file of the workspace in its own {@link GroovyLSCompilationUnit}. Only changed files are compiled again.
+ * Files which looked up a class of a changed file are compiled again as well, but only if the public surface of that class
+ * changed. The asts of all files are collected in a single {@link ASTNodeVisitor}.
+ * <p>
+ * The ast is only updated at the end of a compile, after all files were compiled. Other threads can read it with
+ * {@link #read(Supplier)} and only have to wait for that update, not for the whole compile.
+ */
+public class WorkspaceCompiler {
+
+    // limits how often dependents are compiled again in a single compile, in case files depend on each other
+    private static final int MAX_ROUNDS = 3;
+
+    private final ICompilationUnitFactory compilationUnitFactory;
+    private final ILanguageServerContext languageServerContext;
+    // the class table and the compilation units are only accessed on the compiling thread
+    private final ScriptClassTable classTable = new ScriptClassTable();
+    private final Map<URI, GroovyLSCompilationUnit> compilationUnits = new Object2ObjectOpenHashMap<>();
+    private final ReadWriteLock visitorLock = new ReentrantReadWriteLock();
+    private ASTNodeVisitor visitor = new ASTNodeVisitor();
+    private @Nullable Set<URI> sharedSources;
+
+    public WorkspaceCompiler(ICompilationUnitFactory compilationUnitFactory, ILanguageServerContext languageServerContext) {
+        this.compilationUnitFactory = compilationUnitFactory;
+        this.languageServerContext = languageServerContext;
+    }
+
+    /**
+     * Discards all compiled files. The next compile starts from scratch.
+     */
+    public void invalidate() {
+        compilationUnitFactory.invalidateCompilationUnit();
+        compilationUnits.clear();
+        classTable.clear();
+        visitor = new ASTNodeVisitor();
+        sharedSources = null;
+    }
+
+    public Collection<GroovyLSCompilationUnit> getCompilationUnits() {
+        return compilationUnits.values();
+    }
+
+    /**
+     * Compiles all changed files and the given file, if it was not compiled yet. Returns the ast of the whole workspace.
+     */
+    public ASTNodeVisitor compile(Path workspaceRoot, @Nullable URI context) {
+        FileContentsTracker fileContentsTracker = languageServerContext.getFileContentsTracker();
+        Set<URI> changed = new ObjectOpenHashSet<>(fileContentsTracker.getChangedURIs());
+        fileContentsTracker.resetChangedFiles();
+
+        Set<URI> queue = new ObjectOpenHashSet<>();
+        if (sharedSources == null || !compilationUnits.keySet().containsAll(changed)) {
+            // new files may have been created
+            Set<URI> previous = sharedSources;
+            sharedSources = compilationUnitFactory.getSharedSources(workspaceRoot);
+            for (URI uri : sharedSources) {
+                if (previous == null || !previous.contains(uri)) {
+                    queue.add(uri);
+                }
+            }
+        }
+        for (URI uri : changed) {
+            // files which are neither shared nor requested yet are compiled once something asks for them
+            if (compilationUnits.containsKey(uri) || sharedSources.contains(uri)) {
+                queue.add(uri);
+            }
+        }
+        if (context != null && !compilationUnits.containsKey(context)) {
+            queue.add(context);
+        }
+
+        // compiled files by uri, deleted files map to null
+        Map<URI, GroovyLSCompilationUnit> compiled = new LinkedHashMap<>();
+        // classes declared by the compiled files before and after the compile
+        Set<String> compiledClasses = new ObjectOpenHashSet<>();
+        for (int round = 0; round < MAX_ROUNDS && !queue.isEmpty(); round++) {
+            Set<String> changedClasses = new ObjectOpenHashSet<>();
+            for (URI uri : sortSharedFirst(queue)) {
+                compiledClasses.addAll(classTable.getClassNames(uri));
+                changedClasses.addAll(compileFile(workspaceRoot, uri, compiled));
+                compiledClasses.addAll(classTable.getClassNames(uri));
+            }
+            queue = classTable.getDependents(changedClasses);
+            // deleted files don't need to be compiled again
+            queue.removeIf(uri -> compiled.containsKey(uri) && compiled.get(uri) == null);
+        }
+        if (!compiled.isEmpty()) {
+            // readers may look at the ast at any time, so it is only changed while they are locked out
+            visitorLock.writeLock().lock();
+            try {
+                compiled.forEach((uri, compilationUnit) -> {
+                    if (compilationUnit == null) {
+                        compilationUnits.remove(uri);
+                        visitor.removeNodes(uri);
+                    } else {
+                        compilationUnits.put(uri, compilationUnit);
+                        visitor.visitCompilationUnit(compilationUnit, Collections.singleton(uri));
+                    }
+                });
+                // references of other files may have been resolved to nodes of the compiled files
+                visitor.getSymbolIndex().invalidateReferences(classTable.getDependents(compiledClasses));
+            } finally {
+                visitorLock.writeLock().unlock();
+            }
+        }
+        return visitor;
+    }
+
+    /**
+     * Reads an ast returned by {@link #compile(Path, URI)} from any thread. Compiling itself doesn't block readers, only
+     * applying the compiled files to the ast at the end of a compile waits until the action is done and vice versa.
+     */
+    public <T> T read(Supplier<T> action) {
+        visitorLock.readLock().lock();
+        try {
+            return action.get();
+        } finally {
+            visitorLock.readLock().unlock();
+        }
+    }
+
+    private List<URI> sortSharedFirst(Set<URI> uris) {
+        List<URI> sorted = new ArrayList<>(uris);
+        // shared classes are compiled first, so that the other files can already resolve them
+        sorted.sort(Comparator.comparing(uri -> !sharedSources.contains(uri)));
+        return sorted;
+    }
+
+    /**
+     * Compiles a single file and returns the names of its shared classes whose public surface changed. The compilation unit
+     * is only collected in {@code compiled}, the ast is updated after all files were compiled.
+     */
+    private Set<String> compileFile(Path workspaceRoot, URI uri, Map<URI, GroovyLSCompilationUnit> compiled) {
+        FileContentsTracker fileContentsTracker = languageServerContext.getFileContentsTracker();
+        if (!fileContentsTracker.isOpen(uri) && !Files.exists(Paths.get(uri))) {
+            compiled.put(uri, null);
+            return classTable.remove(uri);
+        }
+
+        classTable.clearLookups(uri);
+        GroovyLSCompilationUnit compilationUnit = compilationUnitFactory.create(workspaceRoot, uri);
+        compilationUnit.setClassNodeResolver(classTable.getResolver());
+        try {
+            compilationUnit.compile();
+        } catch (GroovyBugError | Exception e) {
+            GroovyScript.LOGGER.error("Unexpected exception in language server when compiling Groovy.", e);
+        }
+        compiled.put(uri, compilationUnit);
+
+        if (!sharedSources.contains(uri)) {
+            // drops the classes of a file which is no longer shared
+            return classTable.update(uri, null);
+        }
+        ModuleNode module = compilationUnit.getModule();
+        if (module == null) {
+            // keep the previous classes of a file which can't even be parsed right now, so that its dependents don't break
+            return Collections.emptySet();
+        }
+        return classTable.update(uri, module);
+    }
+}
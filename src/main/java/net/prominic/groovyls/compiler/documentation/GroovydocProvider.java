@@ -1,11 +1,30 @@
 package net.prominic.groovyls.compiler.documentation;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import net.prominic.groovyls.compiler.ast.ASTContext;
 import org.codehaus.groovy.ast.AnnotatedNode;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.concurrent.ExecutionException;
+import java.util.regex.Pattern;
+
 public class GroovydocProvider implements IDocumentationProvider {
 
+    private static final Pattern ATTRIBUTES = Pattern.compile("<(\\w+)(?:\\s+\\w+(?::\\w+)?=(\"|\')[^\"\']*\\2)*\\s*(\\/{0,1})>");
+    private static final Pattern PRE_START = Pattern.compile("<pre>");
+    private static final Pattern PRE_END = Pattern.compile("</pre>");
+    private static final Pattern EMPHASIS = Pattern.compile("</?(em|i)>");
+    private static final Pattern STRONG = Pattern.compile("</?(strong|b)>");
+    private static final Pattern CODE = Pattern.compile("</?code>");
+    private static final Pattern HORIZONTAL_RULE = Pattern.compile("<hr ?\\/>");
+    private static final Pattern BLOCK = Pattern.compile("<(p|ul|ol|dl|li|dt|table|tr|div|blockquote)>");
+    private static final Pattern LINE_BREAK = Pattern.compile("<br\\s*/?>\\s*");
+    private static final Pattern TAG = Pattern.compile("<\\/{0,1}\\w+\\/{0,1}>");
+
+    // keyed by the raw comment, so a changed comment is rendered again
+    private final Cache<String, String> markdownCache = CacheBuilder.newBuilder().maximumSize(1024).build();
+
     @Override
     public @Nullable String getDocumentation(AnnotatedNode node, ASTContext context) {
         var groovydoc = node.getGroovydoc();
@@ -14,6 +33,14 @@ public class GroovydocProvider implements IDocumentationProvider {
             return null;
         }
         String content = groovydoc.getContent();
+        try {
+            return markdownCache.get(content, () -> toMarkdown(content));
+        } catch (ExecutionException e) {
+            return toMarkdown(content);
+        }
+    }
+
+    private static String toMarkdown(String content) {
         String[] lines = content.split("\n");
         StringBuilder markdownBuilder = new StringBuilder();
         int n = lines.length;
@@ -53,20 +80,24 @@ public class GroovydocProvider implements IDocumentationProvider {
     }
 
     private static String reformatLine(String line) {
+        if (line.indexOf('<') < 0) {
+            // none of the patterns can match
+            return line;
+        }
         // remove all attributes (including namespaced)
-        line = line.replaceAll("<(\\w+)(?:\\s+\\w+(?::\\w+)?=(\"|\')[^\"\']*\\2)*\\s*(\\/{0,1})>", "<$1$3>");
-        line = line.replaceAll("<pre>", "\n\n```\n");
-        line = line.replaceAll("</pre>", "\n```\n");
-        line = line.replaceAll("</?(em|i)>", "_");
-        line = line.replaceAll("</?(strong|b)>", "**");
-        line = line.replaceAll("</?code>", "`");
-        line = line.replaceAll("<hr ?\\/>", "\n\n---\n\n");
-        line = line.replaceAll("<(p|ul|ol|dl|li|dt|table|tr|div|blockquote)>", "\n\n");
+        line = ATTRIBUTES.matcher(line).replaceAll("<$1$3>");
+        line = PRE_START.matcher(line).replaceAll("\n\n```\n");
+        line = PRE_END.matcher(line).replaceAll("\n```\n");
+        line = EMPHASIS.matcher(line).replaceAll("_");
+        line = STRONG.matcher(line).replaceAll("**");
+        line = CODE.matcher(line).replaceAll("`");
+        line = HORIZONTAL_RULE.matcher(line).replaceAll("\n\n---\n\n");
+        line = BLOCK.matcher(line).replaceAll("\n\n");
 
         // to add a line break to markdown, there needs to be at least two
         // spaces at the end of the line
-        line = line.replaceAll("<br\\s*/?>\\s*", "  \n");
-        line = line.replaceAll("<\\/{0,1}\\w+\\/{0,1}>", "");
+        line = LINE_BREAK.matcher(line).replaceAll("  \n");
+        line = TAG.matcher(line).replaceAll("");
         return line;
     }
 }
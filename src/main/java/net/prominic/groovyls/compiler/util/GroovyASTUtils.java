@@ -21,7 +21,9 @@ package net.prominic.groovyls.compiler.util;
 
 import com.cleanroommc.groovyscript.api.IDynamicGroovyProperty;
 import com.cleanroommc.groovyscript.gameobjects.GameObjectHandlerManager;
+import com.cleanroommc.groovyscript.server.index.ClassIndex;
 import net.prominic.groovyls.compiler.ast.ASTContext;
+import net.prominic.groovyls.compiler.ast.SymbolIndex;
 import net.prominic.groovyls.util.ClassGraphUtils;
 import net.prominic.groovyls.util.GroovyLanguageServerUtils;
 import org.codehaus.groovy.ast.*;
@@ -170,7 +172,9 @@ public class GroovyASTUtils {
         if (definitionNode == null) {
             return Collections.emptyList();
         }
-        return context.getVisitor().getNodes().stream().filter(otherNode -> {
+        String name = SymbolIndex.getDefinitionName(definitionNode);
+        List<ASTNode> candidates = name != null ? context.getVisitor().getSymbolIndex().getReferences(name, context) : context.getVisitor().getNodes();
+        return candidates.stream().filter(otherNode -> {
             ASTNode otherDefinition = getDefinition(otherNode, false, context);
             return definitionNode.equals(otherDefinition) && node.getLineNumber() != -1 && node.getColumnNumber() != -1;
         }).collect(Collectors.toList());
@@ -253,8 +257,9 @@ public class GroovyASTUtils {
         if (classNode != null && node instanceof VariableExpression) {
             var binding = context.getLanguageServerContext().getSandbox().getBindings().get(((VariableExpression) node).getName());
             var classInfo = ClassGraphUtils.resolveAllowedClassInfo(classNode, context);
+            var clazz = classInfo == null ? null : ClassIndex.loadClass(classInfo.getName());
 
-            if (classInfo != null && binding != null && (classInfo.loadClass().equals(IDynamicGroovyProperty.class) || classInfo.implementsInterface(IDynamicGroovyProperty.class))) {
+            if (clazz != null && binding != null && IDynamicGroovyProperty.class.isAssignableFrom(clazz)) {
                 final ClassNode finalClassNode = classNode;
                 return ((IDynamicGroovyProperty) binding).getProperties().entrySet().stream()
                         .filter(entry -> entry.getValue() != null)
@@ -2,7 +2,8 @@ package net.prominic.groovyls.compiler.util;
 
 import com.cleanroommc.groovyscript.sandbox.security.GroovySecurityManager;
 import com.google.common.collect.Iterators;
-import io.github.classgraph.MethodInfo;
+import com.cleanroommc.groovyscript.server.index.ClassIndex;
+import com.cleanroommc.groovyscript.server.index.IndexedMethod;
 import net.prominic.groovyls.compiler.ast.ASTContext;
 import org.codehaus.groovy.ast.MethodNode;
 
@@ -22,14 +23,15 @@ public class GroovyReflectionUtils {
                 .findFirst();
     }
 
-    public static Optional<Method> resolveMethodFromMethodInfo(MethodInfo methodInfo, ASTContext context) {
-        return Arrays.stream(methodInfo.getClassInfo().loadClass().getMethods())
+    public static Optional<Method> resolveMethodFromMethodInfo(IndexedMethod methodInfo, ASTContext context) {
+        Class<?> declaringClass = ClassIndex.loadClass(methodInfo.getDeclaringClass());
+        if (declaringClass == null) return Optional.empty();
+        return Arrays.stream(declaringClass.getMethods())
                 .filter(GroovySecurityManager.INSTANCE::isValid)
                 .filter(method -> method.getName().equals(methodInfo.getName()) &&
-                                  method.getParameterTypes().length == methodInfo.getParameterInfo().length &&
+                                  method.getParameterTypes().length == methodInfo.getParameterTypes().length &&
                                   Iterators.elementsEqual(Arrays.stream(method.getParameterTypes()).iterator(),
-                                                          Arrays.stream(methodInfo.getParameterInfo()).map(parameter -> context.getLanguageServerContext().getScanResult()
-                                                                  .loadClass(parameter.getTypeSignatureOrTypeDescriptor().toString(), true)).iterator()))
+                                                          Arrays.stream(methodInfo.getParameterTypes()).map(ClassIndex::loadClass).iterator()))
                 .findFirst();
     }
 }
@@ -23,121 +23,61 @@ import com.cleanroommc.groovyscript.GroovyScript;
 import net.prominic.groovyls.compiler.ILanguageServerContext;
 import net.prominic.groovyls.compiler.control.GroovyLSCompilationUnit;
 import net.prominic.groovyls.util.FileContentsTracker;
-import org.codehaus.groovy.control.SourceUnit;
-import org.jetbrains.annotations.Nullable;
 
-import java.io.File;
 import java.io.IOException;
 import java.net.URI;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.HashSet;
 import java.util.Set;
+import java.util.stream.Stream;
 
 public class CompilationUnitFactory extends CompilationUnitFactoryBase {
 
     protected static final String FILE_EXTENSION_GROOVY = ".groovy";
     private final ILanguageServerContext languageServerContext;
 
-    protected GroovyLSCompilationUnit compilationUnit;
-
     public CompilationUnitFactory(ILanguageServerContext languageServerContext) {
         this.languageServerContext = languageServerContext;
     }
 
     @Override
-    public void invalidateCompilationUnit() {
-        super.invalidateCompilationUnit();
-        compilationUnit = null;
-    }
-
-    public GroovyLSCompilationUnit create(Path workspaceRoot, @Nullable URI context) {
-        if (config == null) {
-            config = getConfiguration();
-        }
-
-        if (classLoader == null) {
-            classLoader = getClassLoader();
-        }
-
-        Set<URI> changedUris = null;
-        if (compilationUnit == null) {
-            compilationUnit = new GroovyLSCompilationUnit(config, null, classLoader, languageServerContext);
-            // we don't care about changed URIs if there's no compilation unit yet
-        } else {
-            changedUris = languageServerContext.getFileContentsTracker().getChangedURIs();
-        }
-
-        var fileContentsTracker = languageServerContext.getFileContentsTracker();
-
-        if (changedUris != null && !changedUris.isEmpty()) {
-            compilationUnit.setClassLoader(classLoader);
-            final Set<URI> urisToRemove = changedUris;
-            List<SourceUnit> sourcesToRemove = new ArrayList<>();
-            compilationUnit.iterator().forEachRemaining(sourceUnit -> {
-                URI uri = sourceUnit.getSource().getURI();
-                if (urisToRemove.contains(uri)) {
-                    sourcesToRemove.add(sourceUnit);
-                }
-            });
-            // if an URI has changed, we remove it from the compilation unit so
-            // that a new version can be built from the updated source file
-            compilationUnit.removeSources(sourcesToRemove);
-        }
-
+    public Set<URI> getSharedSources(Path workspaceRoot) {
+        // every file can see the classes of every other file
+        Set<URI> result = new HashSet<>();
+        FileContentsTracker fileContentsTracker = languageServerContext.getFileContentsTracker();
         if (workspaceRoot != null) {
-            addDirectoryToCompilationUnit(workspaceRoot, compilationUnit, fileContentsTracker, changedUris);
-        } else {
-            final Set<URI> urisToAdd = changedUris;
-            fileContentsTracker.getOpenURIs().forEach(uri -> {
-                // if we're only tracking changes, skip all files that haven't
-                // actually changed
-                if (urisToAdd != null && !urisToAdd.contains(uri)) {
-                    return;
-                }
-                String contents = fileContentsTracker.getContents(uri);
-                addOpenFileToCompilationUnit(uri, contents, compilationUnit);
-            });
+            addDirectoryToSources(workspaceRoot, result);
         }
+        fileContentsTracker.getOpenURIs().forEach(uri -> {
+            if (workspaceRoot == null || Paths.get(uri).normalize().startsWith(workspaceRoot.normalize())) {
+                result.add(uri);
+            }
+        });
+        return result;
+    }
 
+    @Override
+    public GroovyLSCompilationUnit create(Path workspaceRoot, URI uri) {
+        GroovyLSCompilationUnit compilationUnit = createCompilationUnit(uri);
+        String contents = languageServerContext.getFileContentsTracker().getContents(uri);
+        addOpenFileToCompilationUnit(uri, contents, compilationUnit);
         return compilationUnit;
     }
 
-    protected void addDirectoryToCompilationUnit(Path dirPath, GroovyLSCompilationUnit compilationUnit,
-                                                 FileContentsTracker fileContentsTracker, Set<URI> changedUris) {
-        try {
-            if (Files.exists(dirPath)) {
-                Files.walk(dirPath).forEach((filePath) -> {
-                    if (!filePath.toString().endsWith(FILE_EXTENSION_GROOVY)) {
-                        return;
-                    }
-                    URI fileURI = filePath.toUri();
-                    if (!fileContentsTracker.isOpen(fileURI)) {
-                        File file = filePath.toFile();
-                        if (file.isFile()) {
-                            if (changedUris == null || changedUris.contains(fileURI)) {
-                                compilationUnit.addSource(file);
-                            }
-                        }
-                    }
-                });
-            }
-
+    protected void addDirectoryToSources(Path dirPath, Set<URI> result) {
+        if (!Files.exists(dirPath)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(dirPath)) {
+            files.forEach(filePath -> {
+                if (filePath.toString().endsWith(FILE_EXTENSION_GROOVY) && Files.isRegularFile(filePath)) {
+                    result.add(filePath.toUri());
+                }
+            });
         } catch (IOException e) {
             GroovyScript.LOGGER.error("Failed to walk directory for source files: {}", dirPath);
         }
-        fileContentsTracker.getOpenURIs().forEach(uri -> {
-            Path openPath = Paths.get(uri);
-            if (!openPath.normalize().startsWith(dirPath.normalize())) {
-                return;
-            }
-            if (changedUris != null && !changedUris.contains(uri)) {
-                return;
-            }
-            String contents = fileContentsTracker.getContents(uri);
-            addOpenFileToCompilationUnit(uri, contents, compilationUnit);
-        });
     }
-}
\ No newline at end of file
+}
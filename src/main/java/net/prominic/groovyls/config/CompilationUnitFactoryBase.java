@@ -35,6 +35,16 @@ public abstract class CompilationUnitFactoryBase implements ICompilationUnitFact
         classLoader = null;
     }
 
+    protected GroovyLSCompilationUnit createCompilationUnit(URI uri) {
+        if (config == null) {
+            config = getConfiguration();
+        }
+        if (classLoader == null) {
+            classLoader = getClassLoader();
+        }
+        return new GroovyLSCompilationUnit(config, null, classLoader, uri);
+    }
+
     protected GroovyClassLoader getClassLoader() {
         return new GroovyClassLoader(ClassLoader.getSystemClassLoader().getParent(), config, true);
     }
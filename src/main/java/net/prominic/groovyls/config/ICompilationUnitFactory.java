@@ -20,16 +20,16 @@
 package net.prominic.groovyls.config;
 
 import net.prominic.groovyls.compiler.control.GroovyLSCompilationUnit;
-import org.jetbrains.annotations.Nullable;
 
 import java.net.URI;
 import java.nio.file.Path;
 import java.util.List;
+import java.util.Set;
 
 public interface ICompilationUnitFactory {
 	/**
-	 * If this factory would normally reuse an existing compilation unit, forces
-	 * the creation of a new one.
+	 * Forces compilation units created afterwards to use a new configuration
+	 * and class loader.
 	 */
 	public void invalidateCompilationUnit();
 
@@ -38,7 +38,14 @@ public interface ICompilationUnitFactory {
 	public void setAdditionalClasspathList(List<String> classpathList);
 
 	/**
-	 * Returns a compilation unit.
+	 * Returns the files which are compiled as soon as the workspace is
+	 * compiled. Classes declared in these files are visible to every other
+	 * file.
 	 */
-    GroovyLSCompilationUnit create(Path workspaceRoot, @Nullable URI context);
-}
\ No newline at end of file
+	Set<URI> getSharedSources(Path workspaceRoot);
+
+	/**
+	 * Returns a new compilation unit which only contains the given file.
+	 */
+	GroovyLSCompilationUnit create(Path workspaceRoot, URI uri);
+}
@@ -21,8 +21,10 @@ package net.prominic.groovyls.providers;
 
 import com.cleanroommc.groovyscript.gameobjects.GameObjectHandlerManager;
 import com.cleanroommc.groovyscript.server.Completions;
+import com.cleanroommc.groovyscript.server.index.ClassIndex;
+import com.cleanroommc.groovyscript.server.index.IndexedClass;
+import com.cleanroommc.groovyscript.server.index.IndexedMethod;
 import groovy.lang.DelegatesTo;
-import io.github.classgraph.*;
 import net.prominic.groovyls.compiler.ast.ASTContext;
 import net.prominic.groovyls.compiler.util.GroovyASTUtils;
 import net.prominic.groovyls.compiler.util.GroovyReflectionUtils;
@@ -40,6 +42,7 @@ import org.jetbrains.annotations.NotNull;
 import java.net.URI;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 public class CompletionProvider {
@@ -247,37 +250,38 @@ public class CompletionProvider {
         }).collect(Collectors.toList());
         items.addAll(localClassItems);
 
-        List<ClassInfo> classes = astContext.getLanguageServerContext().getScanResult().getAllClasses();
-        List<PackageInfo> packages = astContext.getLanguageServerContext().getScanResult().getPackageInfo();
+        ClassIndex classIndex = astContext.getLanguageServerContext().getClassIndex();
+        int packageLimit = items.getLimit() - items.size();
+        List<String> packages = classIndex.findPackages(importText, packageLimit);
+        if (packages.size() >= packageLimit) {
+            this.isIncomplete = true;
+        }
 
-        List<CompletionItem> packageItems = packages.stream().filter(packageInfo -> {
-            String packageName = packageInfo.getName();
-            if (packageName.startsWith(importText)) {
-                return true;
-            }
-            return false;
-        }).map(packageInfo -> {
-            CompletionItem item = CompletionItemFactory.createCompletion(CompletionItemKind.Module, packageInfo.getName());
-            item.setTextEdit(Either.forLeft(new TextEdit(importRange, packageInfo.getName())));
+        List<CompletionItem> packageItems = packages.stream().map(packageName -> {
+            CompletionItem item = CompletionItemFactory.createCompletion(CompletionItemKind.Module, packageName);
+            item.setTextEdit(Either.forLeft(new TextEdit(importRange, packageName)));
             return item;
         }).collect(Collectors.toList());
         items.addAll(packageItems);
 
-        List<CompletionItem> classItems = classes.stream().filter(classInfo -> {
+        // filter in the index, so that skipped classes don't count towards the limit
+        Predicate<IndexedClass> filter = classInfo -> {
             String packageName = classInfo.getPackageName();
-            if (packageName == null || packageName.length() == 0 || packageName.equals(enclosingPackageName)) {
-                return false;
-            }
-            String className = classInfo.getName();
-            String classNameWithoutPackage = classInfo.getSimpleName();
-            if (!className.startsWith(importText) && !classNameWithoutPackage.startsWith(importText)) {
-                return false;
-            }
-            if (importNames.contains(className)) {
+            if (packageName.isEmpty() || packageName.equals(enclosingPackageName)) {
                 return false;
             }
-            return true;
-        }).map(classInfo -> {
+            return !importNames.contains(classInfo.getName());
+        };
+        int limit = items.getLimit() - items.size();
+        List<IndexedClass> bySimpleName = classIndex.findClassesBySimpleName(importText, filter, limit);
+        List<IndexedClass> byName = classIndex.findClassesByName(importText, filter, limit);
+        if (bySimpleName.size() >= limit || byName.size() >= limit) {
+            this.isIncomplete = true;
+        }
+        Set<IndexedClass> classes = new LinkedHashSet<>(bySimpleName);
+        classes.addAll(byName);
+
+        List<CompletionItem> classItems = classes.stream().map(classInfo -> {
             CompletionItem item = CompletionItemFactory.createCompletion(classInfoToCompletionItemKind(classInfo), classInfo.getName());
 
             item.setTextEdit(Either.forLeft(new TextEdit(importRange, classInfo.getName())));
@@ -408,19 +412,18 @@ public class CompletionProvider {
     }
 
     @NotNull
-    private static CompletionItemLabelDetails getMethodInfoDetails(MethodInfo methodInfo) {
+    private static CompletionItemLabelDetails getMethodInfoDetails(IndexedMethod methodInfo) {
         var detailBuilder = new StringBuilder();
         detailBuilder.append("(");
-        MethodParameterInfo[] info = methodInfo.getParameterInfo();
+        String[] info = methodInfo.getParameterTypes();
         for (int i = 0; i < info.length; i++) {
-            var parameterInfo = info[i];
-            detailBuilder.append(parameterInfo.getTypeSignatureOrTypeDescriptor().toStringWithSimpleNames());
+            detailBuilder.append(IndexedMethod.getSimpleTypeName(info[i]));
             if (i < info.length - 1) {
                 detailBuilder.append(",");
             }
         }
         detailBuilder.append(") -> ");
-        detailBuilder.append(methodInfo.getTypeSignatureOrTypeDescriptor().getResultType().toStringWithSimpleNames());
+        detailBuilder.append(IndexedMethod.getSimpleTypeName(methodInfo.getReturnType()));
 
         var details = new CompletionItemLabelDetails();
         details.setDetail(detailBuilder.toString());
@@ -454,9 +457,9 @@ public class CompletionProvider {
         });
 
         List<CompletionItem> staticMethodItems = astContext.getLanguageServerContext().getSandbox().getStaticImports().stream()
-                .map(staticImport -> astContext.getLanguageServerContext().getScanResult().getClassInfo(staticImport.getName()))
+                .map(staticImport -> astContext.getLanguageServerContext().getClassIndex().getClassInfo(staticImport.getName()))
                 .filter(Objects::nonNull)
-                .flatMap(classInfo -> classInfo.getMethodInfo().stream().filter(ClassMemberInfo::isStatic))
+                .flatMap(classInfo -> astContext.getLanguageServerContext().getClassIndex().getMethods(classInfo).stream().filter(IndexedMethod::isStatic))
                 .filter(methodInfo -> {
                     String methodName = methodInfo.getName();
                     if (methodName.startsWith(memberNamePrefix) && !existingNames.contains(methodName)) {
@@ -599,19 +602,16 @@ public class CompletionProvider {
         }).collect(Collectors.toList());
         items.addAll(localClassItems);
 
-        List<ClassInfo> classes = astContext.getLanguageServerContext().getScanResult().getAllClasses();
+        int limit = items.getLimit() - items.size();
+        List<IndexedClass> classes = astContext.getLanguageServerContext().getClassIndex()
+                .findClassesBySimpleName(namePrefix, classInfo -> !existingNames.contains(classInfo.getName()), limit);
+        if (classes.size() >= limit) {
+            this.isIncomplete = true;
+        }
 
-        List<CompletionItem> classItems = classes.stream().filter(classInfo -> {
-            if (items.reachedLimit()) return false;
-            String className = classInfo.getName();
-            String classNameWithoutPackage = classInfo.getSimpleName();
-            if (classNameWithoutPackage.startsWith(namePrefix) && !existingNames.contains(className)) {
-                existingNames.add(className);
-                return true;
-            }
-            return false;
-        }).map(classInfo -> {
+        List<CompletionItem> classItems = classes.stream().map(classInfo -> {
             String className = classInfo.getName();
+            existingNames.add(className);
             String packageName = classInfo.getPackageName();
             CompletionItem item = CompletionItemFactory.createCompletion(classInfoToCompletionItemKind(classInfo), classInfo.getSimpleName());
             item.setDetail(packageName);
@@ -637,7 +637,7 @@ public class CompletionProvider {
         return "";
     }
 
-    private CompletionItemKind classInfoToCompletionItemKind(ClassInfo classInfo) {
+    private CompletionItemKind classInfoToCompletionItemKind(IndexedClass classInfo) {
         if (classInfo.isInterface()) {
             return CompletionItemKind.Interface;
         }
@@ -46,28 +46,8 @@ public class WorkspaceSymbolProvider {
     }
 
     public CompletableFuture<List<? extends SymbolInformation>> provideWorkspaceSymbols(String query) {
-        String lowerCaseQuery = query.toLowerCase();
-        List<ASTNode> nodes = astContext.getVisitor().getNodes();
-        List<SymbolInformation> symbols = nodes.stream().filter(node -> {
-            String name = null;
-            if (node instanceof ClassNode) {
-                ClassNode classNode = (ClassNode) node;
-                name = classNode.getName();
-            } else if (node instanceof MethodNode) {
-                MethodNode methodNode = (MethodNode) node;
-                name = methodNode.getName();
-            } else if (node instanceof FieldNode) {
-                FieldNode fieldNode = (FieldNode) node;
-                name = fieldNode.getName();
-            } else if (node instanceof PropertyNode) {
-                PropertyNode propNode = (PropertyNode) node;
-                name = propNode.getName();
-            }
-            if (name == null) {
-                return false;
-            }
-            return name.toLowerCase().contains(lowerCaseQuery);
-        }).map(node -> {
+        List<ASTNode> nodes = astContext.getVisitor().getSymbolIndex().findDeclarations(query);
+        List<SymbolInformation> symbols = nodes.stream().map(node -> {
             URI uri = astContext.getVisitor().getURI(node);
             if (node instanceof ClassNode) {
                 ClassNode classNode = (ClassNode) node;
@@ -19,12 +19,11 @@
 ////////////////////////////////////////////////////////////////////////////////
 package net.prominic.groovyls.util;
 
-import net.prominic.lsp.utils.Positions;
 import org.eclipse.lsp4j.*;
 
-import java.io.BufferedReader;
 import java.io.IOException;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.HashMap;
@@ -34,7 +33,7 @@ import java.util.Set;
 
 public class FileContentsTracker {
 
-    private Map<URI, String> openFiles = new HashMap<>();
+    private Map<URI, TextDocument> openFiles = new HashMap<>();
     private Set<URI> changedFiles = new HashSet<>();
 
     public Set<URI> getOpenURIs() {
@@ -59,25 +58,26 @@ public class FileContentsTracker {
 
     public void didOpen(DidOpenTextDocumentParams params) {
         URI uri = URIUtils.toUri(params.getTextDocument().getUri());
-        openFiles.put(uri, params.getTextDocument().getText());
+        openFiles.put(uri, new TextDocument(params.getTextDocument().getText()));
         changedFiles.add(uri);
     }
 
     public void didChange(DidChangeTextDocumentParams params) {
         URI uri = URIUtils.toUri(params.getTextDocument().getUri());
-        String oldText = openFiles.get(uri);
-        TextDocumentContentChangeEvent change = params.getContentChanges().get(0);
-        Range range = change.getRange();
-        if (range == null) {
-            openFiles.put(uri, change.getText());
-        } else {
-            int offsetStart = Positions.getOffset(oldText, change.getRange().getStart());
-            int offsetEnd = Positions.getOffset(oldText, change.getRange().getEnd());
-            StringBuilder builder = new StringBuilder();
-            builder.append(oldText.substring(0, offsetStart));
-            builder.append(change.getText());
-            builder.append(oldText.substring(offsetEnd));
-            openFiles.put(uri, builder.toString());
+        TextDocument document = openFiles.get(uri);
+        // changes are relative to the document after the previous change of the same notification
+        for (TextDocumentContentChangeEvent change : params.getContentChanges()) {
+            Range range = change.getRange();
+            if (range == null || document == null) {
+                if (document == null) {
+                    document = new TextDocument(change.getText());
+                    openFiles.put(uri, document);
+                } else {
+                    document.setText(change.getText());
+                }
+            } else {
+                document.replace(range, change.getText());
+            }
         }
         changedFiles.add(uri);
     }
@@ -89,31 +89,31 @@ public class FileContentsTracker {
     }
 
     public String getContents(URI uri) {
-        if (!openFiles.containsKey(uri)) {
-            BufferedReader reader = null;
+        TextDocument document = openFiles.get(uri);
+        if (document == null) {
             try {
-                reader = Files.newBufferedReader(Paths.get(uri));
-                StringBuilder builder = new StringBuilder();
-                int next = -1;
-                while ((next = reader.read()) != -1) {
-                    builder.append((char) next);
-                }
-                return builder.toString();
+                return new String(Files.readAllBytes(Paths.get(uri)), StandardCharsets.UTF_8);
             } catch (IOException e) {
                 return "";
-            } finally {
-                if (reader != null) {
-                    try {
-                        reader.close();
-                    } catch (IOException e) {
-                    }
-                }
             }
         }
-        return openFiles.getOrDefault(uri, "");
+        return document.getText();
+    }
+
+    /**
+     * Returns the offset of a position in an open document without scanning its text, or -1 if the document is not open.
+     */
+    public int getOffset(URI uri, Position position) {
+        TextDocument document = openFiles.get(uri);
+        return document == null ? -1 : document.getOffset(position);
     }
 
     public void setContents(URI uri, String contents) {
-        openFiles.put(uri, contents);
+        TextDocument document = openFiles.get(uri);
+        if (document == null) {
+            openFiles.put(uri, new TextDocument(contents));
+        } else {
+            document.setText(contents);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,202 @@
+package net.prominic.groovyls.util;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The text of an open document stored as a piece table. Edits only touch the pieces around the edited range and never copy
+ * the whole text. The line breaks of both buffers are indexed once when text is added to them, and every piece knows how
+ * many of them it covers, so converting a {@link Position} into an offset only walks the pieces and an edit doesn't have to
+ * move the starts of all following lines. The full text is only built when it is requested. It then becomes the new original
+ * buffer, so that it doesn't have to be built again until the next edit and the table stays small.
+ */
+public class TextDocument {
+
+    // once there are more pieces than this, the text is flattened into a new original buffer
+    private static final int MAX_PIECES = 512;
+
+    private String original;
+    private final IntArrayList originalBreaks = new IntArrayList();
+    private final StringBuilder added = new StringBuilder();
+    private final IntArrayList addedBreaks = new IntArrayList();
+    private final List<Piece> pieces = new ArrayList<>();
+    private int length;
+    private int lineCount;
+    private String text;
+
+    public TextDocument(String text) {
+        setText(text);
+    }
+
+    public void setText(String text) {
+        this.original = text;
+        this.originalBreaks.clear();
+        addBreaks(text, 0, this.originalBreaks);
+        this.added.setLength(0);
+        this.addedBreaks.clear();
+        this.pieces.clear();
+        if (!text.isEmpty()) {
+            this.pieces.add(new Piece(false, 0, text.length(), this.originalBreaks.size()));
+        }
+        this.length = text.length();
+        this.lineCount = this.originalBreaks.size() + 1;
+        this.text = text;
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    public int getLineCount() {
+        return lineCount;
+    }
+
+    /**
+     * Returns the offset of the position. Positions past the end of a line or the document are clamped to the end of the document.
+     */
+    public int getOffset(Position position) {
+        int line = position.getLine();
+        if (line < 0) return 0;
+        if (line >= lineCount) return length;
+        int lineStart = 0;
+        if (line > 0) {
+            // find the piece which contains the line break in front of the line
+            int pos = 0;
+            int remaining = line;
+            for (Piece piece : pieces) {
+                if (remaining <= piece.lineBreaks) {
+                    IntArrayList breaks = piece.added ? addedBreaks : originalBreaks;
+                    int lineBreak = breaks.getInt(lowerBound(breaks, piece.start) + remaining - 1);
+                    lineStart = pos + lineBreak - piece.start + 1;
+                    break;
+                }
+                remaining -= piece.lineBreaks;
+                pos += piece.length;
+            }
+        }
+        return Math.min(lineStart + Math.max(0, position.getCharacter()), length);
+    }
+
+    public String getText() {
+        if (text == null) {
+            StringBuilder builder = new StringBuilder(length);
+            for (Piece piece : pieces) {
+                if (piece.added) {
+                    builder.append(added, piece.start, piece.start + piece.length);
+                } else {
+                    builder.append(original, piece.start, piece.start + piece.length);
+                }
+            }
+            setText(builder.toString());
+        }
+        return text;
+    }
+
+    public void replace(Range range, String replacement) {
+        int start = getOffset(range.getStart());
+        int end = Math.max(start, getOffset(range.getEnd()));
+        replace(start, end, replacement);
+    }
+
+    public void replace(int start, int end, String replacement) {
+        int first = splitAt(start);
+        int last = splitAt(end);
+        List<Piece> removed = pieces.subList(first, last);
+        for (Piece piece : removed) {
+            lineCount -= piece.lineBreaks;
+        }
+        removed.clear();
+        if (!replacement.isEmpty()) {
+            int lineBreaks = addBreaks(replacement, added.length(), addedBreaks);
+            Piece previous = first > 0 ? pieces.get(first - 1) : null;
+            if (previous != null && previous.added && previous.start + previous.length == added.length()) {
+                // consecutive typing just extends the last piece
+                previous.length += replacement.length();
+                previous.lineBreaks += lineBreaks;
+            } else {
+                pieces.add(first, new Piece(true, added.length(), replacement.length(), lineBreaks));
+            }
+            added.append(replacement);
+            lineCount += lineBreaks;
+        }
+        length += replacement.length() - (end - start);
+        text = null;
+        if (pieces.size() > MAX_PIECES) {
+            getText();
+        }
+    }
+
+    /**
+     * Splits the piece containing the offset, so that a piece starts at the offset, and returns the index of that piece.
+     */
+    private int splitAt(int offset) {
+        int pos = 0;
+        for (int i = 0; i < pieces.size(); i++) {
+            Piece piece = pieces.get(i);
+            if (offset == pos) return i;
+            if (offset < pos + piece.length) {
+                int inner = offset - pos;
+                IntArrayList breaks = piece.added ? addedBreaks : originalBreaks;
+                int headBreaks = lowerBound(breaks, piece.start + inner) - lowerBound(breaks, piece.start);
+                pieces.add(i + 1, new Piece(piece.added, piece.start + inner, piece.length - inner, piece.lineBreaks - headBreaks));
+                piece.length = inner;
+                piece.lineBreaks = headBreaks;
+                return i + 1;
+            }
+            pos += piece.length;
+        }
+        return pieces.size();
+    }
+
+    /**
+     * Adds the offsets of all line breaks in the string to the sorted list of line breaks of a buffer.
+     *
+     * @return the number of line breaks in the string
+     */
+    private static int addBreaks(String s, int offset, IntArrayList breaks) {
+        int count = 0;
+        int i = s.indexOf('\n');
+        while (i >= 0) {
+            breaks.add(offset + i);
+            count++;
+            i = s.indexOf('\n', i + 1);
+        }
+        return count;
+    }
+
+    /**
+     * Returns the index of the first line break at or after the offset.
+     */
+    private static int lowerBound(IntArrayList breaks, int offset) {
+        int low = 0, high = breaks.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (breaks.getInt(mid) < offset) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static class Piece {
+
+        private final boolean added;
+        private final int start;
+        private int length;
+        // the number of line breaks in this piece
+        private int lineBreaks;
+
+        private Piece(boolean added, int start, int length, int lineBreaks) {
+            this.added = added;
+            this.start = start;
+            this.length = length;
+            this.lineBreaks = lineBreaks;
+        }
+    }
+}